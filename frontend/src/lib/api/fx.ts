@@ -100,7 +100,9 @@ export class FXClient extends ApiClient {
   async getQuote(
     baseCurrency: Currency, 
     quoteCurrency: Currency, 
-    amountMinor: number
+    amountMinor: number,
+    fromAccountId: string,
+    toAccountId: string
   ): Promise<ApiResponse<{
     fromCurrency: Currency;
     toCurrency: Currency;
@@ -113,6 +115,8 @@ export class FXClient extends ApiClient {
     quoteId: string;
   }>> {
     return this.post('/api/fx/quote', {
+      fromAccountId,
+      toAccountId,
       baseCurrency,
       quoteCurrency,
       amountMinor,
@@ -0,0 +1,47 @@
+package com.minibank.accounts.adapter.persistence;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "processed_account_operations")
+public class ProcessedOperationEntity {
+
+    @Id
+    @Column(name = "operation_key", length = 128)
+    private String operationKey;
+
+    // Null for keys voided before their operation arrived
+    @Column(name = "account_id")
+    private UUID accountId;
+
+    @Column(name = "operation", nullable = false, length = 16)
+    private String operation;
+
+    @Column(name = "outcome", nullable = false, length = 16)
+    private String outcome;
+
+    @Column(name = "processed_at", nullable = false)
+    private LocalDateTime processedAt;
+
+    // Constructors
+    public ProcessedOperationEntity() {}
+
+    // Getters and Setters
+    public String getOperationKey() { return operationKey; }
+    public void setOperationKey(String operationKey) { this.operationKey = operationKey; }
+
+    public UUID getAccountId() { return accountId; }
+    public void setAccountId(UUID accountId) { this.accountId = accountId; }
+
+    public String getOperation() { return operation; }
+    public void setOperation(String operation) { this.operation = operation; }
+
+    public String getOutcome() { return outcome; }
+    public void setOutcome(String outcome) { this.outcome = outcome; }
+
+    public LocalDateTime getProcessedAt() { return processedAt; }
+    public void setProcessedAt(LocalDateTime processedAt) { this.processedAt = processedAt; }
+}
@@ -0,0 +1,25 @@
+package com.minibank.accounts.adapter.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface ProcessedOperationJpaRepository extends JpaRepository<ProcessedOperationEntity, String> {
+
+    // A concurrent duplicate blocks on the primary key until the first call commits or rolls back
+    @Modifying
+    @Query(value = "INSERT INTO processed_account_operations " +
+                   "(operation_key, account_id, operation, outcome, processed_at) " +
+                   "VALUES (:operationKey, :accountId, :operation, :outcome, now()) " +
+                   "ON CONFLICT (operation_key) DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("operationKey") String operationKey,
+                       @Param("accountId") UUID accountId,
+                       @Param("operation") String operation,
+                       @Param("outcome") String outcome);
+}
@@ -0,0 +1,35 @@
+package com.minibank.accounts.adapter.persistence;
+
+import com.minibank.accounts.domain.OperationOutcome;
+import com.minibank.accounts.domain.ProcessedOperationRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public class ProcessedOperationRepositoryImpl implements ProcessedOperationRepository {
+
+    private static final String RESOLVE = "RESOLVE";
+
+    private final ProcessedOperationJpaRepository jpaRepository;
+
+    public ProcessedOperationRepositoryImpl(ProcessedOperationJpaRepository jpaRepository) {
+        this.jpaRepository = jpaRepository;
+    }
+
+    @Override
+    public boolean markApplied(String operationKey, UUID accountId, String operation) {
+        return jpaRepository.insertIfAbsent(operationKey, accountId, operation, OperationOutcome.APPLIED.name()) == 1;
+    }
+
+    @Override
+    public void markVoided(String operationKey) {
+        jpaRepository.insertIfAbsent(operationKey, null, RESOLVE, OperationOutcome.VOIDED.name());
+    }
+
+    @Override
+    public Optional<OperationOutcome> findOutcome(String operationKey) {
+        return jpaRepository.findById(operationKey).map(entity -> OperationOutcome.valueOf(entity.getOutcome()));
+    }
+}
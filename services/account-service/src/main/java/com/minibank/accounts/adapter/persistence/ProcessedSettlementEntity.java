@@ -0,0 +1,34 @@
+package com.minibank.accounts.adapter.persistence;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "processed_net_settlements")
+public class ProcessedSettlementEntity {
+
+    @Id
+    @Column(name = "settlement_id")
+    private UUID settlementId;
+
+    @Column(name = "leg_count", nullable = false)
+    private Integer legCount;
+
+    @Column(name = "processed_at", nullable = false)
+    private LocalDateTime processedAt;
+
+    // Constructors
+    public ProcessedSettlementEntity() {}
+
+    // Getters and Setters
+    public UUID getSettlementId() { return settlementId; }
+    public void setSettlementId(UUID settlementId) { this.settlementId = settlementId; }
+
+    public Integer getLegCount() { return legCount; }
+    public void setLegCount(Integer legCount) { this.legCount = legCount; }
+
+    public LocalDateTime getProcessedAt() { return processedAt; }
+    public void setProcessedAt(LocalDateTime processedAt) { this.processedAt = processedAt; }
+}
@@ -0,0 +1,20 @@
+package com.minibank.accounts.adapter.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface ProcessedSettlementJpaRepository extends JpaRepository<ProcessedSettlementEntity, UUID> {
+
+    // A concurrent duplicate blocks on the primary key until the first settlement commits, then inserts nothing
+    @Modifying
+    @Query(value = "INSERT INTO processed_net_settlements (settlement_id, leg_count, processed_at) " +
+                   "VALUES (:settlementId, :legCount, now()) ON CONFLICT (settlement_id) DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("settlementId") UUID settlementId, @Param("legCount") int legCount);
+}
@@ -0,0 +1,21 @@
+package com.minibank.accounts.adapter.persistence;
+
+import com.minibank.accounts.domain.ProcessedSettlementRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public class ProcessedSettlementRepositoryImpl implements ProcessedSettlementRepository {
+
+    private final ProcessedSettlementJpaRepository jpaRepository;
+
+    public ProcessedSettlementRepositoryImpl(ProcessedSettlementJpaRepository jpaRepository) {
+        this.jpaRepository = jpaRepository;
+    }
+
+    @Override
+    public boolean markProcessed(UUID settlementId, int legCount) {
+        return jpaRepository.insertIfAbsent(settlementId, legCount) == 1;
+    }
+}
@@ -2,15 +2,19 @@ package com.minibank.accounts.api;
 
 import com.minibank.accounts.api.dto.AccountBalanceDto;
 import com.minibank.accounts.api.dto.ApiResponse;
+import com.minibank.accounts.api.dto.NetSettlementRequest;
 import com.minibank.accounts.api.dto.ReserveFundsRequest;
 import com.minibank.accounts.application.AccountService;
 import com.minibank.accounts.domain.Account;
 import com.minibank.accounts.domain.Currency;
 import com.minibank.accounts.domain.Money;
+import com.minibank.accounts.domain.OperationOutcome;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -29,7 +33,9 @@ public class AccountApiController {
             @Valid @RequestBody ReserveFundsRequest request) {
         try {
             Money amount = Money.of(request.getAmount(), Currency.valueOf(request.getCurrencyCode()));
-            accountService.reserveFunds(accountId, amount);
+            if (!accountService.reserveFunds(accountId, amount, request.getReservationId())) {
+                return ResponseEntity.ok(ApiResponse.success("Funds already reserved", null));
+            }
             return ResponseEntity.ok(ApiResponse.success("Funds reserved successfully", null));
         } catch (IllegalArgumentException | IllegalStateException e) {
             return ResponseEntity.badRequest()
@@ -40,13 +46,34 @@ public class AccountApiController {
         }
     }
 
+    @PostMapping("/{accountId}/release")
+    public ResponseEntity<ApiResponse<Void>> releaseFunds(
+            @PathVariable UUID accountId,
+            @Valid @RequestBody ReserveFundsRequest request) {
+        try {
+            Money amount = Money.of(request.getAmount(), Currency.valueOf(request.getCurrencyCode()));
+            if (!accountService.releaseFunds(accountId, amount, request.getReservationId())) {
+                return ResponseEntity.ok(ApiResponse.success("Funds already released", null));
+            }
+            return ResponseEntity.ok(ApiResponse.success("Funds released successfully", null));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Internal server error: " + e.getMessage()));
+        }
+    }
+
     @PostMapping("/{accountId}/credit")
     public ResponseEntity<ApiResponse<Void>> postCredit(
             @PathVariable UUID accountId,
             @Valid @RequestBody ReserveFundsRequest request) {
         try {
             Money amount = Money.of(request.getAmount(), Currency.valueOf(request.getCurrencyCode()));
-            accountService.postCredit(accountId, amount);
+            if (!accountService.postCredit(accountId, amount, request.getReservationId())) {
+                return ResponseEntity.ok(ApiResponse.success("Credit already posted", null));
+            }
             return ResponseEntity.ok(ApiResponse.success("Credit posted successfully", null));
         } catch (IllegalArgumentException | IllegalStateException e) {
             return ResponseEntity.badRequest()
@@ -63,7 +90,9 @@ public class AccountApiController {
             @Valid @RequestBody ReserveFundsRequest request) {
         try {
             Money amount = Money.of(request.getAmount(), Currency.valueOf(request.getCurrencyCode()));
-            accountService.postDebit(accountId, amount);
+            if (!accountService.postDebit(accountId, amount, request.getReservationId())) {
+                return ResponseEntity.ok(ApiResponse.success("Debit already posted", null));
+            }
             return ResponseEntity.ok(ApiResponse.success("Debit posted successfully", null));
         } catch (IllegalArgumentException | IllegalStateException e) {
             return ResponseEntity.badRequest()
@@ -74,6 +103,44 @@ public class AccountApiController {
         }
     }
 
+    @PostMapping("/net-settlements")
+    public ResponseEntity<ApiResponse<Void>> applyNetSettlement(
+            @Valid @RequestBody NetSettlementRequest request) {
+        try {
+            Currency currency = Currency.valueOf(request.getCurrencyCode());
+            Map<UUID, Money> debits = new HashMap<>();
+            Map<UUID, Money> credits = new HashMap<>();
+            for (NetSettlementRequest.Leg leg : request.getLegs()) {
+                if (leg.getAmount().signum() < 0) {
+                    debits.merge(leg.getAccountId(), Money.of(leg.getAmount().negate(), currency), Money::add);
+                } else if (leg.getAmount().signum() > 0) {
+                    credits.merge(leg.getAccountId(), Money.of(leg.getAmount(), currency), Money::add);
+                }
+            }
+            if (!accountService.applyNetSettlement(request.getSettlementId(), debits, credits)) {
+                return ResponseEntity.ok(ApiResponse.success("Net settlement already applied", null));
+            }
+            return ResponseEntity.ok(ApiResponse.success("Net settlement applied successfully", null));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Internal server error: " + e.getMessage()));
+        }
+    }
+
+    // Callers that lost the answer to a keyed call ask here; the outcome is final once returned
+    @PostMapping("/operations/{operationKey}/resolve")
+    public ResponseEntity<ApiResponse<OperationOutcome>> resolveOperation(@PathVariable String operationKey) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(accountService.resolveOperation(operationKey)));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Internal server error: " + e.getMessage()));
+        }
+    }
+
     @GetMapping("/{accountId}")
     public ResponseEntity<ApiResponse<AccountBalanceDto>> getAccountBalance(
             @PathVariable UUID accountId,
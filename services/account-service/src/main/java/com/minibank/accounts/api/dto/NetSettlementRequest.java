@@ -0,0 +1,60 @@
+package com.minibank.accounts.api.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+public class NetSettlementRequest {
+    @NotNull
+    private UUID settlementId;
+
+    @NotNull
+    private String currencyCode;
+
+    @NotEmpty
+    @Valid
+    private List<Leg> legs;
+
+    public NetSettlementRequest() {}
+
+    public NetSettlementRequest(UUID settlementId, String currencyCode, List<Leg> legs) {
+        this.settlementId = settlementId;
+        this.currencyCode = currencyCode;
+        this.legs = legs;
+    }
+
+    // Getters and setters
+    public UUID getSettlementId() { return settlementId; }
+    public void setSettlementId(UUID settlementId) { this.settlementId = settlementId; }
+
+    public String getCurrencyCode() { return currencyCode; }
+    public void setCurrencyCode(String currencyCode) { this.currencyCode = currencyCode; }
+
+    public List<Leg> getLegs() { return legs; }
+    public void setLegs(List<Leg> legs) { this.legs = legs; }
+
+    // Signed net movement for one account: positive credits, negative debits
+    public static class Leg {
+        @NotNull
+        private UUID accountId;
+
+        @NotNull
+        private BigDecimal amount;
+
+        public Leg() {}
+
+        public Leg(UUID accountId, BigDecimal amount) {
+            this.accountId = accountId;
+            this.amount = amount;
+        }
+
+        public UUID getAccountId() { return accountId; }
+        public void setAccountId(UUID accountId) { this.accountId = accountId; }
+
+        public BigDecimal getAmount() { return amount; }
+        public void setAmount(BigDecimal amount) { this.amount = amount; }
+    }
+}
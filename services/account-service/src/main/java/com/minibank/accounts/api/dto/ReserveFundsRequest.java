@@ -2,6 +2,7 @@ package com.minibank.accounts.api.dto;
 
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import java.math.BigDecimal;
 import java.util.UUID;
 
@@ -16,7 +17,9 @@ public class ReserveFundsRequest {
     @NotNull
     private String currencyCode;
 
+    // Idempotency key of the call; a key already applied is not applied again
     @NotNull
+    @Size(max = 128)
     private String reservationId;
 
     public ReserveFundsRequest() {}
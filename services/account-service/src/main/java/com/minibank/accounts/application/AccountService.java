@@ -4,11 +4,16 @@ import com.minibank.accounts.domain.Account;
 import com.minibank.accounts.domain.AccountRepository;
 import com.minibank.accounts.domain.Currency;
 import com.minibank.accounts.domain.Money;
+import com.minibank.accounts.domain.OperationOutcome;
+import com.minibank.accounts.domain.ProcessedOperationRepository;
+import com.minibank.accounts.domain.ProcessedSettlementRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.UUID;
 
 @Service
@@ -16,9 +21,15 @@ import java.util.UUID;
 public class AccountService {
     
     private final AccountRepository accountRepository;
+    private final ProcessedSettlementRepository processedSettlementRepository;
+    private final ProcessedOperationRepository processedOperationRepository;
     
-    public AccountService(AccountRepository accountRepository) {
+    public AccountService(AccountRepository accountRepository,
+                          ProcessedSettlementRepository processedSettlementRepository,
+                          ProcessedOperationRepository processedOperationRepository) {
         this.accountRepository = accountRepository;
+        this.processedSettlementRepository = processedSettlementRepository;
+        this.processedOperationRepository = processedOperationRepository;
     }
     
     public Account createAccount(UUID userId, Currency currency) {
@@ -59,6 +70,17 @@ public class AccountService {
         return accountRepository.save(account);
     }
     
+    /**
+     * Returns funds taken by {@link #reserveFunds} to the account, e.g. when a payment saga times out.
+     */
+    public Account releaseFunds(UUID accountId, Money amount) {
+        Account account = accountRepository.findById(accountId)
+            .orElseThrow(() -> new IllegalArgumentException("Account not found: " + accountId));
+        
+        account.credit(amount);
+        return accountRepository.save(account);
+    }
+    
     public Account postDebit(UUID accountId, Money amount) {
         Account account = accountRepository.findById(accountId)
             .orElseThrow(() -> new IllegalArgumentException("Account not found: " + accountId));
@@ -74,4 +96,93 @@ public class AccountService {
         account.credit(amount);
         return accountRepository.save(account);
     }
-}
\ No newline at end of file
+    
+    /**
+     * Keyed variants of the balance operations. The key is recorded in the same transaction
+     * as the balance change, so a call retried after a lost response changes nothing, and a
+     * refused call records nothing and may be retried.
+     *
+     * @return false if an operation with this key was already applied
+     * @throws IllegalStateException if the key was voided by {@link #resolveOperation}
+     */
+    public boolean reserveFunds(UUID accountId, Money amount, String operationKey) {
+        if (!beginOperation(operationKey, accountId, "RESERVE")) {
+            return false;
+        }
+        reserveFunds(accountId, amount);
+        return true;
+    }
+    
+    public boolean releaseFunds(UUID accountId, Money amount, String operationKey) {
+        if (!beginOperation(operationKey, accountId, "RELEASE")) {
+            return false;
+        }
+        releaseFunds(accountId, amount);
+        return true;
+    }
+    
+    public boolean postDebit(UUID accountId, Money amount, String operationKey) {
+        if (!beginOperation(operationKey, accountId, "DEBIT")) {
+            return false;
+        }
+        postDebit(accountId, amount);
+        return true;
+    }
+    
+    public boolean postCredit(UUID accountId, Money amount, String operationKey) {
+        if (!beginOperation(operationKey, accountId, "CREDIT")) {
+            return false;
+        }
+        postCredit(accountId, amount);
+        return true;
+    }
+    
+    /**
+     * Settles the outcome of a keyed operation whose caller never got an answer: if it was
+     * not applied, the key is voided so the call can no longer be applied if it arrives late.
+     */
+    public OperationOutcome resolveOperation(String operationKey) {
+        processedOperationRepository.markVoided(operationKey);
+        return processedOperationRepository.findOutcome(operationKey)
+            .orElseThrow(() -> new IllegalStateException("Operation " + operationKey + " was not recorded"));
+    }
+    
+    private boolean beginOperation(String operationKey, UUID accountId, String operation) {
+        if (processedOperationRepository.markApplied(operationKey, accountId, operation)) {
+            return true;
+        }
+        if (processedOperationRepository.findOutcome(operationKey).orElse(null) == OperationOutcome.VOIDED) {
+            throw new IllegalStateException("Operation " + operationKey + " was voided");
+        }
+        return false;
+    }
+    
+    /**
+     * Applies a batch of netted movements in a single transaction. Accounts are
+     * processed in ID order so concurrent settlements lock rows consistently, and
+     * debits run first so an insufficient balance rolls back the whole batch.
+     * The settlement ID is recorded in the same transaction, so a retry of a
+     * settlement that was already applied changes nothing.
+     *
+     * @return false if the settlement had already been applied
+     */
+    public boolean applyNetSettlement(UUID settlementId, Map<UUID, Money> debits, Map<UUID, Money> credits) {
+        long totalDebits = debits.values().stream().mapToLong(Money::getMinorUnits).sum();
+        long totalCredits = credits.values().stream().mapToLong(Money::getMinorUnits).sum();
+        if (totalDebits != totalCredits) {
+            throw new IllegalArgumentException(
+                "Net settlement is not balanced: debits=" + totalDebits + ", credits=" + totalCredits);
+        }
+        if (!processedSettlementRepository.markProcessed(settlementId, debits.size() + credits.size())) {
+            return false;
+        }
+        
+        for (Map.Entry<UUID, Money> debit : new TreeMap<>(debits).entrySet()) {
+            postDebit(debit.getKey(), debit.getValue());
+        }
+        for (Map.Entry<UUID, Money> credit : new TreeMap<>(credits).entrySet()) {
+            postCredit(credit.getKey(), credit.getValue());
+        }
+        return true;
+    }
+}
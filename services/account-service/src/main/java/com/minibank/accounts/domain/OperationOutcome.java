@@ -0,0 +1,8 @@
+package com.minibank.accounts.domain;
+
+public enum OperationOutcome {
+    // The keyed operation changed the balance
+    APPLIED,
+    // The key was resolved before the operation arrived; it is refused from then on
+    VOIDED
+}
@@ -0,0 +1,20 @@
+package com.minibank.accounts.domain;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ProcessedOperationRepository {
+    /**
+     * Records the keyed operation as applied in the current transaction.
+     *
+     * @return false if the key was already recorded, applied or voided
+     */
+    boolean markApplied(String operationKey, UUID accountId, String operation);
+
+    /**
+     * Records the key as voided unless it is already recorded.
+     */
+    void markVoided(String operationKey);
+
+    Optional<OperationOutcome> findOutcome(String operationKey);
+}
@@ -0,0 +1,12 @@
+package com.minibank.accounts.domain;
+
+import java.util.UUID;
+
+public interface ProcessedSettlementRepository {
+    /**
+     * Records the settlement as applied in the current transaction.
+     *
+     * @return false if a settlement with this ID was already recorded
+     */
+    boolean markProcessed(UUID settlementId, int legCount);
+}
@@ -0,0 +1,7 @@
+-- One row per applied net settlement, written in the same transaction as its postings,
+-- so a settlement retried after a lost response is recognised and not applied twice
+CREATE TABLE processed_net_settlements (
+    settlement_id UUID PRIMARY KEY,
+    leg_count     INTEGER     NOT NULL,
+    processed_at  TIMESTAMPTZ NOT NULL DEFAULT now()
+);
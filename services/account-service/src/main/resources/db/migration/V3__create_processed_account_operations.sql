@@ -0,0 +1,10 @@
+-- One row per keyed reserve, release, debit or credit, written in the same transaction as
+-- the balance change, so a call retried after a lost response is not applied twice.
+-- A key resolved as VOIDED before its call arrived can never be applied afterwards.
+CREATE TABLE processed_account_operations (
+    operation_key VARCHAR(128) PRIMARY KEY,
+    account_id    UUID,
+    operation     VARCHAR(16)  NOT NULL,
+    outcome       VARCHAR(16)  NOT NULL,
+    processed_at  TIMESTAMPTZ  NOT NULL DEFAULT now()
+);
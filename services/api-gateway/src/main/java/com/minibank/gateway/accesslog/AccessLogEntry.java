@@ -0,0 +1,13 @@
+package com.minibank.gateway.accesslog;
+
+import java.net.InetSocketAddress;
+
+/**
+ * What the event loop hands over per logged request; formatting happens on the writer thread.
+ *
+ * @param responseBytes Content-Length of the response, or -1 if unknown
+ * @param sampleRate share of comparable requests logged, to scale counts back up
+ */
+record AccessLogEntry(long epochMillis, String method, String path, String route, int status, long durationNanos,
+                      InetSocketAddress client, long responseBytes, double sampleRate) {
+}
@@ -0,0 +1,90 @@
+package com.minibank.gateway.accesslog;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Records one access log entry per routed request, sampled by status and latency.
+ *
+ * The event loop only decides whether to keep the request and hands a small record to
+ * the {@link AccessLogWriter}; formatting and file I/O happen on the writer's thread.
+ * Query strings are left out, as they may carry identifiers.
+ */
+@Component
+public class AccessLogFilter implements GlobalFilter, Ordered {
+
+    // nginx's code for a client that went away before the response
+    static final int CLIENT_CLOSED_REQUEST = 499;
+
+    private final AccessLogWriter writer;
+    private final AccessLogSampler sampler;
+    private final boolean enabled;
+
+    // Metrics
+    private final Counter sampledOut;
+
+    public AccessLogFilter(AccessLogWriter writer, AccessLogProperties properties, MeterRegistry meterRegistry) {
+        this.writer = writer;
+        this.sampler = new AccessLogSampler(properties);
+        this.enabled = properties.isEnabled();
+
+        this.sampledOut = Counter.builder("gateway.accesslog.records.total")
+            .description("Requests by what became of their access log entry")
+            .tag("outcome", "sampled_out")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!enabled) {
+            return chain.filter(exchange);
+        }
+        long start = System.nanoTime();
+        return chain.filter(exchange).doFinally(signal -> record(exchange, signal, System.nanoTime() - start));
+    }
+
+    // Outermost, so the duration covers every other gateway filter too
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    private void record(ServerWebExchange exchange, SignalType signal, long durationNanos) {
+        int status = status(exchange, signal);
+        double rate = sampler.rate(status, durationNanos);
+        if (rate < 1.0 && ThreadLocalRandom.current().nextDouble() >= rate) {
+            sampledOut.increment();
+            return;
+        }
+        ServerHttpRequest request = exchange.getRequest();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        writer.submit(new AccessLogEntry(System.currentTimeMillis(), request.getMethod().name(),
+            request.getPath().value(), route == null ? null : route.getId(), status, durationNanos,
+            request.getRemoteAddress(), exchange.getResponse().getHeaders().getContentLength(), rate));
+    }
+
+    private static int status(ServerWebExchange exchange, SignalType signal) {
+        if (signal == SignalType.CANCEL) {
+            return CLIENT_CLOSED_REQUEST;
+        }
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        if (status != null) {
+            return status.value();
+        }
+        return signal == SignalType.ON_ERROR ? 500 : 200;
+    }
+}
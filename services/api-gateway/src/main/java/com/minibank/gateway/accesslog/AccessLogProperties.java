@@ -0,0 +1,46 @@
+package com.minibank.gateway.accesslog;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "gateway.access-log")
+public class AccessLogProperties {
+
+    private boolean enabled = true;
+    // Daily files access-YYYY-MM-DD.log are written here
+    private String directory = "logs";
+    // Entries waiting for the writer; a power of two. Entries arriving when it is full are dropped
+    private int bufferSize = 65536;
+    // Requests faster than this are in the fast latency class
+    private Duration fastThreshold = Duration.ofMillis(50);
+    // Requests at least this slow are always logged
+    private Duration slowThreshold = Duration.ofSeconds(1);
+    // Share logged per status class (1xx to 5xx), 0.0 to 1.0; unlisted classes are always logged, 5xx always is
+    private Map<String, Double> statusSampleRates = new HashMap<>(Map.of("2xx", 0.05, "3xx", 0.05, "4xx", 0.5));
+    // Multiplies the status rate for requests in the fast latency class
+    private double fastSampleRate = 0.2;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public String getDirectory() { return directory; }
+    public void setDirectory(String directory) { this.directory = directory; }
+
+    public int getBufferSize() { return bufferSize; }
+    public void setBufferSize(int bufferSize) { this.bufferSize = bufferSize; }
+
+    public Duration getFastThreshold() { return fastThreshold; }
+    public void setFastThreshold(Duration fastThreshold) { this.fastThreshold = fastThreshold; }
+
+    public Duration getSlowThreshold() { return slowThreshold; }
+    public void setSlowThreshold(Duration slowThreshold) { this.slowThreshold = slowThreshold; }
+
+    public Map<String, Double> getStatusSampleRates() { return statusSampleRates; }
+    public void setStatusSampleRates(Map<String, Double> statusSampleRates) { this.statusSampleRates = statusSampleRates; }
+
+    public double getFastSampleRate() { return fastSampleRate; }
+    public void setFastSampleRate(double fastSampleRate) { this.fastSampleRate = fastSampleRate; }
+}
@@ -0,0 +1,81 @@
+package com.minibank.gateway.accesslog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded many-producer, single-consumer ring of access log entries.
+ *
+ * Each slot carries a sequence number saying whose turn it is: producers claim a slot
+ * with one compare-and-set on the tail and publish by advancing the slot's sequence, and
+ * the consumer frees it the same way. Nobody ever waits on a lock; a producer that finds
+ * the ring full drops its entry rather than stall the event loop.
+ */
+final class AccessLogRing {
+
+    private final int mask;
+    private final AccessLogEntry[] entries;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    // Only the consumer thread moves the head
+    private volatile long head;
+
+    AccessLogRing(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a power of two: " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.entries = new AccessLogEntry[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @return false if the ring is full and the entry was dropped
+     */
+    boolean offer(AccessLogEntry entry) {
+        long position = tail.get();
+        while (true) {
+            int slot = (int) (position & mask);
+            long turn = sequences.get(slot) - position;
+            if (turn == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    entries[slot] = entry;
+                    // Publishes the entry to the consumer
+                    sequences.set(slot, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (turn < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Consumer only.
+     *
+     * @return the oldest entry, or null if none is ready
+     */
+    AccessLogEntry poll() {
+        long position = head;
+        int slot = (int) (position & mask);
+        if (sequences.get(slot) != position + 1) {
+            return null;
+        }
+        AccessLogEntry entry = entries[slot];
+        entries[slot] = null;
+        // Hands the slot back to producers one lap later
+        sequences.set(slot, position + entries.length);
+        head = position + 1;
+        return entry;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+}
@@ -0,0 +1,53 @@
+package com.minibank.gateway.accesslog;
+
+import java.util.Map;
+
+/**
+ * Rate at which a request is logged, by status class and latency class. Server errors and
+ * slow requests are always logged.
+ */
+final class AccessLogSampler {
+
+    private static final int STATUS_CLASSES = 6;
+
+    // Indexed by status / 100; index 0 holds statuses outside 1xx-5xx
+    private final double[] statusRates = new double[STATUS_CLASSES];
+    private final double fastRate;
+    private final long fastNanos;
+    private final long slowNanos;
+
+    AccessLogSampler(AccessLogProperties properties) {
+        for (int statusClass = 0; statusClass < STATUS_CLASSES; statusClass++) {
+            statusRates[statusClass] = 1.0;
+        }
+        for (Map.Entry<String, Double> rate : properties.getStatusSampleRates().entrySet()) {
+            statusRates[statusClass(rate.getKey())] = clamp(rate.getValue());
+        }
+        this.fastRate = clamp(properties.getFastSampleRate());
+        this.fastNanos = properties.getFastThreshold().toNanos();
+        this.slowNanos = properties.getSlowThreshold().toNanos();
+    }
+
+    /**
+     * @return the share of such requests to log; 1.0 for every one
+     */
+    double rate(int status, long durationNanos) {
+        int statusClass = status / 100;
+        if (durationNanos >= slowNanos || statusClass == 5) {
+            return 1.0;
+        }
+        double rate = statusRates[statusClass > 0 && statusClass < STATUS_CLASSES ? statusClass : 0];
+        return durationNanos < fastNanos ? rate * fastRate : rate;
+    }
+
+    private static int statusClass(String name) {
+        if (name.length() != 3 || !name.endsWith("xx") || name.charAt(0) < '1' || name.charAt(0) > '5') {
+            throw new IllegalArgumentException("Status class must be one of 1xx to 5xx: " + name);
+        }
+        return name.charAt(0) - '0';
+    }
+
+    private static double clamp(double rate) {
+        return Math.max(0.0, Math.min(1.0, rate));
+    }
+}
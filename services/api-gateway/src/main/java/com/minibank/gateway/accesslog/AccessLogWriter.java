@@ -0,0 +1,201 @@
+package com.minibank.gateway.accesslog;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Drains the {@link AccessLogRing} to daily files on a thread of its own, one JSON object
+ * per line. Writes are buffered and flushed whenever the ring runs dry, so under load a
+ * flush covers many entries and when idle an entry reaches the file within milliseconds.
+ */
+@Component
+public class AccessLogWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccessLogWriter.class);
+
+    private static final String PREFIX = "access-";
+    private static final String SUFFIX = ".log";
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+
+    private final AccessLogRing ring;
+    private final Path directory;
+    private final Thread thread;
+    private volatile boolean running;
+
+    private Writer out;
+    private LocalDate outDay;
+
+    // Metrics
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failed;
+
+    public AccessLogWriter(AccessLogProperties properties, MeterRegistry meterRegistry) {
+        this.ring = new AccessLogRing(properties.getBufferSize());
+        this.directory = Path.of(properties.getDirectory());
+        this.thread = Thread.ofPlatform().name("access-log-writer").daemon().unstarted(this::drain);
+
+        this.written = recordCounter(meterRegistry, "written");
+        this.dropped = recordCounter(meterRegistry, "dropped");
+        this.failed = recordCounter(meterRegistry, "failed");
+        Gauge.builder("gateway.accesslog.buffer.size", ring, AccessLogRing::size)
+            .description("Access log entries waiting for the writer thread")
+            .register(meterRegistry);
+    }
+
+    private static Counter recordCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("gateway.accesslog.records.total")
+            .description("Requests by what became of their access log entry")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(thread);
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    /**
+     * Hands an entry to the writer thread without blocking; drops it if the buffer is full.
+     */
+    void submit(AccessLogEntry entry) {
+        if (!ring.offer(entry)) {
+            dropped.increment();
+        }
+    }
+
+    private void drain() {
+        StringBuilder line = new StringBuilder(256);
+        while (running || ring.size() > 0) {
+            AccessLogEntry entry = ring.poll();
+            if (entry == null) {
+                flush();
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            line.setLength(0);
+            format(entry, line);
+            try {
+                writerFor(day(entry.epochMillis())).append(line);
+                written.increment();
+            } catch (IOException e) {
+                failed.increment();
+                closeQuietly();
+                logger.error("Could not write access log to {}: {}", directory, e.getMessage());
+                LockSupport.parkNanos(TimeUnit.SECONDS.toNanos(1));
+            }
+        }
+        flush();
+        closeQuietly();
+    }
+
+    private Writer writerFor(LocalDate day) throws IOException {
+        if (out == null || !day.equals(outDay)) {
+            closeQuietly();
+            Files.createDirectories(directory);
+            out = new BufferedWriter(Files.newBufferedWriter(directory.resolve(PREFIX + day + SUFFIX),
+                StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND), 64 * 1024);
+            outDay = day;
+        }
+        return out;
+    }
+
+    private void flush() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.flush();
+        } catch (IOException e) {
+            failed.increment();
+            closeQuietly();
+            logger.error("Could not flush access log: {}", e.getMessage());
+        }
+    }
+
+    private void closeQuietly() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                logger.debug("Closing access log failed: {}", e.getMessage());
+            }
+            out = null;
+        }
+    }
+
+    static void format(AccessLogEntry entry, StringBuilder line) {
+        line.append("{\"ts\":\"").append(Instant.ofEpochMilli(entry.epochMillis()))
+            .append("\",\"method\":");
+        appendString(line, entry.method());
+        line.append(",\"path\":");
+        appendString(line, entry.path());
+        line.append(",\"route\":");
+        appendString(line, entry.route());
+        line.append(",\"status\":").append(entry.status())
+            .append(",\"durationMs\":").append(entry.durationNanos() / 1000 / 1000.0)
+            .append(",\"client\":");
+        InetSocketAddress client = entry.client();
+        appendString(line, client == null || client.getAddress() == null ? null : client.getAddress().getHostAddress());
+        if (entry.responseBytes() >= 0) {
+            line.append(",\"bytes\":").append(entry.responseBytes());
+        }
+        line.append(",\"sampleRate\":").append(entry.sampleRate()).append("}\n");
+    }
+
+    private static void appendString(StringBuilder line, String value) {
+        if (value == null) {
+            line.append("null");
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                default -> {
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+                }
+            }
+        }
+        line.append('"');
+    }
+
+    private static LocalDate day(long epochMillis) {
+        return LocalDate.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+}
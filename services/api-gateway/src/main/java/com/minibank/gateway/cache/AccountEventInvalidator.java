@@ -0,0 +1,47 @@
+package com.minibank.gateway.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Drops cached account responses when account-service reports a change to the account.
+ *
+ * Every gateway replica holds its own cache, so each consumes the whole topic under its
+ * own group, starting from the latest offset: events from before startup cannot concern
+ * entries that did not exist yet.
+ */
+@Component
+public class AccountEventInvalidator {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountEventInvalidator.class);
+
+    private final ResponseCache cache;
+    private final ObjectMapper objectMapper;
+
+    public AccountEventInvalidator(ResponseCache cache, ObjectMapper objectMapper) {
+        this.cache = cache;
+        this.objectMapper = objectMapper;
+    }
+
+    // Any account event may change a balance or what an account GET returns
+    @KafkaListener(topics = "account-events", groupId = "api-gateway-cache-${random.uuid}",
+                   properties = "auto.offset.reset=latest")
+    public void onAccountEvent(String message) {
+        try {
+            JsonNode accountId = objectMapper.readTree(message).get("accountId");
+            if (accountId == null || !accountId.isTextual()) {
+                logger.warn("Ignoring account event without an accountId");
+                return;
+            }
+            cache.invalidate(accountId.asText());
+        } catch (JsonProcessingException e) {
+            logger.error("Ignoring unreadable account event: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.minibank.gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * A stored upstream response. {@code headers} holds only representation headers, so
+ * replaying it never overwrites what the gateway itself adds.
+ */
+public record CachedResponse(int status, HttpHeaders headers, byte[] body, long storedAtMillis,
+                             long freshUntilMillis, long staleUntilMillis) {
+
+    public boolean isFresh(long nowMillis) {
+        return nowMillis < freshUntilMillis;
+    }
+
+    public boolean isUsableOnError(long nowMillis) {
+        return nowMillis < staleUntilMillis;
+    }
+
+    public long ageSeconds(long nowMillis) {
+        return Math.max(0, nowMillis - storedAtMillis) / 1000;
+    }
+}
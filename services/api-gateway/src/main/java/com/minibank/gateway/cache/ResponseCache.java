@@ -0,0 +1,191 @@
+package com.minibank.gateway.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Bounded LRU store of upstream responses, keyed by path, query and caller headers.
+ *
+ * Every entry is tagged with the UUID segments of its path, which for the account routes
+ * are account ids, so one account event drops every cached view of that account. A miss
+ * takes a {@link Ticket} before going upstream; if an invalidation for one of its tags
+ * lands while the request is in flight, the response it brings back is not stored.
+ */
+@Component
+public class ResponseCache {
+
+    private static final int VERSION_STRIPES = 1024;
+
+    private final int maxEntries;
+    private final long maxBytes;
+
+    // Access-ordered, guarded by this
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<String, Set<String>> keysByTag = new HashMap<>();
+    private long bytes;
+
+    // Bumped on every invalidation of a tag hashing to the stripe
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+
+    // Metrics
+    private final Counter invalidations;
+    private final Counter evictions;
+
+    public ResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.maxEntries = properties.getMaxEntries();
+        this.maxBytes = properties.getMaxSize().toBytes();
+
+        this.invalidations = Counter.builder("gateway.cache.invalidations.total")
+            .description("Cached responses dropped because an account event made them stale")
+            .register(meterRegistry);
+        this.evictions = Counter.builder("gateway.cache.evictions.total")
+            .description("Cached responses dropped to stay within the size bounds")
+            .register(meterRegistry);
+        Gauge.builder("gateway.cache.entries", this, ResponseCache::size)
+            .description("Responses held in the gateway cache")
+            .register(meterRegistry);
+        Gauge.builder("gateway.cache.size.bytes", this, ResponseCache::bytes)
+            .description("Body bytes held in the gateway cache")
+            .register(meterRegistry);
+    }
+
+    /**
+     * @return the entry while it may still be served, fresh or stale-on-error; otherwise null
+     */
+    public synchronized CachedResponse get(String key, long nowMillis) {
+        CachedResponse response = entries.get(key);
+        if (response != null && !response.isUsableOnError(nowMillis) && !response.isFresh(nowMillis)) {
+            remove(key);
+            return null;
+        }
+        return response;
+    }
+
+    /**
+     * Captures the invalidation state of the key's tags before going upstream.
+     */
+    public Ticket ticket(String key) {
+        List<String> tags = tags(key);
+        long[] seen = new long[tags.size()];
+        for (int i = 0; i < seen.length; i++) {
+            seen[i] = versions.get(stripe(tags.get(i)));
+        }
+        return new Ticket(key, tags, seen);
+    }
+
+    /**
+     * Stores the response unless one of its tags was invalidated since the ticket was taken.
+     */
+    public synchronized void put(Ticket ticket, CachedResponse response) {
+        for (int i = 0; i < ticket.tags().size(); i++) {
+            if (versions.get(stripe(ticket.tags().get(i))) != ticket.versions()[i]) {
+                return;
+            }
+        }
+        remove(ticket.key());
+        entries.put(ticket.key(), response);
+        bytes += response.body().length;
+        for (String tag : ticket.tags()) {
+            keysByTag.computeIfAbsent(tag, t -> new HashSet<>()).add(ticket.key());
+        }
+        evictOverflow();
+    }
+
+    /**
+     * Drops every entry whose path contains {@code tag}, and any in-flight response for one.
+     */
+    public synchronized void invalidate(String tag) {
+        String normalized = tag.toLowerCase();
+        versions.incrementAndGet(stripe(normalized));
+        Set<String> keys = keysByTag.remove(normalized);
+        if (keys == null) {
+            return;
+        }
+        for (String key : new ArrayList<>(keys)) {
+            remove(key);
+            invalidations.increment();
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long bytes() {
+        return bytes;
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, CachedResponse>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || bytes > maxBytes) && eldest.hasNext()) {
+            Map.Entry<String, CachedResponse> entry = eldest.next();
+            eldest.remove();
+            forget(entry.getKey(), entry.getValue());
+            evictions.increment();
+        }
+    }
+
+    private void remove(String key) {
+        CachedResponse removed = entries.remove(key);
+        if (removed != null) {
+            forget(key, removed);
+        }
+    }
+
+    // Drops a key that has left the map from the byte count and the tag index
+    private void forget(String key, CachedResponse removed) {
+        bytes -= removed.body().length;
+        for (String tag : tags(key)) {
+            Set<String> keys = keysByTag.get(tag);
+            if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                keysByTag.remove(tag);
+            }
+        }
+    }
+
+    // The key starts with the raw path, which holds neither '?' nor a line break
+    static List<String> tags(String key) {
+        int end = 0;
+        while (end < key.length() && key.charAt(end) != '?' && key.charAt(end) != '\n') {
+            end++;
+        }
+        String path = key.substring(0, end);
+        List<String> tags = new ArrayList<>(1);
+        for (String segment : path.split("/")) {
+            if (segment.length() == 36 && isUuid(segment)) {
+                tags.add(segment.toLowerCase());
+            }
+        }
+        return tags;
+    }
+
+    private static boolean isUuid(String segment) {
+        try {
+            UUID.fromString(segment);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static int stripe(String tag) {
+        return (tag.hashCode() & 0x7fffffff) % VERSION_STRIPES;
+    }
+
+    public record Ticket(String key, List<String> tags, long[] versions) {
+    }
+}
@@ -0,0 +1,272 @@
+package com.minibank.gateway.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Serves GETs on opted-in routes from the {@link ResponseCache}.
+ *
+ * A fresh entry is answered without touching upstream. Otherwise the request goes
+ * upstream and a 200 is stored on its way back to the client. When upstream fails or
+ * answers 5xx, a route with {@code stale-if-error} gets the last good response instead.
+ * Entries are never revalidated on a timer: they expire, or an account event drops them.
+ *
+ * The key includes the configured request headers, Authorization by default, so one
+ * caller's response is never replayed to another. Only paths with an account id are
+ * cached, since account events are the only invalidation there is; lists scoped to a user
+ * or anything else without one always go upstream.
+ */
+@Component
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    static final String CACHE_HEADER = "X-Cache";
+
+    // Headers describing the body; the only ones stored and replayed
+    private static final List<String> REPRESENTATION_HEADERS = List.of(HttpHeaders.CONTENT_TYPE,
+        HttpHeaders.CONTENT_ENCODING, HttpHeaders.CONTENT_LANGUAGE, HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED);
+
+    private final ResponseCache cache;
+    private final Map<String, ResponseCacheProperties.RoutePolicy> policies;
+    private final long maxEntryBytes;
+    private final List<String> keyHeaders;
+
+    // Metrics
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter staleServed;
+    private final Counter bytesSaved;
+
+    public ResponseCacheFilter(ResponseCache cache, ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.cache = cache;
+        this.policies = Map.copyOf(properties.getRoutes());
+        this.maxEntryBytes = properties.getMaxEntrySize().toBytes();
+        this.keyHeaders = List.copyOf(properties.getKeyHeaders());
+
+        this.hits = requestCounter(meterRegistry, "hit");
+        this.misses = requestCounter(meterRegistry, "miss");
+        this.staleServed = requestCounter(meterRegistry, "stale");
+        this.bytesSaved = Counter.builder("gateway.cache.bytes.saved.total")
+            .description("Response body bytes served from the cache instead of fetched upstream")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        Gauge.builder("gateway.cache.hit.ratio", this, ResponseCacheFilter::hitRatio)
+            .description("Share of cacheable requests answered from the cache, stale answers included")
+            .register(meterRegistry);
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("gateway.cache.requests.total")
+            .description("Cacheable requests by how they were answered")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        ResponseCacheProperties.RoutePolicy policy = route == null ? null : policies.get(route.getId());
+        if (policy == null || request.getMethod() != HttpMethod.GET
+                || ResponseCache.tags(request.getURI().getRawPath()).isEmpty()) {
+            return chain.filter(exchange);
+        }
+
+        String key = key(request);
+        long now = System.currentTimeMillis();
+        CachedResponse cached = cache.get(key, now);
+        if (cached != null && cached.isFresh(now) && !bypassesCache(request)) {
+            hits.increment();
+            bytesSaved.increment(cached.body().length);
+            return write(exchange.getResponse(), cached, "HIT", now);
+        }
+
+        misses.increment();
+        ServerHttpResponse response = exchange.getResponse();
+        CachingResponse caching = new CachingResponse(response, cache.ticket(key), policy, cached);
+        return chain.filter(exchange.mutate().response(caching).build())
+            .onErrorResume(e -> {
+                long failedAt = System.currentTimeMillis();
+                if (cached == null || !cached.isUsableOnError(failedAt) || response.isCommitted()) {
+                    return Mono.error(e);
+                }
+                return writeStale(response, cached, failedAt);
+            });
+    }
+
+    // Before NettyWriteResponseFilter, so its write goes through the caching decorator, and
+    // before request coalescing, so hits never wait on an in-flight request
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 2;
+    }
+
+    // Path first: ResponseCache reads the tags from it
+    String key(ServerHttpRequest request) {
+        StringBuilder key = new StringBuilder(128).append(request.getURI().getRawPath());
+        String query = request.getURI().getRawQuery();
+        if (query != null) {
+            key.append('?').append(query);
+        }
+        for (String header : keyHeaders) {
+            key.append('\n').append(header).append('=').append(request.getHeaders().getOrEmpty(header));
+        }
+        return key.toString();
+    }
+
+    private static boolean bypassesCache(ServerHttpRequest request) {
+        String cacheControl = request.getHeaders().getCacheControl();
+        return cacheControl != null && cacheControl.contains("no-cache");
+    }
+
+    private Mono<Void> writeStale(ServerHttpResponse response, CachedResponse cached, long now) {
+        staleServed.increment();
+        bytesSaved.increment(cached.body().length);
+        return write(response, cached, "STALE", now);
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, CachedResponse cached, String result, long now) {
+        response.setStatusCode(HttpStatusCode.valueOf(cached.status()));
+        HttpHeaders headers = response.getHeaders();
+        REPRESENTATION_HEADERS.forEach(headers::remove);
+        headers.remove(HttpHeaders.TRANSFER_ENCODING);
+        headers.putAll(cached.headers());
+        headers.setContentLength(cached.body().length);
+        headers.set(HttpHeaders.AGE, Long.toString(cached.ageSeconds(now)));
+        headers.set(CACHE_HEADER, result);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    private double hitRatio() {
+        double served = hits.count() + staleServed.count();
+        double total = served + misses.count();
+        return total == 0 ? Double.NaN : served / total;
+    }
+
+    /**
+     * Stores a cacheable 200 as it is written, or swaps a 5xx for the stale entry. The body
+     * streams through as it arrives; at most {@code maxEntryBytes} of it are held for the cache.
+     */
+    private final class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final ResponseCache.Ticket ticket;
+        private final ResponseCacheProperties.RoutePolicy policy;
+        private final CachedResponse stale;
+
+        CachingResponse(ServerHttpResponse delegate, ResponseCache.Ticket ticket,
+                        ResponseCacheProperties.RoutePolicy policy, CachedResponse stale) {
+            super(delegate);
+            this.ticket = ticket;
+            this.policy = policy;
+            this.stale = stale;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            long now = System.currentTimeMillis();
+            if (status != null && status.is5xxServerError() && stale != null && stale.isUsableOnError(now)) {
+                return Flux.from(body).doOnNext(DataBufferUtils::release)
+                    .then(Mono.defer(() -> writeStale(getDelegate(), stale, now)));
+            }
+            getHeaders().set(CACHE_HEADER, "MISS");
+            if (status == null || status.value() != 200 || !storable(getHeaders())) {
+                return super.writeWith(body);
+            }
+            // Copied as it streams past; a body that outgrows the entry limit is passed through uncached
+            BodyCopy copy = new BodyCopy(maxEntryBytes);
+            Flux<DataBuffer> copied = Flux.<DataBuffer>from(body)
+                .doOnNext(copy::append)
+                .doOnComplete(() -> {
+                    byte[] bytes = copy.bytes();
+                    if (bytes != null) {
+                        cache.put(ticket, new CachedResponse(status.value(), representationHeaders(getHeaders()),
+                            bytes, now, now + policy.getTtl().toMillis(),
+                            now + policy.getTtl().toMillis() + policy.getStaleIfError().toMillis()));
+                    }
+                });
+            return super.writeWith(copied);
+        }
+
+        private boolean storable(HttpHeaders headers) {
+            if (headers.containsKey(HttpHeaders.SET_COOKIE)) {
+                return false;
+            }
+            long contentLength = headers.getContentLength();
+            if (contentLength > maxEntryBytes) {
+                return false;
+            }
+            String cacheControl = headers.getCacheControl();
+            return cacheControl == null
+                || !(cacheControl.contains("no-store") || cacheControl.contains("private"));
+        }
+
+        private static HttpHeaders representationHeaders(HttpHeaders headers) {
+            HttpHeaders copy = new HttpHeaders();
+            for (String name : REPRESENTATION_HEADERS) {
+                List<String> values = headers.get(name);
+                if (values != null) {
+                    copy.put(name, List.copyOf(values));
+                }
+            }
+            return HttpHeaders.readOnlyHttpHeaders(copy);
+        }
+    }
+
+    /**
+     * Copy of a response body taken without consuming it, abandoned once it passes the limit.
+     */
+    private static final class BodyCopy {
+
+        private final long limit;
+        private ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        BodyCopy(long limit) {
+            this.limit = limit;
+        }
+
+        void append(DataBuffer buffer) {
+            if (bytes == null) {
+                return;
+            }
+            int length = buffer.readableByteCount();
+            if (bytes.size() + (long) length > limit) {
+                bytes = null;
+                return;
+            }
+            byte[] chunk = new byte[length];
+            buffer.toByteBuffer(buffer.readPosition(), ByteBuffer.wrap(chunk), 0, length);
+            bytes.write(chunk, 0, length);
+        }
+
+        // Null if the body outgrew the limit
+        byte[] bytes() {
+            return bytes == null ? null : bytes.toByteArray();
+        }
+    }
+}
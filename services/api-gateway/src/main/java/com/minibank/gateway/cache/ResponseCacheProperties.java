@@ -0,0 +1,53 @@
+package com.minibank.gateway.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties(prefix = "gateway.response-cache")
+public class ResponseCacheProperties {
+
+    // Least recently used entries are evicted beyond either bound
+    private int maxEntries = 10000;
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+    // Larger responses are passed through without being cached
+    private DataSize maxEntrySize = DataSize.ofKilobytes(256);
+    // Routes that opt in, by route id; GETs on other routes are never cached
+    private Map<String, RoutePolicy> routes = new HashMap<>();
+    // Request headers that are part of the key, so a response is only replayed to the same caller
+    private List<String> keyHeaders = new ArrayList<>(List.of("Authorization", "Accept", "Accept-Language"));
+
+    public int getMaxEntries() { return maxEntries; }
+    public void setMaxEntries(int maxEntries) { this.maxEntries = maxEntries; }
+
+    public DataSize getMaxSize() { return maxSize; }
+    public void setMaxSize(DataSize maxSize) { this.maxSize = maxSize; }
+
+    public DataSize getMaxEntrySize() { return maxEntrySize; }
+    public void setMaxEntrySize(DataSize maxEntrySize) { this.maxEntrySize = maxEntrySize; }
+
+    public Map<String, RoutePolicy> getRoutes() { return routes; }
+    public void setRoutes(Map<String, RoutePolicy> routes) { this.routes = routes; }
+
+    public List<String> getKeyHeaders() { return keyHeaders; }
+    public void setKeyHeaders(List<String> keyHeaders) { this.keyHeaders = keyHeaders; }
+
+    public static class RoutePolicy {
+
+        // Served from the cache without asking upstream for this long, unless invalidated first
+        private Duration ttl = Duration.ofSeconds(10);
+        // Past the ttl, served for this much longer when upstream fails or answers 5xx; zero disables
+        private Duration staleIfError = Duration.ZERO;
+
+        public Duration getTtl() { return ttl; }
+        public void setTtl(Duration ttl) { this.ttl = ttl; }
+
+        public Duration getStaleIfError() { return staleIfError; }
+        public void setStaleIfError(Duration staleIfError) { this.staleIfError = staleIfError; }
+    }
+}
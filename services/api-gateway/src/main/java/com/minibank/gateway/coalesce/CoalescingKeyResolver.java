@@ -0,0 +1,16 @@
+package com.minibank.gateway.coalesce;
+
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Decides which requests are identical. Requests resolving to the same key while one of
+ * them is in flight share its upstream response. Declare a bean of this type to replace
+ * the default.
+ */
+public interface CoalescingKeyResolver {
+
+    /**
+     * @return the key, or null if the request must not be coalesced
+     */
+    String resolve(ServerWebExchange exchange);
+}
@@ -0,0 +1,38 @@
+package com.minibank.gateway.coalesce;
+
+import java.util.List;
+
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Keys on route, path, query and the configured request headers, so clients that could
+ * be answered differently, for instance under another Authorization, never share.
+ */
+public class DefaultCoalescingKeyResolver implements CoalescingKeyResolver {
+
+    private final List<String> keyHeaders;
+
+    public DefaultCoalescingKeyResolver(List<String> keyHeaders) {
+        this.keyHeaders = List.copyOf(keyHeaders);
+    }
+
+    @Override
+    public String resolve(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        ServerHttpRequest request = exchange.getRequest();
+        StringBuilder key = new StringBuilder(128)
+            .append(route == null ? "" : route.getId()).append(' ')
+            .append(request.getURI().getRawPath());
+        String query = request.getURI().getRawQuery();
+        if (query != null) {
+            key.append('?').append(query);
+        }
+        for (String header : keyHeaders) {
+            key.append('\n').append(header).append('=').append(request.getHeaders().getOrEmpty(header));
+        }
+        return key.toString();
+    }
+}
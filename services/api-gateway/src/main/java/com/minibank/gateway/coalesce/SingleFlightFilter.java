@@ -0,0 +1,274 @@
+package com.minibank.gateway.coalesce;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Lets identical concurrent GETs share one upstream call.
+ *
+ * The first request for a key becomes the leader and goes upstream; requests arriving
+ * with the same key while it is in flight wait for its response and get a copy. The
+ * flight ends the moment the leader's response is written, so nothing outlives it: this
+ * is not a cache. A waiting request that is not answered within {@code max-wait}, or whose
+ * leader fails or produces a response that cannot be shared, goes upstream on its own.
+ */
+@Component
+public class SingleFlightFilter implements GlobalFilter, Ordered {
+
+    static final String COALESCED_HEADER = "X-Coalesced";
+
+    // Headers describing the body; the only ones copied to waiting requests
+    private static final List<String> REPRESENTATION_HEADERS = List.of(HttpHeaders.CONTENT_TYPE,
+        HttpHeaders.CONTENT_ENCODING, HttpHeaders.CONTENT_LANGUAGE, HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED,
+        HttpHeaders.CACHE_CONTROL, HttpHeaders.VARY);
+
+    private final CoalescingKeyResolver keyResolver;
+    private final Set<String> routes;
+    private final Duration maxWait;
+    private final long maxResponseBytes;
+    private final ConcurrentHashMap<String, Flight> flights = new ConcurrentHashMap<>();
+
+    // Metrics
+    private final Counter leaders;
+    private final Counter followers;
+    private final Counter fallbacks;
+    private final Timer waitDuration;
+
+    public SingleFlightFilter(CoalescingKeyResolver keyResolver, SingleFlightProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.keyResolver = keyResolver;
+        this.routes = Set.copyOf(properties.getRoutes());
+        this.maxWait = properties.getMaxWait();
+        this.maxResponseBytes = properties.getMaxResponseSize().toBytes();
+
+        this.leaders = requestCounter(meterRegistry, "leader");
+        this.followers = requestCounter(meterRegistry, "follower");
+        this.fallbacks = requestCounter(meterRegistry, "fallback");
+        this.waitDuration = Timer.builder("gateway.singleflight.wait.duration.seconds")
+            .description("Time a coalesced request waited for the shared response")
+            .register(meterRegistry);
+        Gauge.builder("gateway.singleflight.coalescing.ratio", this, SingleFlightFilter::coalescingRatio)
+            .description("Share of coalescable requests answered without an upstream call of their own")
+            .register(meterRegistry);
+        Gauge.builder("gateway.singleflight.inflight", flights, ConcurrentHashMap::size)
+            .description("Upstream calls currently shared by key")
+            .register(meterRegistry);
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String role) {
+        return Counter.builder("gateway.singleflight.requests.total")
+            .description("Coalescable requests: leaders went upstream, followers shared a leader's response, "
+                + "fallbacks waited and then went upstream themselves")
+            .tag("role", role)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null || !routes.contains(route.getId()) || exchange.getRequest().getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+        String key = keyResolver.resolve(exchange);
+        if (key == null) {
+            return chain.filter(exchange);
+        }
+
+        Flight flight = new Flight(key);
+        Flight inFlight = flights.putIfAbsent(key, flight);
+        if (inFlight != null) {
+            return follow(exchange, chain, inFlight);
+        }
+        leaders.increment();
+        LeaderResponse response = new LeaderResponse(exchange.getResponse(), flight);
+        return chain.filter(exchange.mutate().response(response).build())
+            // Errors, cancellation or a response never written: waiting requests go upstream themselves
+            .doFinally(signal -> land(flight, null));
+    }
+
+    // Inside the response cache, outside NettyWriteResponseFilter
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+
+    private Mono<Void> follow(ServerWebExchange exchange, GatewayFilterChain chain, Flight flight) {
+        long start = System.nanoTime();
+        return flight.result.asMono()
+            .timeout(maxWait)
+            .onErrorResume(e -> Mono.empty())
+            .flatMap(shared -> {
+                followers.increment();
+                waitDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return write(exchange.getResponse(), shared).thenReturn(Boolean.TRUE);
+            })
+            .switchIfEmpty(Mono.defer(() -> {
+                fallbacks.increment();
+                return chain.filter(exchange).thenReturn(Boolean.TRUE);
+            }))
+            .then();
+    }
+
+    // Ends the flight; later requests for the key start a new one
+    private void land(Flight flight, SharedResponse response) {
+        if (!flight.landed.compareAndSet(false, true)) {
+            return;
+        }
+        flights.remove(flight.key, flight);
+        if (response != null) {
+            flight.result.tryEmitValue(response);
+        } else {
+            flight.result.tryEmitEmpty();
+        }
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, SharedResponse shared) {
+        response.setStatusCode(HttpStatusCode.valueOf(shared.status()));
+        HttpHeaders headers = response.getHeaders();
+        headers.putAll(shared.headers());
+        headers.setContentLength(shared.body().length);
+        headers.set(COALESCED_HEADER, "true");
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body())));
+    }
+
+    private double coalescingRatio() {
+        double total = leaders.count() + followers.count() + fallbacks.count();
+        return total == 0 ? Double.NaN : followers.count() / total;
+    }
+
+    private static final class Flight {
+
+        private final String key;
+        private final Sinks.One<SharedResponse> result = Sinks.one();
+        private final AtomicBoolean landed = new AtomicBoolean();
+
+        Flight(String key) {
+            this.key = key;
+        }
+    }
+
+    private record SharedResponse(int status, HttpHeaders headers, byte[] body) {
+    }
+
+    /**
+     * Copy of a response body taken without consuming it, abandoned once it passes the limit.
+     */
+    private static final class BodyCopy {
+
+        private final long limit;
+        private ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        BodyCopy(long limit) {
+            this.limit = limit;
+        }
+
+        // False once the body has outgrown the limit
+        boolean append(DataBuffer buffer) {
+            if (bytes == null) {
+                return false;
+            }
+            int length = buffer.readableByteCount();
+            if (bytes.size() + (long) length > limit) {
+                bytes = null;
+                return false;
+            }
+            byte[] chunk = new byte[length];
+            buffer.toByteBuffer(buffer.readPosition(), ByteBuffer.wrap(chunk), 0, length);
+            bytes.write(chunk, 0, length);
+            return true;
+        }
+
+        // Null if the body outgrew the limit
+        byte[] bytes() {
+            return bytes == null ? null : bytes.toByteArray();
+        }
+    }
+
+    /**
+     * Copies the leader's response for the waiting requests as it is written. The body
+     * streams through as it arrives; at most {@code maxResponseBytes} of it are held.
+     */
+    private final class LeaderResponse extends ServerHttpResponseDecorator {
+
+        private final Flight flight;
+
+        LeaderResponse(ServerHttpResponse delegate, Flight flight) {
+            super(delegate);
+            this.flight = flight;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            HttpHeaders headers = getHeaders();
+            if (status == null || headers.containsKey(HttpHeaders.SET_COOKIE)
+                    || headers.getContentLength() > maxResponseBytes) {
+                land(flight, null);
+                return super.writeWith(body);
+            }
+            // Copied as it streams past; once the body outgrows the limit the waiting requests go upstream
+            BodyCopy copy = new BodyCopy(maxResponseBytes);
+            Flux<DataBuffer> copied = Flux.<DataBuffer>from(body)
+                .doOnNext(buffer -> {
+                    if (!copy.append(buffer)) {
+                        land(flight, null);
+                    }
+                })
+                .doOnComplete(() -> {
+                    byte[] bytes = copy.bytes();
+                    if (bytes != null) {
+                        land(flight, new SharedResponse(status.value(), representationHeaders(headers), bytes));
+                    }
+                });
+            return super.writeWith(copied);
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            // Streamed responses are not shared
+            land(flight, null);
+            return super.writeAndFlushWith(body);
+        }
+
+        private static HttpHeaders representationHeaders(HttpHeaders headers) {
+            HttpHeaders copy = new HttpHeaders();
+            for (String name : REPRESENTATION_HEADERS) {
+                List<String> values = headers.get(name);
+                if (values != null) {
+                    copy.put(name, List.copyOf(values));
+                }
+            }
+            return HttpHeaders.readOnlyHttpHeaders(copy);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.minibank.gateway.coalesce;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties(prefix = "gateway.single-flight")
+public class SingleFlightProperties {
+
+    // Route ids whose GETs are coalesced
+    private List<String> routes = new ArrayList<>();
+    // A waiting request gives up on the shared response after this long and goes upstream itself
+    private Duration maxWait = Duration.ofSeconds(2);
+    // Larger responses are not shared; waiting requests go upstream themselves
+    private DataSize maxResponseSize = DataSize.ofMegabytes(1);
+    // Request headers that are part of the default key
+    private List<String> keyHeaders = new ArrayList<>(List.of("Authorization", "Accept", "Accept-Language"));
+
+    public List<String> getRoutes() { return routes; }
+    public void setRoutes(List<String> routes) { this.routes = routes; }
+
+    public Duration getMaxWait() { return maxWait; }
+    public void setMaxWait(Duration maxWait) { this.maxWait = maxWait; }
+
+    public DataSize getMaxResponseSize() { return maxResponseSize; }
+    public void setMaxResponseSize(DataSize maxResponseSize) { this.maxResponseSize = maxResponseSize; }
+
+    public List<String> getKeyHeaders() { return keyHeaders; }
+    public void setKeyHeaders(List<String> keyHeaders) { this.keyHeaders = keyHeaders; }
+}
@@ -0,0 +1,19 @@
+package com.minibank.gateway.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.minibank.gateway.coalesce.CoalescingKeyResolver;
+import com.minibank.gateway.coalesce.DefaultCoalescingKeyResolver;
+import com.minibank.gateway.coalesce.SingleFlightProperties;
+
+@Configuration
+public class SingleFlightConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(CoalescingKeyResolver.class)
+    public CoalescingKeyResolver coalescingKeyResolver(SingleFlightProperties properties) {
+        return new DefaultCoalescingKeyResolver(properties.getKeyHeaders());
+    }
+}
@@ -1,39 +0,0 @@
-package com.minibank.gateway.filter;
-
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.cloud.gateway.filter.GatewayFilterChain;
-import org.springframework.cloud.gateway.filter.GlobalFilter;
-import org.springframework.core.Ordered;
-import org.springframework.http.server.reactive.ServerHttpRequest;
-import org.springframework.stereotype.Component;
-import org.springframework.web.server.ServerWebExchange;
-import reactor.core.publisher.Mono;
-
-@Component
-public class LoggingFilter implements GlobalFilter, Ordered {
-
-    private static final Logger logger = LoggerFactory.getLogger(LoggingFilter.class);
-
-    @Override
-    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-        ServerHttpRequest request = exchange.getRequest();
-
-        logger.info("Request: {} {} from {}",
-            request.getMethod(),
-            request.getURI(),
-            request.getRemoteAddress());
-
-        return chain.filter(exchange).then(Mono.fromRunnable(() -> {
-            logger.info("Response: {} for {} {}",
-                exchange.getResponse().getStatusCode(),
-                request.getMethod(),
-                request.getURI());
-        }));
-    }
-
-    @Override
-    public int getOrder() {
-        return Ordered.LOWEST_PRECEDENCE;
-    }
-}
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.minibank.gateway.ratelimit;
+
+/**
+ * @param remaining tokens left after this request
+ * @param resetNanos until the bucket is full again
+ * @param retryAfterNanos until a rejected request would be allowed; zero when allowed
+ */
+public record BucketDecision(boolean allowed, long remaining, long resetNanos, long retryAfterNanos) {
+}
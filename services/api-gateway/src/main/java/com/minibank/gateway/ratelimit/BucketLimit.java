@@ -0,0 +1,22 @@
+package com.minibank.gateway.ratelimit;
+
+/**
+ * A token bucket holding up to {@code capacity} tokens, refilled continuously at
+ * {@code refillPerSecond}.
+ */
+public record BucketLimit(long capacity, double refillPerSecond) {
+
+    public BucketLimit {
+        if (capacity < 1 || !(refillPerSecond > 0)) {
+            throw new IllegalArgumentException("Bucket needs a positive capacity and refill rate: "
+                + capacity + ", " + refillPerSecond);
+        }
+    }
+
+    /**
+     * Time for one token to come back.
+     */
+    public long intervalNanos() {
+        return Math.max(1, Math.round(1_000_000_000 / refillPerSecond));
+    }
+}
@@ -0,0 +1,70 @@
+package com.minibank.gateway.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Buckets local to this gateway replica; limits hold per replica, not across them.
+ *
+ * Each bucket is one {@link AtomicLong} updated by compare-and-set, so the event loop
+ * never blocks. Full buckets carry no information and are swept out once the map grows
+ * past {@code max-buckets}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "gateway.rate-limit", name = "backend", havingValue = "memory", matchIfMissing = true)
+public class InMemoryTokenBuckets implements TokenBucketBackend {
+
+    private static final int SWEEP_CHECK_INTERVAL = 1024;
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final int maxBuckets;
+    private final AtomicLong acquisitions = new AtomicLong();
+
+    public InMemoryTokenBuckets(RateLimitProperties properties) {
+        this.maxBuckets = properties.getMaxBuckets();
+    }
+
+    @Override
+    public String name() {
+        return "memory";
+    }
+
+    @Override
+    public Mono<BucketDecision> tryAcquire(String key, BucketLimit limit) {
+        return Mono.just(acquire(key, limit, System.nanoTime()));
+    }
+
+    BucketDecision acquire(String key, BucketLimit limit, long now) {
+        if (acquisitions.incrementAndGet() % SWEEP_CHECK_INTERVAL == 0 && buckets.size() > maxBuckets) {
+            sweep(now);
+        }
+        AtomicLong bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        long interval = limit.intervalNanos();
+        long tolerance = interval * limit.capacity();
+        while (true) {
+            long tat = bucket.get();
+            long next = Math.max(tat, now) + interval;
+            if (next - now > tolerance) {
+                return new BucketDecision(false, 0, tat - now, next - now - tolerance);
+            }
+            if (bucket.compareAndSet(tat, next)) {
+                return new BucketDecision(true, (tolerance - (next - now)) / interval, next - now, 0);
+            }
+        }
+    }
+
+    // A take racing the sweep can land on a dropped bucket and go uncounted; the bucket
+    // was full, so at most one token is forgiven
+    private void sweep(long now) {
+        buckets.values().removeIf(tat -> tat.get() - now <= 0);
+    }
+
+    int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,173 @@
+package com.minibank.gateway.ratelimit;
+
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * Applies a per-client token bucket, and optionally a route-wide one, to every routed
+ * request. Requests over either limit get a 429 with {@code Retry-After}; every answer
+ * carries {@code RateLimit-Limit}, {@code RateLimit-Remaining} and {@code RateLimit-Reset}
+ * for the client's own bucket.
+ *
+ * A client is the authenticated principal, or the remote address for anonymous requests.
+ * Nothing the client merely asserts, such as a header, picks its bucket, so a client
+ * cannot spread its requests over fresh buckets or drain someone else's.
+ *
+ * The limiter fails open: if the backend cannot answer, the request goes through and the
+ * failure is counted, since a Redis outage should not take the whole API down with it.
+ */
+@Component
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    static final String LIMIT_HEADER = "RateLimit-Limit";
+    static final String REMAINING_HEADER = "RateLimit-Remaining";
+    static final String RESET_HEADER = "RateLimit-Reset";
+
+    // Stands in for a decision the backend failed to make
+    private static final BucketDecision UNCHECKED = new BucketDecision(true, 0, 0, 0);
+
+    private final TokenBucketBackend backend;
+    private final boolean enabled;
+    private final AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
+    private final BucketLimit defaultClientLimit;
+    private final Map<String, BucketLimit> clientLimits = new HashMap<>();
+    private final Map<String, BucketLimit> routeLimits = new HashMap<>();
+
+    // Metrics
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> rejections = new ConcurrentHashMap<>();
+    private final Counter backendErrors;
+
+    public RateLimitFilter(TokenBucketBackend backend, RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.backend = backend;
+        this.enabled = properties.isEnabled();
+        this.defaultClientLimit = properties.getDefaultClientLimit().toBucketLimit();
+        properties.getRoutes().forEach((routeId, policy) -> {
+            if (policy.getClient() != null) {
+                clientLimits.put(routeId, policy.getClient().toBucketLimit());
+            }
+            if (policy.getRoute() != null) {
+                routeLimits.put(routeId, policy.getRoute().toBucketLimit());
+            }
+        });
+        logger.info("Rate limiting {} with the {} backend", enabled ? "enabled" : "disabled", backend.name());
+
+        this.meterRegistry = meterRegistry;
+        this.backendErrors = Counter.builder("gateway.ratelimit.backend.errors.total")
+            .description("Rate limit checks let through because the backend failed")
+            .tag("backend", backend.name())
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (!enabled || route == null) {
+            return chain.filter(exchange);
+        }
+        String routeId = route.getId();
+        BucketLimit clientLimit = clientLimits.getOrDefault(routeId, defaultClientLimit);
+        BucketLimit routeLimit = routeLimits.get(routeId);
+
+        return clientId(exchange)
+            .flatMap(clientId -> acquire(routeId + ":client:" + clientId, clientLimit, routeId))
+            .flatMap(client -> {
+                if (client != UNCHECKED) {
+                    setHeaders(exchange.getResponse(), clientLimit, client);
+                }
+                if (!client.allowed()) {
+                    return reject(exchange, routeId, "client", client);
+                }
+                if (routeLimit == null) {
+                    return chain.filter(exchange);
+                }
+                // Only clients within their own limit draw on the route's budget
+                return acquire(routeId + ":route", routeLimit, routeId)
+                    .flatMap(shared -> shared.allowed()
+                        ? chain.filter(exchange)
+                        : reject(exchange, routeId, "route", shared));
+            });
+    }
+
+    // Ahead of the response cache, so cached answers count against the limits too
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 100;
+    }
+
+    // Prefixed so a principal name can never collide with an address
+    private Mono<String> clientId(ServerWebExchange exchange) {
+        return exchange.getPrincipal()
+            .filter(principal -> !(principal instanceof Authentication authentication)
+                || (authentication.isAuthenticated() && !trustResolver.isAnonymous(authentication)))
+            .map(principal -> "principal:" + principal.getName())
+            .defaultIfEmpty("address:" + remoteAddress(exchange.getRequest()));
+    }
+
+    private static String remoteAddress(ServerHttpRequest request) {
+        InetSocketAddress remote = request.getRemoteAddress();
+        return remote == null || remote.getAddress() == null ? "unknown" : remote.getAddress().getHostAddress();
+    }
+
+    private Mono<BucketDecision> acquire(String key, BucketLimit limit, String routeId) {
+        return backend.tryAcquire(key, limit)
+            .switchIfEmpty(Mono.error(() -> new IllegalStateException("No answer from the backend")))
+            .onErrorResume(e -> {
+                backendErrors.increment();
+                logger.warn("Rate limit backend {} failed on route {}, letting the request through: {}",
+                    backend.name(), routeId, e.getMessage());
+                return Mono.just(UNCHECKED);
+            });
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, String routeId, String limit, BucketDecision decision) {
+        rejections.computeIfAbsent(routeId + ":" + limit, k -> Counter.builder("gateway.ratelimit.rejected.total")
+                .description("Requests refused with 429 by the rate limiter")
+                .tag("route", routeId)
+                .tag("limit", limit)
+                .register(meterRegistry))
+            .increment();
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(seconds(decision.retryAfterNanos())));
+        return response.setComplete();
+    }
+
+    private static void setHeaders(ServerHttpResponse response, BucketLimit limit, BucketDecision decision) {
+        HttpHeaders headers = response.getHeaders();
+        headers.set(LIMIT_HEADER, Long.toString(limit.capacity()));
+        headers.set(REMAINING_HEADER, Long.toString(decision.remaining()));
+        headers.set(RESET_HEADER, Long.toString(seconds(decision.resetNanos())));
+    }
+
+    // Rounded up, so a client waiting this long is never turned away again
+    private static long seconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,74 @@
+package com.minibank.gateway.ratelimit;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    // memory keeps buckets per replica; redis shares them across replicas
+    private String backend = "memory";
+    // Full in-memory buckets are swept out beyond this many
+    private int maxBuckets = 100000;
+    // Per-client bucket on every route without its own
+    private Limit defaultClientLimit = new Limit(100, 50);
+    // Overrides by route id
+    private Map<String, RoutePolicy> routes = new HashMap<>();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public String getBackend() { return backend; }
+    public void setBackend(String backend) { this.backend = backend; }
+
+    public int getMaxBuckets() { return maxBuckets; }
+    public void setMaxBuckets(int maxBuckets) { this.maxBuckets = maxBuckets; }
+
+    public Limit getDefaultClientLimit() { return defaultClientLimit; }
+    public void setDefaultClientLimit(Limit defaultClientLimit) { this.defaultClientLimit = defaultClientLimit; }
+
+    public Map<String, RoutePolicy> getRoutes() { return routes; }
+    public void setRoutes(Map<String, RoutePolicy> routes) { this.routes = routes; }
+
+    public static class RoutePolicy {
+
+        // Each client's bucket on this route; the default client limit when unset
+        private Limit client;
+        // One bucket shared by every client of the route; unlimited when unset
+        private Limit route;
+
+        public Limit getClient() { return client; }
+        public void setClient(Limit client) { this.client = client; }
+
+        public Limit getRoute() { return route; }
+        public void setRoute(Limit route) { this.route = route; }
+    }
+
+    public static class Limit {
+
+        // Burst size
+        private long capacity;
+        // Sustained requests per second
+        private double refillPerSecond;
+
+        public Limit() {}
+
+        public Limit(long capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+
+        public long getCapacity() { return capacity; }
+        public void setCapacity(long capacity) { this.capacity = capacity; }
+
+        public double getRefillPerSecond() { return refillPerSecond; }
+        public void setRefillPerSecond(double refillPerSecond) { this.refillPerSecond = refillPerSecond; }
+
+        BucketLimit toBucketLimit() {
+            return new BucketLimit(capacity, refillPerSecond);
+        }
+    }
+}
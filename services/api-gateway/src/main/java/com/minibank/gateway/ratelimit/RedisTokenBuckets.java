@@ -0,0 +1,69 @@
+package com.minibank.gateway.ratelimit;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Buckets shared by every gateway replica through Redis.
+ *
+ * The take runs as one Lua script, atomic on the Redis side, and reads the clock there
+ * so replicas with skewed clocks still agree. Keys expire once their bucket would be full.
+ */
+@Component
+@ConditionalOnProperty(prefix = "gateway.rate-limit", name = "backend", havingValue = "redis")
+public class RedisTokenBuckets implements TokenBucketBackend {
+
+    private static final String KEY_PREFIX = "gateway:rate-limit:";
+
+    // KEYS[1] bucket; ARGV[1] microseconds per token, ARGV[2] capacity.
+    // Returns allowed, remaining, then reset and retry-after in microseconds
+    private static final RedisScript<List> TAKE_TOKEN = RedisScript.of("""
+        local time = redis.call('TIME')
+        local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+        local interval = tonumber(ARGV[1])
+        local tolerance = interval * tonumber(ARGV[2])
+        local tat = tonumber(redis.call('GET', KEYS[1]) or now)
+        if tat < now then
+            tat = now
+        end
+        local next = tat + interval
+        if next - now > tolerance then
+            return {0, 0, tat - now, next - now - tolerance}
+        end
+        redis.call('SET', KEYS[1], next, 'PX', math.ceil((next - now) / 1000))
+        return {1, math.floor((tolerance - (next - now)) / interval), next - now, 0}
+        """, List.class);
+
+    private final ReactiveStringRedisTemplate redis;
+
+    public RedisTokenBuckets(ReactiveStringRedisTemplate redis) {
+        this.redis = redis;
+    }
+
+    @Override
+    public String name() {
+        return "redis";
+    }
+
+    @Override
+    public Mono<BucketDecision> tryAcquire(String key, BucketLimit limit) {
+        long intervalMicros = Math.max(1, TimeUnit.NANOSECONDS.toMicros(limit.intervalNanos()));
+        return redis.execute(TAKE_TOKEN, List.of(KEY_PREFIX + key),
+                List.of(Long.toString(intervalMicros), Long.toString(limit.capacity())))
+            .next()
+            .map(RedisTokenBuckets::toDecision);
+    }
+
+    private static BucketDecision toDecision(List<?> result) {
+        return new BucketDecision(((Number) result.get(0)).longValue() == 1, ((Number) result.get(1)).longValue(),
+            TimeUnit.MICROSECONDS.toNanos(((Number) result.get(2)).longValue()),
+            TimeUnit.MICROSECONDS.toNanos(((Number) result.get(3)).longValue()));
+    }
+}
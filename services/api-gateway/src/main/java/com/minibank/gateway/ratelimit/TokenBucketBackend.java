@@ -0,0 +1,20 @@
+package com.minibank.gateway.ratelimit;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Where bucket state lives. Selected with {@code gateway.rate-limit.backend}.
+ *
+ * Buckets are kept as a GCRA theoretical arrival time: the instant the bucket would next
+ * be full if nothing else were taken. That is the whole state of a token bucket in a
+ * single number, so a take is one compare-and-set in memory or one script call in Redis.
+ */
+public interface TokenBucketBackend {
+
+    String name();
+
+    /**
+     * Takes one token from the bucket, creating it full if absent.
+     */
+    Mono<BucketDecision> tryAcquire(String key, BucketLimit limit);
+}
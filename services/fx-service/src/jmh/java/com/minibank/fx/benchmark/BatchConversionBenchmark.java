@@ -0,0 +1,110 @@
+package com.minibank.fx.benchmark;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.minibank.fx.rates.CurrencyCode;
+import com.minibank.fx.rates.FixedPoint;
+import com.minibank.fx.rates.MinorUnitConversion;
+
+/**
+ * Converts one batch of amounts across every currency pair three ways: the fixed-point
+ * {@code long} kernel behind the batch endpoint, the same kernel split across the
+ * common pool, and per-amount {@code BigDecimal} arithmetic as account-service's
+ * {@code Money} does it. All three produce identical results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BatchConversionBenchmark {
+
+    private static final int N = CurrencyCode.COUNT;
+    private static final int CHUNK_SIZE = 8192;
+    private static final double[] MIDS_PER_USD = {1.0, 0.92, 0.79, 150.0, 0.88, 1.36, 1.52, 515.0};
+
+    @Param({"1000", "100000"})
+    public int batchSize;
+
+    private long[] amounts;
+    private int[] pairs;
+    private long[] rates;
+    private long[] factors;
+    private long[] divisors;
+    private long[] out;
+
+    // BigDecimal path inputs
+    private BigDecimal[] decimalRates;
+    private int[] fromDigits;
+    private int[] toDigits;
+
+    @Setup
+    public void generateBatch() {
+        rates = new long[N * N];
+        factors = new long[N * N];
+        divisors = new long[N * N];
+        decimalRates = new BigDecimal[N * N];
+        fromDigits = new int[N * N];
+        toDigits = new int[N * N];
+        for (int from = 0; from < N; from++) {
+            for (int to = 0; to < N; to++) {
+                int pair = from * N + to;
+                rates[pair] = FixedPoint.fromDecimal(BigDecimal.valueOf(MIDS_PER_USD[to] / MIDS_PER_USD[from]));
+                decimalRates[pair] = FixedPoint.toDecimal(rates[pair]);
+                fromDigits[pair] = CurrencyCode.ofOrdinal(from).fractionDigits();
+                toDigits[pair] = CurrencyCode.ofOrdinal(to).fractionDigits();
+                factors[pair] = MinorUnitConversion.factor(fromDigits[pair], toDigits[pair]);
+                divisors[pair] = MinorUnitConversion.divisor(fromDigits[pair], toDigits[pair]);
+            }
+        }
+
+        Random random = new Random(42);
+        amounts = new long[batchSize];
+        pairs = new int[batchSize];
+        out = new long[batchSize];
+        for (int i = 0; i < batchSize; i++) {
+            amounts[i] = 1 + random.nextInt(10_000_000);
+            pairs[i] = random.nextInt(N * N);
+        }
+    }
+
+    @Benchmark
+    public long[] fixedPoint() {
+        MinorUnitConversion.convertAll(amounts, pairs, rates, factors, divisors, RoundingMode.HALF_EVEN, out,
+            0, batchSize);
+        return out;
+    }
+
+    @Benchmark
+    public long[] fixedPointParallel() {
+        int chunks = (batchSize + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream.range(0, chunks).parallel().forEach(chunk ->
+            MinorUnitConversion.convertAll(amounts, pairs, rates, factors, divisors, RoundingMode.HALF_EVEN, out,
+                chunk * CHUNK_SIZE, Math.min(batchSize, (chunk + 1) * CHUNK_SIZE)));
+        return out;
+    }
+
+    @Benchmark
+    public long[] bigDecimal() {
+        for (int i = 0; i < batchSize; i++) {
+            int pair = pairs[i];
+            out[i] = BigDecimal.valueOf(amounts[i], fromDigits[pair])
+                .multiply(decimalRates[pair])
+                .setScale(toDigits[pair], RoundingMode.HALF_EVEN)
+                .unscaledValue()
+                .longValueExact();
+        }
+        return out;
+    }
+}
@@ -0,0 +1,43 @@
+package com.minibank.fx.api;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.minibank.fx.api.dto.BatchConversionRequest;
+import com.minibank.fx.api.dto.BatchConversionResponse;
+import com.minibank.fx.api.dto.ErrorResponse;
+import com.minibank.fx.conversion.BatchConversionService;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/v1/fx/conversions")
+public class ConversionController {
+
+    private final BatchConversionService batchConversionService;
+
+    public ConversionController(BatchConversionService batchConversionService) {
+        this.batchConversionService = batchConversionService;
+    }
+
+    @PostMapping("/batch")
+    public BatchConversionResponse convertBatch(@Valid @RequestBody BatchConversionRequest request) {
+        return batchConversionService.convert(request);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleInvalid(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(new ErrorResponse("INVALID_CONVERSION_REQUEST", e.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<ErrorResponse> handleUnavailable(IllegalStateException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .body(new ErrorResponse("RATE_UNAVAILABLE", e.getMessage()));
+    }
+}
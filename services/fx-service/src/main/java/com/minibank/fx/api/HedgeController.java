@@ -0,0 +1,55 @@
+package com.minibank.fx.api;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.minibank.fx.api.dto.ErrorResponse;
+import com.minibank.fx.api.dto.HedgeOrderResponse;
+import com.minibank.fx.api.dto.PendingHedgeResponse;
+import com.minibank.fx.hedge.HedgeExecution;
+import com.minibank.fx.hedge.HedgeService;
+import com.minibank.fx.rates.FixedPoint;
+
+@RestController
+@RequestMapping("/api/v1/fx/hedging")
+public class HedgeController {
+
+    private final HedgeService hedgeService;
+
+    public HedgeController(HedgeService hedgeService) {
+        this.hedgeService = hedgeService;
+    }
+
+    @GetMapping("/pending")
+    public List<PendingHedgeResponse> getPending() {
+        return hedgeService.pending().stream()
+            .map(pending -> new PendingHedgeResponse(pending.currency().name(), pending.counterCurrency().name(),
+                pending.netMinor(), pending.grossMinor(), pending.flows()))
+            .toList();
+    }
+
+    @GetMapping("/orders")
+    public List<HedgeOrderResponse> getOrders(@RequestParam(defaultValue = "50") int limit) {
+        return hedgeService.recentOrders(limit).stream().map(HedgeController::toResponse).toList();
+    }
+
+    private static HedgeOrderResponse toResponse(HedgeExecution execution) {
+        return new HedgeOrderResponse(execution.order().orderId(), execution.order().currency().name(),
+            execution.order().counterCurrency().name(), execution.order().side().name(),
+            execution.order().amountMinor(), execution.fill().counterAmountMinor(),
+            FixedPoint.toDecimal(execution.fill().rate()), execution.provider(), execution.fill().providerReference(),
+            execution.flows(), execution.grossMinor(), execution.order().windowStart(),
+            execution.order().windowEnd(), execution.executedAt());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleInvalid(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(new ErrorResponse("INVALID_HEDGING_REQUEST", e.getMessage()));
+    }
+}
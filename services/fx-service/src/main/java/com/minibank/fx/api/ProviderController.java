@@ -0,0 +1,47 @@
+package com.minibank.fx.api;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.minibank.fx.api.dto.ErrorResponse;
+import com.minibank.fx.api.dto.ProviderStatusResponse;
+import com.minibank.fx.provider.RateProviderChain;
+import com.minibank.fx.provider.RateProviderChain.ProviderView;
+
+@RestController
+@RequestMapping("/api/v1/fx/providers")
+public class ProviderController {
+
+    private final RateProviderChain providerChain;
+
+    public ProviderController(RateProviderChain providerChain) {
+        this.providerChain = providerChain;
+    }
+
+    @GetMapping
+    public List<ProviderStatusResponse> getProviders() {
+        return providerChain.getProviders().stream().map(ProviderController::toResponse).toList();
+    }
+
+    @GetMapping("/{name}/status")
+    public ProviderStatusResponse getProviderStatus(@PathVariable String name) {
+        return toResponse(providerChain.getProvider(name));
+    }
+
+    private static ProviderStatusResponse toResponse(ProviderView view) {
+        return new ProviderStatusResponse(view.name(), view.status().name(), view.priority(), view.enabled(),
+            view.lastUpdate());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleNotFound(IllegalArgumentException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse("PROVIDER_NOT_FOUND", e.getMessage()));
+    }
+}
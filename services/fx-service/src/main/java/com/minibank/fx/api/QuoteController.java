@@ -0,0 +1,56 @@
+package com.minibank.fx.api;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.minibank.fx.api.dto.ConversionRequest;
+import com.minibank.fx.api.dto.ConversionResponse;
+import com.minibank.fx.api.dto.ErrorResponse;
+import com.minibank.fx.api.dto.QuoteRequest;
+import com.minibank.fx.api.dto.QuoteResponse;
+import com.minibank.fx.quote.QuoteExpiredException;
+import com.minibank.fx.quote.QuoteService;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/v1/fx")
+public class QuoteController {
+
+    private final QuoteService quoteService;
+
+    public QuoteController(QuoteService quoteService) {
+        this.quoteService = quoteService;
+    }
+
+    @PostMapping("/quote")
+    public ResponseEntity<QuoteResponse> quote(@Valid @RequestBody QuoteRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(quoteService.issue(request));
+    }
+
+    @PostMapping("/convert")
+    public ConversionResponse convert(@Valid @RequestBody ConversionRequest request) {
+        return quoteService.redeem(request);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleInvalid(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(new ErrorResponse("INVALID_QUOTE_REQUEST", e.getMessage()));
+    }
+
+    @ExceptionHandler(QuoteExpiredException.class)
+    public ResponseEntity<ErrorResponse> handleExpired(QuoteExpiredException e) {
+        return ResponseEntity.status(HttpStatus.GONE).body(new ErrorResponse("QUOTE_EXPIRED", e.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<ErrorResponse> handleUnavailable(IllegalStateException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .body(new ErrorResponse("QUOTE_UNAVAILABLE", e.getMessage()));
+    }
+}
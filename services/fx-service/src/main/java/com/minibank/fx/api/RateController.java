@@ -0,0 +1,60 @@
+package com.minibank.fx.api;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.minibank.fx.api.dto.ErrorResponse;
+import com.minibank.fx.api.dto.ExchangeRateResponse;
+import com.minibank.fx.application.RateQueryService;
+
+@RestController
+@RequestMapping("/api/v1/fx/rates")
+public class RateController {
+
+    private final RateQueryService rateQueryService;
+
+    public RateController(RateQueryService rateQueryService) {
+        this.rateQueryService = rateQueryService;
+    }
+
+    @GetMapping
+    public List<ExchangeRateResponse> getAllRates() {
+        return rateQueryService.getAllRates();
+    }
+
+    @GetMapping("/{base}/{quote}")
+    public ExchangeRateResponse getRate(@PathVariable String base, @PathVariable String quote) {
+        return rateQueryService.getRate(base, quote);
+    }
+
+    @PostMapping("/{base}/{quote}/refresh")
+    public ExchangeRateResponse refreshRate(@PathVariable String base, @PathVariable String quote) {
+        return rateQueryService.refreshRate(base, quote);
+    }
+
+    @PostMapping("/refresh")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void refreshAllRates() {
+        rateQueryService.refreshAllRates();
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleInvalid(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(new ErrorResponse("INVALID_CURRENCY_PAIR", e.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<ErrorResponse> handleUnavailable(IllegalStateException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .body(new ErrorResponse("RATE_UNAVAILABLE", e.getMessage()));
+    }
+}
@@ -0,0 +1,76 @@
+package com.minibank.fx.api;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.minibank.fx.api.dto.CandleResponse;
+import com.minibank.fx.api.dto.ErrorResponse;
+import com.minibank.fx.api.dto.OhlcResponse;
+import com.minibank.fx.api.dto.VolatilityResponse;
+import com.minibank.fx.history.TickHistory;
+import com.minibank.fx.rates.CurrencyCode;
+import com.minibank.fx.rates.FixedPoint;
+
+@RestController
+@RequestMapping("/api/v1/fx/rates")
+public class RateHistoryController {
+
+    private static final Duration DEFAULT_RANGE = Duration.ofHours(1);
+
+    private final TickHistory tickHistory;
+
+    public RateHistoryController(TickHistory tickHistory) {
+        this.tickHistory = tickHistory;
+    }
+
+    @GetMapping("/{base}/{quote}/ohlc")
+    public OhlcResponse getOhlc(@PathVariable String base, @PathVariable String quote,
+                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                Instant from,
+                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                Instant to,
+                                @RequestParam(defaultValue = "1m") String interval) {
+        CurrencyCode baseCurrency = CurrencyCode.parse(base);
+        CurrencyCode quoteCurrency = CurrencyCode.parse(quote);
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(DEFAULT_RANGE);
+        Duration step = DurationStyle.detectAndParse(interval);
+
+        List<CandleResponse> candles = tickHistory.candles(baseCurrency, quoteCurrency, start.toEpochMilli(),
+                end.toEpochMilli(), step.toMillis()).stream()
+            .map(candle -> new CandleResponse(Instant.ofEpochMilli(candle.startMillis()),
+                FixedPoint.toDecimal(candle.open()), FixedPoint.toDecimal(candle.high()),
+                FixedPoint.toDecimal(candle.low()), FixedPoint.toDecimal(candle.close()), candle.ticks()))
+            .toList();
+        return new OhlcResponse(baseCurrency.name(), quoteCurrency.name(), start, end, step, candles);
+    }
+
+    @GetMapping("/{base}/{quote}/volatility")
+    public VolatilityResponse getVolatility(@PathVariable String base, @PathVariable String quote,
+                                            @RequestParam(defaultValue = "1h") String window) {
+        CurrencyCode baseCurrency = CurrencyCode.parse(base);
+        CurrencyCode quoteCurrency = CurrencyCode.parse(quote);
+        Instant end = Instant.now();
+        Instant start = end.minus(DurationStyle.detectAndParse(window));
+        double volatility = tickHistory.volatilityPercent(baseCurrency, quoteCurrency, start.toEpochMilli(),
+            end.toEpochMilli() + 1);
+        return new VolatilityResponse(baseCurrency.name(), quoteCurrency.name(), start, end,
+            Double.isNaN(volatility) ? null : volatility);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleInvalid(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(new ErrorResponse("INVALID_HISTORY_REQUEST", e.getMessage()));
+    }
+}
@@ -0,0 +1,58 @@
+package com.minibank.fx.api;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.minibank.fx.api.dto.CurrencyPositionResponse;
+import com.minibank.fx.api.dto.ErrorResponse;
+import com.minibank.fx.api.dto.TreasuryPositionsResponse;
+import com.minibank.fx.treasury.TreasurySnapshot;
+import com.minibank.fx.treasury.TreasuryService;
+
+@RestController
+@RequestMapping("/api/v1/fx/treasury")
+public class TreasuryController {
+
+    private final TreasuryService treasuryService;
+
+    public TreasuryController(TreasuryService treasuryService) {
+        this.treasuryService = treasuryService;
+    }
+
+    @GetMapping("/positions")
+    public TreasuryPositionsResponse getPositions() {
+        TreasurySnapshot snapshot = treasuryService.snapshot();
+        return new TreasuryPositionsResponse(snapshot.version(), snapshot.asOf(), snapshot.baseCurrency().name(),
+            snapshot.fromOffset(), snapshot.eventsApplied(),
+            snapshot.positions().stream().map(TreasuryController::toResponse).toList());
+    }
+
+    @PostMapping("/recompute")
+    public ResponseEntity<Void> recompute(@RequestParam(defaultValue = "0") long fromOffset) {
+        treasuryService.recompute(fromOffset);
+        return ResponseEntity.accepted().build();
+    }
+
+    private static CurrencyPositionResponse toResponse(TreasurySnapshot.Position position) {
+        return new CurrencyPositionResponse(position.currency().name(), position.balanceMinor(),
+            position.reservedMinor(), position.inFlightMinor(), position.netMinor(), position.netExposure(),
+            Double.isNaN(position.liquidityRatio()) ? null : position.liquidityRatio());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleInvalid(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(new ErrorResponse("INVALID_TREASURY_REQUEST", e.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<ErrorResponse> handleUnavailable(IllegalStateException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .body(new ErrorResponse("TREASURY_UNAVAILABLE", e.getMessage()));
+    }
+}
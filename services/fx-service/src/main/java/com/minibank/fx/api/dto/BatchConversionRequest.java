@@ -0,0 +1,34 @@
+package com.minibank.fx.api.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public class BatchConversionRequest {
+
+    // Amounts in the minor units of each pair's base currency
+    @NotNull
+    private long[] amountsMinor;
+
+    // One pair per amount, e.g. "EUR/USD"
+    @NotNull
+    private String[] pairs;
+
+    // MID (default), BID or ASK
+    private String rateType;
+
+    // DOWN, UP, HALF_UP, HALF_DOWN or HALF_EVEN (default)
+    private String rounding;
+
+    public BatchConversionRequest() {}
+
+    public long[] getAmountsMinor() { return amountsMinor; }
+    public void setAmountsMinor(long[] amountsMinor) { this.amountsMinor = amountsMinor; }
+
+    public String[] getPairs() { return pairs; }
+    public void setPairs(String[] pairs) { this.pairs = pairs; }
+
+    public String getRateType() { return rateType; }
+    public void setRateType(String rateType) { this.rateType = rateType; }
+
+    public String getRounding() { return rounding; }
+    public void setRounding(String rounding) { this.rounding = rounding; }
+}
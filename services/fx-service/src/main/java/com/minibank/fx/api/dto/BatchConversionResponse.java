@@ -0,0 +1,41 @@
+package com.minibank.fx.api.dto;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+public class BatchConversionResponse {
+
+    // Converted amounts in the minor units of each pair's quote currency, in request order
+    private long[] amountsMinor;
+    // Rate applied to each distinct pair
+    private Map<String, BigDecimal> rates;
+    private String rateType;
+    private String rounding;
+    private long snapshotVersion;
+
+    public BatchConversionResponse() {}
+
+    public BatchConversionResponse(long[] amountsMinor, Map<String, BigDecimal> rates, String rateType,
+                                   String rounding, long snapshotVersion) {
+        this.amountsMinor = amountsMinor;
+        this.rates = rates;
+        this.rateType = rateType;
+        this.rounding = rounding;
+        this.snapshotVersion = snapshotVersion;
+    }
+
+    public long[] getAmountsMinor() { return amountsMinor; }
+    public void setAmountsMinor(long[] amountsMinor) { this.amountsMinor = amountsMinor; }
+
+    public Map<String, BigDecimal> getRates() { return rates; }
+    public void setRates(Map<String, BigDecimal> rates) { this.rates = rates; }
+
+    public String getRateType() { return rateType; }
+    public void setRateType(String rateType) { this.rateType = rateType; }
+
+    public String getRounding() { return rounding; }
+    public void setRounding(String rounding) { this.rounding = rounding; }
+
+    public long getSnapshotVersion() { return snapshotVersion; }
+    public void setSnapshotVersion(long snapshotVersion) { this.snapshotVersion = snapshotVersion; }
+}
@@ -0,0 +1,44 @@
+package com.minibank.fx.api.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public class CandleResponse {
+
+    private Instant start;
+    private BigDecimal open;
+    private BigDecimal high;
+    private BigDecimal low;
+    private BigDecimal close;
+    private int ticks;
+
+    public CandleResponse() {}
+
+    public CandleResponse(Instant start, BigDecimal open, BigDecimal high, BigDecimal low, BigDecimal close,
+                          int ticks) {
+        this.start = start;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.ticks = ticks;
+    }
+
+    public Instant getStart() { return start; }
+    public void setStart(Instant start) { this.start = start; }
+
+    public BigDecimal getOpen() { return open; }
+    public void setOpen(BigDecimal open) { this.open = open; }
+
+    public BigDecimal getHigh() { return high; }
+    public void setHigh(BigDecimal high) { this.high = high; }
+
+    public BigDecimal getLow() { return low; }
+    public void setLow(BigDecimal low) { this.low = low; }
+
+    public BigDecimal getClose() { return close; }
+    public void setClose(BigDecimal close) { this.close = close; }
+
+    public int getTicks() { return ticks; }
+    public void setTicks(int ticks) { this.ticks = ticks; }
+}
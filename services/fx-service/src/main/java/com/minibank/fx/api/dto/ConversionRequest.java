@@ -0,0 +1,29 @@
+package com.minibank.fx.api.dto;
+
+import java.util.UUID;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+public class ConversionRequest {
+
+    @NotBlank
+    private String quoteId;
+
+    @NotNull
+    private UUID fromAccountId;
+
+    @NotNull
+    private UUID toAccountId;
+
+    public ConversionRequest() {}
+
+    public String getQuoteId() { return quoteId; }
+    public void setQuoteId(String quoteId) { this.quoteId = quoteId; }
+
+    public UUID getFromAccountId() { return fromAccountId; }
+    public void setFromAccountId(UUID fromAccountId) { this.fromAccountId = fromAccountId; }
+
+    public UUID getToAccountId() { return toAccountId; }
+    public void setToAccountId(UUID toAccountId) { this.toAccountId = toAccountId; }
+}
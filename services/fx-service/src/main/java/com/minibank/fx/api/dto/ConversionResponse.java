@@ -0,0 +1,66 @@
+package com.minibank.fx.api.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public class ConversionResponse {
+
+    private UUID conversionId;
+    private String status;
+    private UUID fromAccountId;
+    private UUID toAccountId;
+    private String fromCurrency;
+    private String toCurrency;
+    private long fromAmountMinor;
+    private long toAmountMinor;
+    private BigDecimal executedRate;
+    private Instant timestamp;
+
+    public ConversionResponse() {}
+
+    public ConversionResponse(UUID conversionId, String status, UUID fromAccountId, UUID toAccountId,
+                              String fromCurrency, String toCurrency, long fromAmountMinor, long toAmountMinor,
+                              BigDecimal executedRate, Instant timestamp) {
+        this.conversionId = conversionId;
+        this.status = status;
+        this.fromAccountId = fromAccountId;
+        this.toAccountId = toAccountId;
+        this.fromCurrency = fromCurrency;
+        this.toCurrency = toCurrency;
+        this.fromAmountMinor = fromAmountMinor;
+        this.toAmountMinor = toAmountMinor;
+        this.executedRate = executedRate;
+        this.timestamp = timestamp;
+    }
+
+    public UUID getConversionId() { return conversionId; }
+    public void setConversionId(UUID conversionId) { this.conversionId = conversionId; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public UUID getFromAccountId() { return fromAccountId; }
+    public void setFromAccountId(UUID fromAccountId) { this.fromAccountId = fromAccountId; }
+
+    public UUID getToAccountId() { return toAccountId; }
+    public void setToAccountId(UUID toAccountId) { this.toAccountId = toAccountId; }
+
+    public String getFromCurrency() { return fromCurrency; }
+    public void setFromCurrency(String fromCurrency) { this.fromCurrency = fromCurrency; }
+
+    public String getToCurrency() { return toCurrency; }
+    public void setToCurrency(String toCurrency) { this.toCurrency = toCurrency; }
+
+    public long getFromAmountMinor() { return fromAmountMinor; }
+    public void setFromAmountMinor(long fromAmountMinor) { this.fromAmountMinor = fromAmountMinor; }
+
+    public long getToAmountMinor() { return toAmountMinor; }
+    public void setToAmountMinor(long toAmountMinor) { this.toAmountMinor = toAmountMinor; }
+
+    public BigDecimal getExecutedRate() { return executedRate; }
+    public void setExecutedRate(BigDecimal executedRate) { this.executedRate = executedRate; }
+
+    public Instant getTimestamp() { return timestamp; }
+    public void setTimestamp(Instant timestamp) { this.timestamp = timestamp; }
+}
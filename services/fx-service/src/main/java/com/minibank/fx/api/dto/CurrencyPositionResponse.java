@@ -0,0 +1,52 @@
+package com.minibank.fx.api.dto;
+
+import java.math.BigDecimal;
+
+public class CurrencyPositionResponse {
+
+    private String currency;
+    // Customer balances: credited less debited, in minor units
+    private long balanceMinor;
+    private long reservedMinor;
+    // Payments requested but not yet settled, in minor units
+    private long inFlightMinor;
+    private long netMinor;
+    // Net position in base-currency major units; null while the currency has no rate
+    private BigDecimal netExposure;
+    // Null while the currency has no balance
+    private Double liquidityRatio;
+
+    public CurrencyPositionResponse() {}
+
+    public CurrencyPositionResponse(String currency, long balanceMinor, long reservedMinor, long inFlightMinor,
+                                    long netMinor, BigDecimal netExposure, Double liquidityRatio) {
+        this.currency = currency;
+        this.balanceMinor = balanceMinor;
+        this.reservedMinor = reservedMinor;
+        this.inFlightMinor = inFlightMinor;
+        this.netMinor = netMinor;
+        this.netExposure = netExposure;
+        this.liquidityRatio = liquidityRatio;
+    }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
+    public long getBalanceMinor() { return balanceMinor; }
+    public void setBalanceMinor(long balanceMinor) { this.balanceMinor = balanceMinor; }
+
+    public long getReservedMinor() { return reservedMinor; }
+    public void setReservedMinor(long reservedMinor) { this.reservedMinor = reservedMinor; }
+
+    public long getInFlightMinor() { return inFlightMinor; }
+    public void setInFlightMinor(long inFlightMinor) { this.inFlightMinor = inFlightMinor; }
+
+    public long getNetMinor() { return netMinor; }
+    public void setNetMinor(long netMinor) { this.netMinor = netMinor; }
+
+    public BigDecimal getNetExposure() { return netExposure; }
+    public void setNetExposure(BigDecimal netExposure) { this.netExposure = netExposure; }
+
+    public Double getLiquidityRatio() { return liquidityRatio; }
+    public void setLiquidityRatio(Double liquidityRatio) { this.liquidityRatio = liquidityRatio; }
+}
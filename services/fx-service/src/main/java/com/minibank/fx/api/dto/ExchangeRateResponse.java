@@ -0,0 +1,72 @@
+package com.minibank.fx.api.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public class ExchangeRateResponse {
+
+    private String id;
+    private String baseCurrency;
+    private String quoteCurrency;
+    private BigDecimal midRate;
+    // Rate at which the bank buys the base currency
+    private BigDecimal buyRate;
+    // Rate at which the bank sells the base currency
+    private BigDecimal sellRate;
+    private BigDecimal spread;
+    private String provider;
+    private Instant timestamp;
+    private Instant validUntil;
+    private boolean expired;
+
+    public ExchangeRateResponse() {}
+
+    public ExchangeRateResponse(String id, String baseCurrency, String quoteCurrency, BigDecimal midRate,
+                                BigDecimal buyRate, BigDecimal sellRate, BigDecimal spread, String provider,
+                                Instant timestamp, Instant validUntil, boolean expired) {
+        this.id = id;
+        this.baseCurrency = baseCurrency;
+        this.quoteCurrency = quoteCurrency;
+        this.midRate = midRate;
+        this.buyRate = buyRate;
+        this.sellRate = sellRate;
+        this.spread = spread;
+        this.provider = provider;
+        this.timestamp = timestamp;
+        this.validUntil = validUntil;
+        this.expired = expired;
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getBaseCurrency() { return baseCurrency; }
+    public void setBaseCurrency(String baseCurrency) { this.baseCurrency = baseCurrency; }
+
+    public String getQuoteCurrency() { return quoteCurrency; }
+    public void setQuoteCurrency(String quoteCurrency) { this.quoteCurrency = quoteCurrency; }
+
+    public BigDecimal getMidRate() { return midRate; }
+    public void setMidRate(BigDecimal midRate) { this.midRate = midRate; }
+
+    public BigDecimal getBuyRate() { return buyRate; }
+    public void setBuyRate(BigDecimal buyRate) { this.buyRate = buyRate; }
+
+    public BigDecimal getSellRate() { return sellRate; }
+    public void setSellRate(BigDecimal sellRate) { this.sellRate = sellRate; }
+
+    public BigDecimal getSpread() { return spread; }
+    public void setSpread(BigDecimal spread) { this.spread = spread; }
+
+    public String getProvider() { return provider; }
+    public void setProvider(String provider) { this.provider = provider; }
+
+    public Instant getTimestamp() { return timestamp; }
+    public void setTimestamp(Instant timestamp) { this.timestamp = timestamp; }
+
+    public Instant getValidUntil() { return validUntil; }
+    public void setValidUntil(Instant validUntil) { this.validUntil = validUntil; }
+
+    public boolean isExpired() { return expired; }
+    public void setExpired(boolean expired) { this.expired = expired; }
+}
@@ -0,0 +1,89 @@
+package com.minibank.fx.api.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public class HedgeOrderResponse {
+
+    private UUID orderId;
+    private String currency;
+    private String counterCurrency;
+    // BUY or SELL of currency against counterCurrency
+    private String side;
+    private long amountMinor;
+    private long counterAmountMinor;
+    private BigDecimal rate;
+    private String provider;
+    private String providerReference;
+    // Conversions netted into the order
+    private int flows;
+    private long grossMinor;
+    private Instant windowStart;
+    private Instant windowEnd;
+    private Instant executedAt;
+
+    public HedgeOrderResponse() {}
+
+    public HedgeOrderResponse(UUID orderId, String currency, String counterCurrency, String side, long amountMinor,
+                              long counterAmountMinor, BigDecimal rate, String provider, String providerReference,
+                              int flows, long grossMinor, Instant windowStart, Instant windowEnd,
+                              Instant executedAt) {
+        this.orderId = orderId;
+        this.currency = currency;
+        this.counterCurrency = counterCurrency;
+        this.side = side;
+        this.amountMinor = amountMinor;
+        this.counterAmountMinor = counterAmountMinor;
+        this.rate = rate;
+        this.provider = provider;
+        this.providerReference = providerReference;
+        this.flows = flows;
+        this.grossMinor = grossMinor;
+        this.windowStart = windowStart;
+        this.windowEnd = windowEnd;
+        this.executedAt = executedAt;
+    }
+
+    public UUID getOrderId() { return orderId; }
+    public void setOrderId(UUID orderId) { this.orderId = orderId; }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
+    public String getCounterCurrency() { return counterCurrency; }
+    public void setCounterCurrency(String counterCurrency) { this.counterCurrency = counterCurrency; }
+
+    public String getSide() { return side; }
+    public void setSide(String side) { this.side = side; }
+
+    public long getAmountMinor() { return amountMinor; }
+    public void setAmountMinor(long amountMinor) { this.amountMinor = amountMinor; }
+
+    public long getCounterAmountMinor() { return counterAmountMinor; }
+    public void setCounterAmountMinor(long counterAmountMinor) { this.counterAmountMinor = counterAmountMinor; }
+
+    public BigDecimal getRate() { return rate; }
+    public void setRate(BigDecimal rate) { this.rate = rate; }
+
+    public String getProvider() { return provider; }
+    public void setProvider(String provider) { this.provider = provider; }
+
+    public String getProviderReference() { return providerReference; }
+    public void setProviderReference(String providerReference) { this.providerReference = providerReference; }
+
+    public int getFlows() { return flows; }
+    public void setFlows(int flows) { this.flows = flows; }
+
+    public long getGrossMinor() { return grossMinor; }
+    public void setGrossMinor(long grossMinor) { this.grossMinor = grossMinor; }
+
+    public Instant getWindowStart() { return windowStart; }
+    public void setWindowStart(Instant windowStart) { this.windowStart = windowStart; }
+
+    public Instant getWindowEnd() { return windowEnd; }
+    public void setWindowEnd(Instant windowEnd) { this.windowEnd = windowEnd; }
+
+    public Instant getExecutedAt() { return executedAt; }
+    public void setExecutedAt(Instant executedAt) { this.executedAt = executedAt; }
+}
@@ -0,0 +1,46 @@
+package com.minibank.fx.api.dto;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+public class OhlcResponse {
+
+    private String baseCurrency;
+    private String quoteCurrency;
+    private Instant from;
+    private Instant to;
+    private Duration interval;
+    // Mid-rate candles; intervals without ticks are left out
+    private List<CandleResponse> candles;
+
+    public OhlcResponse() {}
+
+    public OhlcResponse(String baseCurrency, String quoteCurrency, Instant from, Instant to, Duration interval,
+                        List<CandleResponse> candles) {
+        this.baseCurrency = baseCurrency;
+        this.quoteCurrency = quoteCurrency;
+        this.from = from;
+        this.to = to;
+        this.interval = interval;
+        this.candles = candles;
+    }
+
+    public String getBaseCurrency() { return baseCurrency; }
+    public void setBaseCurrency(String baseCurrency) { this.baseCurrency = baseCurrency; }
+
+    public String getQuoteCurrency() { return quoteCurrency; }
+    public void setQuoteCurrency(String quoteCurrency) { this.quoteCurrency = quoteCurrency; }
+
+    public Instant getFrom() { return from; }
+    public void setFrom(Instant from) { this.from = from; }
+
+    public Instant getTo() { return to; }
+    public void setTo(Instant to) { this.to = to; }
+
+    public Duration getInterval() { return interval; }
+    public void setInterval(Duration interval) { this.interval = interval; }
+
+    public List<CandleResponse> getCandles() { return candles; }
+    public void setCandles(List<CandleResponse> candles) { this.candles = candles; }
+}
@@ -0,0 +1,37 @@
+package com.minibank.fx.api.dto;
+
+public class PendingHedgeResponse {
+
+    private String currency;
+    private String counterCurrency;
+    // Bank position change in currency since the last order, in minor units; positive is long
+    private long netMinor;
+    // Absolute flows in currency this window, in minor units
+    private long grossMinor;
+    private int flows;
+
+    public PendingHedgeResponse() {}
+
+    public PendingHedgeResponse(String currency, String counterCurrency, long netMinor, long grossMinor, int flows) {
+        this.currency = currency;
+        this.counterCurrency = counterCurrency;
+        this.netMinor = netMinor;
+        this.grossMinor = grossMinor;
+        this.flows = flows;
+    }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
+    public String getCounterCurrency() { return counterCurrency; }
+    public void setCounterCurrency(String counterCurrency) { this.counterCurrency = counterCurrency; }
+
+    public long getNetMinor() { return netMinor; }
+    public void setNetMinor(long netMinor) { this.netMinor = netMinor; }
+
+    public long getGrossMinor() { return grossMinor; }
+    public void setGrossMinor(long grossMinor) { this.grossMinor = grossMinor; }
+
+    public int getFlows() { return flows; }
+    public void setFlows(int flows) { this.flows = flows; }
+}
@@ -0,0 +1,38 @@
+package com.minibank.fx.api.dto;
+
+import java.time.Instant;
+
+public class ProviderStatusResponse {
+
+    private String providerName;
+    private String status;
+    private int priority;
+    private boolean enabled;
+    private Instant lastUpdate;
+
+    public ProviderStatusResponse() {}
+
+    public ProviderStatusResponse(String providerName, String status, int priority, boolean enabled,
+                                  Instant lastUpdate) {
+        this.providerName = providerName;
+        this.status = status;
+        this.priority = priority;
+        this.enabled = enabled;
+        this.lastUpdate = lastUpdate;
+    }
+
+    public String getProviderName() { return providerName; }
+    public void setProviderName(String providerName) { this.providerName = providerName; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public int getPriority() { return priority; }
+    public void setPriority(int priority) { this.priority = priority; }
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public Instant getLastUpdate() { return lastUpdate; }
+    public void setLastUpdate(Instant lastUpdate) { this.lastUpdate = lastUpdate; }
+}
@@ -0,0 +1,46 @@
+package com.minibank.fx.api.dto;
+
+import java.util.UUID;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+
+public class QuoteRequest {
+
+    // The quote can only be redeemed between these accounts
+    @NotNull
+    private UUID fromAccountId;
+
+    @NotNull
+    private UUID toAccountId;
+
+    @NotNull
+    @Pattern(regexp = "[A-Z]{3}")
+    private String baseCurrency;
+
+    @NotNull
+    @Pattern(regexp = "[A-Z]{3}")
+    private String quoteCurrency;
+
+    // Amount of base currency to convert, in its minor units
+    @Positive
+    private long amountMinor;
+
+    public QuoteRequest() {}
+
+    public UUID getFromAccountId() { return fromAccountId; }
+    public void setFromAccountId(UUID fromAccountId) { this.fromAccountId = fromAccountId; }
+
+    public UUID getToAccountId() { return toAccountId; }
+    public void setToAccountId(UUID toAccountId) { this.toAccountId = toAccountId; }
+
+    public String getBaseCurrency() { return baseCurrency; }
+    public void setBaseCurrency(String baseCurrency) { this.baseCurrency = baseCurrency; }
+
+    public String getQuoteCurrency() { return quoteCurrency; }
+    public void setQuoteCurrency(String quoteCurrency) { this.quoteCurrency = quoteCurrency; }
+
+    public long getAmountMinor() { return amountMinor; }
+    public void setAmountMinor(long amountMinor) { this.amountMinor = amountMinor; }
+}
@@ -0,0 +1,60 @@
+package com.minibank.fx.api.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public class QuoteResponse {
+
+    private String quoteId;
+    private String fromCurrency;
+    private String toCurrency;
+    private long fromAmountMinor;
+    private long toAmountMinor;
+    private BigDecimal rate;
+    private BigDecimal spread;
+    private String provider;
+    private Instant validUntil;
+
+    public QuoteResponse() {}
+
+    public QuoteResponse(String quoteId, String fromCurrency, String toCurrency, long fromAmountMinor,
+                         long toAmountMinor, BigDecimal rate, BigDecimal spread, String provider,
+                         Instant validUntil) {
+        this.quoteId = quoteId;
+        this.fromCurrency = fromCurrency;
+        this.toCurrency = toCurrency;
+        this.fromAmountMinor = fromAmountMinor;
+        this.toAmountMinor = toAmountMinor;
+        this.rate = rate;
+        this.spread = spread;
+        this.provider = provider;
+        this.validUntil = validUntil;
+    }
+
+    public String getQuoteId() { return quoteId; }
+    public void setQuoteId(String quoteId) { this.quoteId = quoteId; }
+
+    public String getFromCurrency() { return fromCurrency; }
+    public void setFromCurrency(String fromCurrency) { this.fromCurrency = fromCurrency; }
+
+    public String getToCurrency() { return toCurrency; }
+    public void setToCurrency(String toCurrency) { this.toCurrency = toCurrency; }
+
+    public long getFromAmountMinor() { return fromAmountMinor; }
+    public void setFromAmountMinor(long fromAmountMinor) { this.fromAmountMinor = fromAmountMinor; }
+
+    public long getToAmountMinor() { return toAmountMinor; }
+    public void setToAmountMinor(long toAmountMinor) { this.toAmountMinor = toAmountMinor; }
+
+    public BigDecimal getRate() { return rate; }
+    public void setRate(BigDecimal rate) { this.rate = rate; }
+
+    public BigDecimal getSpread() { return spread; }
+    public void setSpread(BigDecimal spread) { this.spread = spread; }
+
+    public String getProvider() { return provider; }
+    public void setProvider(String provider) { this.provider = provider; }
+
+    public Instant getValidUntil() { return validUntil; }
+    public void setValidUntil(Instant validUntil) { this.validUntil = validUntil; }
+}
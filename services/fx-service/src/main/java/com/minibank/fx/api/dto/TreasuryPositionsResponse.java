@@ -0,0 +1,45 @@
+package com.minibank.fx.api.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public class TreasuryPositionsResponse {
+
+    private long snapshotVersion;
+    private Instant asOf;
+    private String baseCurrency;
+    // Offset the running totals were replayed from
+    private long fromOffset;
+    private long eventsApplied;
+    private List<CurrencyPositionResponse> positions;
+
+    public TreasuryPositionsResponse() {}
+
+    public TreasuryPositionsResponse(long snapshotVersion, Instant asOf, String baseCurrency, long fromOffset,
+                                     long eventsApplied, List<CurrencyPositionResponse> positions) {
+        this.snapshotVersion = snapshotVersion;
+        this.asOf = asOf;
+        this.baseCurrency = baseCurrency;
+        this.fromOffset = fromOffset;
+        this.eventsApplied = eventsApplied;
+        this.positions = positions;
+    }
+
+    public long getSnapshotVersion() { return snapshotVersion; }
+    public void setSnapshotVersion(long snapshotVersion) { this.snapshotVersion = snapshotVersion; }
+
+    public Instant getAsOf() { return asOf; }
+    public void setAsOf(Instant asOf) { this.asOf = asOf; }
+
+    public String getBaseCurrency() { return baseCurrency; }
+    public void setBaseCurrency(String baseCurrency) { this.baseCurrency = baseCurrency; }
+
+    public long getFromOffset() { return fromOffset; }
+    public void setFromOffset(long fromOffset) { this.fromOffset = fromOffset; }
+
+    public long getEventsApplied() { return eventsApplied; }
+    public void setEventsApplied(long eventsApplied) { this.eventsApplied = eventsApplied; }
+
+    public List<CurrencyPositionResponse> getPositions() { return positions; }
+    public void setPositions(List<CurrencyPositionResponse> positions) { this.positions = positions; }
+}
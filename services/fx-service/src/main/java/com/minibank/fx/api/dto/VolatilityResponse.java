@@ -0,0 +1,41 @@
+package com.minibank.fx.api.dto;
+
+import java.time.Instant;
+
+public class VolatilityResponse {
+
+    private String baseCurrency;
+    private String quoteCurrency;
+    private Instant from;
+    private Instant to;
+    // Standard deviation of tick-to-tick log returns, in percent; null with fewer than three ticks
+    private Double volatilityPercentage;
+
+    public VolatilityResponse() {}
+
+    public VolatilityResponse(String baseCurrency, String quoteCurrency, Instant from, Instant to,
+                              Double volatilityPercentage) {
+        this.baseCurrency = baseCurrency;
+        this.quoteCurrency = quoteCurrency;
+        this.from = from;
+        this.to = to;
+        this.volatilityPercentage = volatilityPercentage;
+    }
+
+    public String getBaseCurrency() { return baseCurrency; }
+    public void setBaseCurrency(String baseCurrency) { this.baseCurrency = baseCurrency; }
+
+    public String getQuoteCurrency() { return quoteCurrency; }
+    public void setQuoteCurrency(String quoteCurrency) { this.quoteCurrency = quoteCurrency; }
+
+    public Instant getFrom() { return from; }
+    public void setFrom(Instant from) { this.from = from; }
+
+    public Instant getTo() { return to; }
+    public void setTo(Instant to) { this.to = to; }
+
+    public Double getVolatilityPercentage() { return volatilityPercentage; }
+    public void setVolatilityPercentage(Double volatilityPercentage) {
+        this.volatilityPercentage = volatilityPercentage;
+    }
+}
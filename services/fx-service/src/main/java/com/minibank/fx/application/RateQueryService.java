@@ -0,0 +1,112 @@
+package com.minibank.fx.application;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Service;
+
+import com.minibank.fx.api.dto.ExchangeRateResponse;
+import com.minibank.fx.cache.RateCache;
+import com.minibank.fx.rates.CurrencyCode;
+import com.minibank.fx.rates.FixedPoint;
+import com.minibank.fx.rates.RateSnapshot;
+import com.minibank.fx.rates.RateSnapshotStore;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Answers rate lookups through the rate cache. Each call works on a single snapshot,
+ * so bid, ask and mid always belong to the same update.
+ */
+@Service
+public class RateQueryService {
+
+    private final RateSnapshotStore store;
+    private final RateCache rateCache;
+
+    // Metrics
+    private final Timer retrievalDuration;
+
+    public RateQueryService(RateSnapshotStore store, RateCache rateCache, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.rateCache = rateCache;
+
+        this.retrievalDuration = Timer.builder("fx.rate.retrieval.duration.seconds")
+            .description("Time to look up a rate")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    /**
+     * @throws IllegalArgumentException if either currency is not supported, or both are the same
+     * @throws IllegalStateException if no provider could supply the pair
+     */
+    public ExchangeRateResponse getRate(String base, String quote) {
+        long start = System.nanoTime();
+        try {
+            CurrencyCode from = CurrencyCode.parse(base);
+            CurrencyCode to = parseQuote(from, quote);
+            return toResponse(rateCache.get(from, to), from, to, System.currentTimeMillis());
+        } finally {
+            retrievalDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Refreshes the pair from the providers regardless of its age.
+     */
+    public ExchangeRateResponse refreshRate(String base, String quote) {
+        CurrencyCode from = CurrencyCode.parse(base);
+        CurrencyCode to = parseQuote(from, quote);
+        return toResponse(rateCache.refresh(from, to), from, to, System.currentTimeMillis());
+    }
+
+    public void refreshAllRates() {
+        rateCache.refreshAll();
+    }
+
+    /**
+     * @return every pair with a rate in the current snapshot, identity pairs excluded
+     */
+    public List<ExchangeRateResponse> getAllRates() {
+        RateSnapshot snapshot = store.current();
+        long now = System.currentTimeMillis();
+        List<ExchangeRateResponse> rates = new ArrayList<>();
+        for (CurrencyCode from : CurrencyCode.values()) {
+            for (CurrencyCode to : CurrencyCode.values()) {
+                if (from != to && snapshot.has(from.ordinal(), to.ordinal())) {
+                    rates.add(toResponse(snapshot, from, to, now));
+                }
+            }
+        }
+        return rates;
+    }
+
+    private static CurrencyCode parseQuote(CurrencyCode from, String quote) {
+        CurrencyCode to = CurrencyCode.parse(quote);
+        if (to == from) {
+            throw new IllegalArgumentException("Base and quote currency are both " + from);
+        }
+        return to;
+    }
+
+    private ExchangeRateResponse toResponse(RateSnapshot snapshot, CurrencyCode from, CurrencyCode to, long now) {
+        int f = from.ordinal();
+        int t = to.ordinal();
+        BigDecimal mid = FixedPoint.toDecimal(snapshot.mid(f, t));
+        BigDecimal bid = FixedPoint.toDecimal(snapshot.bid(f, t));
+        BigDecimal ask = FixedPoint.toDecimal(snapshot.ask(f, t));
+        // Spread relative to mid, e.g. 0.0020 for 20 bps
+        BigDecimal spread = ask.subtract(bid).divide(mid, MathContext.DECIMAL64);
+
+        long asOf = snapshot.asOfMillis(f, t);
+        long validUntil = rateCache.servableUntilMillis(from, to, asOf);
+        return new ExchangeRateResponse(from + "/" + to, from.name(), to.name(), mid, bid, ask, spread,
+            snapshot.provider(f, t), Instant.ofEpochMilli(asOf), Instant.ofEpochMilli(validUntil), now > validUntil);
+    }
+}
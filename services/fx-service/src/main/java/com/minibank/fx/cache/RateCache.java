@@ -0,0 +1,200 @@
+package com.minibank.fx.cache;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.minibank.fx.provider.RateProviderChain;
+import com.minibank.fx.rates.CurrencyCode;
+import com.minibank.fx.rates.RateSnapshot;
+import com.minibank.fx.rates.RateSnapshotStore;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Read-through cache over the rate snapshot.
+ *
+ * The snapshot store is the cache storage: a pair's age is the age of the older leg
+ * behind it. A pair within its TTL is served as is. Past the TTL but within the
+ * stale-while-revalidate window it is still served, and a refresh starts in the
+ * background. Beyond that the request waits for the refresh.
+ *
+ * Refreshes are single-flight per pair: however many requests find a pair stale, one
+ * provider fetch runs for it and every waiter shares its result.
+ */
+@Component
+public class RateCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateCache.class);
+
+    private static final int N = CurrencyCode.COUNT;
+    // In-flight key for a refresh of every leg
+    private static final int ALL_PAIRS = -1;
+
+    private final RateSnapshotStore store;
+    private final RateProviderChain providers;
+    private final long[] ttlMillis = new long[N * N];
+    private final long staleMillis;
+    private final long refreshTimeoutMillis;
+
+    private final ConcurrentHashMap<Integer, CompletableFuture<RateSnapshot>> inFlight = new ConcurrentHashMap<>();
+    private final ExecutorService refresher = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Metrics
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter staleServed;
+    private final Counter coalesced;
+
+    public RateCache(RateSnapshotStore store, RateProviderChain providers, RateCacheProperties properties,
+                     MeterRegistry meterRegistry) {
+        this.store = store;
+        this.providers = providers;
+        this.staleMillis = properties.getStaleWhileRevalidate().toMillis();
+        this.refreshTimeoutMillis = properties.getRefreshTimeout().toMillis();
+
+        Arrays.fill(ttlMillis, properties.getDefaultTtl().toMillis());
+        for (Map.Entry<String, Duration> override : properties.getPairTtl().entrySet()) {
+            String[] pair = override.getKey().split("/");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Pair TTL key must look like EUR/USD: " + override.getKey());
+            }
+            int from = CurrencyCode.parse(pair[0].trim()).ordinal();
+            int to = CurrencyCode.parse(pair[1].trim()).ordinal();
+            ttlMillis[from * N + to] = override.getValue().toMillis();
+            ttlMillis[to * N + from] = override.getValue().toMillis();
+        }
+
+        this.hits = Counter.builder("fx.rate.cache.hits.total")
+            .description("Rate lookups served from the snapshot, fresh or stale")
+            .register(meterRegistry);
+        this.misses = Counter.builder("fx.rate.cache.misses.total")
+            .description("Rate lookups that had to wait for a provider")
+            .register(meterRegistry);
+        this.staleServed = Counter.builder("fx.rate.cache.stale.served.total")
+            .description("Hits served past their TTL while a refresh ran")
+            .register(meterRegistry);
+        this.coalesced = Counter.builder("fx.rate.cache.refreshes.coalesced.total")
+            .description("Refresh requests that joined one already in flight")
+            .register(meterRegistry);
+    }
+
+    /**
+     * @return a snapshot holding a servable rate for the pair
+     * @throws IllegalStateException if no provider could supply the pair in time
+     */
+    public RateSnapshot get(CurrencyCode from, CurrencyCode to) {
+        int f = from.ordinal();
+        int t = to.ordinal();
+        RateSnapshot snapshot = store.current();
+        if (snapshot.has(f, t)) {
+            long age = System.currentTimeMillis() - snapshot.asOfMillis(f, t);
+            long ttl = ttlMillis[f * N + t];
+            if (age <= ttl) {
+                hits.increment();
+                return snapshot;
+            }
+            if (age <= ttl + staleMillis) {
+                hits.increment();
+                staleServed.increment();
+                refresh(f, t, false);
+                return snapshot;
+            }
+        }
+        misses.increment();
+        return await(refresh(f, t, false), from, to);
+    }
+
+    /**
+     * @return the last moment a rate published at {@code asOfMillis} may be served
+     */
+    public long servableUntilMillis(CurrencyCode from, CurrencyCode to, long asOfMillis) {
+        return asOfMillis + ttlMillis[from.ordinal() * N + to.ordinal()] + staleMillis;
+    }
+
+    /**
+     * Fetches the pair's legs even if they are fresh.
+     */
+    public RateSnapshot refresh(CurrencyCode from, CurrencyCode to) {
+        return await(refresh(from.ordinal(), to.ordinal(), true), from, to);
+    }
+
+    /**
+     * Fetches every leg in one provider call.
+     */
+    public RateSnapshot refreshAll() {
+        return await(singleFlight(ALL_PAIRS, () -> {
+            CurrencyCode base = store.current().base();
+            Set<CurrencyCode> legs = EnumSet.complementOf(EnumSet.of(base));
+            return store.publish(providers.fetch(base, legs));
+        }), null, null);
+    }
+
+    private CompletableFuture<RateSnapshot> refresh(int from, int to, boolean force) {
+        return singleFlight(from * N + to, () -> {
+            RateSnapshot snapshot = store.current();
+            // A refresh that just finished may already have covered this pair
+            if (!force && snapshot.has(from, to)
+                    && System.currentTimeMillis() - snapshot.asOfMillis(from, to) <= ttlMillis[from * N + to]) {
+                return snapshot;
+            }
+            CurrencyCode base = snapshot.base();
+            Set<CurrencyCode> legs = EnumSet.of(CurrencyCode.ofOrdinal(from), CurrencyCode.ofOrdinal(to));
+            legs.remove(base);
+            return store.publish(providers.fetch(base, legs));
+        });
+    }
+
+    private CompletableFuture<RateSnapshot> singleFlight(int key, Supplier<RateSnapshot> fetch) {
+        CompletableFuture<RateSnapshot> created = new CompletableFuture<>();
+        CompletableFuture<RateSnapshot> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            coalesced.increment();
+            return existing;
+        }
+        refresher.execute(() -> {
+            try {
+                created.complete(fetch.get());
+            } catch (RuntimeException e) {
+                logger.warn("Rate refresh failed: {}", e.getMessage());
+                created.completeExceptionally(e);
+            } finally {
+                inFlight.remove(key, created);
+            }
+        });
+        return created;
+    }
+
+    private RateSnapshot await(CompletableFuture<RateSnapshot> refresh, CurrencyCode from, CurrencyCode to) {
+        RateSnapshot snapshot;
+        try {
+            snapshot = refresh.get(refreshTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Timed out waiting for rate providers");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for rate providers");
+        }
+        if (from != null && !snapshot.has(from.ordinal(), to.ordinal())) {
+            throw new IllegalStateException("No provider quotes " + from + "/" + to);
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,32 @@
+package com.minibank.fx.cache;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "fx.cache")
+public class RateCacheProperties {
+
+    // Age up to which a rate is served without asking a provider
+    private Duration defaultTtl = Duration.ofSeconds(30);
+    // Overrides by pair, e.g. "[USD/CRC]: 5m"; each applies to both directions
+    private Map<String, Duration> pairTtl = new HashMap<>();
+    // Past its TTL a rate is still served for this long while a refresh runs behind it
+    private Duration staleWhileRevalidate = Duration.ofSeconds(30);
+    // How long a request with nothing servable waits for the refresh
+    private Duration refreshTimeout = Duration.ofSeconds(3);
+
+    public Duration getDefaultTtl() { return defaultTtl; }
+    public void setDefaultTtl(Duration defaultTtl) { this.defaultTtl = defaultTtl; }
+
+    public Map<String, Duration> getPairTtl() { return pairTtl; }
+    public void setPairTtl(Map<String, Duration> pairTtl) { this.pairTtl = pairTtl; }
+
+    public Duration getStaleWhileRevalidate() { return staleWhileRevalidate; }
+    public void setStaleWhileRevalidate(Duration staleWhileRevalidate) { this.staleWhileRevalidate = staleWhileRevalidate; }
+
+    public Duration getRefreshTimeout() { return refreshTimeout; }
+    public void setRefreshTimeout(Duration refreshTimeout) { this.refreshTimeout = refreshTimeout; }
+}
@@ -0,0 +1,181 @@
+package com.minibank.fx.conversion;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.springframework.stereotype.Service;
+
+import com.minibank.fx.api.dto.BatchConversionRequest;
+import com.minibank.fx.api.dto.BatchConversionResponse;
+import com.minibank.fx.cache.RateCache;
+import com.minibank.fx.rates.CurrencyCode;
+import com.minibank.fx.rates.FixedPoint;
+import com.minibank.fx.rates.MinorUnitConversion;
+import com.minibank.fx.rates.RateSnapshot;
+import com.minibank.fx.rates.RateSnapshotStore;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Converts many amounts in one call.
+ *
+ * Pairs are resolved once per distinct pair into per-pair rate, factor and divisor arrays;
+ * the amounts then go through a flat loop of {@code long} arithmetic, with every amount
+ * priced from the same snapshot. Large batches are split across the common fork-join pool.
+ */
+@Service
+public class BatchConversionService {
+
+    // Amounts per fork-join task once a batch is split
+    private static final int CHUNK_SIZE = 8192;
+
+    private final RateCache rateCache;
+    private final RateSnapshotStore store;
+    private final ConversionProperties properties;
+
+    // Metrics
+    private final Timer conversionDuration;
+    private final DistributionSummary batchSize;
+
+    public BatchConversionService(RateCache rateCache, RateSnapshotStore store, ConversionProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.rateCache = rateCache;
+        this.store = store;
+        this.properties = properties;
+
+        this.conversionDuration = Timer.builder("fx.conversion.duration.seconds")
+            .description("Time to convert one batch of amounts")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("fx.conversion.batch.size")
+            .description("Amounts per conversion batch")
+            .register(meterRegistry);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the request is malformed or a result overflows
+     * @throws IllegalStateException if a pair has no rate
+     */
+    public BatchConversionResponse convert(BatchConversionRequest request) {
+        long start = System.nanoTime();
+        try {
+            long[] amounts = request.getAmountsMinor();
+            String[] pairCodes = request.getPairs();
+            if (amounts.length != pairCodes.length) {
+                throw new IllegalArgumentException("Got " + amounts.length + " amounts but " + pairCodes.length
+                    + " pairs");
+            }
+            if (amounts.length > properties.getMaxBatchSize()) {
+                throw new IllegalArgumentException("Batch of " + amounts.length + " exceeds the limit of "
+                    + properties.getMaxBatchSize());
+            }
+            RateType rateType = parse(RateType.class, request.getRateType(), RateType.MID);
+            RoundingMode rounding = parse(RoundingMode.class, request.getRounding(), RoundingMode.HALF_EVEN);
+            if (rounding == RoundingMode.UNNECESSARY || rounding == RoundingMode.FLOOR
+                    || rounding == RoundingMode.CEILING) {
+                throw new IllegalArgumentException("Unsupported rounding: " + rounding);
+            }
+
+            // Distinct pairs, numbered in order of first appearance
+            Map<String, Integer> pairIndex = new HashMap<>();
+            List<String> distinctCodes = new ArrayList<>();
+            List<int[]> distinct = new ArrayList<>();
+            int[] pairs = new int[amounts.length];
+            for (int i = 0; i < pairCodes.length; i++) {
+                Integer index = pairIndex.get(pairCodes[i]);
+                if (index == null) {
+                    index = distinct.size();
+                    distinct.add(parsePair(pairCodes[i]));
+                    distinctCodes.add(pairCodes[i]);
+                    pairIndex.put(pairCodes[i], index);
+                }
+                pairs[i] = index;
+            }
+
+            for (int[] currencies : distinct) {
+                rateCache.get(CurrencyCode.ofOrdinal(currencies[0]), CurrencyCode.ofOrdinal(currencies[1]));
+            }
+            // Legs are never removed, so a later snapshot still holds every pair checked above
+            RateSnapshot snapshot = store.current();
+
+            long[] rates = new long[distinct.size()];
+            long[] factors = new long[distinct.size()];
+            long[] divisors = new long[distinct.size()];
+            Map<String, BigDecimal> appliedRates = new LinkedHashMap<>();
+            for (int p = 0; p < rates.length; p++) {
+                int from = distinct.get(p)[0];
+                int to = distinct.get(p)[1];
+                rates[p] = switch (rateType) {
+                    case BID -> snapshot.bid(from, to);
+                    case ASK -> snapshot.ask(from, to);
+                    case MID -> snapshot.mid(from, to);
+                };
+                int fromDigits = CurrencyCode.ofOrdinal(from).fractionDigits();
+                int toDigits = CurrencyCode.ofOrdinal(to).fractionDigits();
+                factors[p] = MinorUnitConversion.factor(fromDigits, toDigits);
+                divisors[p] = MinorUnitConversion.divisor(fromDigits, toDigits);
+                appliedRates.put(distinctCodes.get(p), FixedPoint.toDecimal(rates[p]));
+            }
+
+            long[] converted = new long[amounts.length];
+            try {
+                if (amounts.length >= properties.getParallelThreshold()) {
+                    int chunks = (amounts.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+                    IntStream.range(0, chunks).parallel().forEach(chunk ->
+                        MinorUnitConversion.convertAll(amounts, pairs, rates, factors, divisors, rounding, converted,
+                            chunk * CHUNK_SIZE, Math.min(amounts.length, (chunk + 1) * CHUNK_SIZE)));
+                } else {
+                    MinorUnitConversion.convertAll(amounts, pairs, rates, factors, divisors, rounding, converted,
+                        0, amounts.length);
+                }
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException(e.getMessage());
+            }
+
+            batchSize.record(amounts.length);
+            return new BatchConversionResponse(converted, appliedRates, rateType.name(), rounding.name(),
+                snapshot.version());
+        } finally {
+            conversionDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Ordinals of "EUR/USD" as {from, to}
+    private static int[] parsePair(String code) {
+        int slash = code == null ? -1 : code.indexOf('/');
+        if (slash < 0) {
+            throw new IllegalArgumentException("Pair must look like EUR/USD: " + code);
+        }
+        return new int[] {
+            CurrencyCode.parse(code.substring(0, slash)).ordinal(),
+            CurrencyCode.parse(code.substring(slash + 1)).ordinal()
+        };
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value, E defaultValue) {
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported " + type.getSimpleName() + ": " + value);
+        }
+    }
+
+    public enum RateType {
+        MID,
+        BID,
+        ASK
+    }
+}
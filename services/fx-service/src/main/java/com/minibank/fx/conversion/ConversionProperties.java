@@ -0,0 +1,18 @@
+package com.minibank.fx.conversion;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "fx.conversions")
+public class ConversionProperties {
+
+    // Largest number of amounts accepted in one batch
+    private int maxBatchSize = 100_000;
+    // Batches at least this long are split across the common fork-join pool
+    private int parallelThreshold = 32_768;
+
+    public int getMaxBatchSize() { return maxBatchSize; }
+    public void setMaxBatchSize(int maxBatchSize) { this.maxBatchSize = maxBatchSize; }
+
+    public int getParallelThreshold() { return parallelThreshold; }
+    public void setParallelThreshold(int parallelThreshold) { this.parallelThreshold = parallelThreshold; }
+}
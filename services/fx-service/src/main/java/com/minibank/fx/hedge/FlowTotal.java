@@ -0,0 +1,10 @@
+package com.minibank.fx.hedge;
+
+import com.minibank.fx.rates.CurrencyCode;
+
+/**
+ * Everything the bank received in {@code from} and paid out in {@code to} across all
+ * conversions and hedge orders in that direction.
+ */
+public record FlowTotal(CurrencyCode from, CurrencyCode to, long fromAmountMinor, long toAmountMinor) {
+}
@@ -0,0 +1,12 @@
+package com.minibank.fx.hedge;
+
+import java.time.Instant;
+
+/**
+ * An executed hedge order and the flows netted into it.
+ *
+ * @param grossMinor sum of the absolute flows in the order's currency
+ */
+public record HedgeExecution(HedgeOrder order, HedgeFill fill, String provider, int flows, long grossMinor,
+                             Instant executedAt) {
+}
@@ -0,0 +1,8 @@
+package com.minibank.fx.hedge;
+
+/**
+ * @param counterAmountMinor counter currency paid or received, in its minor units
+ * @param rate {@link com.minibank.fx.rates.FixedPoint} units of counter currency per unit of currency
+ */
+public record HedgeFill(String providerReference, long counterAmountMinor, long rate) {
+}
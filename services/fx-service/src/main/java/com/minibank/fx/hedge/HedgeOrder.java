@@ -0,0 +1,19 @@
+package com.minibank.fx.hedge;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.minibank.fx.rates.CurrencyCode;
+
+/**
+ * One netted order per pair and window: {@code side} {@code amountMinor} of
+ * {@code currency} against {@code counterCurrency}.
+ */
+public record HedgeOrder(UUID orderId, CurrencyCode currency, CurrencyCode counterCurrency, Side side,
+                         long amountMinor, Instant windowStart, Instant windowEnd) {
+
+    public enum Side {
+        BUY,
+        SELL
+    }
+}
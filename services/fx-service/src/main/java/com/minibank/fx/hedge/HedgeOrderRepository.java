@@ -0,0 +1,132 @@
+package com.minibank.fx.hedge;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.minibank.fx.rates.CurrencyCode;
+import com.minibank.fx.rates.FixedPoint;
+
+@Repository
+public class HedgeOrderRepository {
+
+    // Records the fill and drops the submission in one statement; recording a fill twice is a no-op
+    private static final String INSERT_ORDER = """
+        WITH resolved AS (DELETE FROM fx_hedge_submissions WHERE order_id = ?)
+        INSERT INTO fx_hedge_orders
+            (order_id, currency, counter_currency, side, amount_minor, counter_amount_minor, rate, provider,
+             provider_reference, flows, gross_minor, window_start, window_end, executed_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        ON CONFLICT (order_id) DO NOTHING
+        """;
+
+    private static final String INSERT_SUBMISSION = """
+        INSERT INTO fx_hedge_submissions
+            (order_id, currency, counter_currency, side, amount_minor, flows, gross_minor, window_start, window_end)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    private static final String SELECT_SUBMISSIONS = """
+        SELECT order_id, currency, counter_currency, side, amount_minor, flows, gross_minor, window_start, window_end
+        FROM fx_hedge_submissions
+        ORDER BY submitted_at
+        """;
+
+    private static final String SELECT_RECENT = """
+        SELECT order_id, currency, counter_currency, side, amount_minor, counter_amount_minor, rate, provider,
+               provider_reference, flows, gross_minor, window_start, window_end, executed_at
+        FROM fx_hedge_orders
+        ORDER BY executed_at DESC
+        LIMIT ?
+        """;
+
+    // A hedge order is a flow too: selling the currency back receives the counter currency
+    private static final String SELECT_FLOW_TOTALS = """
+        SELECT from_currency, to_currency, SUM(from_amount_minor) AS from_minor, SUM(to_amount_minor) AS to_minor
+        FROM (
+            SELECT from_currency, to_currency, from_amount_minor, to_amount_minor
+            FROM fx_conversions
+            UNION ALL
+            SELECT CASE side WHEN 'BUY' THEN currency ELSE counter_currency END,
+                   CASE side WHEN 'BUY' THEN counter_currency ELSE currency END,
+                   CASE side WHEN 'BUY' THEN amount_minor ELSE counter_amount_minor END,
+                   CASE side WHEN 'BUY' THEN counter_amount_minor ELSE amount_minor END
+            FROM fx_hedge_orders
+        ) flows
+        GROUP BY from_currency, to_currency
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public HedgeOrderRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insert(HedgeExecution execution) {
+        HedgeOrder order = execution.order();
+        HedgeFill fill = execution.fill();
+        jdbcTemplate.update(INSERT_ORDER, order.orderId(),
+            order.orderId(), order.currency().name(), order.counterCurrency().name(), order.side().name(),
+            order.amountMinor(), fill.counterAmountMinor(), FixedPoint.toDecimal(fill.rate()), execution.provider(),
+            fill.providerReference(), execution.flows(), execution.grossMinor(),
+            Timestamp.from(order.windowStart()), Timestamp.from(order.windowEnd()),
+            Timestamp.from(execution.executedAt()));
+    }
+
+    public void insertSubmission(HedgeSubmission submission) {
+        HedgeOrder order = submission.order();
+        jdbcTemplate.update(INSERT_SUBMISSION,
+            order.orderId(), order.currency().name(), order.counterCurrency().name(), order.side().name(),
+            order.amountMinor(), submission.flows(), submission.grossMinor(),
+            Timestamp.from(order.windowStart()), Timestamp.from(order.windowEnd()));
+    }
+
+    /**
+     * Drops a submission the provider confirmed it never executed.
+     */
+    public void deleteSubmission(UUID orderId) {
+        jdbcTemplate.update("DELETE FROM fx_hedge_submissions WHERE order_id = ?", orderId);
+    }
+
+    /**
+     * Sent orders whose outcome is not recorded yet, oldest first.
+     */
+    public List<HedgeSubmission> findSubmissions() {
+        return jdbcTemplate.query(SELECT_SUBMISSIONS, (rs, rowNum) -> new HedgeSubmission(
+            new HedgeOrder(rs.getObject("order_id", UUID.class), CurrencyCode.valueOf(rs.getString("currency")),
+                CurrencyCode.valueOf(rs.getString("counter_currency")), HedgeOrder.Side.valueOf(rs.getString("side")),
+                rs.getLong("amount_minor"), rs.getTimestamp("window_start").toInstant(),
+                rs.getTimestamp("window_end").toInstant()),
+            rs.getInt("flows"), rs.getLong("gross_minor")));
+    }
+
+    public List<HedgeExecution> findRecent(int limit) {
+        return jdbcTemplate.query(SELECT_RECENT, HedgeOrderRepository::mapRow, limit);
+    }
+
+    /**
+     * Totals of every redeemed conversion and executed hedge order per direction; what
+     * they leave unhedged is the exposure still to be netted.
+     */
+    public List<FlowTotal> findFlowTotals() {
+        return jdbcTemplate.query(SELECT_FLOW_TOTALS, (rs, rowNum) -> new FlowTotal(
+            CurrencyCode.valueOf(rs.getString("from_currency")), CurrencyCode.valueOf(rs.getString("to_currency")),
+            rs.getLong("from_minor"), rs.getLong("to_minor")));
+    }
+
+    private static HedgeExecution mapRow(ResultSet rs, int rowNum) throws SQLException {
+        HedgeOrder order = new HedgeOrder(rs.getObject("order_id", UUID.class),
+            CurrencyCode.valueOf(rs.getString("currency")), CurrencyCode.valueOf(rs.getString("counter_currency")),
+            HedgeOrder.Side.valueOf(rs.getString("side")), rs.getLong("amount_minor"),
+            rs.getTimestamp("window_start").toInstant(), rs.getTimestamp("window_end").toInstant());
+        HedgeFill fill = new HedgeFill(rs.getString("provider_reference"), rs.getLong("counter_amount_minor"),
+            FixedPoint.fromDecimal(rs.getBigDecimal("rate")));
+        return new HedgeExecution(order, fill, rs.getString("provider"), rs.getInt("flows"),
+            rs.getLong("gross_minor"), rs.getTimestamp("executed_at").toInstant());
+    }
+}
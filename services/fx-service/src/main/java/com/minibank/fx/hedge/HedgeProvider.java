@@ -0,0 +1,28 @@
+package com.minibank.fx.hedge;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * A venue that executes hedge orders. Beans of this type are selected by name through
+ * {@code fx.hedging.provider}; calls may block and are made from the netting scheduler,
+ * never on a request thread.
+ */
+public interface HedgeProvider {
+
+    String name();
+
+    /**
+     * Executes the order at most once per {@link HedgeOrder#orderId()}, which is sent to the
+     * venue as the client order id.
+     *
+     * @return the fill; an exception means the outcome is unknown and is resolved through {@link #find}
+     */
+    HedgeFill execute(HedgeOrder order) throws Exception;
+
+    /**
+     * @return the fill of the order sent with this client order id, or empty if the venue
+     *         never executed it; an exception means the outcome is still unknown
+     */
+    Optional<HedgeFill> find(UUID orderId) throws Exception;
+}
@@ -0,0 +1,332 @@
+package com.minibank.fx.hedge;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.minibank.fx.rates.CurrencyCode;
+import com.minibank.fx.rates.MinorUnitConversion;
+import com.minibank.fx.rates.RateSnapshot;
+import com.minibank.fx.rates.RateSnapshotStore;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Turns redeemed conversions into at most one hedge order per currency pair per window.
+ *
+ * Conversions only add to the {@link NettingBook}; nothing is sent on the request path.
+ * When a window closes each pair's net is drained and, if it is worth at least the
+ * minimum order, sent to the configured {@link HedgeProvider} as a single order. Nets
+ * below the minimum are carried into the next window, so no exposure is dropped, only
+ * hedged later.
+ *
+ * Each order is recorded as a submission before it is sent, under the id the provider
+ * receives as its client order id. If the send fails, the outcome is unknown: the order
+ * may have filled with only the response lost. Its amount stays out of the book and,
+ * before each later window is hedged, the provider is asked for the order: a fill is
+ * recorded, and an order the provider never executed is carried back into the book.
+ * Nothing is sent twice.
+ *
+ * The book is only in memory, so on startup it is rebuilt as one carried net per pair from
+ * every redeemed conversion less every executed and every unresolved hedge order. That
+ * assumes a single instance hedges the conversions in {@code fx_conversions}.
+ */
+@Service
+public class HedgeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HedgeService.class);
+
+    private static final int N = CurrencyCode.COUNT;
+
+    private final RateSnapshotStore rates;
+    private final HedgeOrderRepository repository;
+    private final HedgeProvider provider;
+    private final BigDecimal minOrder;
+    private final NettingBook book = new NettingBook();
+    // Sent orders without a known outcome; their amounts are out of the book until resolved
+    private final Map<UUID, HedgeSubmission> unresolved = new ConcurrentHashMap<>();
+
+    private Instant windowStart = Instant.now();
+    // Netting ratio of each pair's last window with flows, indexed from * N + to with from < to
+    private volatile double[] nettingRatios = new double[N * N];
+
+    // Metrics
+    private final Counter flowsRecorded;
+    private final Counter ordersExecuted;
+    private final Counter ordersFailed;
+    private final Counter ordersDeferred;
+    private final Counter ordersUnresolved;
+    private final Timer executeDuration;
+
+    public HedgeService(RateSnapshotStore rates, HedgeOrderRepository repository,
+                        ObjectProvider<HedgeProvider> providerBeans, HedgingProperties properties,
+                        MeterRegistry meterRegistry) {
+        this.rates = rates;
+        this.repository = repository;
+        this.minOrder = properties.getMinOrder();
+
+        List<HedgeProvider> candidates = new ArrayList<>();
+        providerBeans.orderedStream().forEach(candidates::add);
+        candidates.add(new StubHedgeProvider(properties.getStub(), rates));
+        this.provider = candidates.stream()
+            .filter(candidate -> candidate.name().equals(properties.getProvider()))
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException("No hedge provider named " + properties.getProvider()));
+        logger.info("Netting hedge orders every {} ms through provider {}", properties.getWindowMs(),
+            provider.name());
+
+        Arrays.fill(nettingRatios, Double.NaN);
+        for (int from = 0; from < N; from++) {
+            for (int to = from + 1; to < N; to++) {
+                int pair = from * N + to;
+                Gauge.builder("fx.hedge.netting.ratio", this, service -> service.nettingRatio(pair))
+                    .description("Share of the last window's gross flow offset by opposite flows")
+                    .tag("pair", CurrencyCode.ofOrdinal(from) + "/" + CurrencyCode.ofOrdinal(to))
+                    .register(meterRegistry);
+            }
+        }
+        this.flowsRecorded = Counter.builder("fx.hedge.flows.total")
+            .description("Conversions netted into hedge windows")
+            .register(meterRegistry);
+        this.ordersExecuted = orderCounter(meterRegistry, "executed");
+        this.ordersFailed = orderCounter(meterRegistry, "failed");
+        this.ordersDeferred = orderCounter(meterRegistry, "below_minimum");
+        this.ordersUnresolved = orderCounter(meterRegistry, "unresolved");
+        Gauge.builder("fx.hedge.orders.unresolved", unresolved, Map::size)
+            .description("Sent hedge orders whose outcome is still being checked with the provider")
+            .register(meterRegistry);
+        this.executeDuration = Timer.builder("fx.hedge.execute.duration.seconds")
+            .description("Time for the hedge provider to execute one order")
+            .register(meterRegistry);
+    }
+
+    private static Counter orderCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("fx.hedge.orders.total")
+            .description("Netted hedge orders by outcome; below_minimum nets are carried, not sent, and"
+                + " unresolved orders are checked with the provider before anything else is sent for the pair")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    // Before the scheduler and web server start, so no live flow is counted twice
+    @PostConstruct
+    public synchronized void restore() {
+        List<FlowTotal> totals = repository.findFlowTotals();
+        totals.forEach(book::restore);
+        // Unresolved orders may have filled, so they stay out of the book until the provider says otherwise
+        for (HedgeSubmission submission : repository.findSubmissions()) {
+            HedgeOrder order = submission.order();
+            book.carry(order.currency().ordinal(), order.counterCurrency().ordinal(), -submission.netMinor());
+            unresolved.put(order.orderId(), submission);
+        }
+        logger.info("Restored unhedged nets from {} conversion and hedge directions and {} unresolved orders",
+            totals.size(), unresolved.size());
+    }
+
+    /**
+     * Records a redeemed conversion: the bank received {@code fromAmountMinor} of
+     * {@code from} and paid out {@code toAmountMinor} of {@code to}.
+     */
+    public void recordFlow(CurrencyCode from, CurrencyCode to, long fromAmountMinor, long toAmountMinor) {
+        book.record(from, to, fromAmountMinor, toAmountMinor);
+        flowsRecorded.increment();
+    }
+
+    public List<PendingHedge> pending() {
+        return book.pending();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the limit is not between 1 and 1000
+     */
+    public List<HedgeExecution> recentOrders(int limit) {
+        if (limit < 1 || limit > 1000) {
+            throw new IllegalArgumentException("Limit must be between 1 and 1000: " + limit);
+        }
+        return repository.findRecent(limit);
+    }
+
+    @Scheduled(fixedRateString = "${fx.hedging.window-ms:60000}", initialDelayString = "${fx.hedging.window-ms:60000}")
+    public synchronized void closeWindow() {
+        resolveUnknownOutcomes();
+        Instant start = windowStart;
+        Instant end = Instant.now();
+        windowStart = end;
+        NettingBook.Window[] windows = new NettingBook.Window[N * N];
+        double[] ratios = nettingRatios.clone();
+        for (int a = 0; a < N; a++) {
+            for (int b = a + 1; b < N; b++) {
+                NettingBook.Window window = book.drain(a, b);
+                windows[a * N + b] = window;
+                if (window.flows() > 0) {
+                    ratios[a * N + b] = window.nettingRatio();
+                }
+            }
+        }
+        nettingRatios = ratios;
+
+        RateSnapshot snapshot = rates.current();
+        for (int a = 0; a < N; a++) {
+            for (int b = a + 1; b < N; b++) {
+                NettingBook.Window window = windows[a * N + b];
+                if (window.netMinor() != 0) {
+                    hedge(CurrencyCode.ofOrdinal(a), CurrencyCode.ofOrdinal(b), window, start, end, snapshot);
+                }
+            }
+        }
+    }
+
+    private void hedge(CurrencyCode currency, CurrencyCode counter, NettingBook.Window window, Instant start,
+                       Instant end, RateSnapshot snapshot) {
+        int a = currency.ordinal();
+        int b = counter.ordinal();
+        long net = window.netMinor();
+        if (belowMinimum(currency, Math.abs(net), snapshot)) {
+            book.carry(a, b, net);
+            ordersDeferred.increment();
+            return;
+        }
+        // Long the currency after the window's flows, so sell it back; short, so buy it
+        HedgeOrder order = new HedgeOrder(UUID.randomUUID(), currency, counter,
+            net > 0 ? HedgeOrder.Side.SELL : HedgeOrder.Side.BUY, Math.abs(net), start, end);
+        HedgeSubmission submission = new HedgeSubmission(order, window.flows(), window.grossMinor());
+        try {
+            repository.insertSubmission(submission);
+        } catch (RuntimeException e) {
+            // Not sent, so nothing can be live at the provider
+            book.carry(a, b, net);
+            ordersFailed.increment();
+            logger.warn("Hedge order {} {} {} {} could not be recorded before sending, carrying it into the next"
+                + " window: {}", order.side(), order.amountMinor(), currency, counter, e.getMessage());
+            return;
+        }
+        HedgeFill fill;
+        long startNanos = System.nanoTime();
+        try {
+            fill = provider.execute(order);
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            unresolved.put(order.orderId(), submission);
+            ordersUnresolved.increment();
+            logger.warn("Hedge order {} {} {} {} ({}) has no known outcome; checking with the provider before"
+                + " the next window: {}", order.side(), order.amountMinor(), currency, counter, order.orderId(),
+                e.getMessage());
+            return;
+        } finally {
+            executeDuration.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+        ordersExecuted.increment();
+        record(submission, fill);
+    }
+
+    /**
+     * Asks the provider about every order sent without a known outcome. A fill is recorded;
+     * an order the provider never executed has its amount carried back into the book, to
+     * be netted and sent again under a new id. Orders the provider cannot answer for stay
+     * unresolved.
+     */
+    private void resolveUnknownOutcomes() {
+        Iterator<HedgeSubmission> pending = unresolved.values().iterator();
+        while (pending.hasNext()) {
+            HedgeSubmission submission = pending.next();
+            HedgeOrder order = submission.order();
+            Optional<HedgeFill> fill;
+            try {
+                fill = provider.find(order.orderId());
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                logger.warn("Hedge order {} is still unresolved: {}", order.orderId(), e.getMessage());
+                continue;
+            }
+            if (fill.isPresent()) {
+                if (record(submission, fill.get())) {
+                    pending.remove();
+                }
+                continue;
+            }
+            try {
+                repository.deleteSubmission(order.orderId());
+            } catch (RuntimeException e) {
+                logger.warn("Hedge order {} was not executed but its submission could not be dropped: {}",
+                    order.orderId(), e.getMessage());
+                continue;
+            }
+            pending.remove();
+            book.carry(order.currency().ordinal(), order.counterCurrency().ordinal(), submission.netMinor());
+            ordersFailed.increment();
+            logger.info("Hedge order {} {} {} {} was not executed, carrying it into this window", order.side(),
+                order.amountMinor(), order.currency(), order.counterCurrency());
+        }
+    }
+
+    /**
+     * @return false if the fill could not be saved; the order then stays unresolved and is
+     *         looked up and recorded again before the next window
+     */
+    private boolean record(HedgeSubmission submission, HedgeFill fill) {
+        HedgeOrder order = submission.order();
+        HedgeExecution execution = new HedgeExecution(order, fill, provider.name(), submission.flows(),
+            submission.grossMinor(), Instant.now());
+        try {
+            repository.insert(execution);
+        } catch (RuntimeException e) {
+            // The order is live at the provider; carrying it would hedge twice
+            unresolved.put(order.orderId(), submission);
+            logger.error("Hedge order {} executed as {} but could not be recorded", order.orderId(),
+                fill.providerReference(), e);
+            return false;
+        }
+        logger.debug("Hedged {} {} {} against {} from {} flows", order.side(), order.amountMinor(),
+            order.currency(), order.counterCurrency(), submission.flows());
+        return true;
+    }
+
+    private boolean belowMinimum(CurrencyCode currency, long amountMinor, RateSnapshot snapshot) {
+        CurrencyCode base = snapshot.base();
+        long baseMinor;
+        if (currency == base) {
+            baseMinor = amountMinor;
+        } else if (snapshot.has(currency.ordinal(), base.ordinal())) {
+            int from = currency.fractionDigits();
+            int to = base.fractionDigits();
+            try {
+                baseMinor = MinorUnitConversion.convert(amountMinor, snapshot.mid(currency.ordinal(), base.ordinal()),
+                    MinorUnitConversion.factor(from, to), MinorUnitConversion.divisor(from, to), RoundingMode.DOWN);
+            } catch (ArithmeticException e) {
+                return false;
+            }
+        } else {
+            // Unvalued exposure is sent rather than left to grow unseen
+            return false;
+        }
+        return BigDecimal.valueOf(baseMinor, base.fractionDigits()).compareTo(minOrder) < 0;
+    }
+
+    private double nettingRatio(int pair) {
+        return nettingRatios[pair];
+    }
+}
@@ -0,0 +1,16 @@
+package com.minibank.fx.hedge;
+
+/**
+ * A hedge order as sent to the provider, with the flows netted into it.
+ *
+ * @param grossMinor sum of the absolute flows in the order's currency
+ */
+public record HedgeSubmission(HedgeOrder order, int flows, long grossMinor) {
+
+    /**
+     * The order's effect on the pair's net, in the minor units of its lower-ordinal currency.
+     */
+    long netMinor() {
+        return order.side() == HedgeOrder.Side.SELL ? order.amountMinor() : -order.amountMinor();
+    }
+}
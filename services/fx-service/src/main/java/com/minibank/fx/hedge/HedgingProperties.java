@@ -0,0 +1,46 @@
+package com.minibank.fx.hedge;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "fx.hedging")
+public class HedgingProperties {
+
+    // Flows are netted for this long before one order per pair is sent
+    private long windowMs = 60000;
+    // Name of the HedgeProvider orders are sent to
+    private String provider = "stub";
+    // Nets worth less than this in base-currency major units are carried into the next window
+    private BigDecimal minOrder = new BigDecimal("1000");
+    private Stub stub = new Stub();
+
+    public long getWindowMs() { return windowMs; }
+    public void setWindowMs(long windowMs) { this.windowMs = windowMs; }
+
+    public String getProvider() { return provider; }
+    public void setProvider(String provider) { this.provider = provider; }
+
+    public BigDecimal getMinOrder() { return minOrder; }
+    public void setMinOrder(BigDecimal minOrder) { this.minOrder = minOrder; }
+
+    public Stub getStub() { return stub; }
+    public void setStub(Stub stub) { this.stub = stub; }
+
+    /**
+     * A local venue that fills every order at the current mid, for development and tests.
+     */
+    public static class Stub {
+
+        private Duration latency = Duration.ofMillis(50);
+        // Share of orders rejected, 0.0 to 1.0
+        private double failureRate;
+
+        public Duration getLatency() { return latency; }
+        public void setLatency(Duration latency) { this.latency = latency; }
+
+        public double getFailureRate() { return failureRate; }
+        public void setFailureRate(double failureRate) { this.failureRate = failureRate; }
+    }
+}
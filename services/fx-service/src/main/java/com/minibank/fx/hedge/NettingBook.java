@@ -0,0 +1,133 @@
+package com.minibank.fx.hedge;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.minibank.fx.rates.CurrencyCode;
+
+/**
+ * Nets conversion flows per currency pair until the window closes.
+ *
+ * A pair and its inverse share one accumulator, kept in the minor units of the pair's
+ * lower-ordinal currency. Each accumulator has its own monitor, so flows for different
+ * pairs never contend, and a drain takes a flow's effect whole or not at all.
+ */
+final class NettingBook {
+
+    private static final int N = CurrencyCode.COUNT;
+
+    private final Flows[] pairs = new Flows[N * N];
+
+    NettingBook() {
+        for (int a = 0; a < N; a++) {
+            for (int b = a + 1; b < N; b++) {
+                pairs[a * N + b] = new Flows();
+            }
+        }
+    }
+
+    /**
+     * Records a conversion the bank took the other side of: it received {@code fromAmountMinor}
+     * of {@code from} and paid out {@code toAmountMinor} of {@code to}.
+     */
+    void record(CurrencyCode from, CurrencyCode to, long fromAmountMinor, long toAmountMinor) {
+        if (from.ordinal() < to.ordinal()) {
+            pairs[from.ordinal() * N + to.ordinal()].add(fromAmountMinor);
+        } else {
+            pairs[to.ordinal() * N + from.ordinal()].add(-toAmountMinor);
+        }
+    }
+
+    /**
+     * Carries restored flow totals, which count towards the net but not the window's
+     * flows or netting ratio.
+     */
+    void restore(FlowTotal total) {
+        CurrencyCode from = total.from();
+        CurrencyCode to = total.to();
+        if (from.ordinal() < to.ordinal()) {
+            pairs[from.ordinal() * N + to.ordinal()].carry(total.fromAmountMinor());
+        } else {
+            pairs[to.ordinal() * N + from.ordinal()].carry(Math.negateExact(total.toAmountMinor()));
+        }
+    }
+
+    /**
+     * Takes and resets the pair's window.
+     */
+    Window drain(int a, int b) {
+        return pairs[a * N + b].drain();
+    }
+
+    /**
+     * Puts an unhedged net back, to be netted with the next window's flows.
+     */
+    void carry(int a, int b, long netMinor) {
+        pairs[a * N + b].carry(netMinor);
+    }
+
+    List<PendingHedge> pending() {
+        List<PendingHedge> pending = new ArrayList<>();
+        for (int a = 0; a < N; a++) {
+            for (int b = a + 1; b < N; b++) {
+                Window window = pairs[a * N + b].peek();
+                if (window.flows() > 0 || window.netMinor() != 0) {
+                    pending.add(new PendingHedge(CurrencyCode.ofOrdinal(a), CurrencyCode.ofOrdinal(b),
+                        window.netMinor(), window.grossMinor(), window.flows()));
+                }
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * @param netMinor includes {@code carriedMinor}, the part left unhedged by earlier windows
+     */
+    record Window(long netMinor, long carriedMinor, long grossMinor, int flows) {
+
+        /**
+         * Share of this window's gross flow cancelled out by opposite flows; NaN without flows.
+         */
+        double nettingRatio() {
+            if (grossMinor == 0) {
+                return Double.NaN;
+            }
+            return 1 - Math.abs((double) netMinor - carriedMinor) / grossMinor;
+        }
+    }
+
+    private static final class Flows {
+
+        private long net;
+        private long carried;
+        private long gross;
+        private int flows;
+
+        // Both sums are checked before either changes, so an overflow leaves the pair as it was
+        synchronized void add(long amountMinor) {
+            long newNet = Math.addExact(net, amountMinor);
+            gross = Math.addExact(gross, Math.abs(amountMinor));
+            net = newNet;
+            flows++;
+        }
+
+        synchronized void carry(long amountMinor) {
+            long newNet = Math.addExact(net, amountMinor);
+            carried = Math.addExact(carried, amountMinor);
+            net = newNet;
+        }
+
+        synchronized Window drain() {
+            Window window = peek();
+            net = 0;
+            carried = 0;
+            gross = 0;
+            flows = 0;
+            return window;
+        }
+
+        synchronized Window peek() {
+            return new Window(net, carried, gross, flows);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.minibank.fx.hedge;
+
+import com.minibank.fx.rates.CurrencyCode;
+
+/**
+ * Flows netted so far in the open window for one pair.
+ *
+ * @param netMinor bank position change in {@code currency}; positive means long
+ */
+public record PendingHedge(CurrencyCode currency, CurrencyCode counterCurrency, long netMinor, long grossMinor,
+                           int flows) {
+}
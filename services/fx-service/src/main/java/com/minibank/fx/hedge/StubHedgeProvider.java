@@ -0,0 +1,70 @@
+package com.minibank.fx.hedge;
+
+import java.math.RoundingMode;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.minibank.fx.rates.MinorUnitConversion;
+import com.minibank.fx.rates.RateSnapshot;
+import com.minibank.fx.rates.RateSnapshotStore;
+
+/**
+ * Fills every order at the current mid after a configurable delay, failing a configurable
+ * share of them, so netting and retries can be exercised without a venue. Fills are kept
+ * by order id for the life of the process, like a venue's order book.
+ */
+public class StubHedgeProvider implements HedgeProvider {
+
+    static final String NAME = "stub";
+
+    private final HedgingProperties.Stub config;
+    private final RateSnapshotStore rates;
+    private final Map<UUID, HedgeFill> fills = new ConcurrentHashMap<>();
+
+    public StubHedgeProvider(HedgingProperties.Stub config, RateSnapshotStore rates) {
+        this.config = config;
+        this.rates = rates;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public HedgeFill execute(HedgeOrder order) throws InterruptedException {
+        HedgeFill previous = fills.get(order.orderId());
+        if (previous != null) {
+            return previous;
+        }
+        if (!config.getLatency().isZero()) {
+            Thread.sleep(config.getLatency());
+        }
+        if (ThreadLocalRandom.current().nextDouble() < config.getFailureRate()) {
+            throw new IllegalStateException("Stub hedge provider rejected order " + order.orderId());
+        }
+        int from = order.currency().ordinal();
+        int to = order.counterCurrency().ordinal();
+        RateSnapshot snapshot = rates.current();
+        if (!snapshot.has(from, to)) {
+            throw new IllegalStateException("No rate for " + order.currency() + "/" + order.counterCurrency());
+        }
+        long rate = snapshot.mid(from, to);
+        int fromDigits = order.currency().fractionDigits();
+        int toDigits = order.counterCurrency().fractionDigits();
+        long counterAmount = MinorUnitConversion.convert(order.amountMinor(), rate,
+            MinorUnitConversion.factor(fromDigits, toDigits), MinorUnitConversion.divisor(fromDigits, toDigits),
+            RoundingMode.HALF_EVEN);
+        HedgeFill fill = new HedgeFill("stub-" + order.orderId(), counterAmount, rate);
+        HedgeFill raced = fills.putIfAbsent(order.orderId(), fill);
+        return raced != null ? raced : fill;
+    }
+
+    @Override
+    public Optional<HedgeFill> find(UUID orderId) {
+        return Optional.ofNullable(fills.get(orderId));
+    }
+}
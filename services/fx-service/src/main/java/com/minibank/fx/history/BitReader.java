@@ -0,0 +1,43 @@
+package com.minibank.fx.history;
+
+/**
+ * Reads back fields written by {@link BitWriter}.
+ */
+final class BitReader {
+
+    private final long[] words;
+    private long position;
+
+    BitReader(long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * Reads {@code bits} bits, 1 to 64, as an unsigned value.
+     */
+    long read(int bits) {
+        int word = (int) (position >>> 6);
+        int used = (int) (position & 63);
+        int available = 64 - used;
+        long value;
+        if (bits <= available) {
+            value = words[word] << used >>> (64 - bits);
+        } else {
+            long high = words[word] << used >>> used;
+            value = (high << (bits - available)) | (words[word + 1] >>> (64 - (bits - available)));
+        }
+        position += bits;
+        return value;
+    }
+
+    boolean readBit() {
+        return read(1) != 0;
+    }
+
+    /**
+     * Reads {@code bits} bits as a two's complement value.
+     */
+    long readSigned(int bits) {
+        return read(bits) << (64 - bits) >> (64 - bits);
+    }
+}
@@ -0,0 +1,51 @@
+package com.minibank.fx.history;
+
+import java.util.Arrays;
+
+/**
+ * Appends bit fields, most significant bit first, to a growable {@code long[]}.
+ */
+final class BitWriter {
+
+    private long[] words;
+    private long bitLength;
+
+    BitWriter(int initialWords) {
+        this.words = new long[Math.max(1, initialWords)];
+    }
+
+    /**
+     * Writes the low {@code bits} bits of {@code value}, 1 to 64 of them.
+     */
+    void write(long value, int bits) {
+        int word = (int) (bitLength >>> 6);
+        int used = (int) (bitLength & 63);
+        if (word + 1 >= words.length) {
+            words = Arrays.copyOf(words, words.length * 2);
+        }
+        long field = bits == 64 ? value : value & ((1L << bits) - 1);
+        int free = 64 - used;
+        if (bits <= free) {
+            words[word] |= field << (free - bits);
+        } else {
+            words[word] |= field >>> (bits - free);
+            words[word + 1] = field << (64 - (bits - free));
+        }
+        bitLength += bits;
+    }
+
+    void writeBit(boolean bit) {
+        write(bit ? 1 : 0, 1);
+    }
+
+    long bitLength() {
+        return bitLength;
+    }
+
+    /**
+     * The words written so far, trimmed to length.
+     */
+    long[] toArray() {
+        return Arrays.copyOf(words, (int) ((bitLength + 63) >>> 6));
+    }
+}
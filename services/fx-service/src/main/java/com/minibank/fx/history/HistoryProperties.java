@@ -0,0 +1,40 @@
+package com.minibank.fx.history;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "fx.history")
+public class HistoryProperties {
+
+    // Where sealed chunks are appended, one file per day
+    private String directory = "data/fx-history";
+    // Time window per compressed chunk; at most a day. Ticks in the open chunk are lost on a crash
+    private Duration chunkWindow = Duration.ofHours(1);
+    // How long history is kept in memory and on disk
+    private Duration retention = Duration.ofDays(7);
+    // Window the fx.rate.volatility.percentage gauges are computed over
+    private Duration volatilityWindow = Duration.ofHours(1);
+    // How often sealed chunks are written out and the volatility gauges recomputed
+    private long flushIntervalMs = 10_000;
+    // Most OHLC candles one query may return
+    private int maxCandles = 10_000;
+
+    public String getDirectory() { return directory; }
+    public void setDirectory(String directory) { this.directory = directory; }
+
+    public Duration getChunkWindow() { return chunkWindow; }
+    public void setChunkWindow(Duration chunkWindow) { this.chunkWindow = chunkWindow; }
+
+    public Duration getRetention() { return retention; }
+    public void setRetention(Duration retention) { this.retention = retention; }
+
+    public Duration getVolatilityWindow() { return volatilityWindow; }
+    public void setVolatilityWindow(Duration volatilityWindow) { this.volatilityWindow = volatilityWindow; }
+
+    public long getFlushIntervalMs() { return flushIntervalMs; }
+    public void setFlushIntervalMs(long flushIntervalMs) { this.flushIntervalMs = flushIntervalMs; }
+
+    public int getMaxCandles() { return maxCandles; }
+    public void setMaxCandles(int maxCandles) { this.maxCandles = maxCandles; }
+}
@@ -0,0 +1,21 @@
+package com.minibank.fx.history;
+
+/**
+ * A compressed run of one pair's ticks, with the summary needed to answer queries that
+ * cover it whole without decoding it.
+ *
+ * @param pair {@code from * CurrencyCode.COUNT + to}
+ * @param startMillis start of the time window the chunk was written for
+ * @param words bit stream written by {@link TickEncoder}
+ */
+record TickChunk(int pair, long startMillis, long firstMillis, long lastMillis, int count, long open, long close,
+                 long low, long high, long[] words) {
+
+    TickCursor cursor() {
+        return new TickCursor(this);
+    }
+
+    long compressedBytes() {
+        return words.length * 8L;
+    }
+}
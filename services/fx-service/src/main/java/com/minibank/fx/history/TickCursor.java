@@ -0,0 +1,79 @@
+package com.minibank.fx.history;
+
+/**
+ * Decodes a {@link TickChunk} one tick at a time, oldest first, without allocating.
+ */
+final class TickCursor {
+
+    private final BitReader in;
+    private final int count;
+
+    private int read;
+    private long timeMillis;
+    private long delta;
+    private long value;
+    private int leading;
+    private int trailing;
+
+    TickCursor(TickChunk chunk) {
+        this.in = new BitReader(chunk.words());
+        this.count = chunk.count();
+    }
+
+    /**
+     * Moves to the next tick.
+     *
+     * @return false once every tick has been read
+     */
+    boolean next() {
+        if (read == count) {
+            return false;
+        }
+        if (read == 0) {
+            timeMillis = in.read(64);
+            value = in.read(64);
+        } else {
+            readTimestamp();
+            readValue();
+        }
+        read++;
+        return true;
+    }
+
+    long timeMillis() {
+        return timeMillis;
+    }
+
+    long value() {
+        return value;
+    }
+
+    private void readTimestamp() {
+        long deltaOfDelta;
+        if (!in.readBit()) {
+            deltaOfDelta = 0;
+        } else if (!in.readBit()) {
+            deltaOfDelta = in.readSigned(7);
+        } else if (!in.readBit()) {
+            deltaOfDelta = in.readSigned(12);
+        } else if (!in.readBit()) {
+            deltaOfDelta = in.readSigned(20);
+        } else {
+            deltaOfDelta = in.readSigned(33);
+        }
+        delta += deltaOfDelta;
+        timeMillis += delta;
+    }
+
+    private void readValue() {
+        if (!in.readBit()) {
+            return;
+        }
+        if (in.readBit()) {
+            leading = (int) in.read(5);
+            int significant = (int) in.read(6) + 1;
+            trailing = 64 - leading - significant;
+        }
+        value ^= in.read(64 - leading - trailing) << trailing;
+    }
+}
@@ -0,0 +1,129 @@
+package com.minibank.fx.history;
+
+/**
+ * Compresses one chunk of ticks as they arrive, Gorilla style.
+ *
+ * The first tick's timestamp and value are written whole. After that a timestamp is
+ * written as its delta-of-delta in the shortest of five variable-length forms, and
+ * a value as its XOR with the previous value: a single 0 bit when unchanged, otherwise
+ * only the XOR's meaningful bits, reusing the previous leading and trailing zero counts
+ * when they still fit. Rates move in their last few digits, so a typical tick costs a
+ * few bytes instead of sixteen.
+ *
+ * Timestamps are epoch milliseconds; a chunk may span at most {@link #MAX_SPAN_MILLIS}.
+ */
+final class TickEncoder {
+
+    static final long MAX_SPAN_MILLIS = Integer.MAX_VALUE;
+
+    private final BitWriter out = new BitWriter(64);
+    private final long startMillis;
+
+    private int count;
+    private long firstMillis;
+    private long lastMillis;
+    private long lastDelta;
+    private long lastValue;
+    private int lastLeading = -1;
+    private int lastTrailing;
+
+    private long first;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    /**
+     * @param startMillis start of the chunk's time window
+     */
+    TickEncoder(long startMillis) {
+        this.startMillis = startMillis;
+    }
+
+    /**
+     * @param timeMillis no earlier than the previous tick and within {@link #MAX_SPAN_MILLIS} of it
+     */
+    void append(long timeMillis, long value) {
+        if (count == 0) {
+            out.write(timeMillis, 64);
+            out.write(value, 64);
+            firstMillis = timeMillis;
+            first = value;
+        } else {
+            writeTimestamp(timeMillis);
+            writeValue(value);
+        }
+        lastMillis = timeMillis;
+        lastValue = value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        count++;
+    }
+
+    private void writeTimestamp(long timeMillis) {
+        long delta = timeMillis - lastMillis;
+        long deltaOfDelta = delta - lastDelta;
+        lastDelta = delta;
+        if (deltaOfDelta == 0) {
+            out.writeBit(false);
+        } else if (fits(deltaOfDelta, 7)) {
+            out.write(0b10, 2);
+            out.write(deltaOfDelta, 7);
+        } else if (fits(deltaOfDelta, 12)) {
+            out.write(0b110, 3);
+            out.write(deltaOfDelta, 12);
+        } else if (fits(deltaOfDelta, 20)) {
+            out.write(0b1110, 4);
+            out.write(deltaOfDelta, 20);
+        } else {
+            out.write(0b1111, 4);
+            out.write(deltaOfDelta, 33);
+        }
+    }
+
+    private void writeValue(long value) {
+        long xor = value ^ lastValue;
+        if (xor == 0) {
+            out.writeBit(false);
+            return;
+        }
+        out.writeBit(true);
+        int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+        int trailing = Long.numberOfTrailingZeros(xor);
+        if (lastLeading >= 0 && leading >= lastLeading && trailing >= lastTrailing) {
+            out.writeBit(false);
+            out.write(xor >>> lastTrailing, 64 - lastLeading - lastTrailing);
+        } else {
+            int significant = 64 - leading - trailing;
+            out.writeBit(true);
+            out.write(leading, 5);
+            out.write(significant - 1, 6);
+            out.write(xor >>> trailing, significant);
+            lastLeading = leading;
+            lastTrailing = trailing;
+        }
+    }
+
+    private static boolean fits(long value, int bits) {
+        long limit = 1L << (bits - 1);
+        return value >= -limit && value < limit;
+    }
+
+    long startMillis() {
+        return startMillis;
+    }
+
+    long lastMillis() {
+        return lastMillis;
+    }
+
+    int count() {
+        return count;
+    }
+
+    /**
+     * An immutable copy of everything appended so far.
+     */
+    TickChunk toChunk(int pair) {
+        return new TickChunk(pair, startMillis, firstMillis, lastMillis, count, first, lastValue, min, max,
+            out.toArray());
+    }
+}
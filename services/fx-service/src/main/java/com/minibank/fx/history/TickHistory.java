@@ -0,0 +1,360 @@
+package com.minibank.fx.history;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.RoundingMode;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.minibank.fx.rates.CurrencyCode;
+import com.minibank.fx.rates.FixedPoint;
+import com.minibank.fx.rates.RateSnapshot;
+import com.minibank.fx.rates.RateSnapshotListener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Mid-rate tick history for every currency pair, kept compressed.
+ *
+ * Each published snapshot adds a tick to every pair with a leg that moved. A pair and
+ * its inverse share one series, stored with the lower ordinal first. Queries decode
+ * chunks on the fly and never materialise the ticks; OHLC candles that cover a whole
+ * chunk come straight from its summary.
+ *
+ * Sealed chunks are appended to a {@link TickLog} in the background and read back at
+ * startup, so history survives a restart up to the last flush.
+ */
+@Component
+public class TickHistory implements RateSnapshotListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TickHistory.class);
+
+    private static final int N = CurrencyCode.COUNT;
+
+    private final TickSeries[] series = new TickSeries[N * N];
+    private final TickLog log;
+    private final long windowMillis;
+    private final long retentionMillis;
+    private final long volatilityWindowMillis;
+    private final int maxCandles;
+
+    // Sealed chunks not yet on disk
+    private final ConcurrentLinkedQueue<TickChunk> unflushed = new ConcurrentLinkedQueue<>();
+    private volatile double[] volatility = new double[N * N];
+
+    // Metrics
+    private final Counter ticksRecorded;
+    private final Counter ticksDropped;
+    private final Counter chunksWritten;
+
+    public TickHistory(HistoryProperties properties, MeterRegistry meterRegistry) {
+        this.windowMillis = properties.getChunkWindow().toMillis();
+        if (windowMillis <= 0 || windowMillis > 86_400_000L) {
+            throw new IllegalArgumentException("Chunk window must be positive and at most a day: "
+                + properties.getChunkWindow());
+        }
+        this.retentionMillis = properties.getRetention().toMillis();
+        this.volatilityWindowMillis = properties.getVolatilityWindow().toMillis();
+        this.maxCandles = properties.getMaxCandles();
+        for (int from = 0; from < N; from++) {
+            for (int to = from + 1; to < N; to++) {
+                series[from * N + to] = new TickSeries(from * N + to, windowMillis);
+            }
+        }
+
+        long cutoff = System.currentTimeMillis() - retentionMillis;
+        try {
+            this.log = new TickLog(Path.of(properties.getDirectory()));
+            log.load(TickLog.day(cutoff), chunk -> {
+                TickSeries target = chunk.pair() < series.length ? series[chunk.pair()] : null;
+                if (target != null && chunk.lastMillis() >= cutoff) {
+                    target.restore(chunk);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open tick history in " + properties.getDirectory(), e);
+        }
+
+        this.ticksRecorded = Counter.builder("fx.rate.history.ticks.total")
+            .description("Mid-rate ticks added to pair history")
+            .register(meterRegistry);
+        this.ticksDropped = Counter.builder("fx.rate.history.ticks.dropped.total")
+            .description("Ticks older than their pair's latest, dropped")
+            .register(meterRegistry);
+        this.chunksWritten = Counter.builder("fx.rate.history.chunks.written.total")
+            .description("Compressed tick chunks appended to disk")
+            .register(meterRegistry);
+        Gauge.builder("fx.rate.history.compressed.bytes", this, TickHistory::compressedBytes)
+            .description("Bytes held by sealed tick chunks")
+            .register(meterRegistry);
+        Gauge.builder("fx.rate.history.ticks", this, TickHistory::tickCount)
+            .description("Ticks held in memory")
+            .register(meterRegistry);
+        for (int from = 0; from < N; from++) {
+            for (int to = from + 1; to < N; to++) {
+                int pair = from * N + to;
+                Gauge.builder("fx.rate.volatility.percentage", this, history -> history.volatility[pair])
+                    .description("Standard deviation of tick-to-tick log returns over the volatility window")
+                    .tag("pair", CurrencyCode.ofOrdinal(from) + "/" + CurrencyCode.ofOrdinal(to))
+                    .register(meterRegistry);
+            }
+        }
+    }
+
+    @Override
+    public void onPublished(RateSnapshot previous, RateSnapshot published) {
+        boolean[] moved = new boolean[N];
+        boolean any = false;
+        for (int c = 0; c < N; c++) {
+            moved[c] = published.legTimestamp(c) > previous.legTimestamp(c);
+            any |= moved[c];
+        }
+        if (!any) {
+            return;
+        }
+        for (int from = 0; from < N; from++) {
+            for (int to = from + 1; to < N; to++) {
+                if ((moved[from] || moved[to]) && published.has(from, to)) {
+                    long time = Math.max(published.legTimestamp(from), published.legTimestamp(to));
+                    if (series[from * N + to].append(time, published.mid(from, to), unflushed::add)) {
+                        ticksRecorded.increment();
+                    } else {
+                        ticksDropped.increment();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Candles of {@code intervalMillis} over {@code [fromMillis, toMillis)}, skipping
+     * intervals without ticks. Prices are {@link FixedPoint} mids.
+     *
+     * @throws IllegalArgumentException if the pair or range is invalid, or would yield too many candles
+     */
+    public List<Candle> candles(CurrencyCode from, CurrencyCode to, long fromMillis, long toMillis,
+                                long intervalMillis) {
+        if (intervalMillis <= 0 || toMillis <= fromMillis) {
+            throw new IllegalArgumentException("Range must be non-empty and the interval positive");
+        }
+        if ((toMillis - fromMillis) / intervalMillis >= maxCandles) {
+            throw new IllegalArgumentException("Range spans more than " + maxCandles + " intervals");
+        }
+        TickSeries pairSeries = series(from, to);
+        boolean inverted = from.ordinal() > to.ordinal();
+
+        List<Candle> candles = new ArrayList<>();
+        CandleBuilder candle = new CandleBuilder();
+        for (TickChunk chunk : pairSeries.chunks(fromMillis, toMillis)) {
+            long firstBucket = (chunk.firstMillis() - fromMillis) / intervalMillis;
+            if (chunk.firstMillis() >= fromMillis && chunk.lastMillis() < toMillis
+                    && firstBucket == (chunk.lastMillis() - fromMillis) / intervalMillis) {
+                candle.merge(firstBucket, chunk, candles, inverted);
+                continue;
+            }
+            TickCursor cursor = chunk.cursor();
+            while (cursor.next()) {
+                long time = cursor.timeMillis();
+                if (time >= fromMillis && time < toMillis) {
+                    candle.add((time - fromMillis) / intervalMillis, cursor.value(), candles, inverted);
+                }
+            }
+        }
+        candle.emit(candles, inverted);
+        for (int i = 0; i < candles.size(); i++) {
+            Candle c = candles.get(i);
+            candles.set(i, new Candle(fromMillis + c.startMillis() * intervalMillis, c.open(), c.high(), c.low(),
+                c.close(), c.ticks()));
+        }
+        return candles;
+    }
+
+    /**
+     * Sample standard deviation of tick-to-tick log returns over {@code [fromMillis, toMillis)},
+     * in percent; NaN with fewer than three ticks. Identical for a pair and its inverse.
+     */
+    public double volatilityPercent(CurrencyCode from, CurrencyCode to, long fromMillis, long toMillis) {
+        return volatilityPercent(series(from, to), fromMillis, toMillis);
+    }
+
+    @Scheduled(fixedDelayString = "${fx.history.flush-interval-ms:10000}")
+    public void flush() {
+        long now = System.currentTimeMillis();
+        long windowStart = now - Math.floorMod(now, windowMillis);
+        for (TickSeries pairSeries : series) {
+            if (pairSeries != null) {
+                pairSeries.sealBefore(windowStart, unflushed::add);
+                pairSeries.evictBefore(now - retentionMillis);
+            }
+        }
+        writeUnflushed();
+        try {
+            int deleted = log.deleteBefore(TickLog.day(now - retentionMillis));
+            if (deleted > 0) {
+                logger.info("Deleted {} tick history files past retention", deleted);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not delete expired tick history: {}", e.getMessage());
+        }
+
+        double[] next = new double[N * N];
+        for (int pair = 0; pair < series.length; pair++) {
+            if (series[pair] != null) {
+                next[pair] = volatilityPercent(series[pair], now - volatilityWindowMillis, now + 1);
+            }
+        }
+        volatility = next;
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        for (TickSeries pairSeries : series) {
+            if (pairSeries != null) {
+                pairSeries.sealBefore(Long.MAX_VALUE, unflushed::add);
+            }
+        }
+        writeUnflushed();
+    }
+
+    private void writeUnflushed() {
+        List<TickChunk> chunks = new ArrayList<>();
+        for (TickChunk chunk = unflushed.poll(); chunk != null; chunk = unflushed.poll()) {
+            chunks.add(chunk);
+        }
+        if (chunks.isEmpty()) {
+            return;
+        }
+        try {
+            log.append(chunks);
+            chunksWritten.increment(chunks.size());
+        } catch (IOException e) {
+            // Retried on the next flush; a partly written record is cut off when the log is next loaded
+            logger.error("Could not write {} tick chunks: {}", chunks.size(), e.getMessage());
+            unflushed.addAll(chunks);
+        }
+    }
+
+    private static double volatilityPercent(TickSeries pairSeries, long fromMillis, long toMillis) {
+        long returns = 0;
+        double mean = 0;
+        double sumSquares = 0;
+        long previous = 0;
+        for (TickChunk chunk : pairSeries.chunks(fromMillis, toMillis)) {
+            TickCursor cursor = chunk.cursor();
+            while (cursor.next()) {
+                long time = cursor.timeMillis();
+                if (time < fromMillis || time >= toMillis) {
+                    continue;
+                }
+                long value = cursor.value();
+                if (previous != 0) {
+                    // Welford's running mean and sum of squared deviations
+                    double logReturn = Math.log((double) value / previous);
+                    returns++;
+                    double delta = logReturn - mean;
+                    mean += delta / returns;
+                    sumSquares += delta * (logReturn - mean);
+                }
+                previous = value;
+            }
+        }
+        return returns < 2 ? Double.NaN : Math.sqrt(sumSquares / (returns - 1)) * 100;
+    }
+
+    private TickSeries series(CurrencyCode from, CurrencyCode to) {
+        if (from == to) {
+            throw new IllegalArgumentException("Base and quote currency are both " + from);
+        }
+        int low = Math.min(from.ordinal(), to.ordinal());
+        int high = Math.max(from.ordinal(), to.ordinal());
+        return series[low * N + high];
+    }
+
+    private double compressedBytes() {
+        long bytes = 0;
+        for (TickSeries pairSeries : series) {
+            if (pairSeries != null) {
+                bytes += pairSeries.compressedBytes();
+            }
+        }
+        return bytes;
+    }
+
+    private double tickCount() {
+        long ticks = 0;
+        for (TickSeries pairSeries : series) {
+            if (pairSeries != null) {
+                ticks += pairSeries.tickCount();
+            }
+        }
+        return ticks;
+    }
+
+    /**
+     * @param startMillis start of the candle's interval
+     */
+    public record Candle(long startMillis, long open, long high, long low, long close, int ticks) {
+    }
+
+    // Accumulates the current candle; bucket numbers stand in for start times until the end
+    private static final class CandleBuilder {
+
+        private long bucket = -1;
+        private long open;
+        private long high;
+        private long low;
+        private long close;
+        private int ticks;
+
+        void add(long tickBucket, long value, List<Candle> candles, boolean inverted) {
+            roll(tickBucket, value, candles, inverted);
+            high = Math.max(high, value);
+            low = Math.min(low, value);
+            close = value;
+            ticks++;
+        }
+
+        void merge(long chunkBucket, TickChunk chunk, List<Candle> candles, boolean inverted) {
+            roll(chunkBucket, chunk.open(), candles, inverted);
+            high = Math.max(high, chunk.high());
+            low = Math.min(low, chunk.low());
+            close = chunk.close();
+            ticks += chunk.count();
+        }
+
+        void emit(List<Candle> candles, boolean inverted) {
+            if (ticks == 0) {
+                return;
+            }
+            candles.add(inverted
+                ? new Candle(bucket, invert(open), invert(low), invert(high), invert(close), ticks)
+                : new Candle(bucket, open, high, low, close, ticks));
+            ticks = 0;
+        }
+
+        private void roll(long nextBucket, long openValue, List<Candle> candles, boolean inverted) {
+            if (nextBucket != bucket) {
+                emit(candles, inverted);
+                bucket = nextBucket;
+                open = openValue;
+                high = Long.MIN_VALUE;
+                low = Long.MAX_VALUE;
+            }
+        }
+
+        private static long invert(long rate) {
+            return FixedPoint.divide(FixedPoint.ONE, rate, RoundingMode.HALF_EVEN);
+        }
+    }
+}
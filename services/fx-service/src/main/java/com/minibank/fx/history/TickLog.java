@@ -0,0 +1,193 @@
+package com.minibank.fx.history;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only files of sealed {@link TickChunk}s, one file per UTC day of chunk start.
+ *
+ * <pre>
+ *  0  int     payload length L
+ *  4  short   pair
+ *  6  long    window start millis
+ * 14  long    first tick millis
+ * 22  long    last tick millis
+ * 30  int     tick count
+ * 34  long[4] open, close, low, high
+ * 66  long[]  compressed words, (L - 62) / 8 of them
+ * 4+L int     CRC32C of bytes 0 to 4+L
+ * </pre>
+ *
+ * A short or corrupt record marks the end of a file; the newest file is truncated there
+ * so later appends follow the last good record.
+ */
+final class TickLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(TickLog.class);
+
+    private static final int HEADER_SIZE = 66;
+    private static final int FIXED_PAYLOAD = HEADER_SIZE - 4;
+    private static final String PREFIX = "ticks-";
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+
+    TickLog(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    static String fileName(LocalDate day) {
+        return PREFIX + day + SUFFIX;
+    }
+
+    static LocalDate dayOf(String fileName) {
+        return LocalDate.parse(fileName.substring(PREFIX.length(), fileName.length() - SUFFIX.length()));
+    }
+
+    /**
+     * Appends chunks and forces them to disk.
+     */
+    void append(Collection<TickChunk> chunks) throws IOException {
+        Map<LocalDate, List<TickChunk>> byDay = new TreeMap<>();
+        for (TickChunk chunk : chunks) {
+            byDay.computeIfAbsent(day(chunk.startMillis()), day -> new ArrayList<>()).add(chunk);
+        }
+        for (Map.Entry<LocalDate, List<TickChunk>> entry : byDay.entrySet()) {
+            try (FileChannel channel = FileChannel.open(directory.resolve(fileName(entry.getKey())),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                for (TickChunk chunk : entry.getValue()) {
+                    ByteBuffer record = encode(chunk);
+                    while (record.hasRemaining()) {
+                        channel.write(record);
+                    }
+                }
+                channel.force(false);
+            }
+        }
+    }
+
+    /**
+     * Reads back every chunk that starts on or after {@code fromDay}, oldest file first.
+     */
+    void load(LocalDate fromDay, Consumer<TickChunk> sink) throws IOException {
+        List<Path> files = files();
+        for (int i = 0; i < files.size(); i++) {
+            Path file = files.get(i);
+            if (dayOf(file.getFileName().toString()).isBefore(fromDay)) {
+                continue;
+            }
+            long good = read(file, sink);
+            if (good < Files.size(file)) {
+                logger.warn("Tick log {} is damaged after byte {}", file, good);
+                if (i == files.size() - 1) {
+                    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                        channel.truncate(good);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes files for days before {@code day}.
+     *
+     * @return files deleted
+     */
+    int deleteBefore(LocalDate day) throws IOException {
+        int deleted = 0;
+        for (Path file : files()) {
+            if (dayOf(file.getFileName().toString()).isBefore(day)) {
+                Files.delete(file);
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    static LocalDate day(long epochMillis) {
+        return LocalDate.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+
+    private List<Path> files() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        // ISO dates sort by name
+        files.sort(null);
+        return files;
+    }
+
+    // Returns the length of the readable prefix of the file
+    private static long read(Path file, Consumer<TickChunk> sink) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        while (buffer.remaining() >= HEADER_SIZE + 4) {
+            int start = buffer.position();
+            int length = buffer.getInt(start);
+            if (length < FIXED_PAYLOAD || (length - FIXED_PAYLOAD) % 8 != 0
+                    || length > buffer.remaining() - 8) {
+                break;
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.slice(start, 4 + length));
+            if (buffer.getInt(start + 4 + length) != (int) crc.getValue()) {
+                break;
+            }
+            buffer.position(start + 4);
+            int pair = buffer.getShort();
+            long windowStart = buffer.getLong();
+            long first = buffer.getLong();
+            long last = buffer.getLong();
+            int count = buffer.getInt();
+            long open = buffer.getLong();
+            long close = buffer.getLong();
+            long low = buffer.getLong();
+            long high = buffer.getLong();
+            long[] words = new long[(length - FIXED_PAYLOAD) / 8];
+            buffer.asLongBuffer().get(words);
+            buffer.position(start + 4 + length + 4);
+            sink.accept(new TickChunk(pair, windowStart, first, last, count, open, close, low, high, words));
+        }
+        return buffer.position();
+    }
+
+    private static ByteBuffer encode(TickChunk chunk) {
+        int length = FIXED_PAYLOAD + chunk.words().length * 8;
+        ByteBuffer buffer = ByteBuffer.allocate(4 + length + 4);
+        buffer.putInt(length);
+        buffer.putShort((short) chunk.pair());
+        buffer.putLong(chunk.startMillis());
+        buffer.putLong(chunk.firstMillis());
+        buffer.putLong(chunk.lastMillis());
+        buffer.putInt(chunk.count());
+        buffer.putLong(chunk.open());
+        buffer.putLong(chunk.close());
+        buffer.putLong(chunk.low());
+        buffer.putLong(chunk.high());
+        for (long word : chunk.words()) {
+            buffer.putLong(word);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(0, 4 + length));
+        buffer.putInt((int) crc.getValue());
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,110 @@
+package com.minibank.fx.history;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * One pair's tick history: sealed chunks, oldest first, and the chunk being written.
+ *
+ * Chunks cover fixed, epoch-aligned time windows. The open chunk is sealed by the first
+ * tick past its window, or by {@link #sealBefore} once the window has passed.
+ */
+final class TickSeries {
+
+    private final int pair;
+    private final long windowMillis;
+    private final List<TickChunk> sealed = new ArrayList<>();
+    private TickEncoder open;
+    private long lastMillis = Long.MIN_VALUE;
+
+    TickSeries(int pair, long windowMillis) {
+        this.pair = pair;
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * @param onSeal receives the open chunk if this tick starts a new window
+     * @return false if the tick is older than the last one and was dropped
+     */
+    synchronized boolean append(long timeMillis, long value, Consumer<TickChunk> onSeal) {
+        if (timeMillis < lastMillis) {
+            return false;
+        }
+        long windowStart = timeMillis - Math.floorMod(timeMillis, windowMillis);
+        if (open != null && open.startMillis() != windowStart) {
+            onSeal.accept(seal());
+        }
+        if (open == null) {
+            open = new TickEncoder(windowStart);
+        }
+        open.append(timeMillis, value);
+        lastMillis = timeMillis;
+        return true;
+    }
+
+    /**
+     * Seals the open chunk if its window started before {@code windowStart}.
+     */
+    synchronized void sealBefore(long windowStart, Consumer<TickChunk> onSeal) {
+        if (open != null && open.startMillis() < windowStart) {
+            onSeal.accept(seal());
+        }
+    }
+
+    /**
+     * Adds a chunk read back from disk. Chunks must arrive in time order, before any tick is appended.
+     */
+    synchronized void restore(TickChunk chunk) {
+        if (chunk.firstMillis() >= lastMillis) {
+            sealed.add(chunk);
+            lastMillis = chunk.lastMillis();
+        }
+    }
+
+    /**
+     * Chunks holding ticks in {@code [fromMillis, toMillis)}, oldest first; the open chunk is copied.
+     */
+    synchronized List<TickChunk> chunks(long fromMillis, long toMillis) {
+        List<TickChunk> overlapping = new ArrayList<>();
+        for (TickChunk chunk : sealed) {
+            if (chunk.lastMillis() >= fromMillis && chunk.firstMillis() < toMillis) {
+                overlapping.add(chunk);
+            }
+        }
+        if (open != null && open.lastMillis() >= fromMillis && open.startMillis() < toMillis) {
+            overlapping.add(open.toChunk(pair));
+        }
+        return overlapping;
+    }
+
+    /**
+     * Drops sealed chunks whose every tick is older than {@code cutoffMillis}.
+     */
+    synchronized void evictBefore(long cutoffMillis) {
+        sealed.removeIf(chunk -> chunk.lastMillis() < cutoffMillis);
+    }
+
+    synchronized long tickCount() {
+        long ticks = open == null ? 0 : open.count();
+        for (TickChunk chunk : sealed) {
+            ticks += chunk.count();
+        }
+        return ticks;
+    }
+
+    synchronized long compressedBytes() {
+        long bytes = 0;
+        for (TickChunk chunk : sealed) {
+            bytes += chunk.compressedBytes();
+        }
+        return bytes;
+    }
+
+    private TickChunk seal() {
+        TickChunk chunk = open.toChunk(pair);
+        sealed.add(chunk);
+        open = null;
+        return chunk;
+    }
+}
@@ -0,0 +1,68 @@
+package com.minibank.fx.provider;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "fx.providers")
+public class ProviderProperties {
+
+    // A provider slower than this gets the next one started alongside it
+    private Duration hedgeDelay = Duration.ofMillis(200);
+    // Overall budget for one fetch across every provider
+    private Duration timeout = Duration.ofSeconds(2);
+    // Consecutive failures after which a provider is demoted to the end of the chain
+    private int unavailableAfterFailures = 3;
+    private List<Stub> stubs = new ArrayList<>();
+
+    public Duration getHedgeDelay() { return hedgeDelay; }
+    public void setHedgeDelay(Duration hedgeDelay) { this.hedgeDelay = hedgeDelay; }
+
+    public Duration getTimeout() { return timeout; }
+    public void setTimeout(Duration timeout) { this.timeout = timeout; }
+
+    public int getUnavailableAfterFailures() { return unavailableAfterFailures; }
+    public void setUnavailableAfterFailures(int unavailableAfterFailures) { this.unavailableAfterFailures = unavailableAfterFailures; }
+
+    public List<Stub> getStubs() { return stubs; }
+    public void setStubs(List<Stub> stubs) { this.stubs = stubs; }
+
+    /**
+     * A local provider serving reference rates, for development and tests.
+     */
+    public static class Stub {
+
+        private String name;
+        private int priority = 100;
+        private boolean enabled = true;
+        private Duration latency = Duration.ZERO;
+        // Share of fetches that fail, 0.0 to 1.0
+        private double failureRate;
+        private int spreadBps = 20;
+        // Largest random move of the mid away from the reference rate, as a fraction
+        private double volatility = 0.001;
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+
+        public int getPriority() { return priority; }
+        public void setPriority(int priority) { this.priority = priority; }
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        public Duration getLatency() { return latency; }
+        public void setLatency(Duration latency) { this.latency = latency; }
+
+        public double getFailureRate() { return failureRate; }
+        public void setFailureRate(double failureRate) { this.failureRate = failureRate; }
+
+        public int getSpreadBps() { return spreadBps; }
+        public void setSpreadBps(int spreadBps) { this.spreadBps = spreadBps; }
+
+        public double getVolatility() { return volatility; }
+        public void setVolatility(double volatility) { this.volatility = volatility; }
+    }
+}
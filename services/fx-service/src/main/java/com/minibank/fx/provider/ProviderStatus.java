@@ -0,0 +1,9 @@
+package com.minibank.fx.provider;
+
+public enum ProviderStatus {
+    HEALTHY,
+    // Failed recently but is still tried in priority order
+    DEGRADED,
+    // Failed repeatedly; tried only after every other provider
+    UNAVAILABLE
+}
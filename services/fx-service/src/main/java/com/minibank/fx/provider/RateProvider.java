@@ -0,0 +1,24 @@
+package com.minibank.fx.provider;
+
+import java.util.List;
+import java.util.Set;
+
+import com.minibank.fx.rates.CurrencyCode;
+import com.minibank.fx.rates.LegQuote;
+
+/**
+ * A source of leg quotes. Beans of this type join the provider chain; calls may block
+ * and are always made off the request thread.
+ */
+public interface RateProvider {
+
+    String name();
+
+    // Lower is tried first
+    int priority();
+
+    /**
+     * @return quotes against {@code base} for as many of {@code currencies} as the provider has
+     */
+    List<LegQuote> fetch(CurrencyCode base, Set<CurrencyCode> currencies) throws Exception;
+}
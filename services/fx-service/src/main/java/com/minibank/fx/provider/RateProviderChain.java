@@ -0,0 +1,253 @@
+package com.minibank.fx.provider;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import com.minibank.fx.rates.CurrencyCode;
+import com.minibank.fx.rates.LegQuote;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Fetches leg quotes from the configured providers in priority order.
+ *
+ * A failed provider hands over to the next one at once. A provider that has not answered
+ * within the hedge delay gets the next one started alongside it, and whichever answers
+ * first wins, so one slow provider costs at most the hedge delay rather than the timeout.
+ * Providers that keep failing drop to the end of the order until they answer again.
+ */
+@Component
+public class RateProviderChain {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateProviderChain.class);
+
+    private final List<ProviderState> providers;
+    private final long hedgeDelayNanos;
+    private final long timeoutNanos;
+    private final int unavailableAfterFailures;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Metrics
+    private final Counter fallbacks;
+    private final Counter hedges;
+    private final Timer fetchDuration;
+
+    public RateProviderChain(ObjectProvider<RateProvider> providerBeans, ProviderProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.hedgeDelayNanos = properties.getHedgeDelay().toNanos();
+        this.timeoutNanos = properties.getTimeout().toNanos();
+        this.unavailableAfterFailures = properties.getUnavailableAfterFailures();
+
+        List<ProviderState> states = new ArrayList<>();
+        providerBeans.orderedStream().forEach(provider -> states.add(new ProviderState(provider, true, meterRegistry)));
+        for (ProviderProperties.Stub stub : properties.getStubs()) {
+            states.add(new ProviderState(new StubRateProvider(stub), stub.isEnabled(), meterRegistry));
+        }
+        states.sort(Comparator.comparingInt(state -> state.provider.priority()));
+        this.providers = List.copyOf(states);
+
+        this.fallbacks = Counter.builder("fx.rate.provider.fallbacks.total")
+            .description("Fetches answered by a provider other than the first in line")
+            .register(meterRegistry);
+        this.hedges = Counter.builder("fx.rate.provider.hedges.total")
+            .description("Hedged requests started because a provider was slow")
+            .register(meterRegistry);
+        this.fetchDuration = Timer.builder("fx.rate.provider.fetch.duration.seconds")
+            .description("Time to obtain quotes across the provider chain")
+            .register(meterRegistry);
+        for (ProviderState state : providers) {
+            for (ProviderStatus status : ProviderStatus.values()) {
+                // One series per status, 1 for the provider's current one
+                Gauge.builder("fx.provider.status", state, s -> s.status() == status ? 1 : 0)
+                    .description("Provider health; 1 on the series for the current status")
+                    .tag("provider", state.provider.name())
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+            }
+        }
+        logger.info("Rate providers in priority order: {}",
+            providers.stream().map(state -> state.provider.name()).toList());
+    }
+
+    /**
+     * @throws IllegalStateException if no provider answered within the timeout
+     */
+    public List<LegQuote> fetch(CurrencyCode base, Set<CurrencyCode> currencies) {
+        List<ProviderState> candidates = candidates();
+        if (candidates.isEmpty()) {
+            throw new IllegalStateException("No rate providers are enabled");
+        }
+        long start = System.nanoTime();
+        long deadline = start + timeoutNanos;
+        ExecutorCompletionService<Attempt> completion = new ExecutorCompletionService<>(executor);
+        List<Future<Attempt>> started = new ArrayList<>(candidates.size());
+        boolean[] finished = new boolean[candidates.size()];
+        try {
+            started.add(completion.submit(() -> attempt(0, candidates.get(0), base, currencies)));
+            int failed = 0;
+            while (failed < candidates.size()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                boolean canHedge = started.size() < candidates.size();
+                Future<Attempt> done = completion.poll(canHedge ? Math.min(hedgeDelayNanos, remaining) : remaining,
+                    TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    if (canHedge) {
+                        hedges.increment();
+                        startNext(completion, started, candidates, base, currencies);
+                    }
+                    continue;
+                }
+                Attempt attempt = done.get();
+                finished[attempt.index()] = true;
+                if (attempt.quotes() != null) {
+                    if (attempt.index() > 0) {
+                        fallbacks.increment();
+                    }
+                    return attempt.quotes();
+                }
+                failed++;
+                // Nothing left in flight: move on without waiting out the hedge delay
+                if (failed == started.size() && started.size() < candidates.size()) {
+                    startNext(completion, started, candidates, base, currencies);
+                }
+            }
+            // Providers still running at the deadline count as failed
+            for (int i = 0; i < started.size(); i++) {
+                if (!finished[i]) {
+                    candidates.get(i).recordFailure();
+                }
+            }
+            throw new IllegalStateException("No rate provider answered for " + currencies);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while fetching rates");
+        } catch (ExecutionException e) {
+            // attempt() catches everything a provider throws
+            throw new IllegalStateException("Rate fetch failed", e.getCause());
+        } finally {
+            started.forEach(future -> future.cancel(true));
+            fetchDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void startNext(ExecutorCompletionService<Attempt> completion, List<Future<Attempt>> started,
+                           List<ProviderState> candidates, CurrencyCode base, Set<CurrencyCode> currencies) {
+        int index = started.size();
+        started.add(completion.submit(() -> attempt(index, candidates.get(index), base, currencies)));
+    }
+
+    private Attempt attempt(int index, ProviderState state, CurrencyCode base, Set<CurrencyCode> currencies) {
+        try {
+            List<LegQuote> quotes = state.provider.fetch(base, currencies);
+            state.recordSuccess();
+            return new Attempt(index, quotes);
+        } catch (InterruptedException e) {
+            // Cancelled because another provider won; not the provider's fault
+            return new Attempt(index, null);
+        } catch (Exception e) {
+            state.recordFailure();
+            logger.warn("Rate provider {} failed: {}", state.provider.name(), e.getMessage());
+            return new Attempt(index, null);
+        }
+    }
+
+    // Enabled providers by priority, with unavailable ones moved to the end
+    private List<ProviderState> candidates() {
+        List<ProviderState> available = new ArrayList<>(providers.size());
+        List<ProviderState> unavailable = new ArrayList<>();
+        for (ProviderState state : providers) {
+            if (!state.enabled) {
+                continue;
+            }
+            (state.status() == ProviderStatus.UNAVAILABLE ? unavailable : available).add(state);
+        }
+        available.addAll(unavailable);
+        return available;
+    }
+
+    public List<ProviderView> getProviders() {
+        return providers.stream()
+            .map(state -> new ProviderView(state.provider.name(), state.status(), state.provider.priority(),
+                state.enabled, state.lastSuccessMillis == 0 ? null : Instant.ofEpochMilli(state.lastSuccessMillis)))
+            .toList();
+    }
+
+    /**
+     * @throws IllegalArgumentException if no provider has that name
+     */
+    public ProviderView getProvider(String name) {
+        return getProviders().stream()
+            .filter(view -> view.name().equals(name))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unknown rate provider: " + name));
+    }
+
+    private record Attempt(int index, List<LegQuote> quotes) {
+    }
+
+    public record ProviderView(String name, ProviderStatus status, int priority, boolean enabled,
+                               Instant lastUpdate) {
+    }
+
+    private final class ProviderState {
+
+        private final RateProvider provider;
+        private final boolean enabled;
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private final Counter failures;
+        private volatile long lastSuccessMillis;
+
+        ProviderState(RateProvider provider, boolean enabled, MeterRegistry meterRegistry) {
+            this.provider = provider;
+            this.enabled = enabled;
+            this.failures = Counter.builder("fx.rate.provider.failures.total")
+                .description("Failed or timed-out fetches per provider")
+                .tag("provider", provider.name())
+                .register(meterRegistry);
+        }
+
+        ProviderStatus status() {
+            int failed = consecutiveFailures.get();
+            if (failed == 0) {
+                return ProviderStatus.HEALTHY;
+            }
+            return failed < unavailableAfterFailures ? ProviderStatus.DEGRADED : ProviderStatus.UNAVAILABLE;
+        }
+
+        void recordSuccess() {
+            lastSuccessMillis = System.currentTimeMillis();
+            if (consecutiveFailures.getAndSet(0) >= unavailableAfterFailures) {
+                logger.info("Rate provider {} recovered", provider.name());
+            }
+        }
+
+        void recordFailure() {
+            failures.increment();
+            if (consecutiveFailures.incrementAndGet() == unavailableAfterFailures) {
+                logger.warn("Rate provider {} marked unavailable after {} consecutive failures",
+                    provider.name(), unavailableAfterFailures);
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.minibank.fx.provider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.minibank.fx.rates.CurrencyCode;
+import com.minibank.fx.rates.FixedPoint;
+import com.minibank.fx.rates.LegQuote;
+
+/**
+ * Serves rates jittered around fixed reference mids, with configurable latency and
+ * failure rate so fallback and hedging can be exercised locally.
+ */
+public class StubRateProvider implements RateProvider {
+
+    // Units per USD, indexed by currency ordinal
+    private static final double[] REFERENCE_MIDS = new double[CurrencyCode.COUNT];
+
+    static {
+        REFERENCE_MIDS[CurrencyCode.USD.ordinal()] = 1.0;
+        REFERENCE_MIDS[CurrencyCode.EUR.ordinal()] = 0.92;
+        REFERENCE_MIDS[CurrencyCode.GBP.ordinal()] = 0.79;
+        REFERENCE_MIDS[CurrencyCode.JPY.ordinal()] = 150.0;
+        REFERENCE_MIDS[CurrencyCode.CHF.ordinal()] = 0.88;
+        REFERENCE_MIDS[CurrencyCode.CAD.ordinal()] = 1.36;
+        REFERENCE_MIDS[CurrencyCode.AUD.ordinal()] = 1.52;
+        REFERENCE_MIDS[CurrencyCode.CRC.ordinal()] = 515.0;
+    }
+
+    private final ProviderProperties.Stub config;
+
+    public StubRateProvider(ProviderProperties.Stub config) {
+        this.config = config;
+    }
+
+    @Override
+    public String name() {
+        return config.getName();
+    }
+
+    @Override
+    public int priority() {
+        return config.getPriority();
+    }
+
+    @Override
+    public List<LegQuote> fetch(CurrencyCode base, Set<CurrencyCode> currencies) throws InterruptedException {
+        if (!config.getLatency().isZero()) {
+            Thread.sleep(config.getLatency());
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextDouble() < config.getFailureRate()) {
+            throw new IllegalStateException("Stub provider " + name() + " failed");
+        }
+        long now = System.currentTimeMillis();
+        double halfSpread = config.getSpreadBps() / 20_000.0;
+        List<LegQuote> quotes = new ArrayList<>(currencies.size());
+        for (CurrencyCode currency : currencies) {
+            double mid = REFERENCE_MIDS[currency.ordinal()] / REFERENCE_MIDS[base.ordinal()]
+                * (1 + (random.nextDouble() * 2 - 1) * config.getVolatility());
+            long bid = Math.round(mid * (1 - halfSpread) * FixedPoint.ONE);
+            long ask = Math.round(mid * (1 + halfSpread) * FixedPoint.ONE);
+            quotes.add(new LegQuote(currency, bid, ask, now, name()));
+        }
+        return quotes;
+    }
+}
@@ -0,0 +1,36 @@
+package com.minibank.fx.quote;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.minibank.fx.rates.FixedPoint;
+
+@Repository
+public class ConversionRepository {
+
+    private static final String INSERT_CONVERSION = """
+        INSERT INTO fx_conversions
+            (conversion_id, quote_id, from_account_id, to_account_id, from_currency, to_currency,
+             from_amount_minor, to_amount_minor, rate, provider, quoted_at, expires_at, redeemed_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ConversionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insert(UUID conversionId, QuoteBook.Quote quote, Instant redeemedAt) {
+        jdbcTemplate.update(INSERT_CONVERSION,
+            conversionId, quote.id(), quote.fromAccountId(), quote.toAccountId(), quote.from().name(), quote.to().name(),
+            quote.fromAmountMinor(), quote.toAmountMinor(), FixedPoint.toDecimal(quote.rate()), quote.provider(),
+            Timestamp.from(Instant.ofEpochMilli(quote.issuedAtMillis())),
+            Timestamp.from(Instant.ofEpochMilli(quote.expiresAtMillis())),
+            Timestamp.from(redeemedAt));
+    }
+}
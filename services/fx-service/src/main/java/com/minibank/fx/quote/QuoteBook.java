@@ -0,0 +1,362 @@
+package com.minibank.fx.quote;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.UUID;
+
+import com.minibank.fx.rates.CurrencyCode;
+
+/**
+ * In-memory book of rate-locked quotes awaiting redemption.
+ *
+ * Most quotes are never redeemed, so issuing one must be cheap: quotes live in
+ * preallocated parallel arrays, found by id through an open-addressing long-keyed table,
+ * and issuing allocates nothing. The book is split into stripes, each guarded by its own
+ * monitor, so concurrent requests rarely contend.
+ *
+ * Expiry uses a timing wheel per stripe: each quote is linked, through the same arrays,
+ * into the bucket of the tick it expires in, and {@link #expire} frees whole buckets as
+ * time passes them. Redemption checks the exact expiry itself, so the wheel only decides
+ * when memory is reclaimed.
+ *
+ * A quote is bound to the accounts it was issued for and only those can redeem it.
+ *
+ * Redemption is two-phase so a quote is used at most once even if persisting it fails:
+ * {@link #reserve} takes the quote out of circulation, then {@link #complete} drops it or
+ * {@link #release} puts it back.
+ */
+public final class QuoteBook {
+
+    private static final byte FREE = 0;
+    private static final byte ACTIVE = 1;
+    private static final byte RESERVED = 2;
+
+    private final Stripe[] stripes;
+    private final int stripeShift;
+    private final long tickMillis;
+
+    /**
+     * @param capacity most quotes held at once, across all stripes
+     * @param stripes power of two
+     * @param maxTtlMillis longest quote lifetime the wheel must span
+     */
+    public QuoteBook(int capacity, int stripes, long maxTtlMillis, long tickMillis, long nowMillis) {
+        if (Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("Stripe count must be a power of two: " + stripes);
+        }
+        this.tickMillis = tickMillis;
+        this.stripeShift = 64 - Integer.numberOfTrailingZeros(stripes);
+        int wheelSize = Integer.highestOneBit((int) (maxTtlMillis / tickMillis) + 2) << 1;
+        int perStripe = Math.max(1, capacity / stripes);
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe(perStripe, wheelSize, nowMillis / tickMillis);
+        }
+    }
+
+    /**
+     * @return false if a live quote already has this id
+     * @throws IllegalStateException if the quote's stripe is full
+     */
+    public boolean issue(long id, UUID fromAccountId, UUID toAccountId, CurrencyCode from, CurrencyCode to,
+                         long fromAmountMinor, long toAmountMinor, long rate, String provider,
+                         long issuedAtMillis, long expiresAtMillis) {
+        long hash = hash(id);
+        Stripe stripe = stripe(hash);
+        synchronized (stripe) {
+            if (stripe.find(id, (int) hash) >= 0) {
+                return false;
+            }
+            int slot = stripe.allocate();
+            if (slot < 0) {
+                throw new IllegalStateException("Quote book is full");
+            }
+            stripe.ids[slot] = id;
+            stripe.fromAccounts[slot] = fromAccountId;
+            stripe.toAccounts[slot] = toAccountId;
+            stripe.pairs[slot] = from.ordinal() * CurrencyCode.COUNT + to.ordinal();
+            stripe.fromAmounts[slot] = fromAmountMinor;
+            stripe.toAmounts[slot] = toAmountMinor;
+            stripe.rates[slot] = rate;
+            stripe.providers[slot] = provider;
+            stripe.issuedAts[slot] = issuedAtMillis;
+            stripe.expiresAts[slot] = expiresAtMillis;
+            stripe.states[slot] = ACTIVE;
+            stripe.put(id, (int) hash, slot);
+            stripe.link(slot, expiresAtMillis / tickMillis);
+            return true;
+        }
+    }
+
+    /**
+     * Takes a live quote out of circulation for redemption.
+     *
+     * @throws IllegalArgumentException if no such quote is live for these accounts, or it is
+     *         already being redeemed
+     * @throws QuoteExpiredException if the quote has expired
+     */
+    public Quote reserve(long id, UUID fromAccountId, UUID toAccountId, long nowMillis) {
+        long hash = hash(id);
+        Stripe stripe = stripe(hash);
+        synchronized (stripe) {
+            int slot = stripe.find(id, (int) hash);
+            // A quote bound to other accounts is reported like a missing one, so ids cannot be probed
+            if (slot < 0 || stripe.states[slot] != ACTIVE
+                    || !Objects.equals(stripe.fromAccounts[slot], fromAccountId)
+                    || !Objects.equals(stripe.toAccounts[slot], toAccountId)) {
+                throw new IllegalArgumentException("Quote not found or already redeemed");
+            }
+            if (stripe.expiresAts[slot] <= nowMillis) {
+                stripe.unlink(slot);
+                stripe.release(slot, (int) hash);
+                throw new QuoteExpiredException("Quote has expired");
+            }
+            stripe.states[slot] = RESERVED;
+            stripe.unlink(slot);
+            int pair = stripe.pairs[slot];
+            return new Quote(id, stripe.fromAccounts[slot], stripe.toAccounts[slot], CurrencyCode.ofOrdinal(pair / CurrencyCode.COUNT),
+                CurrencyCode.ofOrdinal(pair % CurrencyCode.COUNT), stripe.fromAmounts[slot],
+                stripe.toAmounts[slot], stripe.rates[slot], stripe.providers[slot], stripe.issuedAts[slot],
+                stripe.expiresAts[slot]);
+        }
+    }
+
+    /**
+     * Drops a reserved quote once its redemption is durable.
+     */
+    public void complete(long id) {
+        long hash = hash(id);
+        Stripe stripe = stripe(hash);
+        synchronized (stripe) {
+            int slot = stripe.find(id, (int) hash);
+            if (slot >= 0 && stripe.states[slot] == RESERVED) {
+                stripe.release(slot, (int) hash);
+            }
+        }
+    }
+
+    /**
+     * Returns a reserved quote to the book after a failed redemption, unless it has expired meanwhile.
+     */
+    public void release(long id, long nowMillis) {
+        long hash = hash(id);
+        Stripe stripe = stripe(hash);
+        synchronized (stripe) {
+            int slot = stripe.find(id, (int) hash);
+            if (slot < 0 || stripe.states[slot] != RESERVED) {
+                return;
+            }
+            if (stripe.expiresAts[slot] <= nowMillis) {
+                stripe.release(slot, (int) hash);
+            } else {
+                stripe.states[slot] = ACTIVE;
+                stripe.link(slot, stripe.expiresAts[slot] / tickMillis);
+            }
+        }
+    }
+
+    /**
+     * Frees every live quote in the wheel buckets that {@code nowMillis} has moved past.
+     *
+     * @return quotes expired
+     */
+    public int expire(long nowMillis) {
+        long nowTick = nowMillis / tickMillis;
+        int expired = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                expired += stripe.advance(nowTick, nowMillis);
+            }
+        }
+        return expired;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size;
+            }
+        }
+        return size;
+    }
+
+    private Stripe stripe(long hash) {
+        return stripes.length == 1 ? stripes[0] : stripes[(int) (hash >>> stripeShift)];
+    }
+
+    private static long hash(long id) {
+        return id * 0x9E3779B97F4A7C15L;
+    }
+
+    public record Quote(long id, UUID fromAccountId, UUID toAccountId, CurrencyCode from, CurrencyCode to,
+                        long fromAmountMinor, long toAmountMinor, long rate, String provider, long issuedAtMillis,
+                        long expiresAtMillis) {
+    }
+
+    private static final class Stripe {
+
+        // Open-addressing table from quote id to slot; id 0 marks an empty cell
+        private final long[] tableIds;
+        private final int[] tableSlots;
+        private final int tableMask;
+
+        // Quote fields by slot
+        private final long[] ids;
+        private final UUID[] fromAccounts;
+        private final UUID[] toAccounts;
+        private final int[] pairs;
+        private final long[] fromAmounts;
+        private final long[] toAmounts;
+        private final long[] rates;
+        private final String[] providers;
+        private final long[] issuedAts;
+        private final long[] expiresAts;
+        private final byte[] states;
+
+        // Timing wheel: per-bucket doubly linked lists threaded through the slots
+        private final int[] wheelHeads;
+        private final int[] wheelNext;
+        private final int[] wheelPrev;
+        private final int[] wheelBucket;
+        private final int wheelMask;
+        private long processedTick;
+
+        private final int[] freeSlots;
+        private int freeCount;
+        private int size;
+
+        Stripe(int capacity, int wheelSize, long startTick) {
+            int tableSize = Integer.highestOneBit(capacity * 2 - 1) << 1;
+            this.tableIds = new long[tableSize];
+            this.tableSlots = new int[tableSize];
+            this.tableMask = tableSize - 1;
+
+            this.ids = new long[capacity];
+            this.fromAccounts = new UUID[capacity];
+            this.toAccounts = new UUID[capacity];
+            this.pairs = new int[capacity];
+            this.fromAmounts = new long[capacity];
+            this.toAmounts = new long[capacity];
+            this.rates = new long[capacity];
+            this.providers = new String[capacity];
+            this.issuedAts = new long[capacity];
+            this.expiresAts = new long[capacity];
+            this.states = new byte[capacity];
+
+            this.wheelHeads = new int[wheelSize];
+            Arrays.fill(wheelHeads, -1);
+            this.wheelNext = new int[capacity];
+            this.wheelPrev = new int[capacity];
+            this.wheelBucket = new int[capacity];
+            this.wheelMask = wheelSize - 1;
+            this.processedTick = startTick - 1;
+
+            this.freeSlots = new int[capacity];
+            for (int i = 0; i < capacity; i++) {
+                freeSlots[i] = capacity - 1 - i;
+            }
+            this.freeCount = capacity;
+        }
+
+        int allocate() {
+            if (freeCount == 0) {
+                return -1;
+            }
+            size++;
+            return freeSlots[--freeCount];
+        }
+
+        void release(int slot, int hash) {
+            remove(ids[slot], hash);
+            providers[slot] = null;
+            fromAccounts[slot] = null;
+            toAccounts[slot] = null;
+            states[slot] = FREE;
+            freeSlots[freeCount++] = slot;
+            size--;
+        }
+
+        int find(long id, int hash) {
+            for (int i = hash & tableMask; tableIds[i] != 0; i = (i + 1) & tableMask) {
+                if (tableIds[i] == id) {
+                    return tableSlots[i];
+                }
+            }
+            return -1;
+        }
+
+        void put(long id, int hash, int slot) {
+            int i = hash & tableMask;
+            while (tableIds[i] != 0) {
+                i = (i + 1) & tableMask;
+            }
+            tableIds[i] = id;
+            tableSlots[i] = slot;
+        }
+
+        // Backward-shift deletion keeps probe sequences intact without tombstones
+        void remove(long id, int hash) {
+            int gap = hash & tableMask;
+            while (tableIds[gap] != id) {
+                gap = (gap + 1) & tableMask;
+            }
+            for (int i = (gap + 1) & tableMask; tableIds[i] != 0; i = (i + 1) & tableMask) {
+                int home = (int) hash(tableIds[i]) & tableMask;
+                // Move the entry back unless its home lies cyclically within (gap, i]
+                boolean stays = gap <= i ? gap < home && home <= i : gap < home || home <= i;
+                if (!stays) {
+                    tableIds[gap] = tableIds[i];
+                    tableSlots[gap] = tableSlots[i];
+                    gap = i;
+                }
+            }
+            tableIds[gap] = 0;
+        }
+
+        void link(int slot, long tick) {
+            int bucket = (int) (tick & wheelMask);
+            int head = wheelHeads[bucket];
+            wheelBucket[slot] = bucket;
+            wheelPrev[slot] = -1;
+            wheelNext[slot] = head;
+            if (head >= 0) {
+                wheelPrev[head] = slot;
+            }
+            wheelHeads[bucket] = slot;
+        }
+
+        void unlink(int slot) {
+            int prev = wheelPrev[slot];
+            int next = wheelNext[slot];
+            if (prev >= 0) {
+                wheelNext[prev] = next;
+            } else {
+                wheelHeads[wheelBucket[slot]] = next;
+            }
+            if (next >= 0) {
+                wheelPrev[next] = prev;
+            }
+        }
+
+        // Only buckets for ticks that have fully passed, so everything in them has expired
+        int advance(long nowTick, long nowMillis) {
+            long from = Math.max(processedTick + 1, nowTick - wheelMask);
+            int expired = 0;
+            for (long tick = from; tick < nowTick; tick++) {
+                int slot = wheelHeads[(int) (tick & wheelMask)];
+                while (slot >= 0) {
+                    int next = wheelNext[slot];
+                    if (expiresAts[slot] <= nowMillis) {
+                        unlink(slot);
+                        release(slot, (int) hash(ids[slot]));
+                        expired++;
+                    }
+                    slot = next;
+                }
+            }
+            processedTick = Math.max(processedTick, nowTick - 1);
+            return expired;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.minibank.fx.quote;
+
+public class QuoteExpiredException extends IllegalStateException {
+
+    public QuoteExpiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,30 @@
+package com.minibank.fx.quote;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "fx.quotes")
+public class QuoteProperties {
+
+    // How long an issued quote can be redeemed at its locked rate
+    private Duration ttl = Duration.ofSeconds(30);
+    // Expiry granularity of the timing wheel
+    private long tickMs = 100;
+    // Quotes held at once; roughly 120 bytes each, allocated up front
+    private int capacity = 262_144;
+    // Independently locked partitions of the book; a power of two
+    private int stripes = 16;
+
+    public Duration getTtl() { return ttl; }
+    public void setTtl(Duration ttl) { this.ttl = ttl; }
+
+    public long getTickMs() { return tickMs; }
+    public void setTickMs(long tickMs) { this.tickMs = tickMs; }
+
+    public int getCapacity() { return capacity; }
+    public void setCapacity(int capacity) { this.capacity = capacity; }
+
+    public int getStripes() { return stripes; }
+    public void setStripes(int stripes) { this.stripes = stripes; }
+}
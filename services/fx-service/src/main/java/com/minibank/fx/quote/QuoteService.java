@@ -0,0 +1,213 @@
+package com.minibank.fx.quote;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.minibank.fx.api.dto.ConversionRequest;
+import com.minibank.fx.api.dto.ConversionResponse;
+import com.minibank.fx.api.dto.QuoteRequest;
+import com.minibank.fx.api.dto.QuoteResponse;
+import com.minibank.fx.cache.RateCache;
+import com.minibank.fx.hedge.HedgeService;
+import com.minibank.fx.rates.CurrencyCode;
+import com.minibank.fx.rates.FixedPoint;
+import com.minibank.fx.rates.MinorUnitConversion;
+import com.minibank.fx.rates.RateSnapshot;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Issues rate-locked quotes into the {@link QuoteBook} and redeems them.
+ *
+ * Quotes are only kept in memory; a redemption is the first point at which anything is
+ * written to the database. A restart therefore drops outstanding quotes, which costs
+ * clients a requote and nothing more.
+ */
+@Service
+public class QuoteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuoteService.class);
+
+    private final RateCache rateCache;
+    private final ConversionRepository conversionRepository;
+    private final HedgeService hedgeService;
+    private final QuoteBook book;
+    private final long ttlMillis;
+
+    // Quote ids are bearer references, so they must not be guessable from one another
+    private final SecureRandom idSource = new SecureRandom();
+
+    // Metrics
+    private final Counter issued;
+    private final Counter redeemed;
+    private final Counter expired;
+    private final Counter rejectedUnknown;
+    private final Counter rejectedExpired;
+    private final Counter hedgeFailures;
+    private final Timer issueDuration;
+    private final Timer redeemDuration;
+
+    public QuoteService(RateCache rateCache, ConversionRepository conversionRepository, HedgeService hedgeService,
+                        QuoteProperties properties, MeterRegistry meterRegistry) {
+        this.rateCache = rateCache;
+        this.conversionRepository = conversionRepository;
+        this.hedgeService = hedgeService;
+        this.ttlMillis = properties.getTtl().toMillis();
+        this.book = new QuoteBook(properties.getCapacity(), properties.getStripes(), ttlMillis,
+            properties.getTickMs(), System.currentTimeMillis());
+
+        this.issued = Counter.builder("fx.quotes.issued.total")
+            .description("Rate-locked quotes issued")
+            .register(meterRegistry);
+        this.redeemed = Counter.builder("fx.quotes.redeemed.total")
+            .description("Quotes redeemed and persisted")
+            .register(meterRegistry);
+        this.expired = Counter.builder("fx.quotes.expired.total")
+            .description("Quotes dropped from the book unredeemed")
+            .register(meterRegistry);
+        this.rejectedUnknown = Counter.builder("fx.quote.redemptions.rejected.total")
+            .description("Redemptions refused")
+            .tag("reason", "unknown")
+            .register(meterRegistry);
+        this.rejectedExpired = Counter.builder("fx.quote.redemptions.rejected.total")
+            .description("Redemptions refused")
+            .tag("reason", "expired")
+            .register(meterRegistry);
+        this.hedgeFailures = Counter.builder("fx.quote.hedge.failures.total")
+            .description("Redeemed conversions that could not be netted for hedging until the next restart")
+            .register(meterRegistry);
+        this.issueDuration = Timer.builder("fx.quote.issue.duration.seconds")
+            .description("Time to price and book a quote")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.redeemDuration = Timer.builder("fx.quote.redeem.duration.seconds")
+            .description("Time to redeem and persist a quote")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        Gauge.builder("fx.quote.book.size", book, QuoteBook::size)
+            .description("Quotes held in the quote book")
+            .register(meterRegistry);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the pair is unsupported or the amount converts to nothing
+     * @throws IllegalStateException if no rate is available or the book is full
+     */
+    public QuoteResponse issue(QuoteRequest request) {
+        long start = System.nanoTime();
+        try {
+            CurrencyCode from = CurrencyCode.parse(request.getBaseCurrency());
+            CurrencyCode to = CurrencyCode.parse(request.getQuoteCurrency());
+            if (from == to) {
+                throw new IllegalArgumentException("Base and quote currency are both " + from);
+            }
+            int f = from.ordinal();
+            int t = to.ordinal();
+            RateSnapshot snapshot = rateCache.get(from, to);
+            // The customer sells base, so they get the bank's bid
+            long rate = snapshot.bid(f, t);
+            long toAmount = MinorUnitConversion.convert(request.getAmountMinor(), rate, from.fractionDigits(),
+                to.fractionDigits());
+            if (toAmount <= 0) {
+                throw new IllegalArgumentException("Amount is too small to convert");
+            }
+
+            long now = System.currentTimeMillis();
+            long expiresAt = now + ttlMillis;
+            String provider = snapshot.provider(f, t);
+            long id;
+            do {
+                id = idSource.nextLong();
+            } while (id == 0 || !book.issue(id, request.getFromAccountId(), request.getToAccountId(), from, to,
+                request.getAmountMinor(), toAmount, rate, provider, now, expiresAt));
+            issued.increment();
+
+            BigDecimal spread = FixedPoint.toDecimal(snapshot.ask(f, t) - snapshot.bid(f, t))
+                .divide(FixedPoint.toDecimal(snapshot.mid(f, t)), MathContext.DECIMAL64);
+            return new QuoteResponse(Long.toHexString(id), from.name(), to.name(), request.getAmountMinor(),
+                toAmount, FixedPoint.toDecimal(rate), spread, provider, Instant.ofEpochMilli(expiresAt));
+        } finally {
+            issueDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Redeems a quote at its locked rate. Each quote can be redeemed once, and only between
+     * the accounts it was issued for.
+     *
+     * @throws IllegalArgumentException if the quote is unknown, bound to other accounts or already redeemed
+     * @throws QuoteExpiredException if the quote has expired
+     */
+    public ConversionResponse redeem(ConversionRequest request) {
+        long start = System.nanoTime();
+        try {
+            long id = parseQuoteId(request.getQuoteId());
+            QuoteBook.Quote quote;
+            try {
+                quote = book.reserve(id, request.getFromAccountId(), request.getToAccountId(),
+                    System.currentTimeMillis());
+            } catch (IllegalArgumentException e) {
+                rejectedUnknown.increment();
+                throw e;
+            } catch (QuoteExpiredException e) {
+                rejectedExpired.increment();
+                throw e;
+            }
+
+            UUID conversionId = UUID.randomUUID();
+            Instant redeemedAt = Instant.now();
+            try {
+                conversionRepository.insert(conversionId, quote, redeemedAt);
+            } catch (RuntimeException e) {
+                // Not redeemed after all; the quote may be retried until it expires
+                book.release(id, System.currentTimeMillis());
+                throw e;
+            }
+            book.complete(id);
+            redeemed.increment();
+            try {
+                hedgeService.recordFlow(quote.from(), quote.to(), quote.fromAmountMinor(), quote.toAmountMinor());
+            } catch (RuntimeException e) {
+                // The conversion is saved, so it has happened; its exposure comes back when the book is rebuilt
+                hedgeFailures.increment();
+                logger.error("Conversion {} could not be netted for hedging", conversionId, e);
+            }
+            logger.debug("Redeemed quote {} as conversion {}", request.getQuoteId(), conversionId);
+
+            return new ConversionResponse(conversionId, "COMPLETED", quote.fromAccountId(),
+                quote.toAccountId(), quote.from().name(), quote.to().name(), quote.fromAmountMinor(),
+                quote.toAmountMinor(), FixedPoint.toDecimal(quote.rate()), redeemedAt);
+        } finally {
+            redeemDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${fx.quotes.tick-ms:100}")
+    public void expireQuotes() {
+        int count = book.expire(System.currentTimeMillis());
+        if (count > 0) {
+            expired.increment(count);
+        }
+    }
+
+    private long parseQuoteId(String quoteId) {
+        try {
+            return Long.parseUnsignedLong(quoteId, 16);
+        } catch (NumberFormatException e) {
+            rejectedUnknown.increment();
+            throw new IllegalArgumentException("Quote not found or already redeemed");
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.minibank.fx.rates;
+
+import java.util.Currency;
+
+/**
+ * Currencies fx-service quotes. The ordinal is the index into every rate array, so
+ * constants may only be appended.
+ */
+public enum CurrencyCode {
+    USD,
+    EUR,
+    GBP,
+    JPY,
+    CHF,
+    CAD,
+    AUD,
+    CRC;
+
+    public static final int COUNT = values().length;
+
+    private static final CurrencyCode[] BY_ORDINAL = values();
+
+    private final int fractionDigits = Math.max(Currency.getInstance(name()).getDefaultFractionDigits(), 0);
+
+    public int fractionDigits() {
+        return fractionDigits;
+    }
+
+    public static CurrencyCode ofOrdinal(int ordinal) {
+        return BY_ORDINAL[ordinal];
+    }
+
+    /**
+     * @throws IllegalArgumentException if the code is not quoted
+     */
+    public static CurrencyCode parse(String code) {
+        try {
+            return valueOf(code.toUpperCase());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Unsupported currency: " + code);
+        }
+    }
+}
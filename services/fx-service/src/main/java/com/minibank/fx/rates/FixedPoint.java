@@ -0,0 +1,36 @@
+package com.minibank.fx.rates;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Rates are held as longs with {@link #SCALE_DIGITS} implied decimals: plenty for
+ * ISO rates, and a CRC per CHF rate still leaves six orders of magnitude of headroom.
+ */
+public final class FixedPoint {
+
+    public static final int SCALE_DIGITS = 10;
+    public static final long ONE = 10_000_000_000L;
+
+    private FixedPoint() {
+    }
+
+    public static long fromDecimal(BigDecimal value) {
+        return value.setScale(SCALE_DIGITS, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toDecimal(long value) {
+        return BigDecimal.valueOf(value, SCALE_DIGITS);
+    }
+
+    /**
+     * {@code numerator / denominator} of two fixed-point values, rounded as given.
+     * Off the read path: exact in BigDecimal since the product overflows a long.
+     */
+    public static long divide(long numerator, long denominator, RoundingMode rounding) {
+        return BigDecimal.valueOf(numerator)
+            .multiply(BigDecimal.valueOf(ONE))
+            .divide(BigDecimal.valueOf(denominator), 0, rounding)
+            .longValueExact();
+    }
+}
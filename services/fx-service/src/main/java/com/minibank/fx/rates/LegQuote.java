@@ -0,0 +1,18 @@
+package com.minibank.fx.rates;
+
+/**
+ * A provider quote for one currency against the base currency: units of {@code currency}
+ * per one unit of base, in {@link FixedPoint}.
+ */
+public record LegQuote(CurrencyCode currency, long bid, long ask, long timestampMillis, String provider) {
+
+    public LegQuote {
+        if (bid <= 0 || ask < bid) {
+            throw new IllegalArgumentException("Invalid quote for " + currency + ": bid " + bid + ", ask " + ask);
+        }
+    }
+
+    public long mid() {
+        return (bid + ask) >>> 1;
+    }
+}
@@ -0,0 +1,158 @@
+package com.minibank.fx.rates;
+
+import java.math.RoundingMode;
+
+/**
+ * Applies a {@link FixedPoint} rate to an amount in minor units, adjusting for the two
+ * currencies' fraction digits.
+ *
+ * Everything stays in {@code long} arithmetic: the product of amount and rate is formed
+ * as 128 bits and divided back down, so no amount the result can hold ever overflows and
+ * nothing is allocated. Results are exact up to the final rounding, and identical to
+ * doing the same sum in {@code BigDecimal}.
+ */
+public final class MinorUnitConversion {
+
+    private static final long[] POW10 = {1L, 10L, 100L, 1_000L, 10_000L};
+    private static final long LOW_32 = 0xFFFF_FFFFL;
+
+    private MinorUnitConversion() {
+    }
+
+    /**
+     * Converts rounding down, against the customer.
+     *
+     * @param amountMinor non-negative amount in the source currency's minor units
+     * @return the amount in the target currency's minor units
+     */
+    public static long convert(long amountMinor, long rate, int fromDigits, int toDigits) {
+        return convert(amountMinor, rate, factor(fromDigits, toDigits), divisor(fromDigits, toDigits),
+            RoundingMode.DOWN);
+    }
+
+    /**
+     * Multiplier applied to {@code amount * rate} for a pair of fraction digit counts.
+     */
+    public static long factor(int fromDigits, int toDigits) {
+        int shift = toDigits - fromDigits;
+        return shift >= 0 ? POW10[shift] : 1;
+    }
+
+    /**
+     * Divisor applied to {@code amount * rate * factor} for a pair of fraction digit counts.
+     */
+    public static long divisor(int fromDigits, int toDigits) {
+        int shift = toDigits - fromDigits;
+        return shift >= 0 ? FixedPoint.ONE : FixedPoint.ONE * POW10[-shift];
+    }
+
+    /**
+     * {@code amountMinor * rate * factor / divisor}, rounded as given. Negative amounts
+     * convert by magnitude, so rounding is symmetric about zero.
+     *
+     * @param rounding one of DOWN, UP, HALF_UP, HALF_DOWN or HALF_EVEN
+     * @throws ArithmeticException if the result does not fit in a long
+     */
+    public static long convert(long amountMinor, long rate, long factor, long divisor, RoundingMode rounding) {
+        return amountMinor < 0
+            ? -convertMagnitude(-amountMinor, rate, factor, divisor, rounding)
+            : convertMagnitude(amountMinor, rate, factor, divisor, rounding);
+    }
+
+    /**
+     * Converts {@code amounts[i]} at the rate of pair {@code pairs[i]} into {@code out[i]}
+     * for {@code i} in {@code [from, to)}. Per-pair rate, factor and divisor arrays are
+     * indexed by the values in {@code pairs}.
+     *
+     * @throws ArithmeticException if any result does not fit in a long
+     */
+    public static void convertAll(long[] amounts, int[] pairs, long[] rates, long[] factors, long[] divisors,
+                                  RoundingMode rounding, long[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            int pair = pairs[i];
+            out[i] = convert(amounts[i], rates[pair], factors[pair], divisors[pair], rounding);
+        }
+    }
+
+    private static long convertMagnitude(long amountMinor, long rate, long factor, long divisor,
+                                         RoundingMode rounding) {
+        long lo = amountMinor * rate;
+        long hi = Math.multiplyHigh(amountMinor, rate);
+        if (factor != 1) {
+            if (Math.multiplyHigh(hi, factor) != 0) {
+                throw new ArithmeticException("Conversion of " + amountMinor + " overflows");
+            }
+            hi = hi * factor + Math.unsignedMultiplyHigh(lo, factor);
+            lo = lo * factor;
+        }
+
+        long quotient;
+        long remainder;
+        if (hi == 0 && lo >= 0) {
+            quotient = lo / divisor;
+            remainder = lo - quotient * divisor;
+        } else {
+            if (Long.compareUnsigned(hi, divisor) >= 0) {
+                throw new ArithmeticException("Conversion of " + amountMinor + " overflows");
+            }
+            quotient = divide128(hi, lo, divisor);
+            remainder = lo - quotient * divisor;
+        }
+        if (quotient < 0) {
+            throw new ArithmeticException("Conversion of " + amountMinor + " overflows");
+        }
+        return remainder == 0 ? quotient : quotient + roundUp(quotient, remainder, divisor, rounding);
+    }
+
+    private static int roundUp(long quotient, long remainder, long divisor, RoundingMode rounding) {
+        // remainder and divisor - remainder compare the discarded fraction with one half
+        long rest = divisor - remainder;
+        return switch (rounding) {
+            case DOWN, FLOOR -> 0;
+            case UP, CEILING -> 1;
+            case HALF_UP -> remainder >= rest ? 1 : 0;
+            case HALF_DOWN -> remainder > rest ? 1 : 0;
+            case HALF_EVEN -> remainder > rest || (remainder == rest && (quotient & 1) == 1) ? 1 : 0;
+            case UNNECESSARY -> throw new ArithmeticException("Conversion is inexact");
+        };
+    }
+
+    /**
+     * Unsigned {@code (hi:lo) / divisor} for {@code hi < divisor}, so the quotient fits in
+     * 64 bits: long division in 32-bit digits after normalising the divisor (Knuth's
+     * algorithm D, as in Hacker's Delight {@code divlu}).
+     */
+    private static long divide128(long hi, long lo, long divisor) {
+        int shift = Long.numberOfLeadingZeros(divisor);
+        long d = divisor << shift;
+        long numeratorHi = shift == 0 ? hi : (hi << shift) | (lo >>> (64 - shift));
+        long numeratorLo = lo << shift;
+
+        long d1 = d >>> 32;
+        long d0 = d & LOW_32;
+        long n1 = numeratorLo >>> 32;
+        long n0 = numeratorLo & LOW_32;
+
+        long q1 = Long.divideUnsigned(numeratorHi, d1);
+        long r = numeratorHi - q1 * d1;
+        while (Long.compareUnsigned(q1, LOW_32) > 0 || Long.compareUnsigned(q1 * d0, (r << 32) | n1) > 0) {
+            q1--;
+            r += d1;
+            if (Long.compareUnsigned(r, LOW_32) > 0) {
+                break;
+            }
+        }
+
+        long middle = (numeratorHi << 32) + n1 - q1 * d;
+        long q0 = Long.divideUnsigned(middle, d1);
+        r = middle - q0 * d1;
+        while (Long.compareUnsigned(q0, LOW_32) > 0 || Long.compareUnsigned(q0 * d0, (r << 32) | n0) > 0) {
+            q0--;
+            r += d1;
+            if (Long.compareUnsigned(r, LOW_32) > 0) {
+                break;
+            }
+        }
+        return (q1 << 32) | q0;
+    }
+}
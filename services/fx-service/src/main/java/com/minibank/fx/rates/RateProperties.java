@@ -0,0 +1,13 @@
+package com.minibank.fx.rates;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "fx.rates")
+public class RateProperties {
+
+    // Providers quote every currency against this one; crosses are derived through it
+    private CurrencyCode baseCurrency = CurrencyCode.USD;
+
+    public CurrencyCode getBaseCurrency() { return baseCurrency; }
+    public void setBaseCurrency(CurrencyCode baseCurrency) { this.baseCurrency = baseCurrency; }
+}
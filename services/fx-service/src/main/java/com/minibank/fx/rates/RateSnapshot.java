@@ -0,0 +1,169 @@
+package com.minibank.fx.rates;
+
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Immutable view of every rate at one instant.
+ *
+ * Providers quote each currency against the base currency (the legs). On every update
+ * the full pair matrix is derived from the legs, so a cross rate costs readers an array
+ * load: {@code bid(a, b) = bid(base, b) / ask(base, a)} and
+ * {@code ask(a, b) = ask(base, b) / bid(base, a)}, rounded against the customer.
+ *
+ * Arrays are indexed by {@link CurrencyCode#ordinal()}, pairs by
+ * {@code base * COUNT + quote}, and hold {@link FixedPoint} values; 0 means no rate.
+ * Accessors neither lock nor allocate.
+ */
+public final class RateSnapshot {
+
+    private static final int N = CurrencyCode.COUNT;
+
+    private final CurrencyCode base;
+    private final long version;
+
+    // Legs: units of each currency per one unit of base
+    private final long[] legBid;
+    private final long[] legAsk;
+    private final long[] legTimestamp;
+    private final String[] legProvider;
+
+    // Pairs: units of quote per one unit of base
+    private final long[] bid;
+    private final long[] ask;
+    private final long[] mid;
+    private final long[] asOf;
+
+    private RateSnapshot(CurrencyCode base, long version, long[] legBid, long[] legAsk, long[] legTimestamp,
+                         String[] legProvider) {
+        this.base = base;
+        this.version = version;
+        this.legBid = legBid;
+        this.legAsk = legAsk;
+        this.legTimestamp = legTimestamp;
+        this.legProvider = legProvider;
+        this.bid = new long[N * N];
+        this.ask = new long[N * N];
+        this.mid = new long[N * N];
+        this.asOf = new long[N * N];
+        derivePairs();
+    }
+
+    public static RateSnapshot empty(CurrencyCode base) {
+        long[] legBid = new long[N];
+        long[] legAsk = new long[N];
+        legBid[base.ordinal()] = FixedPoint.ONE;
+        legAsk[base.ordinal()] = FixedPoint.ONE;
+        return new RateSnapshot(base, 0, legBid, legAsk, new long[N], new String[N]);
+    }
+
+    /**
+     * @return a new snapshot with {@code quotes} applied over this one's legs
+     */
+    RateSnapshot withLegs(Collection<LegQuote> quotes) {
+        long[] nextBid = legBid.clone();
+        long[] nextAsk = legAsk.clone();
+        long[] nextTimestamp = legTimestamp.clone();
+        String[] nextProvider = legProvider.clone();
+        for (LegQuote quote : quotes) {
+            int leg = quote.currency().ordinal();
+            if (leg == base.ordinal()) {
+                continue;
+            }
+            nextBid[leg] = quote.bid();
+            nextAsk[leg] = quote.ask();
+            nextTimestamp[leg] = quote.timestampMillis();
+            nextProvider[leg] = quote.provider();
+        }
+        return new RateSnapshot(base, version + 1, nextBid, nextAsk, nextTimestamp, nextProvider);
+    }
+
+    private void derivePairs() {
+        int b = base.ordinal();
+        for (int from = 0; from < N; from++) {
+            for (int to = 0; to < N; to++) {
+                int pair = from * N + to;
+                if (from == to) {
+                    bid[pair] = FixedPoint.ONE;
+                    ask[pair] = FixedPoint.ONE;
+                    mid[pair] = FixedPoint.ONE;
+                    asOf[pair] = Long.MAX_VALUE;
+                    continue;
+                }
+                if (legBid[from] == 0 || legBid[to] == 0) {
+                    continue;
+                }
+                // Legs quoted directly against base need no division
+                if (from == b) {
+                    bid[pair] = legBid[to];
+                    ask[pair] = legAsk[to];
+                } else {
+                    bid[pair] = FixedPoint.divide(legBid[to], legAsk[from], RoundingMode.DOWN);
+                    ask[pair] = FixedPoint.divide(legAsk[to], legBid[from], RoundingMode.UP);
+                }
+                mid[pair] = from == b
+                    ? (legBid[to] + legAsk[to]) >>> 1
+                    : FixedPoint.divide((legBid[to] + legAsk[to]) >>> 1, (legBid[from] + legAsk[from]) >>> 1,
+                        RoundingMode.HALF_EVEN);
+                asOf[pair] = Math.min(legTime(from), legTime(to));
+            }
+        }
+    }
+
+    // The base leg is constant and never ages
+    private long legTime(int leg) {
+        return leg == base.ordinal() ? Long.MAX_VALUE : legTimestamp[leg];
+    }
+
+    public CurrencyCode base() {
+        return base;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public boolean has(int from, int to) {
+        return bid[from * N + to] != 0;
+    }
+
+    public long bid(int from, int to) {
+        return bid[from * N + to];
+    }
+
+    public long ask(int from, int to) {
+        return ask[from * N + to];
+    }
+
+    public long mid(int from, int to) {
+        return mid[from * N + to];
+    }
+
+    /**
+     * @return the timestamp of the older leg behind the pair; {@code Long.MAX_VALUE} for identity pairs
+     */
+    public long asOfMillis(int from, int to) {
+        return asOf[from * N + to];
+    }
+
+    public long legTimestamp(int currency) {
+        return legTimestamp[currency];
+    }
+
+    public String legProvider(int currency) {
+        return legProvider[currency];
+    }
+
+    /**
+     * @return the provider behind the pair's non-base leg, or the quote leg's for crosses
+     */
+    public String provider(int from, int to) {
+        return to == base.ordinal() ? legProvider[from] : legProvider[to];
+    }
+
+    @Override
+    public String toString() {
+        return "RateSnapshot{base=" + base + ", version=" + version + ", legBid=" + Arrays.toString(legBid) + "}";
+    }
+}
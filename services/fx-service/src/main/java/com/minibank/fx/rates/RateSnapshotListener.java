@@ -0,0 +1,12 @@
+package com.minibank.fx.rates;
+
+/**
+ * Told about every snapshot {@link RateSnapshotStore} publishes, on the publishing thread.
+ *
+ * Concurrent publications may be reported out of order; compare versions or leg
+ * timestamps rather than assuming {@code previous} is the last snapshot seen.
+ */
+public interface RateSnapshotListener {
+
+    void onPublished(RateSnapshot previous, RateSnapshot published);
+}
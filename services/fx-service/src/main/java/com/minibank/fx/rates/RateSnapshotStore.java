@@ -0,0 +1,92 @@
+package com.minibank.fx.rates;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Holds the current {@link RateSnapshot}.
+ *
+ * Readers take one volatile read and then work on an immutable snapshot, so every rate
+ * they see comes from the same update. Writers build the next snapshot off to the side
+ * and publish it with a single compare-and-set; concurrent writers retry on top of each
+ * other's result rather than losing legs.
+ */
+@Component
+public class RateSnapshotStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateSnapshotStore.class);
+
+    private final AtomicReference<RateSnapshot> current;
+    private final ObjectProvider<RateSnapshotListener> listeners;
+
+    // Metrics
+    private final Counter publications;
+    private final Counter publishRetries;
+    private final Timer buildDuration;
+
+    public RateSnapshotStore(RateProperties properties, ObjectProvider<RateSnapshotListener> listeners,
+                             MeterRegistry meterRegistry) {
+        this.current = new AtomicReference<>(RateSnapshot.empty(properties.getBaseCurrency()));
+        this.listeners = listeners;
+
+        this.publications = Counter.builder("fx.rate.snapshot.publications.total")
+            .description("Rate snapshots published")
+            .register(meterRegistry);
+        this.publishRetries = Counter.builder("fx.rate.snapshot.publish.retries.total")
+            .description("Snapshot publications rebuilt after losing a race with another writer")
+            .register(meterRegistry);
+        this.buildDuration = Timer.builder("fx.rate.snapshot.build.duration.seconds")
+            .description("Time to derive the cross-rate matrix for a new snapshot")
+            .register(meterRegistry);
+        Gauge.builder("fx.rate.snapshot.version", current, reference -> reference.get().version())
+            .description("Version of the current rate snapshot")
+            .register(meterRegistry);
+    }
+
+    public RateSnapshot current() {
+        return current.get();
+    }
+
+    /**
+     * Applies leg quotes and publishes the result.
+     *
+     * @return the snapshot that was published
+     */
+    public RateSnapshot publish(Collection<LegQuote> quotes) {
+        while (true) {
+            RateSnapshot previous = current.get();
+            long start = System.nanoTime();
+            RateSnapshot next = previous.withLegs(quotes);
+            buildDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (current.compareAndSet(previous, next)) {
+                publications.increment();
+                notifyListeners(previous, next);
+                return next;
+            }
+            publishRetries.increment();
+        }
+    }
+
+    private void notifyListeners(RateSnapshot previous, RateSnapshot next) {
+        listeners.orderedStream().forEach(listener -> {
+            try {
+                listener.onPublished(previous, next);
+            } catch (RuntimeException e) {
+                // The snapshot is already live; a failing listener must not fail the refresh
+                logger.warn("Rate snapshot listener {} failed: {}", listener.getClass().getSimpleName(),
+                    e.getMessage());
+            }
+        });
+    }
+}
@@ -0,0 +1,37 @@
+package com.minibank.fx.treasury;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Account-service {@code AccountEvent} as it appears on the {@code account-events} topic.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class AccountEventMessage {
+
+    private String eventId;
+    private String accountId;
+    private String eventType;
+    private long timestamp;
+    private String currency;
+    private Long amountMinor;
+
+    public AccountEventMessage() {}
+
+    public String getEventId() { return eventId; }
+    public void setEventId(String eventId) { this.eventId = eventId; }
+
+    public String getAccountId() { return accountId; }
+    public void setAccountId(String accountId) { this.accountId = accountId; }
+
+    public String getEventType() { return eventType; }
+    public void setEventType(String eventType) { this.eventType = eventType; }
+
+    public long getTimestamp() { return timestamp; }
+    public void setTimestamp(long timestamp) { this.timestamp = timestamp; }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
+    public Long getAmountMinor() { return amountMinor; }
+    public void setAmountMinor(Long amountMinor) { this.amountMinor = amountMinor; }
+}
@@ -0,0 +1,46 @@
+package com.minibank.fx.treasury;
+
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Payment-service saga event as it appears on {@code payment.requested},
+ * {@code payment.completed} and {@code payment.failed}. The payloads carry no type, so
+ * the topic says which event it is; failed events only have the ID and the reason.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class PaymentEventMessage {
+
+    private String paymentId;
+    private String fromAccountId;
+    private String toAccountId;
+    // Major units, e.g. 125.50
+    private BigDecimal amount;
+    private String currencyCode;
+    private String failureReason;
+    private String errorMessage;
+
+    public PaymentEventMessage() {}
+
+    public String getPaymentId() { return paymentId; }
+    public void setPaymentId(String paymentId) { this.paymentId = paymentId; }
+
+    public String getFromAccountId() { return fromAccountId; }
+    public void setFromAccountId(String fromAccountId) { this.fromAccountId = fromAccountId; }
+
+    public String getToAccountId() { return toAccountId; }
+    public void setToAccountId(String toAccountId) { this.toAccountId = toAccountId; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public String getCurrencyCode() { return currencyCode; }
+    public void setCurrencyCode(String currencyCode) { this.currencyCode = currencyCode; }
+
+    public String getFailureReason() { return failureReason; }
+    public void setFailureReason(String failureReason) { this.failureReason = failureReason; }
+
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+}
@@ -0,0 +1,200 @@
+package com.minibank.fx.treasury;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.kafka.common.TopicPartition;
+
+import com.minibank.fx.rates.CurrencyCode;
+
+/**
+ * Running per-currency totals built from one pass over the event log, starting at
+ * {@link #fromOffset()} in every partition.
+ *
+ * Totals are {@link LongAdder}s indexed by {@link CurrencyCode#ordinal()}, so consumer
+ * threads add to them without contending. Each batch is applied while holding the shared
+ * side of a read-write lock and {@link #read} takes the exclusive side, so a snapshot
+ * never sees half a batch and its figures agree with the offsets it records.
+ *
+ * Closed payments are kept as tombstones for a retention period, so an open that arrives
+ * after its close (the topics are consumed independently) does not count as in flight.
+ *
+ * {@link #checkpoint} copies the totals together with the offsets they cover, and a book
+ * restored from that copy carries on exactly where it was taken. A book is never reset:
+ * recomputing starts a new one.
+ */
+final class PositionBook {
+
+    private static final int N = CurrencyCode.COUNT;
+
+    private final long fromOffset;
+
+    // Minor units by currency: credited less debited, reserved less released, in-flight payments
+    private final LongAdder[] balances = adders();
+    private final LongAdder[] reserved = adders();
+    private final LongAdder[] inFlight = adders();
+    private final LongAdder eventsApplied = new LongAdder();
+
+    // Payments requested but not yet completed, failed or compensated, and tombstones of closed ones, by payment id
+    private final ConcurrentHashMap<String, Payment> payments = new ConcurrentHashMap<>();
+    // Next offset to apply per partition; earlier records are redeliveries
+    private final ConcurrentHashMap<TopicPartition, Long> nextOffsets = new ConcurrentHashMap<>();
+
+    // Writers share, readers exclude
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    PositionBook(long fromOffset) {
+        this.fromOffset = fromOffset;
+    }
+
+    PositionBook(State state) {
+        this.fromOffset = state.fromOffset();
+        for (int i = 0; i < N; i++) {
+            balances[i].add(state.balances()[i]);
+            reserved[i].add(state.reserved()[i]);
+            inFlight[i].add(state.inFlight()[i]);
+        }
+        eventsApplied.add(state.eventsApplied());
+        for (PartitionOffset offset : state.nextOffsets()) {
+            nextOffsets.put(new TopicPartition(offset.topic(), offset.partition()), offset.nextOffset());
+        }
+        payments.putAll(state.payments());
+    }
+
+    long fromOffset() {
+        return fromOffset;
+    }
+
+    /**
+     * Where a newly assigned partition should resume: after the last record applied from
+     * it, or at {@link #fromOffset()} if none has been.
+     */
+    long resumeOffset(TopicPartition partition) {
+        return nextOffsets.getOrDefault(partition, fromOffset);
+    }
+
+    /**
+     * Held while applying a batch; shared between consumer threads.
+     */
+    Lock applyLock() {
+        return lock.readLock();
+    }
+
+    boolean isApplied(TopicPartition partition, long offset) {
+        return offset < resumeOffset(partition);
+    }
+
+    /**
+     * Records that every record of the partition up to {@code offset} has been handled,
+     * whether or not it changed a total.
+     */
+    void advance(TopicPartition partition, long offset) {
+        nextOffsets.merge(partition, offset + 1, Math::max);
+    }
+
+    void addBalance(CurrencyCode currency, long amountMinor) {
+        balances[currency.ordinal()].add(amountMinor);
+        eventsApplied.increment();
+    }
+
+    void addReserved(CurrencyCode currency, long amountMinor) {
+        reserved[currency.ordinal()].add(amountMinor);
+        eventsApplied.increment();
+    }
+
+    // Ignored if the payment is already open or already closed
+    void openPayment(String paymentId, CurrencyCode currency, long amountMinor) {
+        if (payments.putIfAbsent(paymentId, new Payment(currency, amountMinor, -1)) == null) {
+            inFlight[currency.ordinal()].add(amountMinor);
+            eventsApplied.increment();
+        }
+    }
+
+    // Leaves a tombstone even for payments opened before the book's starting offset
+    void closePayment(String paymentId, long nowMillis) {
+        Payment payment = payments.put(paymentId, new Payment(null, 0, nowMillis));
+        if (payment != null && payment.closedAtMillis() < 0) {
+            inFlight[payment.currency().ordinal()].add(-payment.amountMinor());
+            eventsApplied.increment();
+        }
+    }
+
+    /**
+     * Copies every total at a batch boundary.
+     */
+    Totals read() {
+        long[] balanceCopy = new long[N];
+        long[] reservedCopy = new long[N];
+        long[] inFlightCopy = new long[N];
+        Lock exclusive = lock.writeLock();
+        exclusive.lock();
+        try {
+            for (int i = 0; i < N; i++) {
+                balanceCopy[i] = balances[i].sum();
+                reservedCopy[i] = reserved[i].sum();
+                inFlightCopy[i] = inFlight[i].sum();
+            }
+            return new Totals(balanceCopy, reservedCopy, inFlightCopy, eventsApplied.sum(),
+                Map.copyOf(nextOffsets));
+        } finally {
+            exclusive.unlock();
+        }
+    }
+
+    /**
+     * Copies the totals, the offsets they cover and the payments at a batch boundary, first
+     * dropping tombstones of payments closed before {@code closedBeforeMillis}.
+     */
+    State checkpoint(long closedBeforeMillis) {
+        Lock exclusive = lock.writeLock();
+        exclusive.lock();
+        try {
+            payments.values().removeIf(payment -> payment.closedAtMillis() >= 0
+                && payment.closedAtMillis() < closedBeforeMillis);
+            long[] balanceCopy = new long[N];
+            long[] reservedCopy = new long[N];
+            long[] inFlightCopy = new long[N];
+            for (int i = 0; i < N; i++) {
+                balanceCopy[i] = balances[i].sum();
+                reservedCopy[i] = reserved[i].sum();
+                inFlightCopy[i] = inFlight[i].sum();
+            }
+            List<PartitionOffset> offsets = new ArrayList<>(nextOffsets.size());
+            nextOffsets.forEach((partition, offset) ->
+                offsets.add(new PartitionOffset(partition.topic(), partition.partition(), offset)));
+            return new State(fromOffset, balanceCopy, reservedCopy, inFlightCopy, eventsApplied.sum(), offsets,
+                new HashMap<>(payments));
+        } finally {
+            exclusive.unlock();
+        }
+    }
+
+    private static LongAdder[] adders() {
+        LongAdder[] adders = new LongAdder[N];
+        for (int i = 0; i < N; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    // Open while closedAtMillis is negative; a closed payment is a tombstone without currency or amount
+    record Payment(CurrencyCode currency, long amountMinor, long closedAtMillis) {
+    }
+
+    record PartitionOffset(String topic, int partition, long nextOffset) {
+    }
+
+    record State(long fromOffset, long[] balances, long[] reserved, long[] inFlight, long eventsApplied,
+                 List<PartitionOffset> nextOffsets, Map<String, Payment> payments) {
+    }
+
+    record Totals(long[] balances, long[] reserved, long[] inFlight, long eventsApplied,
+                  Map<TopicPartition, Long> nextOffsets) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.minibank.fx.treasury;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@Repository
+public class TreasuryCheckpointRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public TreasuryCheckpointRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    Optional<PositionBook.State> find(String groupId) {
+        List<String> states = jdbcTemplate.queryForList(
+            "SELECT state FROM treasury_checkpoints WHERE group_id = ?", String.class, groupId);
+        if (states.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(states.get(0), PositionBook.State.class));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable treasury checkpoint for " + groupId, e);
+        }
+    }
+
+    void save(String groupId, PositionBook.State state) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(state);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialise treasury checkpoint", e);
+        }
+        jdbcTemplate.update("""
+            INSERT INTO treasury_checkpoints (group_id, state, updated_at)
+            VALUES (?, ?::jsonb, now())
+            ON CONFLICT (group_id) DO UPDATE SET state = EXCLUDED.state, updated_at = EXCLUDED.updated_at
+            """,
+            groupId, json);
+    }
+}
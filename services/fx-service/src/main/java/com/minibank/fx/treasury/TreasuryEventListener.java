@@ -0,0 +1,214 @@
+package com.minibank.fx.treasury;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minibank.fx.rates.CurrencyCode;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Folds account and payment events into the current {@link PositionBook}.
+ *
+ * The book's offsets are checkpointed together with its totals, so committed group
+ * offsets mean nothing to them: whenever a partition is assigned, the listener seeks to
+ * where the book says that partition should resume. A book restored from a checkpoint
+ * carries on from the offsets it covers, and a partition moving between consumer
+ * threads carries on exactly where it stopped.
+ */
+@Component
+public class TreasuryEventListener implements ConsumerSeekAware {
+
+    private static final Logger logger = LoggerFactory.getLogger(TreasuryEventListener.class);
+
+    static final String LISTENER_ID = "fx-treasury";
+    static final String ACCOUNT_TOPIC = "account-events";
+    static final String PAYMENT_REQUESTED_TOPIC = "payment.requested";
+    static final String PAYMENT_COMPLETED_TOPIC = "payment.completed";
+    // Compensated payments are published here too
+    static final String PAYMENT_FAILED_TOPIC = "payment.failed";
+
+    private final TreasuryService treasuryService;
+    private final ObjectMapper objectMapper;
+
+    // Metrics
+    private final Counter eventsApplied;
+    private final Counter eventsIgnored;
+    private final Counter eventsUnsupported;
+    private final Counter eventsDuplicated;
+    private final Counter eventsMalformed;
+    private final DistributionSummary batchSize;
+
+    public TreasuryEventListener(TreasuryService treasuryService, ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry) {
+        this.treasuryService = treasuryService;
+        this.objectMapper = objectMapper;
+
+        this.eventsApplied = eventCounter(meterRegistry, "applied");
+        this.eventsIgnored = eventCounter(meterRegistry, "ignored");
+        this.eventsUnsupported = eventCounter(meterRegistry, "unsupported_currency");
+        this.eventsDuplicated = eventCounter(meterRegistry, "duplicate");
+        this.eventsMalformed = eventCounter(meterRegistry, "malformed");
+        this.batchSize = DistributionSummary.builder("treasury.events.batch.size")
+            .description("Events per treasury poll batch")
+            .register(meterRegistry);
+    }
+
+    private static Counter eventCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("treasury.events.total")
+            .description("Account and payment events handled by the treasury aggregator")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        PositionBook book = treasuryService.book();
+        for (TopicPartition partition : assignments.keySet()) {
+            callback.seek(partition.topic(), partition.partition(), book.resumeOffset(partition));
+        }
+    }
+
+    // No offsets are committed: the book's checkpoint records where each partition resumes
+    @KafkaListener(id = LISTENER_ID, topics = {ACCOUNT_TOPIC, PAYMENT_REQUESTED_TOPIC, PAYMENT_COMPLETED_TOPIC, PAYMENT_FAILED_TOPIC},
+                   groupId = "${fx.treasury.group-id:fx-treasury}", concurrency = "${fx.treasury.consumers:1}")
+    public void onBatch(List<ConsumerRecord<String, String>> records) {
+        batchSize.record(records.size());
+        PositionBook book = treasuryService.book();
+        Lock lock = book.applyLock();
+        lock.lock();
+        try {
+            for (ConsumerRecord<String, String> record : records) {
+                TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+                if (book.isApplied(partition, record.offset())) {
+                    eventsDuplicated.increment();
+                    continue;
+                }
+                apply(book, record);
+                book.advance(partition, record.offset());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void apply(PositionBook book, ConsumerRecord<String, String> record) {
+        try {
+            Outcome outcome = ACCOUNT_TOPIC.equals(record.topic())
+                ? applyAccount(book, objectMapper.readValue(record.value(), AccountEventMessage.class))
+                : applyPayment(book, record.topic(), objectMapper.readValue(record.value(), PaymentEventMessage.class));
+            switch (outcome) {
+                case APPLIED -> eventsApplied.increment();
+                case IGNORED -> eventsIgnored.increment();
+                case UNSUPPORTED_CURRENCY -> eventsUnsupported.increment();
+            }
+        } catch (JsonProcessingException | IllegalArgumentException | ArithmeticException e) {
+            // A poison record must not stall the partition
+            logger.error("Dropping unreadable treasury event at {}-{}@{}: {}",
+                record.topic(), record.partition(), record.offset(), e.getMessage());
+            eventsMalformed.increment();
+        }
+    }
+
+    private static Outcome applyAccount(PositionBook book, AccountEventMessage event) {
+        String type = event.getEventType();
+        if (type == null) {
+            throw new IllegalArgumentException("missing eventType");
+        }
+        boolean reservation;
+        long sign;
+        switch (type) {
+            case "BALANCE_CREDITED" -> { reservation = false; sign = 1; }
+            case "BALANCE_DEBITED" -> { reservation = false; sign = -1; }
+            case "BALANCE_RESERVED" -> { reservation = true; sign = 1; }
+            case "BALANCE_RELEASED" -> { reservation = true; sign = -1; }
+            default -> {
+                return Outcome.IGNORED;
+            }
+        }
+        CurrencyCode currency = currency(event.getCurrency());
+        if (currency == null) {
+            return Outcome.UNSUPPORTED_CURRENCY;
+        }
+        long amountMinor = sign * amount(event.getAmountMinor());
+        if (reservation) {
+            book.addReserved(currency, amountMinor);
+        } else {
+            book.addBalance(currency, amountMinor);
+        }
+        return Outcome.APPLIED;
+    }
+
+    private static Outcome applyPayment(PositionBook book, String topic, PaymentEventMessage event) {
+        if (event.getPaymentId() == null) {
+            throw new IllegalArgumentException("missing paymentId");
+        }
+        switch (topic) {
+            case PAYMENT_REQUESTED_TOPIC -> {
+                // Netting re-publishes refused payments here; opening is idempotent per payment
+                CurrencyCode currency = currency(event.getCurrencyCode());
+                if (currency == null) {
+                    return Outcome.UNSUPPORTED_CURRENCY;
+                }
+                book.openPayment(event.getPaymentId(), currency, minorUnits(event.getAmount(), currency));
+                return Outcome.APPLIED;
+            }
+            case PAYMENT_COMPLETED_TOPIC, PAYMENT_FAILED_TOPIC -> {
+                book.closePayment(event.getPaymentId(), System.currentTimeMillis());
+                return Outcome.APPLIED;
+            }
+            default -> {
+                return Outcome.IGNORED;
+            }
+        }
+    }
+
+    // Null for currencies the FX service does not trade; their events are left out of the totals
+    private static CurrencyCode currency(String code) {
+        if (code == null) {
+            throw new IllegalArgumentException("missing currency");
+        }
+        try {
+            return CurrencyCode.parse(code);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static long amount(Long amountMinor) {
+        if (amountMinor == null || amountMinor < 0) {
+            throw new IllegalArgumentException("amountMinor must be present and non-negative: " + amountMinor);
+        }
+        return amountMinor;
+    }
+
+    private static long minorUnits(BigDecimal amount, CurrencyCode currency) {
+        if (amount == null) {
+            throw new IllegalArgumentException("missing amount");
+        }
+        long minor = amount.setScale(currency.fractionDigits(), RoundingMode.UNNECESSARY)
+            .unscaledValue().longValueExact();
+        return amount(minor);
+    }
+
+    private enum Outcome {
+        APPLIED,
+        IGNORED,
+        UNSUPPORTED_CURRENCY
+    }
+}
@@ -0,0 +1,51 @@
+package com.minibank.fx.treasury;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "fx.treasury")
+public class TreasuryProperties {
+
+    // Consumer group of this instance; keys its checkpoint, so it must stay the same across restarts
+    private String groupId = "fx-treasury";
+    // Offset every partition is replayed from when there is no checkpoint; 0 rebuilds from the start of the log
+    private long replayFromOffset = 0;
+    // How often the totals and the offsets they cover are checkpointed
+    private long checkpointIntervalMs = 60_000;
+    // Closed payments are remembered this long, so a late open for them is ignored
+    private Duration closedPaymentRetention = Duration.ofDays(7);
+    // Consumer threads; each takes a share of the partitions
+    private int consumers = 1;
+    // How often a snapshot of the running totals is published
+    private long snapshotIntervalMs = 1000;
+    // Alert when available over total balance in a currency drops below this
+    private BigDecimal minLiquidityRatio = new BigDecimal("0.20");
+    // Alert when a currency's net position, in base-currency major units, exceeds this either way
+    private BigDecimal maxNetExposure = new BigDecimal("50000000");
+
+    public String getGroupId() { return groupId; }
+    public void setGroupId(String groupId) { this.groupId = groupId; }
+
+    public long getReplayFromOffset() { return replayFromOffset; }
+    public void setReplayFromOffset(long replayFromOffset) { this.replayFromOffset = replayFromOffset; }
+
+    public long getCheckpointIntervalMs() { return checkpointIntervalMs; }
+    public void setCheckpointIntervalMs(long checkpointIntervalMs) { this.checkpointIntervalMs = checkpointIntervalMs; }
+
+    public Duration getClosedPaymentRetention() { return closedPaymentRetention; }
+    public void setClosedPaymentRetention(Duration closedPaymentRetention) { this.closedPaymentRetention = closedPaymentRetention; }
+
+    public int getConsumers() { return consumers; }
+    public void setConsumers(int consumers) { this.consumers = consumers; }
+
+    public long getSnapshotIntervalMs() { return snapshotIntervalMs; }
+    public void setSnapshotIntervalMs(long snapshotIntervalMs) { this.snapshotIntervalMs = snapshotIntervalMs; }
+
+    public BigDecimal getMinLiquidityRatio() { return minLiquidityRatio; }
+    public void setMinLiquidityRatio(BigDecimal minLiquidityRatio) { this.minLiquidityRatio = minLiquidityRatio; }
+
+    public BigDecimal getMaxNetExposure() { return maxNetExposure; }
+    public void setMaxNetExposure(BigDecimal maxNetExposure) { this.maxNetExposure = maxNetExposure; }
+}
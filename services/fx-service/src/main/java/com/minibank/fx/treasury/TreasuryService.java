@@ -0,0 +1,247 @@
+package com.minibank.fx.treasury;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.minibank.fx.rates.CurrencyCode;
+import com.minibank.fx.rates.MinorUnitConversion;
+import com.minibank.fx.rates.RateSnapshot;
+import com.minibank.fx.rates.RateSnapshotStore;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Publishes treasury positions from the running totals kept by {@link TreasuryEventListener}.
+ *
+ * Totals are never recomputed by scanning balances. Every second the current
+ * {@link PositionBook} is read at a batch boundary, valued against the latest rate
+ * snapshot and published as an immutable {@link TreasurySnapshot}; gauges and the API
+ * read only that. The book is checkpointed under this instance's consumer group, and a
+ * restart resumes from the checkpoint instead of replaying the event log. A recompute
+ * replaces the book with an empty one and replays the event log into it from a given
+ * offset.
+ */
+@Service
+public class TreasuryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TreasuryService.class);
+
+    private static final int N = CurrencyCode.COUNT;
+
+    private final RateSnapshotStore rates;
+    private final KafkaListenerEndpointRegistry listeners;
+    private final TreasuryCheckpointRepository checkpoints;
+    private final String groupId;
+    private final long closedPaymentRetentionMillis;
+    private final double minLiquidityRatio;
+    private final BigDecimal maxNetExposure;
+
+    private final AtomicReference<PositionBook> book;
+    private volatile TreasurySnapshot snapshot;
+    private long nextVersion = 1;
+
+    // Limits each currency was breaching at the last snapshot, so an alert fires once per breach
+    private final boolean[] liquidityBreached = new boolean[N];
+    private final boolean[] exposureBreached = new boolean[N];
+
+    // Metrics
+    private final Counter[] liquidityAlerts = new Counter[N];
+    private final Counter[] exposureAlerts = new Counter[N];
+    private final Counter recomputes;
+    private final Counter checkpointFailures;
+    private final Timer snapshotDuration;
+    private final Timer checkpointDuration;
+
+    public TreasuryService(RateSnapshotStore rates, KafkaListenerEndpointRegistry listeners,
+                           TreasuryCheckpointRepository checkpoints, TreasuryProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.rates = rates;
+        this.listeners = listeners;
+        this.checkpoints = checkpoints;
+        this.groupId = properties.getGroupId();
+        this.closedPaymentRetentionMillis = properties.getClosedPaymentRetention().toMillis();
+        this.minLiquidityRatio = properties.getMinLiquidityRatio().doubleValue();
+        this.maxNetExposure = properties.getMaxNetExposure();
+        PositionBook initial = checkpoints.find(groupId)
+            .map(PositionBook::new)
+            .orElseGet(() -> new PositionBook(properties.getReplayFromOffset()));
+        this.book = new AtomicReference<>(initial);
+        this.snapshot = emptySnapshot(rates.current().base(), initial.fromOffset());
+
+        for (CurrencyCode currency : CurrencyCode.values()) {
+            int c = currency.ordinal();
+            Gauge.builder("treasury.exposure.net", this, service -> service.exposureGauge(c))
+                .description("Net position per currency in base-currency major units")
+                .tag("currency", currency.name())
+                .register(meterRegistry);
+            Gauge.builder("treasury.liquidity.ratio", this, service -> service.snapshot.positions().get(c)
+                    .liquidityRatio())
+                .description("Unreserved share of customer balances per currency")
+                .tag("currency", currency.name())
+                .register(meterRegistry);
+            liquidityAlerts[c] = alertCounter(meterRegistry, currency, "liquidity");
+            exposureAlerts[c] = alertCounter(meterRegistry, currency, "exposure");
+        }
+        this.recomputes = Counter.builder("treasury.recomputes.total")
+            .description("Treasury totals rebuilt from the event log")
+            .register(meterRegistry);
+        this.checkpointFailures = Counter.builder("treasury.checkpoint.failures.total")
+            .description("Treasury checkpoints that could not be saved")
+            .register(meterRegistry);
+        this.snapshotDuration = Timer.builder("treasury.snapshot.duration.seconds")
+            .description("Time to read, value and publish one treasury snapshot")
+            .register(meterRegistry);
+        this.checkpointDuration = Timer.builder("treasury.checkpoint.duration.seconds")
+            .description("Time to copy and save the treasury totals and their offsets")
+            .register(meterRegistry);
+    }
+
+    private static Counter alertCounter(MeterRegistry meterRegistry, CurrencyCode currency, String type) {
+        return Counter.builder("treasury.alerts.generated.total")
+            .description("Treasury limit breaches")
+            .tag("currency", currency.name())
+            .tag("type", type)
+            .register(meterRegistry);
+    }
+
+    public TreasurySnapshot snapshot() {
+        return snapshot;
+    }
+
+    PositionBook book() {
+        return book.get();
+    }
+
+    @Scheduled(fixedRateString = "${fx.treasury.snapshot-interval-ms:1000}")
+    public synchronized void publishSnapshot() {
+        long start = System.nanoTime();
+        PositionBook current = book.get();
+        PositionBook.Totals totals = current.read();
+        RateSnapshot rateSnapshot = rates.current();
+        CurrencyCode base = rateSnapshot.base();
+
+        List<TreasurySnapshot.Position> positions = new ArrayList<>(N);
+        for (CurrencyCode currency : CurrencyCode.values()) {
+            int c = currency.ordinal();
+            long balance = totals.balances()[c];
+            long reserved = totals.reserved()[c];
+            long inFlight = totals.inFlight()[c];
+            long net = balance - inFlight;
+            BigDecimal exposure = value(net, currency, base, rateSnapshot);
+            double liquidity = balance > 0 ? Math.max(0, balance - reserved) / (double) balance : Double.NaN;
+            positions.add(new TreasurySnapshot.Position(currency, balance, reserved, inFlight, net, exposure,
+                liquidity));
+            checkLimits(currency, exposure, liquidity);
+        }
+        snapshot = new TreasurySnapshot(nextVersion++, Instant.now(), base, current.fromOffset(),
+            totals.eventsApplied(), List.copyOf(positions));
+        snapshotDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Saves the current book with the offsets it covers. A failed save is retried at the
+     * next interval; until then a restart resumes from the previous checkpoint.
+     */
+    @Scheduled(fixedDelayString = "${fx.treasury.checkpoint-interval-ms:60000}")
+    public synchronized void checkpoint() {
+        long start = System.nanoTime();
+        try {
+            PositionBook.State state = book.get().checkpoint(System.currentTimeMillis() - closedPaymentRetentionMillis);
+            checkpoints.save(groupId, state);
+        } catch (RuntimeException e) {
+            checkpointFailures.increment();
+            logger.error("Cannot checkpoint treasury positions for {}", groupId, e);
+        } finally {
+            checkpointDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Discards the running totals and rebuilds them from {@code fromOffset} in every
+     * partition. Returns once the replay has started; snapshots fill in as it catches up.
+     *
+     * @throws IllegalArgumentException if the offset is negative
+     * @throws IllegalStateException if the event listener is not registered
+     */
+    public synchronized void recompute(long fromOffset) {
+        if (fromOffset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative: " + fromOffset);
+        }
+        MessageListenerContainer container = listeners.getListenerContainer(TreasuryEventListener.LISTENER_ID);
+        if (container == null) {
+            throw new IllegalStateException("Treasury event listener is not registered");
+        }
+        // Stopping waits for in-flight batches, so none straddles the swap
+        container.stop();
+        book.set(new PositionBook(fromOffset));
+        container.start();
+        recomputes.increment();
+        logger.info("Recomputing treasury positions from offset {}", fromOffset);
+        publishSnapshot();
+    }
+
+    private BigDecimal value(long amountMinor, CurrencyCode currency, CurrencyCode base, RateSnapshot rateSnapshot) {
+        long baseMinor;
+        if (currency == base) {
+            baseMinor = amountMinor;
+        } else if (rateSnapshot.has(currency.ordinal(), base.ordinal())) {
+            int from = currency.fractionDigits();
+            int to = base.fractionDigits();
+            try {
+                baseMinor = MinorUnitConversion.convert(amountMinor, rateSnapshot.mid(currency.ordinal(),
+                    base.ordinal()), MinorUnitConversion.factor(from, to), MinorUnitConversion.divisor(from, to),
+                    RoundingMode.HALF_EVEN);
+            } catch (ArithmeticException e) {
+                return null;
+            }
+        } else {
+            return null;
+        }
+        return BigDecimal.valueOf(baseMinor, base.fractionDigits());
+    }
+
+    private void checkLimits(CurrencyCode currency, BigDecimal exposure, double liquidity) {
+        int c = currency.ordinal();
+        boolean lowLiquidity = liquidity < minLiquidityRatio;
+        if (lowLiquidity && !liquidityBreached[c]) {
+            liquidityAlerts[c].increment();
+            logger.warn("Treasury liquidity in {} fell to {}", currency, liquidity);
+        }
+        liquidityBreached[c] = lowLiquidity;
+
+        boolean overExposed = exposure != null && exposure.abs().compareTo(maxNetExposure) > 0;
+        if (overExposed && !exposureBreached[c]) {
+            exposureAlerts[c].increment();
+            logger.warn("Treasury net exposure in {} reached {}", currency, exposure);
+        }
+        exposureBreached[c] = overExposed;
+    }
+
+    private double exposureGauge(int currency) {
+        BigDecimal exposure = snapshot.positions().get(currency).netExposure();
+        return exposure == null ? Double.NaN : exposure.doubleValue();
+    }
+
+    private static TreasurySnapshot emptySnapshot(CurrencyCode base, long fromOffset) {
+        List<TreasurySnapshot.Position> positions = new ArrayList<>(N);
+        for (CurrencyCode currency : CurrencyCode.values()) {
+            positions.add(new TreasurySnapshot.Position(currency, 0, 0, 0, 0, null, Double.NaN));
+        }
+        return new TreasurySnapshot(0, Instant.now(), base, fromOffset, 0, List.copyOf(positions));
+    }
+}
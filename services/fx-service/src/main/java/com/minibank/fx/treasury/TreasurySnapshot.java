@@ -0,0 +1,31 @@
+package com.minibank.fx.treasury;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import com.minibank.fx.rates.CurrencyCode;
+
+/**
+ * Treasury positions as of one batch boundary.
+ *
+ * @param fromOffset offset the underlying totals were replayed from
+ * @param positions one entry per {@link CurrencyCode}, in ordinal order
+ */
+public record TreasurySnapshot(long version, Instant asOf, CurrencyCode baseCurrency, long fromOffset,
+                               long eventsApplied, List<Position> positions) {
+
+    public Position position(CurrencyCode currency) {
+        return positions.get(currency.ordinal());
+    }
+
+    /**
+     * Amounts are in the currency's minor units.
+     *
+     * @param netExposure net position in base-currency major units at the mid rate, or null if no rate is known
+     * @param liquidityRatio unreserved share of the balance, or NaN if there is no balance
+     */
+    public record Position(CurrencyCode currency, long balanceMinor, long reservedMinor, long inFlightMinor,
+                           long netMinor, BigDecimal netExposure, double liquidityRatio) {
+    }
+}
@@ -0,0 +1,18 @@
+-- Redeemed quotes only; issued quotes live in the in-memory quote book until they expire
+CREATE TABLE fx_conversions (
+    conversion_id     UUID           PRIMARY KEY,
+    quote_id          BIGINT         NOT NULL UNIQUE,
+    from_account_id   UUID           NOT NULL,
+    to_account_id     UUID           NOT NULL,
+    from_currency     VARCHAR(3)     NOT NULL,
+    to_currency       VARCHAR(3)     NOT NULL,
+    from_amount_minor BIGINT         NOT NULL,
+    to_amount_minor   BIGINT         NOT NULL,
+    rate              NUMERIC(28,10) NOT NULL,
+    provider          VARCHAR(64),
+    quoted_at         TIMESTAMPTZ    NOT NULL,
+    expires_at        TIMESTAMPTZ    NOT NULL,
+    redeemed_at       TIMESTAMPTZ    NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_fx_conversions_from_account ON fx_conversions (from_account_id, redeemed_at);
@@ -0,0 +1,19 @@
+-- Executed hedge orders, one per pair per netting window at most
+CREATE TABLE fx_hedge_orders (
+    order_id             UUID           PRIMARY KEY,
+    currency             VARCHAR(3)     NOT NULL,
+    counter_currency     VARCHAR(3)     NOT NULL,
+    side                 VARCHAR(4)     NOT NULL,
+    amount_minor         BIGINT         NOT NULL,
+    counter_amount_minor BIGINT         NOT NULL,
+    rate                 NUMERIC(28,10) NOT NULL,
+    provider             VARCHAR(64)    NOT NULL,
+    provider_reference   VARCHAR(128),
+    flows                INTEGER        NOT NULL,
+    gross_minor          BIGINT         NOT NULL,
+    window_start         TIMESTAMPTZ    NOT NULL,
+    window_end           TIMESTAMPTZ    NOT NULL,
+    executed_at          TIMESTAMPTZ    NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_fx_hedge_orders_executed_at ON fx_hedge_orders (executed_at);
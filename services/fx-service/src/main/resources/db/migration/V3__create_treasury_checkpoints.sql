@@ -0,0 +1,7 @@
+-- Treasury totals with the partition offsets they cover, one row per consumer group;
+-- a restart resumes from here instead of replaying the event log
+CREATE TABLE treasury_checkpoints (
+    group_id    VARCHAR(128) PRIMARY KEY,
+    state       JSONB        NOT NULL,
+    updated_at  TIMESTAMPTZ  NOT NULL DEFAULT now()
+);
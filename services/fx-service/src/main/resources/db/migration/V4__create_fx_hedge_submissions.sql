@@ -0,0 +1,15 @@
+-- Hedge orders sent to the provider whose outcome is not recorded yet. A row is written before
+-- the order is sent and removed once the order is recorded as executed or confirmed as not
+-- executed, so a lost response is resolved by asking the provider, never by sending again
+CREATE TABLE fx_hedge_submissions (
+    order_id         UUID        PRIMARY KEY,
+    currency         VARCHAR(3)  NOT NULL,
+    counter_currency VARCHAR(3)  NOT NULL,
+    side             VARCHAR(4)  NOT NULL,
+    amount_minor     BIGINT      NOT NULL,
+    flows            INTEGER     NOT NULL,
+    gross_minor      BIGINT      NOT NULL,
+    window_start     TIMESTAMPTZ NOT NULL,
+    window_end       TIMESTAMPTZ NOT NULL,
+    submitted_at     TIMESTAMPTZ NOT NULL DEFAULT now()
+);
@@ -0,0 +1,174 @@
+package com.minibank.ledger.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.minibank.ledger.infrastructure.ingest.LedgerEntryCopyWriter;
+import com.minibank.ledger.infrastructure.ingest.LedgerEntryRow;
+
+/**
+ * Throughput of projecting journal entries into {@code ledger_entries} against a local
+ * Postgres: binary COPY plus merge versus batched per-row INSERTs. Scores are account
+ * events (two legs each) per second.
+ *
+ * Uses its own {@code ledger_bench} schema. Point it elsewhere with
+ * {@code -Dledger.bench.url=... -Dledger.bench.user=... -Dledger.bench.password=...}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AccountEventCopyBenchmark {
+
+    private static final int EVENTS_PER_BATCH = 2000;
+
+    private static final String[] EVENT_TYPES = {
+        "BALANCE_CREDITED", "BALANCE_DEBITED", "BALANCE_RESERVED", "BALANCE_RELEASED"
+    };
+
+    // Debit and credit book of each event type, as AccountEventPostings maps them
+    private static final String[][] BOOKS = {
+        {"CLEARING", "AVAILABLE"}, {"AVAILABLE", "CLEARING"}, {"AVAILABLE", "RESERVED"}, {"RESERVED", "AVAILABLE"}
+    };
+
+    private static final String INSERT_ROW = """
+        INSERT INTO ledger_entries (event_id, leg, account_id, book, event_type, currency_code,
+                                    amount_minor, occurred_at, journal_sequence)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+        ON CONFLICT (event_id, leg) DO NOTHING
+        """;
+
+    @Param({"1000", "100000"})
+    public int accounts;
+
+    private Connection connection;
+    private UUID[] accountIds;
+    private final Random random = new Random(42);
+    private List<LedgerEntryRow> rows;
+
+    @Setup(Level.Trial)
+    public void connect() throws Exception {
+        String url = System.getProperty("ledger.bench.url",
+            "jdbc:postgresql://localhost:5432/minibank_ledger?currentSchema=ledger_bench");
+        connection = DriverManager.getConnection(url,
+            System.getProperty("ledger.bench.user", "minibank"),
+            System.getProperty("ledger.bench.password", "minibank"));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SCHEMA IF NOT EXISTS ledger_bench");
+            statement.execute("SET search_path TO ledger_bench");
+            statement.execute("""
+                CREATE TABLE IF NOT EXISTS ledger_entries (
+                    event_id          UUID        NOT NULL,
+                    leg               SMALLINT    NOT NULL,
+                    account_id        UUID        NOT NULL,
+                    book              VARCHAR(16) NOT NULL,
+                    event_type        VARCHAR(32) NOT NULL,
+                    currency_code     VARCHAR(3)  NOT NULL,
+                    amount_minor      BIGINT      NOT NULL,
+                    occurred_at       TIMESTAMPTZ NOT NULL,
+                    journal_sequence BIGINT      NOT NULL,
+                    ingested_at       TIMESTAMPTZ NOT NULL DEFAULT now(),
+                    PRIMARY KEY (event_id, leg)
+                )
+                """);
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_ledger_entries_account "
+                + "ON ledger_entries (account_id, occurred_at)");
+            // Consulted by the merge; stays empty here
+            statement.execute("""
+                CREATE TABLE IF NOT EXISTS cold_segments (
+                    period_start         DATE   NOT NULL,
+                    seq                  INT    NOT NULL,
+                    max_journal_sequence BIGINT NOT NULL,
+                    PRIMARY KEY (period_start, seq)
+                )
+                """);
+        }
+        connection.setAutoCommit(false);
+
+        accountIds = new UUID[accounts];
+        for (int i = 0; i < accounts; i++) {
+            accountIds[i] = UUID.randomUUID();
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE ledger_entries");
+        }
+        connection.commit();
+    }
+
+    @Setup(Level.Invocation)
+    public void nextBatch() {
+        rows = new ArrayList<>(EVENTS_PER_BATCH * 2);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < EVENTS_PER_BATCH; i++) {
+            UUID eventId = UUID.randomUUID();
+            UUID accountId = accountIds[random.nextInt(accounts)];
+            int type = random.nextInt(EVENT_TYPES.length);
+            long amount = 1L + random.nextInt(1_000_000);
+            rows.add(new LedgerEntryRow(eventId, (short) 0, accountId, BOOKS[type][0], EVENT_TYPES[type], "USD",
+                -amount, now + i, 2L * i));
+            rows.add(new LedgerEntryRow(eventId, (short) 1, accountId, BOOKS[type][1], EVENT_TYPES[type], "USD",
+                amount, now + i, 2L * i + 1));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void disconnect() throws Exception {
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS_PER_BATCH)
+    public int binaryCopy() throws Exception {
+        int inserted = LedgerEntryCopyWriter.copyAndMerge(connection, rows).size();
+        connection.commit();
+        return inserted;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS_PER_BATCH)
+    public int batchedInsert() throws Exception {
+        int inserted = 0;
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_ROW)) {
+            for (LedgerEntryRow row : rows) {
+                statement.setObject(1, row.getEventId());
+                statement.setShort(2, row.getLeg());
+                statement.setObject(3, row.getAccountId());
+                statement.setString(4, row.getBook());
+                statement.setString(5, row.getEventType());
+                statement.setString(6, row.getCurrency());
+                statement.setLong(7, row.getAmountMinor());
+                statement.setTimestamp(8, new Timestamp(row.getOccurredAtMillis()));
+                statement.setLong(9, row.getJournalSequence());
+                statement.addBatch();
+            }
+            for (int count : statement.executeBatch()) {
+                inserted += Math.max(count, 0);
+            }
+        }
+        connection.commit();
+        return inserted;
+    }
+}
@@ -0,0 +1,72 @@
+package com.minibank.ledger.api;
+
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.minibank.ledger.api.dto.ErrorResponse;
+import com.minibank.ledger.api.dto.InclusionProofResponse;
+import com.minibank.ledger.integrity.InclusionProof;
+import com.minibank.ledger.integrity.JournalIntegrityService;
+import com.minibank.ledger.integrity.SegmentSeal;
+import com.minibank.ledger.integrity.VerificationResult;
+
+@RestController
+@RequestMapping("/api/v1/ledger/integrity")
+public class IntegrityController {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final JournalIntegrityService integrityService;
+
+    public IntegrityController(JournalIntegrityService integrityService) {
+        this.integrityService = integrityService;
+    }
+
+    @GetMapping("/root")
+    public Map<String, Object> getRoot() {
+        return Map.of(
+            "root", HEX.formatHex(integrityService.root()),
+            "sealedSegments", integrityService.sealedSegments());
+    }
+
+    // Synchronous: runs for as long as re-hashing every sealed segment takes
+    @PostMapping("/verifications")
+    public VerificationResult verify() {
+        return integrityService.verify();
+    }
+
+    @GetMapping("/proofs/{sequence}")
+    public InclusionProofResponse getProof(@PathVariable long sequence) {
+        InclusionProof proof = integrityService.prove(sequence);
+        SegmentSeal seal = proof.getSeal();
+        return new InclusionProofResponse(proof.getSequence(), HEX.formatHex(proof.getRecord()),
+            hex(proof.getRecordPath()), seal.getSegmentIndex(), seal.getRecordCount(),
+            HEX.formatHex(seal.getChainHead()), HEX.formatHex(seal.getMerkleRoot()),
+            hex(proof.getSealPath()), proof.getSealedSegments(), HEX.formatHex(proof.getRoot()));
+    }
+
+    private static List<String> hex(List<byte[]> hashes) {
+        return hashes.stream().map(HEX::formatHex).toList();
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleNotSealed(IllegalArgumentException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse("ENTRY_NOT_SEALED", e.getMessage()));
+    }
+
+    // A verification already running, or a segment that no longer matches its seal
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<ErrorResponse> handleConflict(IllegalStateException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse("INTEGRITY_CONFLICT", e.getMessage()));
+    }
+}
@@ -0,0 +1,83 @@
+package com.minibank.ledger.api;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.minibank.ledger.api.dto.BalanceResponse;
+import com.minibank.ledger.api.dto.ErrorResponse;
+import com.minibank.ledger.api.dto.LedgerEntryResponse;
+import com.minibank.ledger.api.dto.PostingRequest;
+import com.minibank.ledger.api.dto.PostingResponse;
+import com.minibank.ledger.application.LedgerService;
+import com.minibank.ledger.journal.PostingReceipt;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+@RestController
+@RequestMapping("/api/v1/ledger")
+public class LedgerController {
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerController.class);
+
+    private final LedgerService ledgerService;
+
+    public LedgerController(LedgerService ledgerService) {
+        this.ledgerService = ledgerService;
+    }
+
+    @PostMapping("/postings")
+    public ResponseEntity<PostingResponse> post(@Valid @RequestBody PostingRequest request) {
+        PostingReceipt receipt = ledgerService.post(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(new PostingResponse(
+            receipt.getPostingId(), receipt.getFirstSequence(), receipt.getLastSequence(),
+            Instant.ofEpochMilli(receipt.getCommittedAtMillis())));
+    }
+
+    @GetMapping("/balance")
+    public BalanceResponse getBalance(@RequestParam UUID accountId, @RequestParam String currency,
+                                      @RequestParam(required = false) Instant asOf) {
+        return asOf != null
+            ? ledgerService.getBalanceAsOf(accountId, currency, asOf)
+            : ledgerService.getBalance(accountId, currency);
+    }
+
+    @GetMapping("/balances/{accountId}")
+    public List<BalanceResponse> getBalances(@PathVariable UUID accountId) {
+        return ledgerService.getBalances(accountId);
+    }
+
+    @GetMapping("/entries")
+    public List<LedgerEntryResponse> getEntries(@RequestParam UUID accountId,
+                                                @RequestParam(defaultValue = "50") @Min(1) @Max(1000) int limit) {
+        return ledgerService.getEntries(accountId, limit);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleInvalid(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(new ErrorResponse("INVALID_POSTING", e.getMessage()));
+    }
+
+    // Queue full, writer stopped or commit not confirmed in time
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<ErrorResponse> handleUnavailable(IllegalStateException e) {
+        logger.warn("Ledger posting rejected: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .body(new ErrorResponse("JOURNAL_UNAVAILABLE", e.getMessage()));
+    }
+}
@@ -0,0 +1,86 @@
+package com.minibank.ledger.api;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.minibank.ledger.api.dto.ErrorResponse;
+import com.minibank.ledger.api.dto.HistoryPageResponse;
+import com.minibank.ledger.application.LedgerHistoryService;
+import com.minibank.ledger.application.LedgerHistoryService.StreamFormat;
+import com.minibank.ledger.infrastructure.ingest.LedgerEntryRow;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+@RestController
+@RequestMapping("/api/v1/ledger/history")
+public class LedgerHistoryController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv");
+    private static final String STREAM_RETRY_AFTER_SECONDS = "5";
+
+    private final LedgerHistoryService historyService;
+
+    public LedgerHistoryController(LedgerHistoryService historyService) {
+        this.historyService = historyService;
+    }
+
+    @GetMapping
+    public HistoryPageResponse getPage(@RequestParam UUID accountId,
+                                       @RequestParam String currency,
+                                       @RequestParam(defaultValue = LedgerEntryRow.AVAILABLE) String book,
+                                       @RequestParam(required = false) String cursor,
+                                       @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int limit) {
+        return historyService.getPage(accountId, currency, book, cursor, limit);
+    }
+
+    @GetMapping("/stream")
+    public ResponseEntity<?> stream(@RequestParam UUID accountId,
+                                                        @RequestParam String currency,
+                                                        @RequestParam(defaultValue = LedgerEntryRow.AVAILABLE) String book,
+                                                        @RequestParam(required = false) Instant from,
+                                                        @RequestParam(required = false) Instant to,
+                                                        @RequestParam(defaultValue = "ndjson") String format) {
+        StreamFormat streamFormat = StreamFormat.valueOf(format.toUpperCase());
+        Instant start = from != null ? from : Instant.EPOCH;
+        Instant end = to != null ? to : Instant.now();
+        if (!historyService.tryStartStream()) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, STREAM_RETRY_AFTER_SECONDS)
+                .body(new ErrorResponse("TOO_MANY_HISTORY_STREAMS",
+                    "Too many history exports in progress; retry later or page through /api/v1/ledger/history"));
+        }
+        StreamingResponseBody body = output -> {
+            try {
+                historyService.stream(accountId, currency, book, start, end, streamFormat, output);
+            } finally {
+                historyService.finishStream();
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(streamFormat == StreamFormat.CSV ? CSV : NDJSON);
+        if (streamFormat == StreamFormat.CSV) {
+            response.header(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"history-" + accountId + "-" + currency + ".csv\"");
+        }
+        return response.body(body);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleInvalid(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(new ErrorResponse("INVALID_HISTORY_REQUEST", e.getMessage()));
+    }
+}
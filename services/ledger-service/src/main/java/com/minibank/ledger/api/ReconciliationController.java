@@ -0,0 +1,62 @@
+package com.minibank.ledger.api;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.minibank.ledger.api.dto.ErrorResponse;
+import com.minibank.ledger.reconciliation.Discrepancy;
+import com.minibank.ledger.reconciliation.ReconciliationRun;
+import com.minibank.ledger.reconciliation.ReconciliationRunRepository;
+import com.minibank.ledger.reconciliation.ReconciliationService;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+@RestController
+@RequestMapping("/api/v1/ledger/reconciliations")
+public class ReconciliationController {
+
+    private final ReconciliationService reconciliationService;
+    private final ReconciliationRunRepository runRepository;
+
+    public ReconciliationController(ReconciliationService reconciliationService,
+                                    ReconciliationRunRepository runRepository) {
+        this.reconciliationService = reconciliationService;
+        this.runRepository = runRepository;
+    }
+
+    @PostMapping
+    public ResponseEntity<Map<String, Long>> start() {
+        long runId = reconciliationService.start();
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of("runId", runId));
+    }
+
+    @GetMapping("/{runId}")
+    public ResponseEntity<ReconciliationRun> getRun(@PathVariable long runId) {
+        return runRepository.findById(runId)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{runId}/discrepancies")
+    public List<Discrepancy> getDiscrepancies(@PathVariable long runId,
+                                              @RequestParam(defaultValue = "100") @Min(1) @Max(10000) int limit) {
+        return runRepository.findDiscrepancies(runId, limit);
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<ErrorResponse> handleConflict(IllegalStateException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+            .body(new ErrorResponse("RECONCILIATION_IN_PROGRESS", e.getMessage()));
+    }
+}
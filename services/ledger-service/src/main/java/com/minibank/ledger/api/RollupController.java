@@ -0,0 +1,77 @@
+package com.minibank.ledger.api;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.minibank.ledger.api.dto.DailyRollupResponse;
+import com.minibank.ledger.api.dto.ErrorResponse;
+import com.minibank.ledger.api.dto.MonthlyRollupResponse;
+import com.minibank.ledger.application.MinorUnits;
+import com.minibank.ledger.rollup.RollupRebuildService;
+import com.minibank.ledger.rollup.RollupRebuildService.RebuildResult;
+import com.minibank.ledger.rollup.RollupRepository;
+
+@RestController
+@RequestMapping("/api/v1/ledger/rollups")
+public class RollupController {
+
+    private final RollupRepository rollupRepository;
+    private final RollupRebuildService rebuildService;
+
+    public RollupController(RollupRepository rollupRepository, RollupRebuildService rebuildService) {
+        this.rollupRepository = rollupRepository;
+        this.rebuildService = rebuildService;
+    }
+
+    // Days in [from, to)
+    @GetMapping("/daily")
+    public List<DailyRollupResponse> getDaily(@RequestParam String currency,
+                                              @RequestParam LocalDate from,
+                                              @RequestParam LocalDate to) {
+        return rollupRepository.findDaily(currency, from, to).stream()
+            .map(rollup -> new DailyRollupResponse(rollup.day(), rollup.currency(), rollup.book(),
+                rollup.eventType(), rollup.entryCount(),
+                MinorUnits.toMajor(rollup.debitMinor(), rollup.currency()),
+                MinorUnits.toMajor(rollup.creditMinor(), rollup.currency())))
+            .toList();
+    }
+
+    // Months from..to, inclusive
+    @GetMapping("/monthly")
+    public List<MonthlyRollupResponse> getMonthly(@RequestParam UUID accountId,
+                                                  @RequestParam YearMonth from,
+                                                  @RequestParam YearMonth to) {
+        return rollupRepository.findMonthly(accountId, from.atDay(1), to.plusMonths(1).atDay(1)).stream()
+            .map(rollup -> new MonthlyRollupResponse(rollup.accountId(), rollup.currency(),
+                YearMonth.from(rollup.month()), rollup.book(), rollup.entryCount(),
+                MinorUnits.toMajor(rollup.debitMinor(), rollup.currency()),
+                MinorUnits.toMajor(rollup.creditMinor(), rollup.currency())))
+            .toList();
+    }
+
+    @PostMapping("/rebuilds")
+    public RebuildResult rebuild(@RequestParam YearMonth from, @RequestParam YearMonth to) {
+        return rebuildService.rebuild(from, to);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleInvalid(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(new ErrorResponse("INVALID_ROLLUP_REQUEST", e.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<ErrorResponse> handleConflict(IllegalStateException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse("ROLLUP_REBUILD_CONFLICT", e.getMessage()));
+    }
+}
@@ -0,0 +1,34 @@
+package com.minibank.ledger.api.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public class BalanceResponse {
+
+    private UUID accountId;
+    private BigDecimal balance;
+    private String currency;
+    private Instant timestamp;
+
+    public BalanceResponse() {}
+
+    public BalanceResponse(UUID accountId, BigDecimal balance, String currency, Instant timestamp) {
+        this.accountId = accountId;
+        this.balance = balance;
+        this.currency = currency;
+        this.timestamp = timestamp;
+    }
+
+    public UUID getAccountId() { return accountId; }
+    public void setAccountId(UUID accountId) { this.accountId = accountId; }
+
+    public BigDecimal getBalance() { return balance; }
+    public void setBalance(BigDecimal balance) { this.balance = balance; }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
+    public Instant getTimestamp() { return timestamp; }
+    public void setTimestamp(Instant timestamp) { this.timestamp = timestamp; }
+}
@@ -0,0 +1,49 @@
+package com.minibank.ledger.api.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class DailyRollupResponse {
+
+    private LocalDate date;
+    private String currency;
+    private String book;
+    private String eventType;
+    private long entryCount;
+    private BigDecimal debitAmount;
+    private BigDecimal creditAmount;
+
+    public DailyRollupResponse() {}
+
+    public DailyRollupResponse(LocalDate date, String currency, String book, String eventType, long entryCount,
+                               BigDecimal debitAmount, BigDecimal creditAmount) {
+        this.date = date;
+        this.currency = currency;
+        this.book = book;
+        this.eventType = eventType;
+        this.entryCount = entryCount;
+        this.debitAmount = debitAmount;
+        this.creditAmount = creditAmount;
+    }
+
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
+    public String getBook() { return book; }
+    public void setBook(String book) { this.book = book; }
+
+    public String getEventType() { return eventType; }
+    public void setEventType(String eventType) { this.eventType = eventType; }
+
+    public long getEntryCount() { return entryCount; }
+    public void setEntryCount(long entryCount) { this.entryCount = entryCount; }
+
+    public BigDecimal getDebitAmount() { return debitAmount; }
+    public void setDebitAmount(BigDecimal debitAmount) { this.debitAmount = debitAmount; }
+
+    public BigDecimal getCreditAmount() { return creditAmount; }
+    public void setCreditAmount(BigDecimal creditAmount) { this.creditAmount = creditAmount; }
+}
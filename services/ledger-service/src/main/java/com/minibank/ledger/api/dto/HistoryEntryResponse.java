@@ -0,0 +1,61 @@
+package com.minibank.ledger.api.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public class HistoryEntryResponse {
+
+    private UUID eventId;
+    private int leg;
+    private UUID accountId;
+    private String book;
+    private String eventType;
+    private BigDecimal debitAmount;
+    private BigDecimal creditAmount;
+    private String currency;
+    private Instant timestamp;
+
+    public HistoryEntryResponse() {}
+
+    public HistoryEntryResponse(UUID eventId, int leg, UUID accountId, String book, String eventType,
+                                BigDecimal debitAmount, BigDecimal creditAmount, String currency,
+                                Instant timestamp) {
+        this.eventId = eventId;
+        this.leg = leg;
+        this.accountId = accountId;
+        this.book = book;
+        this.eventType = eventType;
+        this.debitAmount = debitAmount;
+        this.creditAmount = creditAmount;
+        this.currency = currency;
+        this.timestamp = timestamp;
+    }
+
+    public UUID getEventId() { return eventId; }
+    public void setEventId(UUID eventId) { this.eventId = eventId; }
+
+    public int getLeg() { return leg; }
+    public void setLeg(int leg) { this.leg = leg; }
+
+    public UUID getAccountId() { return accountId; }
+    public void setAccountId(UUID accountId) { this.accountId = accountId; }
+
+    public String getBook() { return book; }
+    public void setBook(String book) { this.book = book; }
+
+    public String getEventType() { return eventType; }
+    public void setEventType(String eventType) { this.eventType = eventType; }
+
+    public BigDecimal getDebitAmount() { return debitAmount; }
+    public void setDebitAmount(BigDecimal debitAmount) { this.debitAmount = debitAmount; }
+
+    public BigDecimal getCreditAmount() { return creditAmount; }
+    public void setCreditAmount(BigDecimal creditAmount) { this.creditAmount = creditAmount; }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
+    public Instant getTimestamp() { return timestamp; }
+    public void setTimestamp(Instant timestamp) { this.timestamp = timestamp; }
+}
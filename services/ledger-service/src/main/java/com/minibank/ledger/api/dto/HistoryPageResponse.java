@@ -0,0 +1,23 @@
+package com.minibank.ledger.api.dto;
+
+import java.util.List;
+
+public class HistoryPageResponse {
+
+    private List<HistoryEntryResponse> entries;
+    // Null on the last page
+    private String nextCursor;
+
+    public HistoryPageResponse() {}
+
+    public HistoryPageResponse(List<HistoryEntryResponse> entries, String nextCursor) {
+        this.entries = entries;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<HistoryEntryResponse> getEntries() { return entries; }
+    public void setEntries(List<HistoryEntryResponse> entries) { this.entries = entries; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
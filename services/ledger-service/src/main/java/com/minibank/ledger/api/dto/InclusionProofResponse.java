@@ -0,0 +1,69 @@
+package com.minibank.ledger.api.dto;
+
+import java.util.List;
+
+/**
+ * Hashes are lower-case hex. To check: hash the record as a leaf, fold {@code recordPath}
+ * up to {@code segmentRoot}, hash the seal as a leaf and fold {@code sealPath} up to
+ * {@code root}.
+ */
+public class InclusionProofResponse {
+
+    private long sequence;
+    private String record;
+    private List<String> recordPath;
+    private int segmentIndex;
+    private int segmentRecords;
+    private String chainHead;
+    private String segmentRoot;
+    private List<String> sealPath;
+    private int sealedSegments;
+    private String root;
+
+    public InclusionProofResponse() {}
+
+    public InclusionProofResponse(long sequence, String record, List<String> recordPath, int segmentIndex,
+                                  int segmentRecords, String chainHead, String segmentRoot,
+                                  List<String> sealPath, int sealedSegments, String root) {
+        this.sequence = sequence;
+        this.record = record;
+        this.recordPath = recordPath;
+        this.segmentIndex = segmentIndex;
+        this.segmentRecords = segmentRecords;
+        this.chainHead = chainHead;
+        this.segmentRoot = segmentRoot;
+        this.sealPath = sealPath;
+        this.sealedSegments = sealedSegments;
+        this.root = root;
+    }
+
+    public long getSequence() { return sequence; }
+    public void setSequence(long sequence) { this.sequence = sequence; }
+
+    public String getRecord() { return record; }
+    public void setRecord(String record) { this.record = record; }
+
+    public List<String> getRecordPath() { return recordPath; }
+    public void setRecordPath(List<String> recordPath) { this.recordPath = recordPath; }
+
+    public int getSegmentIndex() { return segmentIndex; }
+    public void setSegmentIndex(int segmentIndex) { this.segmentIndex = segmentIndex; }
+
+    public int getSegmentRecords() { return segmentRecords; }
+    public void setSegmentRecords(int segmentRecords) { this.segmentRecords = segmentRecords; }
+
+    public String getChainHead() { return chainHead; }
+    public void setChainHead(String chainHead) { this.chainHead = chainHead; }
+
+    public String getSegmentRoot() { return segmentRoot; }
+    public void setSegmentRoot(String segmentRoot) { this.segmentRoot = segmentRoot; }
+
+    public List<String> getSealPath() { return sealPath; }
+    public void setSealPath(List<String> sealPath) { this.sealPath = sealPath; }
+
+    public int getSealedSegments() { return sealedSegments; }
+    public void setSealedSegments(int sealedSegments) { this.sealedSegments = sealedSegments; }
+
+    public String getRoot() { return root; }
+    public void setRoot(String root) { this.root = root; }
+}
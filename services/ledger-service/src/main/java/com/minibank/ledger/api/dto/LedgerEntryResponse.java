@@ -0,0 +1,58 @@
+package com.minibank.ledger.api.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public class LedgerEntryResponse {
+
+    // Journal sequence
+    private long id;
+    private UUID accountId;
+    // Posting id; for payment postings this is the payment id
+    private UUID paymentId;
+    private BigDecimal debitAmount;
+    private BigDecimal creditAmount;
+    private String currency;
+    private Instant timestamp;
+    private BigDecimal balanceAfter;
+
+    public LedgerEntryResponse() {}
+
+    public LedgerEntryResponse(long id, UUID accountId, UUID paymentId, BigDecimal debitAmount,
+                               BigDecimal creditAmount, String currency, Instant timestamp,
+                               BigDecimal balanceAfter) {
+        this.id = id;
+        this.accountId = accountId;
+        this.paymentId = paymentId;
+        this.debitAmount = debitAmount;
+        this.creditAmount = creditAmount;
+        this.currency = currency;
+        this.timestamp = timestamp;
+        this.balanceAfter = balanceAfter;
+    }
+
+    public long getId() { return id; }
+    public void setId(long id) { this.id = id; }
+
+    public UUID getAccountId() { return accountId; }
+    public void setAccountId(UUID accountId) { this.accountId = accountId; }
+
+    public UUID getPaymentId() { return paymentId; }
+    public void setPaymentId(UUID paymentId) { this.paymentId = paymentId; }
+
+    public BigDecimal getDebitAmount() { return debitAmount; }
+    public void setDebitAmount(BigDecimal debitAmount) { this.debitAmount = debitAmount; }
+
+    public BigDecimal getCreditAmount() { return creditAmount; }
+    public void setCreditAmount(BigDecimal creditAmount) { this.creditAmount = creditAmount; }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
+    public Instant getTimestamp() { return timestamp; }
+    public void setTimestamp(Instant timestamp) { this.timestamp = timestamp; }
+
+    public BigDecimal getBalanceAfter() { return balanceAfter; }
+    public void setBalanceAfter(BigDecimal balanceAfter) { this.balanceAfter = balanceAfter; }
+}
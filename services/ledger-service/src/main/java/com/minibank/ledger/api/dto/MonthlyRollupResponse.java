@@ -0,0 +1,50 @@
+package com.minibank.ledger.api.dto;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.UUID;
+
+public class MonthlyRollupResponse {
+
+    private UUID accountId;
+    private String currency;
+    private YearMonth month;
+    private String book;
+    private long entryCount;
+    private BigDecimal debitAmount;
+    private BigDecimal creditAmount;
+
+    public MonthlyRollupResponse() {}
+
+    public MonthlyRollupResponse(UUID accountId, String currency, YearMonth month, String book, long entryCount,
+                                 BigDecimal debitAmount, BigDecimal creditAmount) {
+        this.accountId = accountId;
+        this.currency = currency;
+        this.month = month;
+        this.book = book;
+        this.entryCount = entryCount;
+        this.debitAmount = debitAmount;
+        this.creditAmount = creditAmount;
+    }
+
+    public UUID getAccountId() { return accountId; }
+    public void setAccountId(UUID accountId) { this.accountId = accountId; }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
+    public YearMonth getMonth() { return month; }
+    public void setMonth(YearMonth month) { this.month = month; }
+
+    public String getBook() { return book; }
+    public void setBook(String book) { this.book = book; }
+
+    public long getEntryCount() { return entryCount; }
+    public void setEntryCount(long entryCount) { this.entryCount = entryCount; }
+
+    public BigDecimal getDebitAmount() { return debitAmount; }
+    public void setDebitAmount(BigDecimal debitAmount) { this.debitAmount = debitAmount; }
+
+    public BigDecimal getCreditAmount() { return creditAmount; }
+    public void setCreditAmount(BigDecimal creditAmount) { this.creditAmount = creditAmount; }
+}
@@ -0,0 +1,65 @@
+package com.minibank.ledger.api.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+public class PostingRequest {
+
+    // Optional; payment postings reuse the payment id so they can be traced back
+    private UUID postingId;
+
+    @NotNull
+    @Pattern(regexp = "[A-Z]{3}")
+    private String currencyCode;
+
+    @NotNull
+    @Size(min = 2)
+    @Valid
+    private List<Leg> legs;
+
+    public PostingRequest() {}
+
+    public UUID getPostingId() { return postingId; }
+    public void setPostingId(UUID postingId) { this.postingId = postingId; }
+
+    public String getCurrencyCode() { return currencyCode; }
+    public void setCurrencyCode(String currencyCode) { this.currencyCode = currencyCode; }
+
+    public List<Leg> getLegs() { return legs; }
+    public void setLegs(List<Leg> legs) { this.legs = legs; }
+
+    public enum Direction {
+        DEBIT,
+        CREDIT
+    }
+
+    public static class Leg {
+        @NotNull
+        private UUID accountId;
+
+        @NotNull
+        private Direction direction;
+
+        @NotNull
+        @Positive
+        private BigDecimal amount;
+
+        public Leg() {}
+
+        public UUID getAccountId() { return accountId; }
+        public void setAccountId(UUID accountId) { this.accountId = accountId; }
+
+        public Direction getDirection() { return direction; }
+        public void setDirection(Direction direction) { this.direction = direction; }
+
+        public BigDecimal getAmount() { return amount; }
+        public void setAmount(BigDecimal amount) { this.amount = amount; }
+    }
+}
@@ -0,0 +1,33 @@
+package com.minibank.ledger.api.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public class PostingResponse {
+
+    private UUID postingId;
+    private long firstSequence;
+    private long lastSequence;
+    private Instant committedAt;
+
+    public PostingResponse() {}
+
+    public PostingResponse(UUID postingId, long firstSequence, long lastSequence, Instant committedAt) {
+        this.postingId = postingId;
+        this.firstSequence = firstSequence;
+        this.lastSequence = lastSequence;
+        this.committedAt = committedAt;
+    }
+
+    public UUID getPostingId() { return postingId; }
+    public void setPostingId(UUID postingId) { this.postingId = postingId; }
+
+    public long getFirstSequence() { return firstSequence; }
+    public void setFirstSequence(long firstSequence) { this.firstSequence = firstSequence; }
+
+    public long getLastSequence() { return lastSequence; }
+    public void setLastSequence(long lastSequence) { this.lastSequence = lastSequence; }
+
+    public Instant getCommittedAt() { return committedAt; }
+    public void setCommittedAt(Instant committedAt) { this.committedAt = committedAt; }
+}
@@ -0,0 +1,50 @@
+package com.minibank.ledger.application;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.UUID;
+
+import com.minibank.ledger.infrastructure.ingest.LedgerEntryRow;
+import com.minibank.ledger.infrastructure.persistence.LedgerHistoryRepository.HistoryKey;
+
+/**
+ * Opaque page cursor: the key of the last entry returned, packed into 26 bytes and
+ * base64url-encoded. Clients must treat it as a token, which leaves the key free to change.
+ */
+final class HistoryCursor {
+
+    private static final int LENGTH = Long.BYTES + 2 * Long.BYTES + Short.BYTES;
+
+    private HistoryCursor() {
+    }
+
+    static String encode(LedgerEntryRow row) {
+        ByteBuffer buffer = ByteBuffer.allocate(LENGTH);
+        buffer.putLong(ChronoUnit.MICROS.between(Instant.EPOCH, Instant.ofEpochMilli(row.getOccurredAtMillis())));
+        buffer.putLong(row.getEventId().getMostSignificantBits());
+        buffer.putLong(row.getEventId().getLeastSignificantBits());
+        buffer.putShort(row.getLeg());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor was not produced by {@link #encode}
+     */
+    static HistoryKey decode(String cursor) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid history cursor");
+        }
+        if (bytes.length != LENGTH) {
+            throw new IllegalArgumentException("Invalid history cursor");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        Instant occurredAt = Instant.EPOCH.plus(buffer.getLong(), ChronoUnit.MICROS);
+        UUID eventId = new UUID(buffer.getLong(), buffer.getLong());
+        return new HistoryKey(occurredAt, eventId, buffer.getShort());
+    }
+}
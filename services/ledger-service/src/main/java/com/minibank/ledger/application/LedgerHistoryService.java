@@ -0,0 +1,230 @@
+package com.minibank.ledger.application;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minibank.ledger.api.dto.HistoryEntryResponse;
+import com.minibank.ledger.api.dto.HistoryPageResponse;
+import com.minibank.ledger.cold.ColdStore;
+import com.minibank.ledger.infrastructure.ingest.LedgerEntryRow;
+import com.minibank.ledger.infrastructure.persistence.LedgerHistoryRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Service
+public class LedgerHistoryService {
+
+    public enum StreamFormat {
+        NDJSON,
+        CSV
+    }
+
+    private static final String CSV_HEADER =
+        "event_id,leg,account_id,book,event_type,debit_amount,credit_amount,currency,timestamp\n";
+
+    // Rows between explicit flushes, so slow clients see progress without a flush per row
+    private static final int FLUSH_EVERY = 500;
+
+    private final LedgerHistoryRepository historyRepository;
+    private final ColdStore coldStore;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    // A stream holds a pooled connection for as long as its client reads, so streams are capped below the pool
+    private final Semaphore streamSlots;
+
+    // Metrics
+    private final Counter pagesServed;
+    private final Counter rowsStreamed;
+    private final Counter streamsRejected;
+
+    public LedgerHistoryService(LedgerHistoryRepository historyRepository, ColdStore coldStore,
+                                TransactionTemplate transactionTemplate, ObjectMapper objectMapper,
+                                @Value("${ledger.history.max-concurrent-streams:4}") int maxConcurrentStreams,
+                                MeterRegistry meterRegistry) {
+        this.historyRepository = historyRepository;
+        this.coldStore = coldStore;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.streamSlots = new Semaphore(maxConcurrentStreams);
+
+        this.pagesServed = Counter.builder("ledger.history.pages.total")
+            .description("Keyset history pages served")
+            .register(meterRegistry);
+        this.rowsStreamed = Counter.builder("ledger.history.streamed.rows.total")
+            .description("History rows written by streaming exports")
+            .register(meterRegistry);
+        this.streamsRejected = Counter.builder("ledger.history.streams.rejected.total")
+            .description("Streaming exports refused because every slot was taken")
+            .register(meterRegistry);
+        Gauge.builder("ledger.history.streams.active", streamSlots,
+                slots -> maxConcurrentStreams - slots.availablePermits())
+            .description("Streaming exports currently holding a database connection")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Takes one of the streaming export slots; the caller must hand it back with
+     * {@link #finishStream()} once the export has ended, however it ended.
+     *
+     * @return false if every slot is taken
+     */
+    public boolean tryStartStream() {
+        if (streamSlots.tryAcquire()) {
+            return true;
+        }
+        streamsRejected.increment();
+        return false;
+    }
+
+    public void finishStream() {
+        streamSlots.release();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public HistoryPageResponse getPage(UUID accountId, String currency, String book, String cursor, int limit) {
+        LedgerHistoryRepository.HistoryKey after = cursor != null ? HistoryCursor.decode(cursor) : null;
+        // One extra row tells whether another page exists without a count query
+        List<LedgerEntryRow> hot = historyRepository.findPage(accountId, currency, book, after, limit + 1);
+        Instant floor = hot.size() > limit
+            ? Instant.ofEpochMilli(hot.get(hot.size() - 1).getOccurredAtMillis())
+            : Instant.EPOCH;
+        List<LedgerEntryRow> cold = coldStore.pageDescending(accountId, currency, book, after, floor, limit + 1);
+        List<LedgerEntryRow> rows = mergeNewestFirst(hot, cold, limit + 1);
+
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) {
+            rows = rows.subList(0, limit);
+        }
+
+        List<HistoryEntryResponse> entries = new ArrayList<>(rows.size());
+        rows.forEach(row -> entries.add(toResponse(row)));
+        pagesServed.increment();
+        return new HistoryPageResponse(entries, hasMore ? HistoryCursor.encode(rows.get(rows.size() - 1)) : null);
+    }
+
+    private static List<LedgerEntryRow> mergeNewestFirst(List<LedgerEntryRow> hot, List<LedgerEntryRow> cold,
+                                                         int limit) {
+        if (cold.isEmpty()) {
+            return hot;
+        }
+        List<LedgerEntryRow> merged = new ArrayList<>(limit);
+        int h = 0;
+        int c = 0;
+        while (merged.size() < limit && (h < hot.size() || c < cold.size())) {
+            boolean takeHot = c == cold.size()
+                || h < hot.size() && LedgerEntryRow.HISTORY_ORDER.compare(hot.get(h), cold.get(c)) > 0;
+            merged.add(takeHot ? hot.get(h++) : cold.get(c++));
+        }
+        return merged;
+    }
+
+    /**
+     * Writes the account's entries in {@code [from, to)}, oldest first, as they come off the cursor.
+     *
+     * Rows are only fetched as fast as the client reads: a full socket buffer blocks the
+     * write, which stops the next cursor fetch, so memory stays at one fetch batch. The
+     * caller must hold a slot from {@link #tryStartStream()}.
+     */
+    public void stream(UUID accountId, String currency, String book, Instant from, Instant to,
+                       StreamFormat format, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == StreamFormat.CSV) {
+            writer.write(CSV_HEADER);
+        }
+        long[] written = {0};
+        Consumer<LedgerEntryRow> emit = row -> {
+            try {
+                if (format == StreamFormat.CSV) {
+                    writeCsv(writer, row);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(toResponse(row)));
+                    writer.write('\n');
+                }
+                if (++written[0] % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            } catch (IOException e) {
+                // Client went away; abandon the cursor
+                throw new UncheckedIOException(e);
+            }
+        };
+        try {
+            // Cold rows are interleaved ahead of each hot row they precede
+            ColdStore.PeekingIterator cold = coldStore.scanAscending(accountId, currency, book, from, to);
+            readOnlyTransaction.executeWithoutResult(status ->
+                historyRepository.streamRange(accountId, currency, book, from, to, row -> {
+                    while (cold.hasNext() && LedgerEntryRow.HISTORY_ORDER.compare(cold.peek(), row) < 0) {
+                        emit.accept(cold.next());
+                    }
+                    emit.accept(row);
+                }));
+            cold.forEachRemaining(emit);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            rowsStreamed.increment(written[0]);
+        }
+        writer.flush();
+    }
+
+    private static void writeCsv(Writer writer, LedgerEntryRow row) throws IOException {
+        long amount = row.getAmountMinor();
+        BigDecimal magnitude = MinorUnits.toMajor(Math.abs(amount), row.getCurrency());
+        // Every field is a UUID, code, number or ISO timestamp, so none needs quoting
+        writer.write(row.getEventId().toString());
+        writer.write(',');
+        writer.write(Short.toString(row.getLeg()));
+        writer.write(',');
+        writer.write(row.getAccountId().toString());
+        writer.write(',');
+        writer.write(row.getBook());
+        writer.write(',');
+        writer.write(row.getEventType());
+        writer.write(',');
+        writer.write(amount < 0 ? magnitude.toPlainString() : "");
+        writer.write(',');
+        writer.write(amount < 0 ? "" : magnitude.toPlainString());
+        writer.write(',');
+        writer.write(row.getCurrency());
+        writer.write(',');
+        writer.write(Instant.ofEpochMilli(row.getOccurredAtMillis()).toString());
+        writer.write('\n');
+    }
+
+    private static HistoryEntryResponse toResponse(LedgerEntryRow row) {
+        long amount = row.getAmountMinor();
+        BigDecimal magnitude = MinorUnits.toMajor(Math.abs(amount), row.getCurrency());
+        return new HistoryEntryResponse(
+            row.getEventId(),
+            row.getLeg(),
+            row.getAccountId(),
+            row.getBook(),
+            row.getEventType(),
+            amount < 0 ? magnitude : null,
+            amount < 0 ? null : magnitude,
+            row.getCurrency(),
+            Instant.ofEpochMilli(row.getOccurredAtMillis()));
+    }
+}
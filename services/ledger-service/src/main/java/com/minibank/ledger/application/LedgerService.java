@@ -0,0 +1,130 @@
+package com.minibank.ledger.application;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.stereotype.Service;
+
+import com.minibank.ledger.api.dto.BalanceResponse;
+import com.minibank.ledger.api.dto.LedgerEntryResponse;
+import com.minibank.ledger.api.dto.PostingRequest;
+import com.minibank.ledger.config.LedgerJournalProperties;
+import com.minibank.ledger.journal.AccountIndex;
+import com.minibank.ledger.journal.GroupCommitWriter;
+import com.minibank.ledger.journal.Journal;
+import com.minibank.ledger.journal.JournalEntry;
+import com.minibank.ledger.journal.Posting;
+import com.minibank.ledger.journal.PostingIndex;
+import com.minibank.ledger.journal.PostingReceipt;
+
+@Service
+public class LedgerService {
+
+    private final GroupCommitWriter writer;
+    private final Journal journal;
+    private final AccountIndex accountIndex;
+    private final PostingIndex postingIndex;
+    private final BalanceSnapshotService snapshotService;
+    private final LedgerJournalProperties properties;
+
+    public LedgerService(GroupCommitWriter writer, Journal journal, AccountIndex accountIndex,
+                         PostingIndex postingIndex, BalanceSnapshotService snapshotService,
+                         LedgerJournalProperties properties) {
+        this.writer = writer;
+        this.journal = journal;
+        this.accountIndex = accountIndex;
+        this.postingIndex = postingIndex;
+        this.snapshotService = snapshotService;
+        this.properties = properties;
+    }
+
+    /**
+     * Appends a balanced posting and waits until its group commit is durable. A posting
+     * whose ID was already committed is not written again; the original receipt is
+     * returned, so clients can safely retry after a timeout.
+     *
+     * @throws IllegalArgumentException if the posting is not balanced
+     * @throws IllegalStateException if the journal cannot accept or confirm the posting in time
+     */
+    public PostingReceipt post(PostingRequest request) {
+        String currency = request.getCurrencyCode();
+        List<Posting.Leg> legs = new ArrayList<>(request.getLegs().size());
+        for (PostingRequest.Leg leg : request.getLegs()) {
+            long amountMinor = MinorUnits.toMinor(leg.getAmount(), currency);
+            legs.add(leg.getDirection() == PostingRequest.Direction.DEBIT
+                ? Posting.Leg.debit(leg.getAccountId(), amountMinor)
+                : Posting.Leg.credit(leg.getAccountId(), amountMinor));
+        }
+        UUID postingId = request.getPostingId() != null ? request.getPostingId() : UUID.randomUUID();
+        PostingReceipt committed = postingIndex.find(postingId);
+        if (committed != null) {
+            return committed;
+        }
+        Posting posting = new Posting(postingId, currency, System.currentTimeMillis(), legs);
+
+        try {
+            return writer.submit(posting).get(properties.getCommitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Posting " + postingId + " was not confirmed in time");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Posting " + postingId + " failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while posting " + postingId);
+        }
+    }
+
+    public BalanceResponse getBalance(UUID accountId, String currencyCode) {
+        long balance = accountIndex.balanceOf(accountId, currencyCode);
+        return new BalanceResponse(accountId, MinorUnits.toMajor(balance, currencyCode), currencyCode, Instant.now());
+    }
+
+    public BalanceResponse getBalanceAsOf(UUID accountId, String currencyCode, Instant asOf) {
+        long balance = snapshotService.balanceAsOf(accountId, currencyCode, asOf);
+        return new BalanceResponse(accountId, MinorUnits.toMajor(balance, currencyCode), currencyCode, asOf);
+    }
+
+    public List<BalanceResponse> getBalances(UUID accountId) {
+        Instant now = Instant.now();
+        List<BalanceResponse> balances = new ArrayList<>();
+        accountIndex.balancesOf(accountId).forEach((currency, balance) ->
+            balances.add(new BalanceResponse(accountId, MinorUnits.toMajor(balance, currency), currency, now)));
+        return balances;
+    }
+
+    /**
+     * @return the account's latest entries, newest first, each with the balance after it
+     */
+    public List<LedgerEntryResponse> getEntries(UUID accountId, int limit) {
+        AccountIndex.Recent recent = accountIndex.recent(accountId, limit);
+        // Walk current balances backwards to get the balance after each entry
+        Map<String, Long> running = new HashMap<>(recent.balances());
+        List<LedgerEntryResponse> entries = new ArrayList<>(recent.sequences().length);
+        for (long sequence : recent.sequences()) {
+            JournalEntry entry = journal.read(sequence);
+            String currency = entry.getCurrency();
+            long balanceAfter = running.getOrDefault(currency, 0L);
+            running.put(currency, balanceAfter - entry.getAmountMinor());
+
+            BigDecimal amount = MinorUnits.toMajor(Math.abs(entry.getAmountMinor()), currency);
+            entries.add(new LedgerEntryResponse(
+                entry.getSequence(),
+                accountId,
+                entry.getPostingId(),
+                entry.isDebit() ? amount : null,
+                entry.isDebit() ? null : amount,
+                currency,
+                Instant.ofEpochMilli(entry.getTimestampMillis()),
+                MinorUnits.toMajor(balanceAfter, currency)));
+        }
+        return entries;
+    }
+}
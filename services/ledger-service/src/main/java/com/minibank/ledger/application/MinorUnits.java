@@ -0,0 +1,31 @@
+package com.minibank.ledger.application;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+/**
+ * Converts between API amounts and the journal's signed minor units, using each
+ * currency's ISO 4217 fraction digits.
+ */
+public final class MinorUnits {
+
+    private MinorUnits() {
+    }
+
+    public static long toMinor(BigDecimal amount, String currencyCode) {
+        try {
+            return amount.movePointRight(fractionDigits(currencyCode)).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount " + amount + " is not representable in " + currencyCode);
+        }
+    }
+
+    public static BigDecimal toMajor(long amountMinor, String currencyCode) {
+        return BigDecimal.valueOf(amountMinor, fractionDigits(currencyCode));
+    }
+
+    private static int fractionDigits(String currencyCode) {
+        int digits = Currency.getInstance(currencyCode).getDefaultFractionDigits();
+        return Math.max(digits, 0);
+    }
+}
@@ -0,0 +1,237 @@
+package com.minibank.ledger.cold;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import com.minibank.ledger.infrastructure.ingest.LedgerEntryRow;
+
+/**
+ * Reads a segment written by {@link ColdSegmentWriter}.
+ *
+ * Opening reads only the header and dictionaries. A scan first checks the account's
+ * entry in the dictionary (row range and min/max occurred_at) and touches the column
+ * blocks only when the account can have matching rows.
+ */
+public final class ColdSegmentReader {
+
+    // magic, version, row count, min/max occurred_at, min/max amount
+    private static final int HEADER_BYTES = Integer.BYTES + Short.BYTES + Integer.BYTES + 4 * Long.BYTES;
+    // id, first row, row count, min/max occurred_at
+    private static final int ACCOUNT_ENTRY_BYTES = 2 * Long.BYTES + 2 * Integer.BYTES + 2 * Long.BYTES;
+
+    private final Path file;
+    private final int rowCount;
+    private final long minTs;
+    private final long maxTs;
+    private final long[] accountMsb;
+    private final long[] accountLsb;
+    private final int[] accountFirstRow;
+    private final int[] accountRowCount;
+    private final long[] accountMinTs;
+    private final long[] accountMaxTs;
+    private final String[] currencies;
+    private final String[] books;
+    private final String[] eventTypes;
+    private final long columnsOffset;
+
+    private ColdSegmentReader(Path file) throws IOException {
+        this.file = file;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != ColdSegmentWriter.MAGIC) {
+                throw new IOException("Not a cold segment: " + file);
+            }
+            short version = in.readShort();
+            if (version != ColdSegmentWriter.VERSION) {
+                throw new IOException("Unsupported cold segment version " + version + ": " + file);
+            }
+            rowCount = in.readInt();
+            minTs = in.readLong();
+            maxTs = in.readLong();
+            in.readLong(); // min amount
+            in.readLong(); // max amount
+
+            int accounts = in.readInt();
+            accountMsb = new long[accounts];
+            accountLsb = new long[accounts];
+            accountFirstRow = new int[accounts];
+            accountRowCount = new int[accounts];
+            accountMinTs = new long[accounts];
+            accountMaxTs = new long[accounts];
+            for (int i = 0; i < accounts; i++) {
+                accountMsb[i] = in.readLong();
+                accountLsb[i] = in.readLong();
+                accountFirstRow[i] = in.readInt();
+                accountRowCount[i] = in.readInt();
+                accountMinTs[i] = in.readLong();
+                accountMaxTs[i] = in.readLong();
+            }
+            long offset = HEADER_BYTES + Integer.BYTES + (long) accounts * ACCOUNT_ENTRY_BYTES;
+            currencies = readDictionary(in);
+            books = readDictionary(in);
+            eventTypes = readDictionary(in);
+            columnsOffset = offset + dictionaryBytes(currencies) + dictionaryBytes(books) + dictionaryBytes(eventTypes);
+        }
+    }
+
+    public static ColdSegmentReader open(Path file) throws IOException {
+        return new ColdSegmentReader(file);
+    }
+
+    public boolean mayContain(UUID accountId, long fromMillis, long toMillis) {
+        int index = findAccount(accountId);
+        return index >= 0 && accountMinTs[index] < toMillis && accountMaxTs[index] >= fromMillis;
+    }
+
+    /**
+     * @return the account's rows for one currency and book with occurred_at in
+     *         {@code [fromMillis, toMillis)}, in history order
+     */
+    public List<LedgerEntryRow> scan(UUID accountId, String currency, String book,
+                                     long fromMillis, long toMillis) throws IOException {
+        int index = findAccount(accountId);
+        if (index < 0 || accountMinTs[index] >= toMillis || accountMaxTs[index] < fromMillis) {
+            return List.of();
+        }
+        int currencyCode = indexOf(currencies, currency);
+        int bookCode = indexOf(books, book);
+        if (currencyCode < 0 || bookCode < 0) {
+            return List.of();
+        }
+        int first = accountFirstRow[index];
+        int end = first + accountRowCount[index];
+
+        byte[] currencyColumn;
+        byte[] bookColumn;
+        byte[] eventTypeColumn;
+        byte[] timestamps;
+        byte[] amounts;
+        byte[] eventIds;
+        byte[] legs;
+        byte[] sequences;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 256 * 1024))) {
+            in.skipNBytes(columnsOffset);
+            currencyColumn = ColumnCodec.readBlock(in);
+            bookColumn = ColumnCodec.readBlock(in);
+            eventTypeColumn = ColumnCodec.readBlock(in);
+            timestamps = ColumnCodec.readBlock(in);
+            amounts = ColumnCodec.readBlock(in);
+            eventIds = ColumnCodec.readBlock(in);
+            legs = ColumnCodec.readBlock(in);
+            sequences = ColumnCodec.readBlock(in);
+        }
+
+        // Delta columns have to be summed from the first row
+        ColumnCodec.VarLongReader tsReader = new ColumnCodec.VarLongReader(timestamps);
+        ColumnCodec.VarLongReader amountReader = new ColumnCodec.VarLongReader(amounts);
+        ColumnCodec.VarLongReader sequenceReader = new ColumnCodec.VarLongReader(sequences);
+        long ts = 0;
+        long amount = 0;
+        long journalSequence = 0;
+        List<LedgerEntryRow> rows = new ArrayList<>();
+        for (int row = 0; row < end; row++) {
+            ts += tsReader.next();
+            amount += amountReader.next();
+            journalSequence += sequenceReader.next();
+            if (row < first || currencyColumn[row] != currencyCode || bookColumn[row] != bookCode
+                    || ts < fromMillis || ts >= toMillis) {
+                continue;
+            }
+            UUID eventId = new UUID(getLong(eventIds, row * 16), getLong(eventIds, row * 16 + 8));
+            rows.add(new LedgerEntryRow(eventId, legs[row], new UUID(accountMsb[index], accountLsb[index]),
+                book, eventTypes[eventTypeColumn[row]], currency, amount, ts, journalSequence));
+        }
+        return rows;
+    }
+
+    /**
+     * @return the highest journal sequence in the segment; reads only the columns before
+     *         and including the sequence column
+     */
+    public long maxJournalSequence() throws IOException {
+        byte[] sequences;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 256 * 1024))) {
+            in.skipNBytes(columnsOffset);
+            for (int column = 0; column < 7; column++) {
+                ColumnCodec.readBlock(in);
+            }
+            sequences = ColumnCodec.readBlock(in);
+        }
+        ColumnCodec.VarLongReader sequenceReader = new ColumnCodec.VarLongReader(sequences);
+        long journalSequence = 0;
+        long max = Long.MIN_VALUE;
+        for (int row = 0; row < rowCount; row++) {
+            journalSequence += sequenceReader.next();
+            max = Math.max(max, journalSequence);
+        }
+        return max;
+    }
+
+    private int findAccount(UUID accountId) {
+        long msb = accountId.getMostSignificantBits();
+        long lsb = accountId.getLeastSignificantBits();
+        int low = 0;
+        int high = accountMsb.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = Long.compareUnsigned(accountMsb[mid], msb);
+            if (cmp == 0) {
+                cmp = Long.compareUnsigned(accountLsb[mid], lsb);
+            }
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOf(String[] dictionary, String value) {
+        for (int i = 0; i < dictionary.length; i++) {
+            if (dictionary[i].equals(value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String[] readDictionary(DataInputStream in) throws IOException {
+        String[] values = new String[in.readUnsignedShort()];
+        for (int i = 0; i < values.length; i++) {
+            byte[] bytes = new byte[in.readUnsignedShort()];
+            in.readFully(bytes);
+            values[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return values;
+    }
+
+    private static long dictionaryBytes(String[] dictionary) {
+        long bytes = Short.BYTES;
+        for (String value : dictionary) {
+            bytes += Short.BYTES + value.getBytes(StandardCharsets.UTF_8).length;
+        }
+        return bytes;
+    }
+
+    private static long getLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xFF);
+        }
+        return value;
+    }
+
+    public int getRowCount() { return rowCount; }
+    public long getMinOccurredAtMillis() { return minTs; }
+    public long getMaxOccurredAtMillis() { return maxTs; }
+    public int getAccountCount() { return accountMsb.length; }
+}
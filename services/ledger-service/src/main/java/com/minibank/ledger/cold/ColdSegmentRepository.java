@@ -0,0 +1,92 @@
+package com.minibank.ledger.cold;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.minibank.ledger.cold.ColdSegmentWriter.SegmentStats;
+
+@Repository
+public class ColdSegmentRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ColdSegmentRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Segments whose occurred_at range overlaps {@code [from, to)}, oldest first.
+     */
+    public List<ColdSegment> findOverlapping(Instant from, Instant to) {
+        return jdbcTemplate.query("""
+                SELECT id, period_start, seq, file_name, row_count, min_occurred_at, max_occurred_at
+                FROM cold_segments
+                WHERE min_occurred_at < ? AND max_occurred_at >= ?
+                ORDER BY min_occurred_at, id
+                """,
+            (rs, rowNum) -> new ColdSegment(
+                rs.getLong("id"),
+                rs.getDate("period_start").toLocalDate(),
+                rs.getInt("seq"),
+                rs.getString("file_name"),
+                rs.getInt("row_count"),
+                rs.getTimestamp("min_occurred_at").getTime(),
+                rs.getTimestamp("max_occurred_at").getTime()),
+            Timestamp.from(to), Timestamp.from(from));
+    }
+
+    public int nextSeq(LocalDate periodStart) {
+        Integer seq = jdbcTemplate.queryForObject(
+            "SELECT COALESCE(MAX(seq), -1) + 1 FROM cold_segments WHERE period_start = ?",
+            Integer.class, Date.valueOf(periodStart));
+        return seq != null ? seq : 0;
+    }
+
+    public void insert(LocalDate periodStart, int seq, String fileName, SegmentStats stats) {
+        jdbcTemplate.update("""
+            INSERT INTO cold_segments (period_start, seq, file_name, row_count, account_count,
+                                       min_occurred_at, max_occurred_at, min_amount_minor, max_amount_minor,
+                                       max_journal_sequence, size_bytes)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """,
+            Date.valueOf(periodStart), seq, fileName, stats.rowCount(), stats.accountCount(),
+            new Timestamp(stats.minOccurredAtMillis()), new Timestamp(stats.maxOccurredAtMillis()),
+            stats.minAmountMinor(), stats.maxAmountMinor(), stats.maxJournalSequence(), stats.sizeBytes());
+    }
+
+    public Instant oldestHotEntry() {
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT MIN(occurred_at) FROM ledger_entries", Timestamp.class);
+        return oldest != null ? oldest.toInstant() : null;
+    }
+
+    /**
+     * Adds the period's hot entries to the cold per-book totals.
+     */
+    public void carryBalances(Instant from, Instant to) {
+        jdbcTemplate.update("""
+            INSERT INTO ledger_cold_balances (account_id, currency_code, book, amount_minor, entry_count)
+            SELECT account_id, currency_code, book, SUM(amount_minor), COUNT(*)
+            FROM ledger_entries
+            WHERE occurred_at >= ? AND occurred_at < ?
+            GROUP BY account_id, currency_code, book
+            ON CONFLICT (account_id, currency_code, book) DO UPDATE SET
+                amount_minor = ledger_cold_balances.amount_minor + EXCLUDED.amount_minor,
+                entry_count = ledger_cold_balances.entry_count + EXCLUDED.entry_count
+            """, Timestamp.from(from), Timestamp.from(to));
+    }
+
+    public int deleteHot(Instant from, Instant to) {
+        return jdbcTemplate.update("DELETE FROM ledger_entries WHERE occurred_at >= ? AND occurred_at < ?",
+            Timestamp.from(from), Timestamp.from(to));
+    }
+
+    public record ColdSegment(long id, LocalDate periodStart, int seq, String fileName, int rowCount,
+                              long minOccurredAtMillis, long maxOccurredAtMillis) {
+    }
+}
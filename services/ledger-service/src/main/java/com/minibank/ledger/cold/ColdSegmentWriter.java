@@ -0,0 +1,190 @@
+package com.minibank.ledger.cold;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.minibank.ledger.infrastructure.ingest.LedgerEntryRow;
+
+/**
+ * Writes one columnar cold segment.
+ *
+ * Layout: a header with row count and min/max of occurred_at and amount; an account
+ * dictionary sorted by id with each account's row range and min/max occurred_at; small
+ * string dictionaries; then one deflated block per column. Rows are ordered by
+ * (account, currency, book, occurred_at, event, leg), so timestamps, amounts and
+ * journal sequences are stored as deltas from the previous row and the account
+ * column is implied by the dictionary's row ranges.
+ */
+public final class ColdSegmentWriter {
+
+    static final int MAGIC = 0x4C435331; // "LCS1"
+    static final short VERSION = 1;
+
+    private ColdSegmentWriter() {
+    }
+
+    /**
+     * @param rows rows sorted by account (unsigned), currency, book and history order
+     */
+    public static SegmentStats write(Path file, List<LedgerEntryRow> rows) throws IOException {
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("A cold segment needs at least one row");
+        }
+        int rowCount = rows.size();
+        Map<String, Integer> currencies = new LinkedHashMap<>();
+        Map<String, Integer> books = new LinkedHashMap<>();
+        Map<String, Integer> eventTypes = new LinkedHashMap<>();
+        List<AccountRange> accounts = new ArrayList<>();
+
+        byte[] currencyColumn = new byte[rowCount];
+        byte[] bookColumn = new byte[rowCount];
+        byte[] eventTypeColumn = new byte[rowCount];
+        byte[] legColumn = new byte[rowCount];
+        byte[] eventIdColumn = new byte[rowCount * 16];
+        ByteArrayOutputStream timestamps = new ByteArrayOutputStream(rowCount * 2);
+        ByteArrayOutputStream amounts = new ByteArrayOutputStream(rowCount * 4);
+        ByteArrayOutputStream sequences = new ByteArrayOutputStream(rowCount);
+
+        long minTs = Long.MAX_VALUE;
+        long maxTs = Long.MIN_VALUE;
+        long minAmount = Long.MAX_VALUE;
+        long maxAmount = Long.MIN_VALUE;
+        long maxSequence = Long.MIN_VALUE;
+        long previousTs = 0;
+        long previousAmount = 0;
+        long previousSequence = 0;
+        AccountRange account = null;
+
+        for (int i = 0; i < rowCount; i++) {
+            LedgerEntryRow row = rows.get(i);
+            if (account == null || !account.accountId.equals(row.getAccountId())) {
+                if (account != null && LedgerEntryRow.compareUuids(account.accountId, row.getAccountId()) > 0) {
+                    throw new IllegalArgumentException("Rows are not sorted by account");
+                }
+                account = new AccountRange(row.getAccountId(), i);
+                accounts.add(account);
+            }
+            account.rowCount++;
+            account.minTs = Math.min(account.minTs, row.getOccurredAtMillis());
+            account.maxTs = Math.max(account.maxTs, row.getOccurredAtMillis());
+
+            currencyColumn[i] = dictionaryIndex(currencies, row.getCurrency());
+            bookColumn[i] = dictionaryIndex(books, row.getBook());
+            eventTypeColumn[i] = dictionaryIndex(eventTypes, row.getEventType());
+            legColumn[i] = (byte) row.getLeg();
+            UUID eventId = row.getEventId();
+            putLong(eventIdColumn, i * 16, eventId.getMostSignificantBits());
+            putLong(eventIdColumn, i * 16 + 8, eventId.getLeastSignificantBits());
+
+            ColumnCodec.writeVarLong(timestamps, row.getOccurredAtMillis() - previousTs);
+            ColumnCodec.writeVarLong(amounts, row.getAmountMinor() - previousAmount);
+            ColumnCodec.writeVarLong(sequences, row.getJournalSequence() - previousSequence);
+            previousTs = row.getOccurredAtMillis();
+            previousAmount = row.getAmountMinor();
+            previousSequence = row.getJournalSequence();
+
+            minTs = Math.min(minTs, row.getOccurredAtMillis());
+            maxTs = Math.max(maxTs, row.getOccurredAtMillis());
+            minAmount = Math.min(minAmount, row.getAmountMinor());
+            maxAmount = Math.max(maxAmount, row.getAmountMinor());
+            maxSequence = Math.max(maxSequence, row.getJournalSequence());
+        }
+
+        // Write next to the target and move into place, so readers never see a partial file
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(temp), 256 * 1024))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeInt(rowCount);
+            out.writeLong(minTs);
+            out.writeLong(maxTs);
+            out.writeLong(minAmount);
+            out.writeLong(maxAmount);
+
+            out.writeInt(accounts.size());
+            for (AccountRange range : accounts) {
+                out.writeLong(range.accountId.getMostSignificantBits());
+                out.writeLong(range.accountId.getLeastSignificantBits());
+                out.writeInt(range.firstRow);
+                out.writeInt(range.rowCount);
+                out.writeLong(range.minTs);
+                out.writeLong(range.maxTs);
+            }
+            writeDictionary(out, currencies);
+            writeDictionary(out, books);
+            writeDictionary(out, eventTypes);
+
+            ColumnCodec.writeBlock(out, currencyColumn);
+            ColumnCodec.writeBlock(out, bookColumn);
+            ColumnCodec.writeBlock(out, eventTypeColumn);
+            ColumnCodec.writeBlock(out, timestamps.toByteArray());
+            ColumnCodec.writeBlock(out, amounts.toByteArray());
+            ColumnCodec.writeBlock(out, eventIdColumn);
+            ColumnCodec.writeBlock(out, legColumn);
+            ColumnCodec.writeBlock(out, sequences.toByteArray());
+        }
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        return new SegmentStats(rowCount, accounts.size(), minTs, maxTs, minAmount, maxAmount, maxSequence,
+            Files.size(file));
+    }
+
+    private static byte dictionaryIndex(Map<String, Integer> dictionary, String value) {
+        Integer index = dictionary.computeIfAbsent(value, key -> dictionary.size());
+        if (index > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many distinct values for a byte dictionary");
+        }
+        return index.byteValue();
+    }
+
+    private static void writeDictionary(DataOutputStream out, Map<String, Integer> dictionary) throws IOException {
+        out.writeShort(dictionary.size());
+        for (String value : dictionary.keySet()) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeShort(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static void putLong(byte[] bytes, int offset, long value) {
+        for (int i = 7; i >= 0; i--) {
+            bytes[offset + i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+
+    private static final class AccountRange {
+        private final UUID accountId;
+        private final int firstRow;
+        private int rowCount;
+        private long minTs = Long.MAX_VALUE;
+        private long maxTs = Long.MIN_VALUE;
+
+        private AccountRange(UUID accountId, int firstRow) {
+            this.accountId = accountId;
+            this.firstRow = firstRow;
+        }
+    }
+
+    public record SegmentStats(int rowCount, int accountCount, long minOccurredAtMillis, long maxOccurredAtMillis,
+                               long minAmountMinor, long maxAmountMinor, long maxJournalSequence,
+                               long sizeBytes) {
+    }
+}
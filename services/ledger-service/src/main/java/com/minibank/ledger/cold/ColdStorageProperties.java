@@ -0,0 +1,37 @@
+package com.minibank.ledger.cold;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "ledger.cold")
+public class ColdStorageProperties {
+
+    private boolean enabled = true;
+    private String directory = "data/cold";
+    // Months that ended longer ago than this are moved to cold segments
+    private Duration hotWindow = Duration.ofDays(90);
+    // Rows per segment file; bounds memory while tiering
+    private int segmentRows = 250_000;
+    private String cron = "0 30 2 * * *";
+    // Segment headers (account dictionaries) kept in memory
+    private int cachedSegments = 32;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public String getDirectory() { return directory; }
+    public void setDirectory(String directory) { this.directory = directory; }
+
+    public Duration getHotWindow() { return hotWindow; }
+    public void setHotWindow(Duration hotWindow) { this.hotWindow = hotWindow; }
+
+    public int getSegmentRows() { return segmentRows; }
+    public void setSegmentRows(int segmentRows) { this.segmentRows = segmentRows; }
+
+    public String getCron() { return cron; }
+    public void setCron(String cron) { this.cron = cron; }
+
+    public int getCachedSegments() { return cachedSegments; }
+    public void setCachedSegments(int cachedSegments) { this.cachedSegments = cachedSegments; }
+}
@@ -0,0 +1,196 @@
+package com.minibank.ledger.cold;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+
+import com.minibank.ledger.cold.ColdSegmentRepository.ColdSegment;
+import com.minibank.ledger.infrastructure.ingest.LedgerEntryRow;
+import com.minibank.ledger.infrastructure.persistence.LedgerHistoryRepository.HistoryKey;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Query side of the cold tier. Segments are pruned by their occurred_at range in
+ * {@code cold_segments}, then by the account dictionary in the file header, before
+ * any column is decoded.
+ */
+@Component
+public class ColdStore {
+
+    private final ColdSegmentRepository segmentRepository;
+    private final Path directory;
+    private final Map<String, ColdSegmentReader> readers;
+
+    // Metrics
+    private final Counter segmentsScanned;
+    private final Counter segmentsPruned;
+
+    public ColdStore(ColdSegmentRepository segmentRepository, ColdStorageProperties properties,
+                     MeterRegistry meterRegistry) {
+        this.segmentRepository = segmentRepository;
+        this.directory = Path.of(properties.getDirectory());
+        int capacity = properties.getCachedSegments();
+        this.readers = Collections.synchronizedMap(new LinkedHashMap<>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ColdSegmentReader> eldest) {
+                return size() > capacity;
+            }
+        });
+
+        this.segmentsScanned = Counter.builder("ledger.cold.segments.scanned.total")
+            .description("Cold segments decoded for a query")
+            .register(meterRegistry);
+        this.segmentsPruned = Counter.builder("ledger.cold.segments.pruned.total")
+            .description("Cold segments skipped by their min/max or account index")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Cold rows in {@code [from, to)} in history order, loaded one group of time-overlapping
+     * segments at a time.
+     */
+    public PeekingIterator scanAscending(UUID accountId, String currency, String book, Instant from, Instant to) {
+        List<ColdSegment> segments = segmentRepository.findOverlapping(from, to);
+        return new PeekingIterator(new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < segments.size();
+            }
+
+            @Override
+            public List<LedgerEntryRow> next() {
+                // Segments that overlap in time (late arrivals tiered separately) are merged together
+                List<LedgerEntryRow> group = new ArrayList<>();
+                long groupEnd = Long.MIN_VALUE;
+                do {
+                    ColdSegment segment = segments.get(next++);
+                    groupEnd = Math.max(groupEnd, segment.maxOccurredAtMillis());
+                    group.addAll(scan(segment, accountId, currency, book, from.toEpochMilli(), to.toEpochMilli()));
+                } while (next < segments.size() && segments.get(next).minOccurredAtMillis() <= groupEnd);
+                group.sort(LedgerEntryRow.HISTORY_ORDER);
+                return group;
+            }
+        });
+    }
+
+    /**
+     * Up to {@code limit} cold rows before {@code before} (or the newest when null), newest first.
+     * Segments ending before {@code floor} are not read; callers pass the oldest row of a
+     * full hot page there, which usually prunes every segment.
+     */
+    public List<LedgerEntryRow> pageDescending(UUID accountId, String currency, String book,
+                                               HistoryKey before, Instant floor, int limit) {
+        Instant to = before != null ? Instant.ofEpochMilli(before.occurredAt().toEpochMilli() + 1) : Instant.now();
+        List<ColdSegment> segments = new ArrayList<>(segmentRepository.findOverlapping(floor, to));
+        segments.sort(Comparator.comparingLong(ColdSegment::maxOccurredAtMillis).reversed());
+
+        Comparator<LedgerEntryRow> newestFirst = LedgerEntryRow.HISTORY_ORDER.reversed();
+        List<LedgerEntryRow> rows = new ArrayList<>();
+        for (ColdSegment segment : segments) {
+            if (rows.size() >= limit) {
+                rows.sort(newestFirst);
+                // Nothing in this or any later segment can beat the current page
+                if (segment.maxOccurredAtMillis() < rows.get(limit - 1).getOccurredAtMillis()) {
+                    break;
+                }
+            }
+            for (LedgerEntryRow row : scan(segment, accountId, currency, book, 0, to.toEpochMilli())) {
+                if (before == null || isBefore(row, before)) {
+                    rows.add(row);
+                }
+            }
+        }
+        rows.sort(newestFirst);
+        return rows.size() > limit ? new ArrayList<>(rows.subList(0, limit)) : rows;
+    }
+
+    private static boolean isBefore(LedgerEntryRow row, HistoryKey key) {
+        int cmp = Long.compare(row.getOccurredAtMillis(), key.occurredAt().toEpochMilli());
+        if (cmp == 0) {
+            cmp = LedgerEntryRow.compareUuids(row.getEventId(), key.eventId());
+        }
+        if (cmp == 0) {
+            cmp = Short.compare(row.getLeg(), key.leg());
+        }
+        return cmp < 0;
+    }
+
+    private List<LedgerEntryRow> scan(ColdSegment segment, UUID accountId, String currency, String book,
+                                      long fromMillis, long toMillis) {
+        try {
+            ColdSegmentReader reader = reader(segment);
+            if (!reader.mayContain(accountId, fromMillis, toMillis)) {
+                segmentsPruned.increment();
+                return List.of();
+            }
+            segmentsScanned.increment();
+            return reader.scan(accountId, currency, book, fromMillis, toMillis);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read cold segment " + segment.fileName(), e);
+        }
+    }
+
+    private ColdSegmentReader reader(ColdSegment segment) throws IOException {
+        ColdSegmentReader reader = readers.get(segment.fileName());
+        if (reader == null) {
+            reader = ColdSegmentReader.open(directory.resolve(segment.fileName()));
+            readers.put(segment.fileName(), reader);
+        }
+        return reader;
+    }
+
+    /**
+     * Flattens row groups and allows looking at the next row without consuming it,
+     * which the hot/cold merge needs.
+     */
+    public static final class PeekingIterator implements Iterator<LedgerEntryRow> {
+        private final Iterator<List<LedgerEntryRow>> groups;
+        private Iterator<LedgerEntryRow> current = Collections.emptyIterator();
+        private LedgerEntryRow peeked;
+
+        private PeekingIterator(Iterator<List<LedgerEntryRow>> groups) {
+            this.groups = groups;
+        }
+
+        public LedgerEntryRow peek() {
+            if (peeked == null) {
+                while (!current.hasNext() && groups.hasNext()) {
+                    current = groups.next().iterator();
+                }
+                peeked = current.hasNext() ? current.next() : null;
+            }
+            return peeked;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return peek() != null;
+        }
+
+        @Override
+        public LedgerEntryRow next() {
+            LedgerEntryRow row = peek();
+            if (row == null) {
+                throw new NoSuchElementException();
+            }
+            peeked = null;
+            return row;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.minibank.ledger.cold;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.minibank.ledger.cold.ColdSegmentWriter.SegmentStats;
+import com.minibank.ledger.infrastructure.ingest.LedgerEntryRow;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Moves closed months of {@code ledger_entries} into cold segment files.
+ *
+ * A month is tiered in one REPEATABLE READ transaction: its rows are streamed in
+ * account order into segment files, the files are forced to disk and registered, the
+ * month's per-book totals are added to {@code ledger_cold_balances} and the rows are
+ * deleted. The snapshot guarantees that exactly the rows written to the files are
+ * deleted, even if late events for that month are ingested meanwhile; those are picked
+ * up by a later run. If anything fails, the transaction rolls back and the new files
+ * are removed.
+ *
+ * Deleted rows no longer block a re-insert through the primary key, so each segment
+ * records the highest journal sequence it holds. {@code LedgerEntryCopyWriter} drops any
+ * row of a tiered month at or below that sequence: the projection writes the journal in
+ * sequence order, so such a row was already tiered.
+ */
+@Component
+public class ColdTieringJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(ColdTieringJob.class);
+
+    private static final String MONTH_ROWS = """
+        SELECT event_id, leg, account_id, book, event_type, currency_code, amount_minor, occurred_at,
+               journal_sequence
+        FROM ledger_entries
+        WHERE occurred_at >= ? AND occurred_at < ?
+        ORDER BY account_id, currency_code, book, occurred_at, event_id, leg
+        """;
+
+    private final ColdSegmentRepository segmentRepository;
+    private final ColdStorageProperties properties;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate snapshotTransaction;
+    private final Path directory;
+
+    // Metrics
+    private final Counter rowsTiered;
+    private final Counter segmentsWritten;
+    private final Counter bytesWritten;
+    private final Timer monthDuration;
+
+    public ColdTieringJob(ColdSegmentRepository segmentRepository, ColdStorageProperties properties,
+                          DataSource dataSource, PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry) throws IOException {
+        this.segmentRepository = segmentRepository;
+        this.properties = properties;
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(5_000);
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.directory = Path.of(properties.getDirectory());
+        Files.createDirectories(directory);
+
+        this.rowsTiered = Counter.builder("ledger.cold.rows.tiered.total")
+            .description("Ledger entries moved to cold segments")
+            .register(meterRegistry);
+        this.segmentsWritten = Counter.builder("ledger.cold.segments.written.total")
+            .description("Cold segment files written")
+            .register(meterRegistry);
+        this.bytesWritten = Counter.builder("ledger.cold.bytes.written.total")
+            .description("Bytes of cold segment files written")
+            .register(meterRegistry);
+        this.monthDuration = Timer.builder("ledger.cold.tiering.duration.seconds")
+            .description("Time to tier one month of ledger entries")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${ledger.cold.cron:0 30 2 * * *}")
+    public void tierClosedPeriods() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Instant oldest = segmentRepository.oldestHotEntry();
+        if (oldest == null) {
+            return;
+        }
+        // The month containing (now - hot window) is still hot; everything before it is closed
+        YearMonth firstHot = YearMonth.from(Instant.now().minus(properties.getHotWindow()).atZone(ZoneOffset.UTC));
+        for (YearMonth month = YearMonth.from(oldest.atZone(ZoneOffset.UTC)); month.isBefore(firstHot);
+                month = month.plusMonths(1)) {
+            tierMonth(month);
+        }
+    }
+
+    void tierMonth(YearMonth month) {
+        LocalDate periodStart = month.atDay(1);
+        Instant from = periodStart.atStartOfDay(ZoneOffset.UTC).toInstant();
+        Instant to = month.plusMonths(1).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        List<Path> written = new ArrayList<>();
+        long start = System.nanoTime();
+        try {
+            Integer moved = snapshotTransaction.execute(status -> {
+                SegmentBuffer buffer = new SegmentBuffer(periodStart, segmentRepository.nextSeq(periodStart), written);
+                streamingJdbcTemplate.query(MONTH_ROWS, rs -> {
+                    buffer.add(new LedgerEntryRow(
+                        rs.getObject("event_id", UUID.class),
+                        rs.getShort("leg"),
+                        rs.getObject("account_id", UUID.class),
+                        rs.getString("book"),
+                        rs.getString("event_type"),
+                        rs.getString("currency_code"),
+                        rs.getLong("amount_minor"),
+                        rs.getTimestamp("occurred_at").getTime(),
+                        rs.getLong("journal_sequence")));
+                }, Timestamp.from(from), Timestamp.from(to));
+                buffer.flush();
+                if (buffer.rowsWritten == 0) {
+                    return 0;
+                }
+
+                segmentRepository.carryBalances(from, to);
+                int deleted = segmentRepository.deleteHot(from, to);
+                if (deleted != buffer.rowsWritten) {
+                    throw new IllegalStateException("Tiering " + month + " wrote " + buffer.rowsWritten
+                        + " rows but would delete " + deleted);
+                }
+                return deleted;
+            });
+            if (moved != null && moved > 0) {
+                rowsTiered.increment(moved);
+                logger.info("Tiered {} ledger entries of {} into {} cold segments", moved, month, written.size());
+            }
+        } catch (RuntimeException e) {
+            logger.error("Tiering {} failed; removing {} new segment files", month, written.size(), e);
+            for (Path file : written) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException deleteFailure) {
+                    logger.warn("Could not remove orphaned segment {}", file, deleteFailure);
+                }
+            }
+            throw e;
+        } finally {
+            monthDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Cuts segments at account boundaries so an account's rows for a period stay in one file
+    private final class SegmentBuffer {
+        private final LocalDate periodStart;
+        private final List<Path> written;
+        private final List<LedgerEntryRow> rows = new ArrayList<>();
+        private int seq;
+        private int rowsWritten;
+
+        private SegmentBuffer(LocalDate periodStart, int seq, List<Path> written) {
+            this.periodStart = periodStart;
+            this.seq = seq;
+            this.written = written;
+        }
+
+        private void add(LedgerEntryRow row) {
+            if (rows.size() >= properties.getSegmentRows()
+                    && !rows.get(rows.size() - 1).getAccountId().equals(row.getAccountId())) {
+                flush();
+            }
+            rows.add(row);
+        }
+
+        private void flush() {
+            if (rows.isEmpty()) {
+                return;
+            }
+            String fileName = "ledger-%s-%03d.lcs".formatted(periodStart.toString().substring(0, 7), seq);
+            Path file = directory.resolve(fileName);
+            try {
+                SegmentStats stats = ColdSegmentWriter.write(file, rows);
+                written.add(file);
+                segmentRepository.insert(periodStart, seq, fileName, stats);
+                segmentsWritten.increment();
+                bytesWritten.increment(stats.sizeBytes());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot write cold segment " + file, e);
+            }
+            rowsWritten += rows.size();
+            rows.clear();
+            seq++;
+        }
+    }
+}
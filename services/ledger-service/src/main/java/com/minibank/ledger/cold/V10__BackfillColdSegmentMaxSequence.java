@@ -0,0 +1,64 @@
+package com.minibank.ledger.cold;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills {@code cold_segments.max_journal_sequence} for segments tiered before V9 from the
+ * sequence column of their files, then makes the column NOT NULL.
+ *
+ * The files live outside the database, so this runs as a Java migration registered with
+ * Flyway as a bean. A segment whose file cannot be read fails the migration: without its
+ * real maximum, replays of its rows cannot be told apart from new rows for its month.
+ */
+@Component
+public class V10__BackfillColdSegmentMaxSequence extends BaseJavaMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(V10__BackfillColdSegmentMaxSequence.class);
+
+    private final Path directory;
+
+    public V10__BackfillColdSegmentMaxSequence(ColdStorageProperties properties) {
+        this.directory = Path.of(properties.getDirectory());
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        Map<Long, String> segments = new LinkedHashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                 "SELECT id, file_name FROM cold_segments WHERE max_journal_sequence IS NULL ORDER BY id")) {
+            while (rs.next()) {
+                segments.put(rs.getLong("id"), rs.getString("file_name"));
+            }
+        }
+
+        try (PreparedStatement update = connection.prepareStatement(
+                "UPDATE cold_segments SET max_journal_sequence = ? WHERE id = ?")) {
+            for (Map.Entry<Long, String> segment : segments.entrySet()) {
+                ColdSegmentReader reader = ColdSegmentReader.open(directory.resolve(segment.getValue()));
+                update.setLong(1, reader.maxJournalSequence());
+                update.setLong(2, segment.getKey());
+                update.addBatch();
+            }
+            update.executeBatch();
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE cold_segments ALTER COLUMN max_journal_sequence SET NOT NULL");
+        }
+        logger.info("Backfilled max journal sequence of {} cold segments from {}", segments.size(), directory);
+    }
+}
@@ -0,0 +1,51 @@
+package com.minibank.ledger.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import com.minibank.ledger.reconciliation.ReconciliationProperties;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * The ledger database stays the primary datasource (Flyway, JdbcTemplate, transactions).
+ * The account database is only read, by reconciliation.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties dataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("ledger.reconciliation.accounts-datasource")
+    public DataSourceProperties accountsDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    public HikariDataSource accountsDataSource(
+            @Qualifier("accountsDataSourceProperties") DataSourceProperties properties,
+            ReconciliationProperties reconciliationProperties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("accounts-readonly");
+        dataSource.setReadOnly(true);
+        // One cursor per reconciliation worker
+        dataSource.setMaximumPoolSize(reconciliationProperties.getParallelism());
+        return dataSource;
+    }
+}
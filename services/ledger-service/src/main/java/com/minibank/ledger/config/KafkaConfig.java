@@ -0,0 +1,19 @@
+package com.minibank.ledger.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+@Configuration
+public class KafkaConfig {
+
+    @Bean
+    public DefaultErrorHandler kafkaErrorHandler() {
+        // A failed batch is redelivered until the database accepts it; skipping it
+        // would commit offsets for entries that never reached the ledger
+        ExponentialBackOff backOff = new ExponentialBackOff(500L, 2.0);
+        backOff.setMaxInterval(30_000L);
+        return new DefaultErrorHandler(backOff);
+    }
+}
@@ -0,0 +1,60 @@
+package com.minibank.ledger.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.minibank.ledger.journal.AccountIndex;
+import com.minibank.ledger.journal.GroupCommitWriter;
+import com.minibank.ledger.journal.Journal;
+import com.minibank.ledger.journal.JournalListener;
+import com.minibank.ledger.journal.PostingIndex;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class LedgerJournalConfig {
+
+    @Bean(destroyMethod = "close")
+    public Journal journal(LedgerJournalProperties properties, MeterRegistry meterRegistry) throws IOException {
+        Journal journal = new Journal(Path.of(properties.getDirectory()), properties.getSegmentRecords());
+        Gauge.builder("ledger.journal.segments", journal, Journal::getSegmentCount)
+            .description("Journal segment files")
+            .register(meterRegistry);
+        return journal;
+    }
+
+    @Bean
+    public AccountIndex accountIndex(MeterRegistry meterRegistry) {
+        AccountIndex index = new AccountIndex();
+        Gauge.builder("ledger.index.accounts", index, AccountIndex::accountCount)
+            .description("Accounts in the in-memory journal index")
+            .register(meterRegistry);
+        return index;
+    }
+
+    @Bean
+    public PostingIndex postingIndex(Journal journal, LedgerJournalProperties properties,
+                                     MeterRegistry meterRegistry) {
+        PostingIndex index = new PostingIndex(journal, properties.getPostingDedupWindow());
+        Gauge.builder("ledger.index.postings", index, PostingIndex::postingCount)
+            .description("Posting IDs in the in-memory journal index")
+            .register(meterRegistry);
+        return index;
+    }
+
+    // Every JournalListener bean is fed on commit and replayed on startup
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public GroupCommitWriter groupCommitWriter(Journal journal,
+                                               PostingIndex postingIndex,
+                                               List<JournalListener> listeners,
+                                               LedgerJournalProperties properties,
+                                               MeterRegistry meterRegistry) {
+        return new GroupCommitWriter(journal, postingIndex, listeners,
+            properties.getQueueCapacity(), properties.getMaxBatchSize(), meterRegistry);
+    }
+}
@@ -0,0 +1,36 @@
+package com.minibank.ledger.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "ledger.journal")
+public class LedgerJournalProperties {
+
+    private String directory = "data/journal";
+    // 64-byte records; 1M records makes 64 MiB segments
+    private int segmentRecords = 1_048_576;
+    private int queueCapacity = 65_536;
+    private int maxBatchSize = 4_096;
+    private Duration commitTimeout = Duration.ofSeconds(5);
+    // How long a posting ID is remembered; a posting retried later than this is written again
+    private Duration postingDedupWindow = Duration.ofHours(24);
+
+    public String getDirectory() { return directory; }
+    public void setDirectory(String directory) { this.directory = directory; }
+
+    public int getSegmentRecords() { return segmentRecords; }
+    public void setSegmentRecords(int segmentRecords) { this.segmentRecords = segmentRecords; }
+
+    public int getQueueCapacity() { return queueCapacity; }
+    public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+
+    public int getMaxBatchSize() { return maxBatchSize; }
+    public void setMaxBatchSize(int maxBatchSize) { this.maxBatchSize = maxBatchSize; }
+
+    public Duration getCommitTimeout() { return commitTimeout; }
+    public void setCommitTimeout(Duration commitTimeout) { this.commitTimeout = commitTimeout; }
+
+    public Duration getPostingDedupWindow() { return postingDedupWindow; }
+    public void setPostingDedupWindow(Duration postingDedupWindow) { this.postingDedupWindow = postingDedupWindow; }
+}
@@ -0,0 +1,159 @@
+package com.minibank.ledger.infrastructure.ingest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minibank.ledger.config.LedgerJournalProperties;
+import com.minibank.ledger.journal.GroupCommitWriter;
+import com.minibank.ledger.journal.Posting;
+import com.minibank.ledger.journal.PostingReceipt;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Posts account-service balance events to the journal, one poll batch at a time.
+ *
+ * Each batch is parsed, deduplicated by event id and submitted as one posting per event,
+ * keyed by the event id. Offsets are acknowledged only after every posting is durable;
+ * if the batch fails it is redelivered and the journal answers the events that already
+ * landed with their original receipts. {@code ledger_entries}, its rollups and the
+ * reconciliation read the journal through {@link LedgerEntryProjector}, so they agree
+ * with the balances served from the journal.
+ */
+@Component
+public class AccountEventIngestor {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountEventIngestor.class);
+
+    private final GroupCommitWriter writer;
+    private final LedgerJournalProperties journalProperties;
+    private final ObjectMapper objectMapper;
+
+    // Metrics
+    private final Counter eventsPosted;
+    private final Counter eventsDuplicated;
+    private final Counter eventsSkipped;
+    private final Counter eventsMalformed;
+    private final DistributionSummary batchSize;
+    private final Timer commitDuration;
+
+    public AccountEventIngestor(GroupCommitWriter writer, LedgerJournalProperties journalProperties,
+                                ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.writer = writer;
+        this.journalProperties = journalProperties;
+        this.objectMapper = objectMapper;
+
+        this.eventsPosted = eventCounter(meterRegistry, "posted");
+        this.eventsDuplicated = eventCounter(meterRegistry, "duplicate");
+        this.eventsSkipped = eventCounter(meterRegistry, "skipped");
+        this.eventsMalformed = eventCounter(meterRegistry, "malformed");
+        this.batchSize = DistributionSummary.builder("ledger.ingest.batch.size")
+            .description("Account events per Kafka poll batch")
+            .register(meterRegistry);
+        this.commitDuration = Timer.builder("ledger.ingest.commit.duration.seconds")
+            .description("Time until every posting of one batch is durable in the journal")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private static Counter eventCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("ledger.ingest.events.total")
+            .description("Account events handled by ledger ingestion")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    @KafkaListener(topics = "account-events", groupId = "ledger-service")
+    public void onBatch(List<ConsumerRecord<String, String>> records, Acknowledgment acknowledgment) {
+        batchSize.record(records.size());
+
+        // Later copies of an event id in the same batch are redeliveries
+        Map<String, AccountEventMessage> events = new LinkedHashMap<>(records.size() * 2);
+        for (ConsumerRecord<String, String> record : records) {
+            AccountEventMessage event = parse(record);
+            if (event == null) {
+                continue;
+            }
+            if (events.putIfAbsent(event.getEventId(), event) != null) {
+                eventsDuplicated.increment();
+            }
+        }
+
+        List<Posting> postings = new ArrayList<>(events.size());
+        for (AccountEventMessage event : events.values()) {
+            try {
+                Posting posting = AccountEventPostings.toPosting(event);
+                if (posting != null) {
+                    postings.add(posting);
+                } else {
+                    eventsSkipped.increment();
+                }
+            } catch (IllegalArgumentException e) {
+                logger.error("Dropping malformed account event {}: {}", event.getEventId(), e.getMessage());
+                eventsMalformed.increment();
+            }
+        }
+
+        if (!postings.isEmpty()) {
+            long start = System.nanoTime();
+            awaitDurable(postings);
+            commitDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            eventsPosted.increment(postings.size());
+            logger.debug("Posted {} account events from {} records", postings.size(), records.size());
+        }
+        acknowledgment.acknowledge();
+    }
+
+    // Throws if any posting is not confirmed, so the error handler redelivers the batch
+    private void awaitDurable(List<Posting> postings) {
+        List<CompletableFuture<PostingReceipt>> futures = new ArrayList<>(postings.size());
+        for (Posting posting : postings) {
+            futures.add(writer.submit(posting));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .get(journalProperties.getCommitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Account event postings were not confirmed in time");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Account event postings failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while posting account events");
+        }
+    }
+
+    private AccountEventMessage parse(ConsumerRecord<String, String> record) {
+        try {
+            AccountEventMessage event = objectMapper.readValue(record.value(), AccountEventMessage.class);
+            if (event.getEventId() == null) {
+                throw new IllegalArgumentException("missing eventId");
+            }
+            return event;
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            // A poison record must not stall the partition
+            logger.error("Dropping unreadable account event at {}-{}@{}: {}",
+                record.topic(), record.partition(), record.offset(), e.getMessage());
+            eventsMalformed.increment();
+            return null;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.minibank.ledger.infrastructure.ingest;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Account-service {@code AccountEvent} as it appears on the {@code account-events} topic.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class AccountEventMessage {
+
+    private String eventId;
+    private String accountId;
+    private String eventType;
+    private long timestamp;
+    private long aggregateVersion;
+    private String currency;
+    private Long amountMinor;
+    private String eventData;
+
+    public AccountEventMessage() {}
+
+    public String getEventId() { return eventId; }
+    public void setEventId(String eventId) { this.eventId = eventId; }
+
+    public String getAccountId() { return accountId; }
+    public void setAccountId(String accountId) { this.accountId = accountId; }
+
+    public String getEventType() { return eventType; }
+    public void setEventType(String eventType) { this.eventType = eventType; }
+
+    public long getTimestamp() { return timestamp; }
+    public void setTimestamp(long timestamp) { this.timestamp = timestamp; }
+
+    public long getAggregateVersion() { return aggregateVersion; }
+    public void setAggregateVersion(long aggregateVersion) { this.aggregateVersion = aggregateVersion; }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
+    public Long getAmountMinor() { return amountMinor; }
+    public void setAmountMinor(Long amountMinor) { this.amountMinor = amountMinor; }
+
+    public String getEventData() { return eventData; }
+    public void setEventData(String eventData) { this.eventData = eventData; }
+}
@@ -0,0 +1,56 @@
+package com.minibank.ledger.infrastructure.ingest;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.minibank.ledger.journal.Book;
+import com.minibank.ledger.journal.EntryType;
+import com.minibank.ledger.journal.Posting;
+
+/**
+ * Turns account-service balance events into journal postings.
+ *
+ * Each balance event becomes two legs on the same account in different books, so the
+ * legs of every event sum to zero:
+ * <ul>
+ *   <li>BALANCE_CREDITED: CLEARING -a, AVAILABLE +a</li>
+ *   <li>BALANCE_DEBITED: AVAILABLE -a, CLEARING +a</li>
+ *   <li>BALANCE_RESERVED: AVAILABLE -a, RESERVED +a</li>
+ *   <li>BALANCE_RELEASED: RESERVED -a, AVAILABLE +a</li>
+ * </ul>
+ * The posting ID is the event ID, so the journal drops a redelivered event.
+ */
+public final class AccountEventPostings {
+
+    private AccountEventPostings() {
+    }
+
+    /**
+     * @return the posting for a balance event, or null if the event does not move money
+     * @throws IllegalArgumentException if a balance event is missing its ids, currency or amount
+     */
+    public static Posting toPosting(AccountEventMessage event) {
+        String type = event.getEventType();
+        Book debitBook;
+        Book creditBook;
+        switch (type == null ? "" : type) {
+            case "BALANCE_CREDITED" -> { debitBook = Book.CLEARING; creditBook = Book.AVAILABLE; }
+            case "BALANCE_DEBITED" -> { debitBook = Book.AVAILABLE; creditBook = Book.CLEARING; }
+            case "BALANCE_RESERVED" -> { debitBook = Book.AVAILABLE; creditBook = Book.RESERVED; }
+            case "BALANCE_RELEASED" -> { debitBook = Book.RESERVED; creditBook = Book.AVAILABLE; }
+            default -> { return null; }
+        }
+        if (event.getCurrency() == null || event.getAmountMinor() == null) {
+            throw new IllegalArgumentException("Balance event " + event.getEventId() + " has no currency or amount");
+        }
+        long amount = Math.abs(event.getAmountMinor());
+        if (amount == 0) {
+            return null;
+        }
+        UUID eventId = UUID.fromString(event.getEventId());
+        UUID accountId = UUID.fromString(event.getAccountId());
+        return new Posting(eventId, EntryType.valueOf(type), event.getCurrency(), event.getTimestamp(), List.of(
+            new Posting.Leg(accountId, debitBook, -amount),
+            new Posting.Leg(accountId, creditBook, amount)));
+    }
+}
@@ -0,0 +1,127 @@
+package com.minibank.ledger.infrastructure.ingest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.minibank.ledger.rollup.RollupWriter;
+
+/**
+ * Writes ledger entry batches with binary COPY.
+ *
+ * COPY cannot skip conflicting rows, so each batch is copied into a session-local
+ * staging table and merged with {@code ON CONFLICT DO NOTHING}, which drops entries a
+ * re-run projection already wrote. Entries already moved to the cold tier are dropped
+ * the same way (see {@code ColdTieringJob}). The rows that were actually inserted are
+ * rolled up in the same transaction, so neither kind is counted twice.
+ */
+@Component
+public class LedgerEntryCopyWriter {
+
+    static final String COPY_COLUMNS =
+        "event_id, leg, account_id, book, event_type, currency_code, amount_minor, occurred_at, journal_sequence";
+
+    private static final String CREATE_STAGING = """
+        CREATE TEMP TABLE IF NOT EXISTS ledger_entries_staging
+            (LIKE ledger_entries INCLUDING DEFAULTS) ON COMMIT DELETE ROWS
+        """;
+
+    private static final String COPY_STAGING =
+        "COPY ledger_entries_staging (" + COPY_COLUMNS + ") FROM STDIN (FORMAT binary)";
+
+    // Rows of a tiered month up to its highest tiered sequence were deleted from ledger_entries
+    // by tiering, so the primary key no longer catches them
+    private static final String MERGE_STAGING =
+        "INSERT INTO ledger_entries (" + COPY_COLUMNS + ") "
+            + "SELECT " + COPY_COLUMNS + " FROM ledger_entries_staging s "
+            + "WHERE NOT EXISTS (SELECT 1 FROM cold_segments c "
+            + "WHERE c.period_start = date_trunc('month', s.occurred_at AT TIME ZONE 'UTC')::date "
+            + "AND c.max_journal_sequence >= s.journal_sequence) "
+            + "ON CONFLICT (event_id, leg) DO NOTHING "
+            + "RETURNING event_id, leg";
+
+    private final DataSource dataSource;
+    private final TransactionTemplate transactionTemplate;
+    private final RollupWriter rollupWriter;
+
+    public LedgerEntryCopyWriter(DataSource dataSource, TransactionTemplate transactionTemplate,
+                                 RollupWriter rollupWriter) {
+        this.dataSource = dataSource;
+        this.transactionTemplate = transactionTemplate;
+        this.rollupWriter = rollupWriter;
+    }
+
+    /**
+     * Copies and merges the rows in one transaction.
+     *
+     * @return the number of rows inserted, excluding rows that already existed
+     */
+    public int write(List<LedgerEntryRow> rows) {
+        Integer inserted = transactionTemplate.execute(status -> {
+            Connection connection = DataSourceUtils.getConnection(dataSource);
+            try {
+                List<LedgerEntryRow> merged = copyAndMerge(connection, rows);
+                rollupWriter.apply(merged);
+                return merged.size();
+            } catch (SQLException | IOException e) {
+                throw new IllegalStateException("Ledger entry COPY failed", e);
+            } finally {
+                DataSourceUtils.releaseConnection(connection, dataSource);
+            }
+        });
+        return inserted != null ? inserted : 0;
+    }
+
+    /**
+     * Must run inside a transaction (auto-commit off): the staging table is emptied on commit.
+     *
+     * @return the rows that were inserted, i.e. {@code rows} without those already present
+     */
+    public static List<LedgerEntryRow> copyAndMerge(Connection connection, List<LedgerEntryRow> rows)
+            throws SQLException, IOException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_STAGING);
+        }
+        byte[] payload = LedgerEntryCopyEncoder.encode(rows);
+        connection.unwrap(PGConnection.class).getCopyAPI()
+            .copyIn(COPY_STAGING, new ByteArrayInputStream(payload));
+
+        List<EntryKey> keys = new ArrayList<>(rows.size());
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(MERGE_STAGING)) {
+            while (resultSet.next()) {
+                keys.add(new EntryKey(resultSet.getObject(1, UUID.class), resultSet.getShort(2)));
+            }
+        }
+        // Usually nothing was a duplicate
+        if (keys.size() == rows.size()) {
+            return rows;
+        }
+        Set<EntryKey> insertedKeys = new HashSet<>(keys);
+        List<LedgerEntryRow> inserted = new ArrayList<>(keys.size());
+        for (LedgerEntryRow row : rows) {
+            if (insertedKeys.contains(new EntryKey(row.getEventId(), row.getLeg()))) {
+                inserted.add(row);
+            }
+        }
+        return inserted;
+    }
+
+    private record EntryKey(UUID eventId, short leg) {
+    }
+}
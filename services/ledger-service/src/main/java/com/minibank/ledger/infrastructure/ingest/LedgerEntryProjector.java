@@ -0,0 +1,147 @@
+package com.minibank.ledger.infrastructure.ingest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.minibank.ledger.journal.Journal;
+import com.minibank.ledger.journal.JournalEntry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Derives {@code ledger_entries} from the journal, which is the only source of truth.
+ *
+ * Each run reads the committed journal after the checkpoint straight from the mapped
+ * segments and COPYs it in batches that end on a posting boundary. Every batch commits
+ * together with its rollups and the checkpoint, so a crash neither loses nor repeats an
+ * entry and the table converges on the journal within one interval.
+ */
+@Component
+public class LedgerEntryProjector {
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerEntryProjector.class);
+
+    static final String CHECKPOINT = "ledger_entries";
+
+    private static final int READ_CHUNK = 4096;
+
+    private static final String UPSERT_CHECKPOINT = """
+        INSERT INTO journal_checkpoints (name, sequence, updated_at) VALUES (?, ?, now())
+        ON CONFLICT (name) DO UPDATE SET sequence = EXCLUDED.sequence, updated_at = now()
+        """;
+
+    private final Journal journal;
+    private final LedgerEntryCopyWriter copyWriter;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchRows;
+
+    // Scheduler thread only; projectedThrough is volatile for the lag gauge
+    private volatile long projectedThrough = Long.MIN_VALUE;
+    private short nextLeg;
+
+    // Metrics
+    private final Counter rowsProjected;
+    private final Counter projectionFailures;
+    private final Timer copyDuration;
+
+    public LedgerEntryProjector(Journal journal, LedgerEntryCopyWriter copyWriter, JdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${ledger.entries.batch-rows:20000}") int batchRows,
+                                MeterRegistry meterRegistry) {
+        this.journal = journal;
+        this.copyWriter = copyWriter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchRows = batchRows;
+
+        this.rowsProjected = Counter.builder("ledger.entries.projected.total")
+            .description("Journal entries copied into ledger_entries")
+            .register(meterRegistry);
+        this.projectionFailures = Counter.builder("ledger.entries.projection.failures.total")
+            .description("ledger_entries projection runs that failed and were retried")
+            .register(meterRegistry);
+        this.copyDuration = Timer.builder("ledger.ingest.copy.duration.seconds")
+            .description("Time to COPY and merge one batch of ledger entries")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        Gauge.builder("ledger.entries.projection.lag", this, LedgerEntryProjector::lag)
+            .description("Committed journal entries not yet in ledger_entries")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${ledger.entries.project-interval-ms:1000}")
+    public void project() {
+        try {
+            if (projectedThrough == Long.MIN_VALUE) {
+                projectedThrough = loadCheckpoint();
+            }
+            long through = journal.getCommittedSequence();
+            if (through <= projectedThrough) {
+                return;
+            }
+            // The checkpoint always ends a posting, so the first entry read is leg 0
+            nextLeg = 0;
+            List<LedgerEntryRow> rows = new ArrayList<>(batchRows);
+            journal.replay(projectedThrough + 1, through, READ_CHUNK, entries -> {
+                for (JournalEntry entry : entries) {
+                    rows.add(LedgerEntryRow.fromJournal(entry, nextLeg));
+                    nextLeg = entry.isLastLeg() ? 0 : (short) (nextLeg + 1);
+                    if (entry.isLastLeg() && rows.size() >= batchRows) {
+                        write(rows, entry.getSequence());
+                        rows.clear();
+                    }
+                }
+            });
+            // Commits are whole postings, so the committed sequence ends one too
+            if (!rows.isEmpty()) {
+                write(rows, through);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("ledger_entries projection after sequence {} failed; will retry", projectedThrough, e);
+            projectionFailures.increment();
+        }
+    }
+
+    private void write(List<LedgerEntryRow> rows, long through) {
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            copyWriter.write(rows);
+            jdbcTemplate.update(UPSERT_CHECKPOINT, CHECKPOINT, through);
+        });
+        copyDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        projectedThrough = through;
+        rowsProjected.increment(rows.size());
+    }
+
+    private long loadCheckpoint() {
+        List<Long> checkpoint = jdbcTemplate.queryForList(
+            "SELECT sequence FROM journal_checkpoints WHERE name = ?", Long.class, CHECKPOINT);
+        return checkpoint.isEmpty() ? -1 : checkpoint.get(0);
+    }
+
+    /**
+     * @return the last journal sequence in {@code ledger_entries}, or {@code Long.MIN_VALUE}
+     *         until the first run has loaded the checkpoint
+     */
+    public long getProjectedThrough() {
+        return projectedThrough;
+    }
+
+    private long lag() {
+        long through = projectedThrough;
+        return through == Long.MIN_VALUE ? 0 : journal.getCommittedSequence() - through;
+    }
+}
@@ -0,0 +1,71 @@
+package com.minibank.ledger.infrastructure.ingest;
+
+import java.util.Comparator;
+import java.util.UUID;
+
+import com.minibank.ledger.journal.JournalEntry;
+
+/**
+ * One row of {@code ledger_entries}: a journal leg as projected by {@link LedgerEntryProjector}.
+ * {@code event_id} is the posting ID and {@code leg} the leg's position in its posting.
+ */
+public final class LedgerEntryRow {
+
+    public static final String AVAILABLE = "AVAILABLE";
+    public static final String RESERVED = "RESERVED";
+    public static final String CLEARING = "CLEARING";
+
+    /**
+     * History order, (occurred_at, event_id, leg), with UUIDs compared as Postgres does:
+     * byte by byte, i.e. as unsigned longs.
+     */
+    public static final Comparator<LedgerEntryRow> HISTORY_ORDER = Comparator
+        .comparingLong(LedgerEntryRow::getOccurredAtMillis)
+        .thenComparing(LedgerEntryRow::getEventId, LedgerEntryRow::compareUuids)
+        .thenComparingInt(LedgerEntryRow::getLeg);
+
+    private final UUID eventId;
+    private final short leg;
+    private final UUID accountId;
+    private final String book;
+    private final String eventType;
+    private final String currency;
+    private final long amountMinor;
+    private final long occurredAtMillis;
+    private final long journalSequence;
+
+    public LedgerEntryRow(UUID eventId, short leg, UUID accountId, String book, String eventType,
+                          String currency, long amountMinor, long occurredAtMillis, long journalSequence) {
+        this.eventId = eventId;
+        this.leg = leg;
+        this.accountId = accountId;
+        this.book = book;
+        this.eventType = eventType;
+        this.currency = currency;
+        this.amountMinor = amountMinor;
+        this.occurredAtMillis = occurredAtMillis;
+        this.journalSequence = journalSequence;
+    }
+
+    public static LedgerEntryRow fromJournal(JournalEntry entry, short leg) {
+        return new LedgerEntryRow(entry.getPostingId(), leg, entry.getAccountId(), entry.getBook().name(),
+            entry.getType().name(), entry.getCurrency(), entry.getAmountMinor(), entry.getTimestampMillis(),
+            entry.getSequence());
+    }
+
+    public static int compareUuids(UUID a, UUID b) {
+        int result = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return result != 0 ? result
+            : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    public UUID getEventId() { return eventId; }
+    public short getLeg() { return leg; }
+    public UUID getAccountId() { return accountId; }
+    public String getBook() { return book; }
+    public String getEventType() { return eventType; }
+    public String getCurrency() { return currency; }
+    public long getAmountMinor() { return amountMinor; }
+    public long getOccurredAtMillis() { return occurredAtMillis; }
+    public long getJournalSequence() { return journalSequence; }
+}
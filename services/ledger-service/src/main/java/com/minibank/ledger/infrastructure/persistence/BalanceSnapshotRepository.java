@@ -0,0 +1,92 @@
+package com.minibank.ledger.infrastructure.persistence;
+
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class BalanceSnapshotRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BalanceSnapshotRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return the journal sequence covered by the latest run, or -1 if none ran yet
+     */
+    public long lastThroughSequence() {
+        Long through = jdbcTemplate.queryForObject(
+            "SELECT COALESCE(MAX(through_sequence), -1) FROM snapshot_runs", Long.class);
+        return through != null ? through : -1;
+    }
+
+    /**
+     * Latest snapshotted balance per currency for each of the given accounts.
+     */
+    public Map<SnapshotKey, Long> latestBalances(List<UUID> accountIds) {
+        Map<SnapshotKey, Long> balances = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement("""
+                SELECT DISTINCT ON (account_id, currency_code) account_id, currency_code, balance_minor
+                FROM balance_snapshots
+                WHERE account_id = ANY (?)
+                ORDER BY account_id, currency_code, through_sequence DESC
+                """);
+            Array ids = connection.createArrayOf("uuid", accountIds.toArray());
+            statement.setArray(1, ids);
+            return statement;
+        }, rs -> {
+            balances.put(new SnapshotKey(rs.getObject("account_id", UUID.class), rs.getString("currency_code")),
+                rs.getLong("balance_minor"));
+        });
+        return balances;
+    }
+
+    public void insertRun(long throughSequence, Instant asOf, Map<SnapshotKey, Long> balances) {
+        jdbcTemplate.update(
+            "INSERT INTO snapshot_runs (through_sequence, as_of, account_count) VALUES (?, ?, ?)",
+            throughSequence, Timestamp.from(asOf), balances.size());
+
+        List<Object[]> rows = new ArrayList<>(balances.size());
+        Timestamp asOfTimestamp = Timestamp.from(asOf);
+        balances.forEach((key, balance) -> rows.add(new Object[] {
+            key.accountId(), key.currency(), throughSequence, asOfTimestamp, balance
+        }));
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO balance_snapshots (account_id, currency_code, through_sequence, as_of, balance_minor)
+            VALUES (?, ?, ?, ?, ?)
+            """, rows);
+    }
+
+    /**
+     * Nearest snapshot taken at or before {@code asOf}.
+     */
+    public Optional<SnapshotBalance> findAtOrBefore(UUID accountId, String currency, Instant asOf) {
+        return jdbcTemplate.query("""
+                SELECT through_sequence, balance_minor FROM balance_snapshots
+                WHERE account_id = ? AND currency_code = ? AND as_of <= ?
+                ORDER BY as_of DESC, through_sequence DESC
+                LIMIT 1
+                """,
+            (rs, rowNum) -> new SnapshotBalance(rs.getLong("through_sequence"), rs.getLong("balance_minor")),
+            accountId, currency, Timestamp.from(asOf))
+            .stream().findFirst();
+    }
+
+    public record SnapshotKey(UUID accountId, String currency) {
+    }
+
+    public record SnapshotBalance(long throughSequence, long balanceMinor) {
+    }
+}
@@ -0,0 +1,183 @@
+package com.minibank.ledger.infrastructure.persistence;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.minibank.ledger.journal.JournalEntry;
+import com.minibank.ledger.journal.JournalListener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Keeps {@code account_balance_summaries} in step with the journal.
+ *
+ * Committed entries are folded into per-account deltas in memory and upserted in one
+ * JDBC batch per flush, together with the journal checkpoint, so Postgres sees one
+ * write per touched account per interval rather than one per posting. On startup the
+ * journal is replayed from the checkpoint, which makes the table eventually exact.
+ */
+@Component
+public class BalanceSummaryWriter implements JournalListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceSummaryWriter.class);
+
+    static final String CHECKPOINT = "balance_summaries";
+
+    private static final String UPSERT_SUMMARY = """
+        INSERT INTO account_balance_summaries
+            (account_id, currency_code, balance_minor, total_debits_minor, total_credits_minor,
+             entry_count, last_sequence, updated_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, now())
+        ON CONFLICT (account_id, currency_code) DO UPDATE SET
+            balance_minor       = account_balance_summaries.balance_minor + EXCLUDED.balance_minor,
+            total_debits_minor  = account_balance_summaries.total_debits_minor + EXCLUDED.total_debits_minor,
+            total_credits_minor = account_balance_summaries.total_credits_minor + EXCLUDED.total_credits_minor,
+            entry_count         = account_balance_summaries.entry_count + EXCLUDED.entry_count,
+            last_sequence       = EXCLUDED.last_sequence,
+            updated_at          = now()
+        WHERE account_balance_summaries.last_sequence < EXCLUDED.last_sequence
+        """;
+
+    private static final String UPSERT_CHECKPOINT = """
+        INSERT INTO journal_checkpoints (name, sequence, updated_at) VALUES (?, ?, now())
+        ON CONFLICT (name) DO UPDATE SET sequence = EXCLUDED.sequence, updated_at = now()
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Object lock = new Object();
+    private Map<SummaryKey, SummaryDelta> pending = new HashMap<>();
+    private long pendingThrough = -1;
+
+    // Metrics
+    private final Counter rowsFlushed;
+    private final Counter flushFailures;
+    private final Timer flushDuration;
+
+    public BalanceSummaryWriter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+
+        this.rowsFlushed = Counter.builder("ledger.summaries.rows.flushed.total")
+            .description("Balance summary rows upserted")
+            .register(meterRegistry);
+        this.flushFailures = Counter.builder("ledger.summaries.flush.failures.total")
+            .description("Balance summary flushes that failed and were retried")
+            .register(meterRegistry);
+        this.flushDuration = Timer.builder("ledger.summaries.flush.duration.seconds")
+            .description("Time to flush balance summaries to the database")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public long recoveryStartSequence() {
+        List<Long> checkpoint = jdbcTemplate.queryForList(
+            "SELECT sequence FROM journal_checkpoints WHERE name = ?", Long.class, CHECKPOINT);
+        return checkpoint.isEmpty() ? 0 : checkpoint.get(0) + 1;
+    }
+
+    @Override
+    public void onCommitted(List<JournalEntry> entries) {
+        synchronized (lock) {
+            for (JournalEntry entry : entries) {
+                // Same scope as AccountIndex, so summaries agree with /balance
+                if (!entry.isAvailable()) {
+                    continue;
+                }
+                pending.computeIfAbsent(new SummaryKey(entry.getAccountId(), entry.getCurrency()),
+                    key -> new SummaryDelta()).add(entry);
+            }
+            pendingThrough = entries.get(entries.size() - 1).getSequence();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ledger.summaries.flush-interval-ms:1000}")
+    public void flush() {
+        Map<SummaryKey, SummaryDelta> batch;
+        long through;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            through = pendingThrough;
+            pending = new HashMap<>();
+        }
+
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        batch.forEach((key, delta) -> rows.add(new Object[] {
+            key.accountId(), key.currency(), delta.balance, delta.debits, delta.credits,
+            delta.count, delta.lastSequence
+        }));
+
+        long start = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(UPSERT_SUMMARY, rows);
+                jdbcTemplate.update(UPSERT_CHECKPOINT, CHECKPOINT, through);
+            });
+            rowsFlushed.increment(rows.size());
+        } catch (RuntimeException e) {
+            logger.warn("Balance summary flush through sequence {} failed; will retry", through, e);
+            flushFailures.increment();
+            requeue(batch);
+        } finally {
+            flushDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Older deltas go back in front of anything committed while the flush was running
+    private void requeue(Map<SummaryKey, SummaryDelta> batch) {
+        synchronized (lock) {
+            pending.forEach((key, delta) -> batch.merge(key, delta, SummaryDelta::merge));
+            pending = batch;
+        }
+    }
+
+    private record SummaryKey(UUID accountId, String currency) {
+    }
+
+    private static final class SummaryDelta {
+        private long balance;
+        private long debits;
+        private long credits;
+        private long count;
+        private long lastSequence;
+
+        private void add(JournalEntry entry) {
+            long amount = entry.getAmountMinor();
+            balance += amount;
+            if (amount < 0) {
+                debits -= amount;
+            } else {
+                credits += amount;
+            }
+            count++;
+            lastSequence = entry.getSequence();
+        }
+
+        private SummaryDelta merge(SummaryDelta newer) {
+            balance += newer.balance;
+            debits += newer.debits;
+            credits += newer.credits;
+            count += newer.count;
+            lastSequence = newer.lastSequence;
+            return this;
+        }
+    }
+}
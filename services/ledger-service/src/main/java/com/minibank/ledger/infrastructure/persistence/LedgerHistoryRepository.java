@@ -0,0 +1,105 @@
+package com.minibank.ledger.infrastructure.persistence;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.minibank.ledger.infrastructure.ingest.LedgerEntryRow;
+
+/**
+ * Reads account history from {@code ledger_entries}.
+ *
+ * Every query filters on the leading columns of {@code idx_ledger_entries_history}, orders
+ * by its remaining key columns and selects only indexed columns, so Postgres can answer
+ * with an index-only scan and stop after the requested rows.
+ */
+@Repository
+public class LedgerHistoryRepository {
+
+    private static final String COLUMNS =
+        "event_id, leg, account_id, book, event_type, currency_code, amount_minor, occurred_at, journal_sequence";
+
+    private static final String FIRST_PAGE = "SELECT " + COLUMNS + """
+         FROM ledger_entries
+        WHERE account_id = ? AND currency_code = ? AND book = ?
+        ORDER BY occurred_at DESC, event_id DESC, leg DESC
+        LIMIT ?
+        """;
+
+    private static final String NEXT_PAGE = "SELECT " + COLUMNS + """
+         FROM ledger_entries
+        WHERE account_id = ? AND currency_code = ? AND book = ?
+          AND (occurred_at, event_id, leg) < (?, ?, ?)
+        ORDER BY occurred_at DESC, event_id DESC, leg DESC
+        LIMIT ?
+        """;
+
+    private static final String RANGE = "SELECT " + COLUMNS + """
+         FROM ledger_entries
+        WHERE account_id = ? AND currency_code = ? AND book = ?
+          AND occurred_at >= ? AND occurred_at < ?
+        ORDER BY occurred_at, event_id, leg
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+
+    public LedgerHistoryRepository(JdbcTemplate jdbcTemplate, DataSource dataSource,
+                                   @Value("${ledger.history.stream-fetch-size:1000}") int streamFetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        // With auto-commit off (the caller's transaction) a fetch size turns the query into a cursor
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(streamFetchSize);
+    }
+
+    /**
+     * Newest first, strictly after {@code after} in that order; a null cursor starts at the newest entry.
+     */
+    public List<LedgerEntryRow> findPage(UUID accountId, String currency, String book, HistoryKey after, int limit) {
+        if (after == null) {
+            return jdbcTemplate.query(FIRST_PAGE, LedgerHistoryRepository::mapRow, accountId, currency, book, limit);
+        }
+        return jdbcTemplate.query(NEXT_PAGE, LedgerHistoryRepository::mapRow, accountId, currency, book,
+            Timestamp.from(after.occurredAt()), after.eventId(), after.leg(), limit);
+    }
+
+    /**
+     * Oldest first over {@code [from, to)}, handing each row to {@code consumer} as it is fetched.
+     * Must be called inside a transaction so the rows come from a server-side cursor.
+     */
+    public void streamRange(UUID accountId, String currency, String book, Instant from, Instant to,
+                            Consumer<LedgerEntryRow> consumer) {
+        streamingJdbcTemplate.query(RANGE, rs -> {
+            consumer.accept(mapRow(rs, 0));
+        }, accountId, currency, book, Timestamp.from(from), Timestamp.from(to));
+    }
+
+    private static LedgerEntryRow mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new LedgerEntryRow(
+            rs.getObject("event_id", UUID.class),
+            rs.getShort("leg"),
+            rs.getObject("account_id", UUID.class),
+            rs.getString("book"),
+            rs.getString("event_type"),
+            rs.getString("currency_code"),
+            rs.getLong("amount_minor"),
+            rs.getTimestamp("occurred_at").getTime(),
+            rs.getLong("journal_sequence"));
+    }
+
+    /**
+     * Position of an entry in history order.
+     */
+    public record HistoryKey(Instant occurredAt, UUID eventId, short leg) {
+    }
+}
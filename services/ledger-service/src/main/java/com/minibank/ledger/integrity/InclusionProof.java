@@ -0,0 +1,53 @@
+package com.minibank.ledger.integrity;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Evidence that one journal record is part of the ledger with a given root: the record,
+ * its audit path within its segment, the segment's seal and the seal's audit path
+ * within the ledger-wide tree. Both paths are logarithmic in their tree's size.
+ */
+public final class InclusionProof {
+
+    private final long sequence;
+    private final byte[] record;
+    private final List<byte[]> recordPath;
+    private final SegmentSeal seal;
+    private final List<byte[]> sealPath;
+    private final int sealedSegments;
+    private final byte[] root;
+
+    public InclusionProof(long sequence, byte[] record, List<byte[]> recordPath, SegmentSeal seal,
+                          List<byte[]> sealPath, int sealedSegments, byte[] root) {
+        this.sequence = sequence;
+        this.record = record;
+        this.recordPath = List.copyOf(recordPath);
+        this.seal = seal;
+        this.sealPath = List.copyOf(sealPath);
+        this.sealedSegments = sealedSegments;
+        this.root = root;
+    }
+
+    /**
+     * Recomputes the root from the record upwards; needs nothing but this proof.
+     */
+    public boolean verify() {
+        long slot = sequence - (long) seal.getSegmentIndex() * seal.getRecordCount();
+        byte[] leaf = MerkleTree.leafHash(MerkleTree.sha256(), record);
+        byte[] segmentRoot = MerkleTree.rootFromPath(leaf, slot, seal.getRecordCount(), recordPath);
+        if (segmentRoot == null || !Arrays.equals(segmentRoot, seal.getMerkleRoot())) {
+            return false;
+        }
+        byte[] ledgerRoot = MerkleTree.rootFromPath(seal.hash(), seal.getSegmentIndex(), sealedSegments, sealPath);
+        return ledgerRoot != null && Arrays.equals(ledgerRoot, root);
+    }
+
+    public long getSequence() { return sequence; }
+    public byte[] getRecord() { return record.clone(); }
+    public List<byte[]> getRecordPath() { return recordPath; }
+    public SegmentSeal getSeal() { return seal; }
+    public List<byte[]> getSealPath() { return sealPath; }
+    public int getSealedSegments() { return sealedSegments; }
+    public byte[] getRoot() { return root.clone(); }
+}
@@ -0,0 +1,22 @@
+package com.minibank.ledger.integrity;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "ledger.integrity")
+public class IntegrityProperties {
+
+    // Segments verified concurrently; 0 uses every core
+    private int parallelism = 0;
+    // Spring cron expression; "-" disables scheduled verification
+    private String verifyCron = "-";
+
+    public int getParallelism() { return parallelism; }
+    public void setParallelism(int parallelism) { this.parallelism = parallelism; }
+
+    public String getVerifyCron() { return verifyCron; }
+    public void setVerifyCron(String verifyCron) { this.verifyCron = verifyCron; }
+
+    public int effectiveParallelism() {
+        return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+}
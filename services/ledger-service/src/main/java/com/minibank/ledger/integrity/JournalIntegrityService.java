@@ -0,0 +1,206 @@
+package com.minibank.ledger.integrity;
+
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.minibank.ledger.journal.Journal;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Verifies the sealed journal against its seals and produces inclusion proofs.
+ *
+ * Every segment has its own chain and tree, so a fork-join pool verifies segments
+ * independently and a full verification scales with the number of cores instead of
+ * walking one chain through the whole history. The unsealed tail segment is not covered
+ * until it fills.
+ */
+@Service
+public class JournalIntegrityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JournalIntegrityService.class);
+
+    private final Journal journal;
+    private final JournalSealer sealer;
+    private final IntegrityProperties properties;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong lastThroughput = new AtomicLong();
+
+    // Metrics
+    private final Counter entriesVerified;
+    private final Counter segmentFailures;
+    private final Timer verificationDuration;
+
+    public JournalIntegrityService(Journal journal, JournalSealer sealer, IntegrityProperties properties,
+                                   MeterRegistry meterRegistry) {
+        this.journal = journal;
+        this.sealer = sealer;
+        this.properties = properties;
+
+        this.entriesVerified = Counter.builder("ledger.integrity.entries.verified.total")
+            .description("Journal records re-hashed and checked against their seals")
+            .register(meterRegistry);
+        this.segmentFailures = Counter.builder("ledger.integrity.segment.failures.total")
+            .description("Sealed segments whose records no longer match the seal")
+            .register(meterRegistry);
+        this.verificationDuration = Timer.builder("ledger.integrity.verification.duration.seconds")
+            .description("Wall time of a full-ledger verification")
+            .register(meterRegistry);
+        Gauge.builder("ledger.integrity.verification.throughput", lastThroughput, AtomicLong::get)
+            .description("Records per second verified by the last full verification")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${ledger.integrity.verify-cron:-}")
+    public void scheduledVerification() {
+        try {
+            VerificationResult result = verify();
+            if (!result.intact()) {
+                logger.error("Journal segments {} do not match their seals", result.failedSegments());
+            }
+        } catch (IllegalStateException e) {
+            logger.info("Skipping scheduled verification: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Re-hashes every sealed segment in parallel and compares it with its seal.
+     *
+     * @throws IllegalStateException if a verification is already running
+     */
+    public VerificationResult verify() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A journal verification is already running");
+        }
+        List<SegmentSeal> seals = sealer.seals();
+        ForkJoinPool pool = new ForkJoinPool(properties.effectiveParallelism());
+        long start = System.nanoTime();
+        try {
+            List<Integer> failed = seals.isEmpty() ? List.of() : pool.invoke(new SegmentTask(seals, 0, seals.size()));
+            long elapsedNanos = System.nanoTime() - start;
+            verificationDuration.record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+            long entries = (long) seals.size() * journal.getSegmentCapacity();
+            double perSecond = elapsedNanos == 0 ? 0 : entries * 1e9 / elapsedNanos;
+            lastThroughput.set((long) perSecond);
+            String root = HexFormat.of().formatHex(JournalSealer.root(seals));
+            logger.info("Verified {} journal records in {} segments at {} records/s; root {}",
+                entries, seals.size(), (long) perSecond, root);
+            return new VerificationResult(failed.isEmpty(), seals.size(), entries, failed, root,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), perSecond);
+        } finally {
+            pool.shutdownNow();
+            running.set(false);
+        }
+    }
+
+    private boolean verifySegment(SegmentSeal seal) {
+        SegmentHasher hasher = new SegmentHasher(seal.getSegmentIndex());
+        byte[] record = new byte[Journal.RECORD_SIZE];
+        long first = (long) seal.getSegmentIndex() * journal.getSegmentCapacity();
+        for (int slot = 0; slot < journal.getSegmentCapacity(); slot++) {
+            journal.copyRecord(first + slot, record);
+            hasher.add(record);
+        }
+        entriesVerified.increment(hasher.recordCount());
+        if (!hasher.seal().matches(seal)) {
+            segmentFailures.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Proves that the record at {@code sequence} is covered by the current root. Re-hashes
+     * the record's segment to build the path, so expect one segment's hashing time.
+     *
+     * @throws IllegalArgumentException if the record's segment is not sealed yet
+     * @throws IllegalStateException if the segment no longer matches its seal
+     */
+    public InclusionProof prove(long sequence) {
+        List<SegmentSeal> seals = sealer.seals();
+        int capacity = journal.getSegmentCapacity();
+        if (sequence < 0 || sequence >= (long) seals.size() * capacity) {
+            throw new IllegalArgumentException("Journal record " + sequence + " is not in a sealed segment");
+        }
+        SegmentSeal seal = seals.get((int) (sequence / capacity));
+        int slot = (int) (sequence % capacity);
+
+        SegmentHasher hasher = new SegmentHasher(seal.getSegmentIndex());
+        List<byte[]> leaves = new ArrayList<>(capacity);
+        byte[] buffer = new byte[Journal.RECORD_SIZE];
+        byte[] record = null;
+        long first = sequence - slot;
+        for (int i = 0; i < capacity; i++) {
+            journal.copyRecord(first + i, buffer);
+            leaves.add(hasher.add(buffer));
+            if (i == slot) {
+                record = buffer.clone();
+            }
+        }
+        if (!hasher.seal().matches(seal)) {
+            throw new IllegalStateException("Journal segment " + seal.getSegmentIndex() + " does not match its seal");
+        }
+
+        List<byte[]> sealHashes = seals.stream().map(SegmentSeal::hash).toList();
+        return new InclusionProof(sequence, record, MerkleTree.auditPath(leaves, slot), seal,
+            MerkleTree.auditPath(sealHashes, seal.getSegmentIndex()), seals.size(), MerkleTree.root(sealHashes));
+    }
+
+    /**
+     * @return the current ledger root over all seals
+     */
+    public byte[] root() {
+        return JournalSealer.root(sealer.seals());
+    }
+
+    public int sealedSegments() {
+        return sealer.seals().size();
+    }
+
+    private final class SegmentTask extends RecursiveTask<List<Integer>> {
+        private final List<SegmentSeal> seals;
+        private final int from;
+        private final int to;
+
+        private SegmentTask(List<SegmentSeal> seals, int from, int to) {
+            this.seals = seals;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<Integer> compute() {
+            if (to - from == 1) {
+                SegmentSeal seal = seals.get(from);
+                return verifySegment(seal) ? List.of() : List.of(seal.getSegmentIndex());
+            }
+            int mid = (from + to) >>> 1;
+            SegmentTask left = new SegmentTask(seals, from, mid);
+            left.fork();
+            List<Integer> right = new SegmentTask(seals, mid, to).compute();
+            List<Integer> failed = left.join();
+            if (right.isEmpty()) {
+                return failed;
+            }
+            List<Integer> merged = new ArrayList<>(failed);
+            merged.addAll(right);
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.minibank.ledger.integrity;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class JournalSealRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JournalSealRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return all stored seals in segment order
+     */
+    public List<SegmentSeal> findAll() {
+        return jdbcTemplate.query("""
+                SELECT segment_index, record_count, chain_head, merkle_root
+                FROM journal_seals
+                ORDER BY segment_index
+                """,
+            (rs, rowNum) -> new SegmentSeal(
+                rs.getInt("segment_index"),
+                rs.getInt("record_count"),
+                rs.getBytes("chain_head"),
+                rs.getBytes("merkle_root")));
+    }
+
+    public void insert(SegmentSeal seal) {
+        jdbcTemplate.update("""
+            INSERT INTO journal_seals (segment_index, record_count, chain_head, merkle_root)
+            VALUES (?, ?, ?, ?)
+            """,
+            seal.getSegmentIndex(), seal.getRecordCount(), seal.getChainHead(), seal.getMerkleRoot());
+    }
+}
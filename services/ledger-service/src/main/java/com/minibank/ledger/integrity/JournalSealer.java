@@ -0,0 +1,211 @@
+package com.minibank.ledger.integrity;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import com.minibank.ledger.journal.Journal;
+import com.minibank.ledger.journal.JournalEntry;
+import com.minibank.ledger.journal.JournalListener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Hash-chains journal records as they commit and seals each segment once it is full.
+ *
+ * Each seal is stored in {@code journal_seals}, outside the journal directory, with a
+ * copy next to the segment; its hash becomes the next leaf of the ledger-wide Merkle
+ * tree. Only the tail segment's running chain is kept in memory; on startup the journal
+ * is replayed from the first unsealed segment.
+ *
+ * Hashing adds about three SHA-256 calls per record to the writer thread: the leaf, the
+ * chain link and, amortised, one inner node of the segment tree.
+ */
+@Component
+public class JournalSealer implements JournalListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(JournalSealer.class);
+
+    private final Journal journal;
+    private final JournalSealRepository sealRepository;
+    private final List<SegmentSeal> seals = new CopyOnWriteArrayList<>();
+
+    // Writer thread only
+    private final byte[] record = new byte[Journal.RECORD_SIZE];
+    private SegmentHasher current;
+    private final Deque<SegmentSeal> unstored = new ArrayDeque<>();
+
+    private final Counter segmentsSealed;
+
+    public JournalSealer(Journal journal, JournalSealRepository sealRepository, MeterRegistry meterRegistry) {
+        this.journal = journal;
+        this.sealRepository = sealRepository;
+        loadSeals();
+
+        this.segmentsSealed = Counter.builder("ledger.integrity.segments.sealed.total")
+            .description("Journal segments sealed since startup")
+            .register(meterRegistry);
+        Gauge.builder("ledger.integrity.sealed.segments", seals, List::size)
+            .description("Sealed journal segments in the Merkle tree")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Loads the seals from {@code journal_seals}. Every full segment except the newest must
+     * have one: the newest may have filled just before a crash and is resealed by the
+     * replay. A gap, a seal past the journal's end or a seal file that disagrees with the
+     * table stops startup instead of being resealed from the segments it should protect.
+     */
+    private void loadSeals() {
+        List<SegmentSeal> stored = sealRepository.findAll();
+        if (stored.isEmpty()) {
+            stored = adoptSealFiles();
+        }
+        int fullSegments = (int) ((journal.getCommittedSequence() + 1) / journal.getSegmentCapacity());
+        for (int index = 0; index < stored.size(); index++) {
+            SegmentSeal seal = stored.get(index);
+            if (seal.getSegmentIndex() != index) {
+                throw new IllegalStateException("Journal seal " + index + " is missing from journal_seals");
+            }
+            if (index >= fullSegments) {
+                throw new IllegalStateException("Journal segment " + index
+                    + " is sealed but not full; sealed records are missing from " + journal.getDirectory());
+            }
+            checkSealFile(seal);
+        }
+        if (stored.size() < fullSegments - 1) {
+            throw new IllegalStateException("Journal segments " + stored.size() + " to " + (fullSegments - 2)
+                + " are full but have no seal");
+        }
+        if (stored.size() == fullSegments - 1) {
+            logger.warn("Journal segment {} filled without a stored seal; resealing it", stored.size());
+        }
+        seals.addAll(stored);
+        logger.info("Loaded {} journal seals", seals.size());
+    }
+
+    // One-off import of seals written before journal_seals existed; they must be contiguous and intact
+    private List<SegmentSeal> adoptSealFiles() {
+        TreeMap<Integer, Path> files = new TreeMap<>();
+        try (Stream<Path> paths = Files.list(journal.getDirectory())) {
+            paths.filter(path -> {
+                    String name = path.getFileName().toString();
+                    return name.startsWith("journal-") && name.endsWith(".seal");
+                })
+                .forEach(path -> files.put(SegmentSeal.indexOf(path.getFileName().toString()), path));
+            List<SegmentSeal> adopted = new ArrayList<>(files.size());
+            for (var file : files.entrySet()) {
+                if (file.getKey() != adopted.size()) {
+                    throw new IllegalStateException("Journal seal " + SegmentSeal.fileName(adopted.size())
+                        + " is missing in " + journal.getDirectory());
+                }
+                SegmentSeal seal = SegmentSeal.read(file.getValue());
+                sealRepository.insert(seal);
+                adopted.add(seal);
+            }
+            if (!adopted.isEmpty()) {
+                logger.info("Stored {} journal seal files in journal_seals", adopted.size());
+            }
+            return adopted;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load journal seals from " + journal.getDirectory(), e);
+        }
+    }
+
+    // The file is only a copy; a missing one is rewritten, a differing or unreadable one is tampering
+    private void checkSealFile(SegmentSeal seal) {
+        Path file = journal.getDirectory().resolve(SegmentSeal.fileName(seal.getSegmentIndex()));
+        try {
+            if (!Files.exists(file)) {
+                seal.write(journal.getDirectory());
+                return;
+            }
+            if (!SegmentSeal.read(file).matches(seal)) {
+                throw new IllegalStateException("Journal seal file " + file + " does not match journal_seals");
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Journal seal file " + file + " is unreadable or corrupt", e);
+        }
+    }
+
+    @Override
+    public long recoveryStartSequence() {
+        return (long) seals.size() * journal.getSegmentCapacity();
+    }
+
+    @Override
+    public void onCommitted(List<JournalEntry> entries) {
+        if (!unstored.isEmpty()) {
+            storePending();
+        }
+        int capacity = journal.getSegmentCapacity();
+        for (JournalEntry entry : entries) {
+            long sequence = entry.getSequence();
+            if (current == null) {
+                current = new SegmentHasher((int) (sequence / capacity));
+            }
+            journal.copyRecord(sequence, record);
+            current.add(record);
+            if (current.recordCount() == capacity) {
+                seal(current.seal());
+                current = null;
+            }
+        }
+    }
+
+    // Once per segment, so the small forced write and insert are acceptable on the writer thread
+    private void seal(SegmentSeal seal) {
+        try {
+            seal.write(journal.getDirectory());
+        } catch (IOException e) {
+            // The table is authoritative; the file is rewritten from it on the next start
+            logger.error("Cannot write journal seal {}", SegmentSeal.fileName(seal.getSegmentIndex()), e);
+        }
+        seals.add(seal);
+        unstored.add(seal);
+        storePending();
+        segmentsSealed.increment();
+        logger.info("Sealed journal segment {}; ledger root is now {}",
+            seal.getSegmentIndex(), HexFormat.of().formatHex(root(List.copyOf(seals))));
+    }
+
+    // Retried on every batch until stored; only the newest full segment may be unsealed on restart
+    private void storePending() {
+        try {
+            while (!unstored.isEmpty()) {
+                sealRepository.insert(unstored.peek());
+                unstored.poll();
+            }
+        } catch (DataAccessException e) {
+            logger.error("Cannot store journal seal {}; retrying with the next batch",
+                unstored.peek().getSegmentIndex(), e);
+        }
+    }
+
+    /**
+     * @return the seals of all full segments, in segment order
+     */
+    public List<SegmentSeal> seals() {
+        return List.copyOf(seals);
+    }
+
+    public static byte[] root(List<SegmentSeal> seals) {
+        return MerkleTree.root(seals.stream().map(SegmentSeal::hash).toList());
+    }
+}
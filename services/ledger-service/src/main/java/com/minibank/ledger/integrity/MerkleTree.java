@@ -0,0 +1,164 @@
+package com.minibank.ledger.integrity;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * SHA-256 Merkle trees in the RFC 6962 shape: leaves and inner nodes are hashed with
+ * different prefixes, and a tree of {@code n} leaves splits at the largest power of two
+ * below {@code n}, so any size works without padding and audit paths are at most
+ * {@code ceil(log2 n)} hashes long.
+ */
+public final class MerkleTree {
+
+    public static final int HASH_SIZE = 32;
+
+    private static final byte LEAF = 0x00;
+    private static final byte NODE = 0x01;
+
+    private MerkleTree() {
+    }
+
+    public static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public static byte[] leafHash(MessageDigest digest, byte[] data) {
+        digest.update(LEAF);
+        return digest.digest(data);
+    }
+
+    public static byte[] nodeHash(MessageDigest digest, byte[] left, byte[] right) {
+        digest.update(NODE);
+        digest.update(left);
+        return digest.digest(right);
+    }
+
+    public static byte[] root(List<byte[]> leaves) {
+        return root(sha256(), leaves, 0, leaves.size());
+    }
+
+    private static byte[] root(MessageDigest digest, List<byte[]> leaves, int from, int to) {
+        int size = to - from;
+        if (size == 0) {
+            return digest.digest();
+        }
+        if (size == 1) {
+            return leaves.get(from);
+        }
+        int split = from + Integer.highestOneBit(size - 1);
+        return nodeHash(digest, root(digest, leaves, from, split), root(digest, leaves, split, to));
+    }
+
+    /**
+     * @return the sibling hashes from the leaf at {@code index} up to the root, bottom first
+     */
+    public static List<byte[]> auditPath(List<byte[]> leaves, int index) {
+        if (index < 0 || index >= leaves.size()) {
+            throw new IllegalArgumentException("Leaf " + index + " is outside a tree of " + leaves.size());
+        }
+        List<byte[]> path = new ArrayList<>();
+        auditPath(sha256(), leaves, 0, leaves.size(), index, path);
+        return path;
+    }
+
+    private static void auditPath(MessageDigest digest, List<byte[]> leaves, int from, int to, int index,
+                                  List<byte[]> path) {
+        int size = to - from;
+        if (size <= 1) {
+            return;
+        }
+        int split = from + Integer.highestOneBit(size - 1);
+        if (index < split) {
+            auditPath(digest, leaves, from, split, index, path);
+            path.add(root(digest, leaves, split, to));
+        } else {
+            auditPath(digest, leaves, split, to, index, path);
+            path.add(root(digest, leaves, from, split));
+        }
+    }
+
+    /**
+     * Recomputes the root of a tree of {@code size} leaves from one leaf and its audit path.
+     *
+     * @return the root, or null if the path does not fit the index and size
+     */
+    public static byte[] rootFromPath(byte[] leaf, long index, long size, List<byte[]> path) {
+        if (index < 0 || index >= size) {
+            return null;
+        }
+        MessageDigest digest = sha256();
+        long node = index;
+        long last = size - 1;
+        byte[] hash = leaf;
+        for (byte[] sibling : path) {
+            if (last == 0) {
+                return null;
+            }
+            if ((node & 1) == 1 || node == last) {
+                hash = nodeHash(digest, sibling, hash);
+                // A rightmost node without a sibling is promoted unchanged
+                while ((node & 1) == 0 && node != 0) {
+                    node >>= 1;
+                    last >>= 1;
+                }
+            } else {
+                hash = nodeHash(digest, hash, sibling);
+            }
+            node >>= 1;
+            last >>= 1;
+        }
+        return last == 0 ? hash : null;
+    }
+
+    /**
+     * Builds a tree's root one leaf at a time, keeping only the roots of its perfect
+     * subtrees: {@code O(log n)} memory whatever the number of leaves.
+     */
+    public static final class Accumulator {
+
+        private final MessageDigest digest = sha256();
+        private byte[][] peaks = new byte[8][];
+        private int[] heights = new int[8];
+        private int peakCount;
+        private long size;
+
+        public void add(byte[] leaf) {
+            if (peakCount == peaks.length) {
+                peaks = Arrays.copyOf(peaks, peakCount * 2);
+                heights = Arrays.copyOf(heights, peakCount * 2);
+            }
+            byte[] hash = leaf;
+            int height = 0;
+            while (peakCount > 0 && heights[peakCount - 1] == height) {
+                hash = nodeHash(digest, peaks[--peakCount], hash);
+                height++;
+            }
+            peaks[peakCount] = hash;
+            heights[peakCount++] = height;
+            size++;
+        }
+
+        public byte[] root() {
+            if (peakCount == 0) {
+                return digest.digest();
+            }
+            byte[] hash = peaks[peakCount - 1];
+            for (int i = peakCount - 2; i >= 0; i--) {
+                hash = nodeHash(digest, peaks[i], hash);
+            }
+            return hash;
+        }
+
+        public long size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.minibank.ledger.integrity;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+
+/**
+ * Hashes the records of one journal segment in sequence order. Each record extends the
+ * segment's hash chain, {@code c[i] = H(0x02 || c[i-1] || leaf[i])}, seeded from the
+ * segment index, and is added as a leaf to the segment's Merkle tree.
+ *
+ * The chain pins the order of the records; the tree makes a single record provable
+ * without the rest of the segment. Not thread-safe.
+ */
+final class SegmentHasher {
+
+    private static final byte CHAIN = 0x02;
+
+    private final int segmentIndex;
+    private final MessageDigest digest = MerkleTree.sha256();
+    private final MerkleTree.Accumulator tree = new MerkleTree.Accumulator();
+    private byte[] chainHead;
+    private int recordCount;
+
+    SegmentHasher(int segmentIndex) {
+        this.segmentIndex = segmentIndex;
+        digest.update(CHAIN);
+        this.chainHead = digest.digest(ByteBuffer.allocate(4).putInt(segmentIndex).array());
+    }
+
+    /**
+     * @return the record's leaf hash
+     */
+    byte[] add(byte[] record) {
+        byte[] leaf = MerkleTree.leafHash(digest, record);
+        digest.update(CHAIN);
+        digest.update(chainHead);
+        chainHead = digest.digest(leaf);
+        tree.add(leaf);
+        recordCount++;
+        return leaf;
+    }
+
+    SegmentSeal seal() {
+        return new SegmentSeal(segmentIndex, recordCount, chainHead, tree.root());
+    }
+
+    int recordCount() {
+        return recordCount;
+    }
+}
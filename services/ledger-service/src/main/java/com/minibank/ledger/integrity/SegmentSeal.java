@@ -0,0 +1,124 @@
+package com.minibank.ledger.integrity;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+/**
+ * Summary of one full journal segment: the head of its internal hash chain and the
+ * Merkle root over its records. The seal's own hash is the segment's leaf in the
+ * ledger-wide tree.
+ *
+ * <pre>
+ *  0  int     magic "LSL1"
+ *  4  int     segment index
+ *  8  int     record count
+ * 12  byte[32] chain head
+ * 44  byte[32] Merkle root
+ * 76  int     CRC32C of bytes 0-75
+ * </pre>
+ */
+public final class SegmentSeal {
+
+    private static final int MAGIC = 0x4C534C31;
+    private static final int SIZE = 80;
+    private static final int CHECKSUM_OFFSET = 76;
+
+    private final int segmentIndex;
+    private final int recordCount;
+    private final byte[] chainHead;
+    private final byte[] merkleRoot;
+
+    public SegmentSeal(int segmentIndex, int recordCount, byte[] chainHead, byte[] merkleRoot) {
+        this.segmentIndex = segmentIndex;
+        this.recordCount = recordCount;
+        this.chainHead = chainHead;
+        this.merkleRoot = merkleRoot;
+    }
+
+    /**
+     * Leaf hash of this seal in the ledger-wide tree; covers every field.
+     */
+    public byte[] hash() {
+        return MerkleTree.leafHash(MerkleTree.sha256(), encode(segmentIndex, recordCount, chainHead, merkleRoot));
+    }
+
+    static byte[] encode(int segmentIndex, int recordCount, byte[] chainHead, byte[] merkleRoot) {
+        return ByteBuffer.allocate(8 + 2 * MerkleTree.HASH_SIZE)
+            .putInt(segmentIndex)
+            .putInt(recordCount)
+            .put(chainHead)
+            .put(merkleRoot)
+            .array();
+    }
+
+    static String fileName(int segmentIndex) {
+        return String.format("journal-%010d.seal", segmentIndex);
+    }
+
+    static int indexOf(String fileName) {
+        return Integer.parseInt(fileName.substring("journal-".length(), fileName.length() - ".seal".length()));
+    }
+
+    /**
+     * Writes the seal next to its segment; the file appears atomically and is forced.
+     */
+    void write(Path directory) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SIZE)
+            .putInt(MAGIC)
+            .putInt(segmentIndex)
+            .putInt(recordCount)
+            .put(chainHead)
+            .put(merkleRoot);
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), 0, CHECKSUM_OFFSET);
+        buffer.putInt((int) crc.getValue()).flip();
+
+        Path target = directory.resolve(fileName(segmentIndex));
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    static SegmentSeal read(Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (buffer.remaining() != SIZE || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a journal seal: " + file);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), 0, CHECKSUM_OFFSET);
+        if (buffer.getInt(CHECKSUM_OFFSET) != (int) crc.getValue()) {
+            throw new IOException("Corrupt journal seal: " + file);
+        }
+        int segmentIndex = buffer.getInt();
+        int recordCount = buffer.getInt();
+        byte[] chainHead = new byte[MerkleTree.HASH_SIZE];
+        byte[] merkleRoot = new byte[MerkleTree.HASH_SIZE];
+        buffer.get(chainHead).get(merkleRoot);
+        return new SegmentSeal(segmentIndex, recordCount, chainHead, merkleRoot);
+    }
+
+    public boolean matches(SegmentSeal other) {
+        return segmentIndex == other.segmentIndex
+            && recordCount == other.recordCount
+            && Arrays.equals(chainHead, other.chainHead)
+            && Arrays.equals(merkleRoot, other.merkleRoot);
+    }
+
+    public int getSegmentIndex() { return segmentIndex; }
+    public int getRecordCount() { return recordCount; }
+    public byte[] getChainHead() { return chainHead.clone(); }
+    public byte[] getMerkleRoot() { return merkleRoot.clone(); }
+}
@@ -0,0 +1,18 @@
+package com.minibank.ledger.integrity;
+
+import java.util.List;
+
+/**
+ * Outcome of a full-ledger verification. {@code root} is the recomputed Merkle root over
+ * the verified seals, to be compared with a root recorded earlier.
+ */
+public record VerificationResult(
+    boolean intact,
+    int segmentsVerified,
+    long entriesVerified,
+    List<Integer> failedSegments,
+    String root,
+    long durationMillis,
+    double entriesPerSecond
+) {
+}
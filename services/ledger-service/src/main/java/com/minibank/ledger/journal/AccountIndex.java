@@ -0,0 +1,132 @@
+package com.minibank.ledger.journal;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index from account to the journal sequences of its entries, plus running
+ * per-currency balances. Rebuilt from the journal on every start.
+ *
+ * Only {@link Book#AVAILABLE} legs are indexed: an account's balance is its available
+ * balance, and the reserved and clearing legs mirrored from account-service are read
+ * from {@code ledger_entries} instead.
+ *
+ * Sequences are kept in a growable {@code long[]} per account, so the index costs
+ * eight bytes per entry and a lookup never touches the journal files.
+ */
+public class AccountIndex implements JournalListener {
+
+    private static final long[] NO_SEQUENCES = new long[0];
+
+    private final Map<UUID, AccountEntries> accounts = new ConcurrentHashMap<>();
+
+    @Override
+    public void onCommitted(List<JournalEntry> entries) {
+        for (JournalEntry entry : entries) {
+            if (!entry.isAvailable()) {
+                continue;
+            }
+            accounts.computeIfAbsent(entry.getAccountId(), id -> new AccountEntries()).add(entry);
+        }
+    }
+
+    /**
+     * @return up to {@code limit} sequences for the account, newest first
+     */
+    public long[] latestSequences(UUID accountId, int limit) {
+        AccountEntries entries = accounts.get(accountId);
+        return entries != null ? entries.latest(limit) : NO_SEQUENCES;
+    }
+
+    /**
+     * Latest sequences and current balances read together, so balances can be walked
+     * backwards over the returned entries.
+     */
+    public Recent recent(UUID accountId, int limit) {
+        AccountEntries entries = accounts.get(accountId);
+        return entries != null ? entries.recent(limit) : new Recent(NO_SEQUENCES, Map.of());
+    }
+
+    /**
+     * @return the account's sequences greater than {@code afterSequence}, oldest first
+     */
+    public long[] sequencesAfter(UUID accountId, long afterSequence) {
+        AccountEntries entries = accounts.get(accountId);
+        return entries != null ? entries.after(afterSequence) : NO_SEQUENCES;
+    }
+
+    public long balanceOf(UUID accountId, String currency) {
+        AccountEntries entries = accounts.get(accountId);
+        return entries != null ? entries.balance(currency) : 0L;
+    }
+
+    public Map<String, Long> balancesOf(UUID accountId) {
+        AccountEntries entries = accounts.get(accountId);
+        return entries != null ? entries.balances() : Map.of();
+    }
+
+    public int entryCount(UUID accountId) {
+        AccountEntries entries = accounts.get(accountId);
+        return entries != null ? entries.size() : 0;
+    }
+
+    public int accountCount() {
+        return accounts.size();
+    }
+
+    private static final class AccountEntries {
+        private long[] sequences = new long[8];
+        private int size;
+        // Accounts rarely hold more than a handful of currencies
+        private final Map<String, Long> balances = new HashMap<>(4);
+
+        private synchronized void add(JournalEntry entry) {
+            if (size == sequences.length) {
+                sequences = Arrays.copyOf(sequences, size + (size >> 1));
+            }
+            sequences[size++] = entry.getSequence();
+            balances.merge(entry.getCurrency(), entry.getAmountMinor(), Long::sum);
+        }
+
+        private synchronized long[] latest(int limit) {
+            int count = Math.min(limit, size);
+            long[] result = new long[count];
+            for (int i = 0; i < count; i++) {
+                result[i] = sequences[size - 1 - i];
+            }
+            return result;
+        }
+
+        // Sequences are appended in journal order, so the array is sorted
+        private synchronized long[] after(long afterSequence) {
+            int from = Arrays.binarySearch(sequences, 0, size, afterSequence + 1);
+            if (from < 0) {
+                from = -from - 1;
+            }
+            return Arrays.copyOfRange(sequences, from, size);
+        }
+
+        private synchronized Recent recent(int limit) {
+            return new Recent(latest(limit), Map.copyOf(balances));
+        }
+
+        private synchronized long balance(String currency) {
+            return balances.getOrDefault(currency, 0L);
+        }
+
+        private synchronized Map<String, Long> balances() {
+            return Map.copyOf(balances);
+        }
+
+        private synchronized int size() {
+            return size;
+        }
+    }
+
+    public record Recent(long[] sequences, Map<String, Long> balances) {
+    }
+}
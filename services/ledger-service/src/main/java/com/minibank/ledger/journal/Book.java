@@ -0,0 +1,18 @@
+package com.minibank.ledger.journal;
+
+/**
+ * Which of an account's balances a leg moves. Ordinals are stored in the journal, so new
+ * books may only be added at the end.
+ */
+public enum Book {
+    // The spendable balance; the only book that counts towards an account's balance
+    AVAILABLE,
+    // Funds held by a reservation
+    RESERVED,
+    // Contra book for money entering or leaving through account-service
+    CLEARING;
+
+    static Book ofOrdinal(int ordinal) {
+        return values()[ordinal];
+    }
+}
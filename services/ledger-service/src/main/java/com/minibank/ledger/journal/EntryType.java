@@ -0,0 +1,19 @@
+package com.minibank.ledger.journal;
+
+/**
+ * What produced a posting. Ordinals are stored in the journal, so new types may only be
+ * added at the end.
+ */
+public enum EntryType {
+    // Submitted through the postings API
+    POSTING,
+    // Mirrored from account-service balance events
+    BALANCE_CREDITED,
+    BALANCE_DEBITED,
+    BALANCE_RESERVED,
+    BALANCE_RELEASED;
+
+    static EntryType ofOrdinal(int ordinal) {
+        return values()[ordinal];
+    }
+}
@@ -0,0 +1,270 @@
+package com.minibank.ledger.journal;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Single writer for the {@link Journal}.
+ *
+ * Callers enqueue postings and get a future back. The writer thread drains whatever is
+ * queued (up to {@code maxBatchSize} postings), appends every leg, forces the touched
+ * segments once for the whole batch and only then completes the futures and notifies
+ * the listeners. Throughput therefore grows with load instead of being capped by one
+ * fsync per posting.
+ *
+ * Postings whose ID is already in the {@link PostingIndex} (which remembers IDs for its
+ * dedup window), or earlier in the same batch, are not appended again; their futures
+ * complete with the original receipt.
+ *
+ * If a force fails the journal state is unknown, so the writer stops and rejects all
+ * further postings; the service must be restarted to recover from the files. A listener
+ * that fails has missed committed entries, so it stops the writer the same way once the
+ * batch's postings, which are durable, have been answered; the restart replays the
+ * journal into it.
+ */
+public class GroupCommitWriter implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(GroupCommitWriter.class);
+
+    private final Journal journal;
+    private final PostingIndex postingIndex;
+    private final List<JournalListener> listeners;
+    private final BlockingQueue<PendingPosting> queue;
+    private final int maxBatchSize;
+    private final Thread thread;
+
+    // Writer thread only
+    private long lastTimestampMillis;
+
+    private volatile boolean running = true;
+    private volatile Throwable failure;
+
+    // Metrics
+    private final Counter postingsCommitted;
+    private final Counter legsCommitted;
+    private final Counter duplicatePostings;
+    private final DistributionSummary batchSize;
+    private final Timer commitDuration;
+    private final Map<JournalListener, Counter> listenerFailures = new HashMap<>();
+
+    /**
+     * @param listeners must include {@code postingIndex}, so it is replayed and kept current
+     */
+    public GroupCommitWriter(Journal journal, PostingIndex postingIndex, List<JournalListener> listeners,
+                             int queueCapacity, int maxBatchSize, MeterRegistry meterRegistry) {
+        this.journal = journal;
+        this.postingIndex = postingIndex;
+        this.listeners = List.copyOf(listeners);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+
+        this.postingsCommitted = Counter.builder("ledger.journal.postings.total")
+            .description("Postings durably written to the journal")
+            .register(meterRegistry);
+        this.legsCommitted = Counter.builder("ledger.journal.entries.total")
+            .description("Journal entries (posting legs) durably written")
+            .register(meterRegistry);
+        this.duplicatePostings = Counter.builder("ledger.journal.postings.duplicate.total")
+            .description("Postings answered with the receipt of an earlier posting with the same ID")
+            .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("ledger.journal.batch.size")
+            .description("Postings per group commit")
+            .register(meterRegistry);
+        this.commitDuration = Timer.builder("ledger.journal.commit.duration.seconds")
+            .description("Time to append and force one group commit")
+            .register(meterRegistry);
+        for (JournalListener listener : this.listeners) {
+            listenerFailures.put(listener, Counter.builder("ledger.journal.listener.failures.total")
+                .description("Journal listeners that failed to take committed entries")
+                .tag("listener", listener.getClass().getSimpleName())
+                .register(meterRegistry));
+        }
+        Gauge.builder("ledger.journal.queue.depth", queue, BlockingQueue::size)
+            .description("Postings waiting for the journal writer")
+            .register(meterRegistry);
+        Gauge.builder("ledger.journal.committed.sequence", journal, Journal::getCommittedSequence)
+            .description("Last durable journal sequence")
+            .register(meterRegistry);
+
+        this.thread = new Thread(this::run, "ledger-journal-writer");
+    }
+
+    /**
+     * Replays the journal into listeners that need it, then starts accepting postings.
+     */
+    public void start() {
+        for (JournalListener listener : listeners) {
+            long from = listener.recoveryStartSequence();
+            if (from <= journal.getCommittedSequence()) {
+                long last = journal.replay(from, maxBatchSize, listener::onCommitted);
+                logger.info("Replayed journal {}..{} into {}", from, last, listener.getClass().getSimpleName());
+            }
+        }
+        JournalEntry tail = journal.read(journal.getCommittedSequence());
+        if (tail != null) {
+            lastTimestampMillis = tail.getTimestampMillis();
+        }
+        thread.start();
+    }
+
+    /**
+     * @throws IllegalStateException if the writer has stopped or its queue is full
+     */
+    public CompletableFuture<PostingReceipt> submit(Posting posting) {
+        if (!running) {
+            throw new IllegalStateException("Journal writer is not running", failure);
+        }
+        PendingPosting pending = new PendingPosting(posting);
+        if (!queue.offer(pending)) {
+            throw new IllegalStateException("Journal writer queue is full");
+        }
+        return pending.future;
+    }
+
+    private void run() {
+        List<PendingPosting> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingPosting first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Throwable e) {
+                logger.error("Journal commit failed; rejecting further postings", e);
+                failure = e;
+                running = false;
+                batch.forEach(pending -> pending.future.completeExceptionally(e));
+                queue.forEach(pending -> pending.future.completeExceptionally(e));
+                queue.clear();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingPosting> batch) {
+        long start = System.nanoTime();
+        List<JournalEntry> entries = new ArrayList<>(batch.size() * 2);
+        Map<UUID, PendingPosting> appended = new HashMap<>();
+        int duplicates = 0;
+
+        for (PendingPosting pending : batch) {
+            Posting posting = pending.posting;
+            PostingReceipt committed = postingIndex.find(posting.getPostingId());
+            if (committed != null) {
+                pending.future.complete(committed);
+                duplicates++;
+                continue;
+            }
+            PendingPosting original = appended.putIfAbsent(posting.getPostingId(), pending);
+            if (original != null) {
+                pending.duplicateOf = original;
+                duplicates++;
+                continue;
+            }
+            // Keep timestamps non-decreasing in sequence order so time lookups can stop early
+            long timestamp = Math.max(posting.getTimestampMillis(), lastTimestampMillis);
+            lastTimestampMillis = timestamp;
+            List<Posting.Leg> legs = posting.getLegs();
+            for (int i = 0; i < legs.size(); i++) {
+                Posting.Leg leg = legs.get(i);
+                boolean lastLeg = i == legs.size() - 1;
+                long sequence = journal.append(posting.getPostingId(), leg.getAccountId(), leg.getBook(),
+                    posting.getType(), posting.getCurrency(), leg.getAmountMinor(), timestamp, lastLeg);
+                if (i == 0) {
+                    pending.firstSequence = sequence;
+                }
+                pending.lastSequence = sequence;
+                entries.add(new JournalEntry(sequence, posting.getPostingId(), leg.getAccountId(), leg.getBook(),
+                    posting.getType(), posting.getCurrency(), leg.getAmountMinor(), timestamp, lastLeg));
+            }
+        }
+        journal.commit();
+        commitDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        RuntimeException listenerFailure = null;
+        for (JournalListener listener : listeners) {
+            try {
+                listener.onCommitted(entries);
+            } catch (RuntimeException e) {
+                // The entries are durable, so the postings still succeed; the other listeners are fed as usual
+                logger.error("Journal listener {} failed", listener.getClass().getSimpleName(), e);
+                listenerFailures.get(listener).increment();
+                if (listenerFailure == null) {
+                    listenerFailure = new IllegalStateException(
+                        "Journal listener " + listener.getClass().getSimpleName() + " missed committed entries", e);
+                }
+            }
+        }
+
+        long committedAt = System.currentTimeMillis();
+        for (PendingPosting pending : batch) {
+            if (pending.future.isDone()) {
+                // Answered from the posting index before the append
+                continue;
+            }
+            PendingPosting written = pending.duplicateOf != null ? pending.duplicateOf : pending;
+            pending.future.complete(new PostingReceipt(
+                written.posting.getPostingId(), written.firstSequence, written.lastSequence, committedAt));
+        }
+        postingsCommitted.increment(batch.size() - duplicates);
+        duplicatePostings.increment(duplicates);
+        legsCommitted.increment(entries.size());
+        batchSize.record(batch.size());
+
+        if (listenerFailure != null) {
+            throw listenerFailure;
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class PendingPosting {
+        private final Posting posting;
+        private final CompletableFuture<PostingReceipt> future = new CompletableFuture<>();
+        private long firstSequence;
+        private long lastSequence;
+        // Set when an earlier posting in the same batch has the same ID
+        private PendingPosting duplicateOf;
+
+        private PendingPosting(Posting posting) {
+            this.posting = posting;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.minibank.ledger.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only journal of posting legs spread over fixed-size memory-mapped segments.
+ *
+ * There is exactly one writer ({@link GroupCommitWriter}); it appends, forces and then
+ * publishes the committed sequence. Readers only look at sequences up to
+ * {@link #getCommittedSequence()}, which the volatile publish makes visible.
+ *
+ * On open, the journal is truncated after the last complete posting, so a crash in the
+ * middle of a batch never leaves a half-written, unbalanced posting behind. Only the tail
+ * of the last segment is ever truncated; a bad record in an earlier, fully forced segment
+ * fails the open instead of discarding committed postings.
+ */
+public class Journal implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(Journal.class);
+
+    public static final int RECORD_SIZE = JournalSegment.RECORD_SIZE;
+
+    private final Path directory;
+    private final int segmentCapacity;
+    private final List<JournalSegment> segments = new CopyOnWriteArrayList<>();
+
+    // Writer state
+    private long nextSequence;
+    private JournalSegment dirtyFrom;
+
+    private volatile long committedSequence;
+
+    public Journal(Path directory, int segmentCapacity) throws IOException {
+        if (segmentCapacity <= 0) {
+            throw new IllegalArgumentException("Segment capacity must be positive: " + segmentCapacity);
+        }
+        this.directory = directory;
+        this.segmentCapacity = segmentCapacity;
+        Files.createDirectories(directory);
+        recover();
+    }
+
+    private void recover() throws IOException {
+        List<Integer> indexes = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                .filter(name -> name.startsWith("journal-") && name.endsWith(".seg"))
+                .map(JournalSegment::indexOf)
+                .sorted()
+                .forEach(indexes::add);
+        }
+        for (int i = 0; i < indexes.size(); i++) {
+            if (indexes.get(i) != i) {
+                throw new IllegalStateException("Journal segment " + JournalSegment.fileName(i) + " is missing");
+            }
+            segments.add(JournalSegment.open(directory, i, segmentCapacity));
+        }
+
+        // Only the last segment can be torn: a segment is forced in full before the next one
+        // is created, so a bad record anywhere earlier is corruption of committed postings
+        long lastComplete = -1;
+        long sequence = 0;
+        for (JournalSegment segment : segments) {
+            boolean last = segment.index() == segments.size() - 1;
+            for (int slot = 0; slot < segmentCapacity; slot++, sequence++) {
+                JournalEntry entry = segment.read(slot);
+                if (entry == null) {
+                    if (!last) {
+                        throw new IllegalStateException("Journal segment " + segment.path()
+                            + " is corrupt at record " + slot + "; refusing to open the journal");
+                    }
+                    break;
+                }
+                if (entry.isLastLeg()) {
+                    lastComplete = sequence;
+                }
+            }
+        }
+
+        nextSequence = lastComplete + 1;
+        committedSequence = lastComplete;
+        if (sequence != nextSequence) {
+            logger.warn("Discarding {} journal records of an incomplete posting", sequence - nextSequence);
+        }
+        truncate(nextSequence);
+        logger.info("Opened journal at {} with {} records in {} segments", directory, nextSequence, segments.size());
+    }
+
+    /**
+     * Clears everything from {@code fromSequence} to the end of its segment, which can only
+     * hold the unforced tail of the batch that was being written, and deletes the segments
+     * after it, which hold nothing but legs of the same incomplete posting.
+     */
+    private void truncate(long fromSequence) throws IOException {
+        int lastSegment = (int) (fromSequence / segmentCapacity);
+        while (segments.size() > lastSegment + 1) {
+            JournalSegment segment = segments.remove(segments.size() - 1);
+            segment.close();
+            Files.delete(segment.path());
+        }
+        if (lastSegment < segments.size()) {
+            // Stray records past the tear may still pass their checksum; zero them too so a
+            // later recovery can never read through into them
+            JournalSegment segment = segments.get(lastSegment);
+            for (int slot = (int) (fromSequence % segmentCapacity); slot < segmentCapacity; slot++) {
+                segment.clear(slot);
+            }
+            segment.force();
+        }
+    }
+
+    /**
+     * Writes one leg at the next sequence. Writer thread only; not durable until {@link #commit()}.
+     */
+    long append(UUID postingId, UUID accountId, Book book, EntryType type, String currency,
+                long amountMinor, long timestampMillis, boolean lastLeg) {
+        long sequence = nextSequence;
+        JournalSegment segment = segmentFor(sequence);
+        segment.write((int) (sequence % segmentCapacity), sequence, postingId, accountId, book, type,
+            currency, amountMinor, timestampMillis, lastLeg);
+        if (dirtyFrom == null) {
+            dirtyFrom = segment;
+        }
+        nextSequence = sequence + 1;
+        return sequence;
+    }
+
+    /**
+     * Forces every segment written since the last commit and publishes the new end of the journal.
+     */
+    void commit() {
+        if (dirtyFrom == null) {
+            return;
+        }
+        for (int i = dirtyFrom.index(); i < segments.size(); i++) {
+            segments.get(i).force();
+        }
+        dirtyFrom = null;
+        committedSequence = nextSequence - 1;
+    }
+
+    private JournalSegment segmentFor(long sequence) {
+        int index = (int) (sequence / segmentCapacity);
+        if (index == segments.size()) {
+            if (index > 0) {
+                // Earlier segments are always complete on disk, which recovery relies on
+                segments.get(index - 1).force();
+            }
+            try {
+                segments.add(JournalSegment.open(directory, index, segmentCapacity));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot create journal segment " + index, e);
+            }
+        }
+        return segments.get(index);
+    }
+
+    /**
+     * @return the committed entry at {@code sequence}, or null if it is not committed
+     */
+    public JournalEntry read(long sequence) {
+        if (sequence < 0 || sequence > committedSequence) {
+            return null;
+        }
+        return segments.get((int) (sequence / segmentCapacity)).read((int) (sequence % segmentCapacity));
+    }
+
+    /**
+     * Finds the first committed entry written at or after {@code timestampMillis}. The
+     * writer keeps timestamps non-decreasing in sequence order, so this is a binary search.
+     *
+     * @return its sequence, or {@code getCommittedSequence() + 1} if every entry is older
+     */
+    public long firstSequenceAtOrAfter(long timestampMillis) {
+        long low = 0;
+        long high = committedSequence + 1;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (read(mid).getTimestampMillis() < timestampMillis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Copies the raw {@link #RECORD_SIZE}-byte record at {@code sequence}, which
+     * must be committed, into {@code target}.
+     */
+    public void copyRecord(long sequence, byte[] target) {
+        if (sequence < 0 || sequence > committedSequence) {
+            throw new IllegalArgumentException("Sequence " + sequence + " is not committed");
+        }
+        segments.get((int) (sequence / segmentCapacity)).copyRecord((int) (sequence % segmentCapacity), target);
+    }
+
+    /**
+     * Feeds committed entries from {@code fromSequence} onwards to {@code batchConsumer} in chunks.
+     *
+     * @return the last sequence delivered, or {@code fromSequence - 1} if there was nothing to read
+     */
+    public long replay(long fromSequence, int chunkSize, Consumer<List<JournalEntry>> batchConsumer) {
+        return replay(fromSequence, committedSequence, chunkSize, batchConsumer);
+    }
+
+    /**
+     * Same as {@link #replay(long, int, Consumer)} but stops after {@code toSequence}.
+     */
+    public long replay(long fromSequence, long toSequence, int chunkSize,
+                       Consumer<List<JournalEntry>> batchConsumer) {
+        long end = Math.min(toSequence, committedSequence);
+        long sequence = Math.max(0, fromSequence);
+        List<JournalEntry> chunk = new ArrayList<>(chunkSize);
+        for (; sequence <= end; sequence++) {
+            chunk.add(read(sequence));
+            if (chunk.size() == chunkSize) {
+                batchConsumer.accept(chunk);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            batchConsumer.accept(chunk);
+        }
+        return sequence - 1;
+    }
+
+    public long getCommittedSequence() {
+        return committedSequence;
+    }
+
+    public int getSegmentCapacity() {
+        return segmentCapacity;
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (JournalSegment segment : segments) {
+            segment.force();
+            segment.close();
+        }
+    }
+}
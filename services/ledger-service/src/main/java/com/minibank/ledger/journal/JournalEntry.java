@@ -0,0 +1,45 @@
+package com.minibank.ledger.journal;
+
+import java.util.UUID;
+
+/**
+ * One leg of a posting as stored in the journal. Credits are positive, debits negative.
+ */
+public final class JournalEntry {
+
+    private final long sequence;
+    private final UUID postingId;
+    private final UUID accountId;
+    private final Book book;
+    private final EntryType type;
+    private final String currency;
+    private final long amountMinor;
+    private final long timestampMillis;
+    private final boolean lastLeg;
+
+    public JournalEntry(long sequence, UUID postingId, UUID accountId, Book book, EntryType type,
+                        String currency, long amountMinor, long timestampMillis, boolean lastLeg) {
+        this.sequence = sequence;
+        this.postingId = postingId;
+        this.accountId = accountId;
+        this.book = book;
+        this.type = type;
+        this.currency = currency;
+        this.amountMinor = amountMinor;
+        this.timestampMillis = timestampMillis;
+        this.lastLeg = lastLeg;
+    }
+
+    public long getSequence() { return sequence; }
+    public UUID getPostingId() { return postingId; }
+    public UUID getAccountId() { return accountId; }
+    public Book getBook() { return book; }
+    public EntryType getType() { return type; }
+    public String getCurrency() { return currency; }
+    public long getAmountMinor() { return amountMinor; }
+    public long getTimestampMillis() { return timestampMillis; }
+    public boolean isLastLeg() { return lastLeg; }
+
+    public boolean isDebit() { return amountMinor < 0; }
+    public boolean isAvailable() { return book == Book.AVAILABLE; }
+}
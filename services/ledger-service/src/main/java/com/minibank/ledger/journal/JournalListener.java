@@ -0,0 +1,19 @@
+package com.minibank.ledger.journal;
+
+import java.util.List;
+
+/**
+ * Receives journal entries once they are durable. Called on the journal writer thread,
+ * in sequence order, so implementations must be quick and must not block on I/O.
+ */
+public interface JournalListener {
+
+    /**
+     * First sequence this listener needs replayed on startup; {@code Long.MAX_VALUE} for none.
+     */
+    default long recoveryStartSequence() {
+        return 0;
+    }
+
+    void onCommitted(List<JournalEntry> entries);
+}
@@ -0,0 +1,160 @@
+package com.minibank.ledger.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+
+/**
+ * A fixed-size, memory-mapped journal file holding {@code capacity} records of
+ * {@link #RECORD_SIZE} bytes. Record {@code i} of segment {@code n} has sequence
+ * {@code n * capacity + i}.
+ *
+ * <pre>
+ *  0  long    sequence
+ *  8  long[2] posting ID
+ * 24  long[2] account ID
+ * 40  long    amount in minor units (credit positive)
+ * 48  long    timestamp millis
+ * 56  byte[3] currency code
+ * 59  byte    flags (bit 0: last leg of its posting, bits 1-2: book, bits 3-5: entry type)
+ * 60  int     CRC32C of bytes 0-59
+ * </pre>
+ *
+ * Book and entry type are stored as ordinals, so records written before they existed
+ * read back as {@link Book#AVAILABLE} and {@link EntryType#POSTING}.
+ *
+ * An all-zero or corrupt slot fails the checksum. In the last segment that marks the end
+ * of the journal; in any earlier one it is corruption.
+ */
+final class JournalSegment implements Closeable {
+
+    static final int RECORD_SIZE = 64;
+
+    private static final int CHECKSUM_OFFSET = 60;
+    private static final byte LAST_LEG = 1;
+    private static final int BOOK_SHIFT = 1;
+    private static final int BOOK_MASK = 0x3;
+    private static final int TYPE_SHIFT = 3;
+    private static final int TYPE_MASK = 0x7;
+
+    private final int index;
+    private final int capacity;
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+
+    private JournalSegment(int index, int capacity, Path path, FileChannel channel, MappedByteBuffer buffer) {
+        this.index = index;
+        this.capacity = capacity;
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    static JournalSegment open(Path directory, int index, int capacity) throws IOException {
+        Path path = directory.resolve(fileName(index));
+        FileChannel channel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // Mapping past the end of the file extends it to the full segment size
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * RECORD_SIZE);
+        return new JournalSegment(index, capacity, path, channel, buffer);
+    }
+
+    static String fileName(int index) {
+        return String.format("journal-%010d.seg", index);
+    }
+
+    static int indexOf(String fileName) {
+        return Integer.parseInt(fileName.substring("journal-".length(), fileName.length() - ".seg".length()));
+    }
+
+    void write(int slot, long sequence, UUID postingId, UUID accountId, Book book, EntryType type,
+               String currency, long amountMinor, long timestampMillis, boolean lastLeg) {
+        int offset = slot * RECORD_SIZE;
+        buffer.putLong(offset, sequence);
+        buffer.putLong(offset + 8, postingId.getMostSignificantBits());
+        buffer.putLong(offset + 16, postingId.getLeastSignificantBits());
+        buffer.putLong(offset + 24, accountId.getMostSignificantBits());
+        buffer.putLong(offset + 32, accountId.getLeastSignificantBits());
+        buffer.putLong(offset + 40, amountMinor);
+        buffer.putLong(offset + 48, timestampMillis);
+        byte[] code = currency.getBytes(StandardCharsets.US_ASCII);
+        buffer.put(offset + 56, code[0]);
+        buffer.put(offset + 57, code[1]);
+        buffer.put(offset + 58, code[2]);
+        int flags = (lastLeg ? LAST_LEG : 0) | book.ordinal() << BOOK_SHIFT | type.ordinal() << TYPE_SHIFT;
+        buffer.put(offset + 59, (byte) flags);
+        buffer.putInt(offset + CHECKSUM_OFFSET, checksum(offset));
+    }
+
+    /**
+     * @return the entry in {@code slot}, or null if the slot is empty or corrupt
+     */
+    JournalEntry read(int slot) {
+        int offset = slot * RECORD_SIZE;
+        if (buffer.getInt(offset + CHECKSUM_OFFSET) != checksum(offset)) {
+            return null;
+        }
+        long sequence = buffer.getLong(offset);
+        if (sequence != firstSequence() + slot) {
+            return null;
+        }
+        byte[] code = {buffer.get(offset + 56), buffer.get(offset + 57), buffer.get(offset + 58)};
+        int flags = buffer.get(offset + 59);
+        return new JournalEntry(
+            sequence,
+            new UUID(buffer.getLong(offset + 8), buffer.getLong(offset + 16)),
+            new UUID(buffer.getLong(offset + 24), buffer.getLong(offset + 32)),
+            Book.ofOrdinal(flags >> BOOK_SHIFT & BOOK_MASK),
+            EntryType.ofOrdinal(flags >> TYPE_SHIFT & TYPE_MASK),
+            new String(code, StandardCharsets.US_ASCII),
+            buffer.getLong(offset + 40),
+            buffer.getLong(offset + 48),
+            (flags & LAST_LEG) != 0
+        );
+    }
+
+    /**
+     * Copies the raw bytes of {@code slot}, e.g. for hashing.
+     */
+    void copyRecord(int slot, byte[] target) {
+        buffer.get(slot * RECORD_SIZE, target, 0, RECORD_SIZE);
+    }
+
+    void clear(int slot) {
+        for (int offset = slot * RECORD_SIZE; offset < (slot + 1) * RECORD_SIZE; offset += 8) {
+            buffer.putLong(offset, 0L);
+        }
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    int index() { return index; }
+    int capacity() { return capacity; }
+    Path path() { return path; }
+
+    long firstSequence() {
+        return (long) index * capacity;
+    }
+
+    private int checksum(int offset) {
+        CRC32C crc = new CRC32C();
+        ByteBuffer record = buffer.slice(offset, CHECKSUM_OFFSET);
+        crc.update(record);
+        return (int) crc.getValue();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,86 @@
+package com.minibank.ledger.journal;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A balanced set of legs in one currency, written to the journal atomically. Legs may
+ * move different books of the same account; the sum over all legs must still be zero.
+ */
+public final class Posting {
+
+    private final UUID postingId;
+    private final EntryType type;
+    private final String currency;
+    private final long timestampMillis;
+    private final List<Leg> legs;
+
+    public Posting(UUID postingId, String currency, long timestampMillis, List<Leg> legs) {
+        this(postingId, EntryType.POSTING, currency, timestampMillis, legs);
+    }
+
+    public Posting(UUID postingId, EntryType type, String currency, long timestampMillis, List<Leg> legs) {
+        if (postingId == null) {
+            throw new IllegalArgumentException("Posting ID is required");
+        }
+        if (currency == null || currency.length() != 3) {
+            throw new IllegalArgumentException("Currency must be a 3-letter code: " + currency);
+        }
+        if (legs == null || legs.size() < 2) {
+            throw new IllegalArgumentException("A posting needs at least two legs");
+        }
+        long total = 0;
+        for (Leg leg : legs) {
+            if (leg.getAmountMinor() == 0) {
+                throw new IllegalArgumentException("Leg amount must not be zero for account " + leg.getAccountId());
+            }
+            total = Math.addExact(total, leg.getAmountMinor());
+        }
+        if (total != 0) {
+            throw new IllegalArgumentException("Posting " + postingId + " is not balanced: net " + total);
+        }
+        this.postingId = postingId;
+        this.type = type;
+        this.currency = currency;
+        this.timestampMillis = timestampMillis;
+        this.legs = List.copyOf(legs);
+    }
+
+    public UUID getPostingId() { return postingId; }
+    public EntryType getType() { return type; }
+    public String getCurrency() { return currency; }
+    public long getTimestampMillis() { return timestampMillis; }
+    public List<Leg> getLegs() { return legs; }
+
+    public static final class Leg {
+        private final UUID accountId;
+        private final Book book;
+        // Credit positive, debit negative
+        private final long amountMinor;
+
+        public Leg(UUID accountId, long amountMinor) {
+            this(accountId, Book.AVAILABLE, amountMinor);
+        }
+
+        public Leg(UUID accountId, Book book, long amountMinor) {
+            if (accountId == null) {
+                throw new IllegalArgumentException("Leg account ID is required");
+            }
+            this.accountId = accountId;
+            this.book = book;
+            this.amountMinor = amountMinor;
+        }
+
+        public static Leg debit(UUID accountId, long amountMinor) {
+            return new Leg(accountId, -amountMinor);
+        }
+
+        public static Leg credit(UUID accountId, long amountMinor) {
+            return new Leg(accountId, amountMinor);
+        }
+
+        public UUID getAccountId() { return accountId; }
+        public Book getBook() { return book; }
+        public long getAmountMinor() { return amountMinor; }
+    }
+}
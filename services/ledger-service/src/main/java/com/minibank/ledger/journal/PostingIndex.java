@@ -0,0 +1,86 @@
+package com.minibank.ledger.journal;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index from posting ID to the receipt of its committed legs. The writer checks
+ * it before appending, so a posting retried after a commit timeout is answered with the
+ * original receipt instead of written twice.
+ *
+ * Only postings committed within the dedup window are kept: older receipts are evicted as
+ * the journal moves on, and on startup only the window is replayed. A posting retried
+ * after its window has passed is written again.
+ */
+public class PostingIndex implements JournalListener {
+
+    private final Journal journal;
+    private final long windowMillis;
+    private final Map<UUID, PostingReceipt> postings = new ConcurrentHashMap<>();
+
+    // Writer thread only; receipts in commit order, so the oldest is always at the head
+    private final ArrayDeque<PostingReceipt> byAge = new ArrayDeque<>();
+    // Writer thread only; replay chunks may split a posting's legs across calls
+    private UUID currentPostingId;
+    private long currentFirstSequence;
+
+    public PostingIndex(Journal journal, Duration window) {
+        this.journal = journal;
+        this.windowMillis = window.toMillis();
+    }
+
+    @Override
+    public long recoveryStartSequence() {
+        long from = journal.firstSequenceAtOrAfter(System.currentTimeMillis() - windowMillis);
+        // Start on a posting boundary so no receipt is built from part of a posting's legs
+        while (from > 0 && from <= journal.getCommittedSequence() && !journal.read(from - 1).isLastLeg()) {
+            from++;
+        }
+        return from;
+    }
+
+    @Override
+    public void onCommitted(List<JournalEntry> entries) {
+        for (JournalEntry entry : entries) {
+            if (!entry.getPostingId().equals(currentPostingId)) {
+                currentPostingId = entry.getPostingId();
+                currentFirstSequence = entry.getSequence();
+            }
+            if (entry.isLastLeg()) {
+                PostingReceipt receipt = new PostingReceipt(
+                    currentPostingId, currentFirstSequence, entry.getSequence(), entry.getTimestampMillis());
+                if (postings.putIfAbsent(currentPostingId, receipt) == null) {
+                    byAge.addLast(receipt);
+                }
+                currentPostingId = null;
+            }
+        }
+        if (!entries.isEmpty()) {
+            evictBefore(entries.get(entries.size() - 1).getTimestampMillis() - windowMillis);
+        }
+    }
+
+    // Journal timestamps never go backwards, so eviction stops at the first receipt inside the window
+    private void evictBefore(long cutoffMillis) {
+        while (!byAge.isEmpty() && byAge.peekFirst().getCommittedAtMillis() < cutoffMillis) {
+            PostingReceipt expired = byAge.pollFirst();
+            postings.remove(expired.getPostingId(), expired);
+        }
+    }
+
+    /**
+     * @return the receipt of the committed posting, or null if it has not been committed
+     *         within the dedup window
+     */
+    public PostingReceipt find(UUID postingId) {
+        return postings.get(postingId);
+    }
+
+    public int postingCount() {
+        return postings.size();
+    }
+}
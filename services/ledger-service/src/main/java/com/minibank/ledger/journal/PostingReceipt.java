@@ -0,0 +1,23 @@
+package com.minibank.ledger.journal;
+
+import java.util.UUID;
+
+public final class PostingReceipt {
+
+    private final UUID postingId;
+    private final long firstSequence;
+    private final long lastSequence;
+    private final long committedAtMillis;
+
+    public PostingReceipt(UUID postingId, long firstSequence, long lastSequence, long committedAtMillis) {
+        this.postingId = postingId;
+        this.firstSequence = firstSequence;
+        this.lastSequence = lastSequence;
+        this.committedAtMillis = committedAtMillis;
+    }
+
+    public UUID getPostingId() { return postingId; }
+    public long getFirstSequence() { return firstSequence; }
+    public long getLastSequence() { return lastSequence; }
+    public long getCommittedAtMillis() { return committedAtMillis; }
+}
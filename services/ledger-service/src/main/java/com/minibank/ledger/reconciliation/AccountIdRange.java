@@ -0,0 +1,34 @@
+package com.minibank.ledger.reconciliation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import com.minibank.ledger.infrastructure.ingest.LedgerEntryRow;
+
+/**
+ * A slice {@code [lower, upper)} of the account id space; {@code upper} is null for the last slice.
+ *
+ * Postgres orders UUIDs by their bytes, i.e. by the most significant bits read as
+ * unsigned, so slices are cut on that value and rows are compared the same way.
+ */
+record AccountIdRange(int index, UUID lower, UUID upper) {
+
+    static List<AccountIdRange> split(int partitions) {
+        if (partitions <= 0) {
+            throw new IllegalArgumentException("Partitions must be positive: " + partitions);
+        }
+        long step = Long.divideUnsigned(-1L, partitions);
+        List<AccountIdRange> ranges = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) {
+            UUID lower = new UUID(step * i, 0L);
+            UUID upper = i == partitions - 1 ? null : new UUID(step * (i + 1), 0L);
+            ranges.add(new AccountIdRange(i, lower, upper));
+        }
+        return ranges;
+    }
+
+    static int compare(UUID a, UUID b) {
+        return LedgerEntryRow.compareUuids(a, b);
+    }
+}
@@ -0,0 +1,18 @@
+package com.minibank.ledger.reconciliation;
+
+import java.util.UUID;
+
+/**
+ * A per-account, per-currency balance that differs between account-service and the ledger.
+ * Amounts are minor units; a side is null when it has no row for the pair.
+ */
+public record Discrepancy(UUID accountId, String currency, Kind kind,
+                          Long accountAvailable, Long accountReserved,
+                          Long ledgerAvailable, Long ledgerReserved) {
+
+    public enum Kind {
+        MISSING_IN_LEDGER,
+        MISSING_IN_ACCOUNTS,
+        AMOUNT_MISMATCH
+    }
+}
@@ -0,0 +1,374 @@
+package com.minibank.ledger.reconciliation;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+import javax.sql.DataSource;
+
+/**
+ * Reconciles one account id slice by merge-joining two sorted streams: balances from
+ * account-service and per-account sums from {@code ledger_entries}.
+ *
+ * Both queries run on server-side cursors (auto-commit off plus a fetch size), so a
+ * slice holds one row per side in memory regardless of its size. Discrepancies are
+ * written in batches on the ledger connection and commit with the slice.
+ *
+ * account-service balances are live while {@code ledger_entries} is projected from the
+ * journal a little later, so a payment in flight looks like a discrepancy. Each batch of
+ * discrepancies is therefore held until the projection has caught up with everything the
+ * journal had committed, and only the balances that still differ when both sides are
+ * read again are written.
+ */
+class PartitionReconciler {
+
+    // Currency codes are upper-case ASCII, so any collation sorts them like String.compareTo
+    private static final String ACCOUNT_BALANCES = """
+        SELECT account_id, currency_code, available_amount_minor, reserved_amount_minor
+        FROM account_balances
+        WHERE account_id >= ? %s
+        ORDER BY account_id, currency_code
+        """;
+
+    // Entries moved to the cold tier are represented by their per-book totals
+    private static final String LEDGER_SUMS = """
+        SELECT account_id, currency_code,
+               SUM(amount_minor) FILTER (WHERE book = 'AVAILABLE') AS available_minor,
+               SUM(amount_minor) FILTER (WHERE book = 'RESERVED') AS reserved_minor
+        FROM (
+            SELECT account_id, currency_code, book, amount_minor
+            FROM ledger_entries
+            WHERE account_id >= ? %1$s
+            UNION ALL
+            SELECT account_id, currency_code, book, amount_minor
+            FROM ledger_cold_balances
+            WHERE account_id >= ? %1$s
+        ) entries
+        GROUP BY account_id, currency_code
+        ORDER BY account_id, currency_code
+        """;
+
+    private static final String ACCOUNT_BALANCES_OF = """
+        SELECT account_id, currency_code, available_amount_minor, reserved_amount_minor
+        FROM account_balances
+        WHERE account_id = ANY(?)
+        ORDER BY account_id, currency_code
+        """;
+
+    private static final String LEDGER_SUMS_OF = """
+        SELECT account_id, currency_code,
+               SUM(amount_minor) FILTER (WHERE book = 'AVAILABLE') AS available_minor,
+               SUM(amount_minor) FILTER (WHERE book = 'RESERVED') AS reserved_minor
+        FROM (
+            SELECT account_id, currency_code, book, amount_minor
+            FROM ledger_entries
+            WHERE account_id = ANY(?)
+            UNION ALL
+            SELECT account_id, currency_code, book, amount_minor
+            FROM ledger_cold_balances
+            WHERE account_id = ANY(?)
+        ) entries
+        GROUP BY account_id, currency_code
+        ORDER BY account_id, currency_code
+        """;
+
+    private static final long PROJECTION_POLL_MILLIS = 100;
+
+    private static final String INSERT_DISCREPANCY = """
+        INSERT INTO reconciliation_discrepancies
+            (run_id, account_id, currency_code, kind, account_available_minor, account_reserved_minor,
+             ledger_available_minor, ledger_reserved_minor)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    private final DataSource accountsDataSource;
+    private final DataSource ledgerDataSource;
+    private final LongSupplier committedSequence;
+    private final LongSupplier projectedSequence;
+    private final int fetchSize;
+    private final int discrepancyBatchSize;
+    private final Duration recheckTimeout;
+
+    PartitionReconciler(DataSource accountsDataSource, DataSource ledgerDataSource,
+                        LongSupplier committedSequence, LongSupplier projectedSequence,
+                        int fetchSize, int discrepancyBatchSize, Duration recheckTimeout) {
+        this.accountsDataSource = accountsDataSource;
+        this.ledgerDataSource = ledgerDataSource;
+        this.committedSequence = committedSequence;
+        this.projectedSequence = projectedSequence;
+        this.fetchSize = fetchSize;
+        this.discrepancyBatchSize = discrepancyBatchSize;
+        this.recheckTimeout = recheckTimeout;
+    }
+
+    PartitionResult reconcile(long runId, AccountIdRange range) throws SQLException {
+        try (Connection accounts = accountsDataSource.getConnection();
+             Connection ledger = ledgerDataSource.getConnection()) {
+            accounts.setAutoCommit(false);
+            ledger.setAutoCommit(false);
+            try (PreparedStatement accountQuery = rangeQuery(accounts, ACCOUNT_BALANCES, range);
+                 PreparedStatement ledgerQuery = rangeQuery(ledger, LEDGER_SUMS, range);
+                 ResultSet accountRows = accountQuery.executeQuery();
+                 ResultSet ledgerRows = ledgerQuery.executeQuery();
+                 DiscrepancyWriter writer = new DiscrepancyWriter(ledger, runId)) {
+                Recheck recheck = new Recheck(accounts, ledger, writer);
+                MergeCounts counts = merge(accountRows, ledgerRows, recheck::add);
+                recheck.flush();
+                writer.flush();
+                ledger.commit();
+                return new PartitionResult(counts.accountsChecked(), counts.balancesCompared(),
+                    writer.written(), writer.kindCounts());
+            } catch (SQLException | RuntimeException e) {
+                ledger.rollback();
+                throw e;
+            } finally {
+                accounts.rollback();
+            }
+        }
+    }
+
+    // Binds the range once per occurrence of the account_id filter in the query
+    private PreparedStatement rangeQuery(Connection connection, String sql, AccountIdRange range)
+            throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(
+            sql.formatted(range.upper() != null ? "AND account_id < ?" : ""));
+        statement.setFetchSize(fetchSize);
+        int filters = sql.split("account_id >= \\?", -1).length - 1;
+        int index = 1;
+        for (int i = 0; i < filters; i++) {
+            statement.setObject(index++, range.lower());
+            if (range.upper() != null) {
+                statement.setObject(index++, range.upper());
+            }
+        }
+        return statement;
+    }
+
+    // Binds the account ids once per occurrence of the filter in the query
+    private static PreparedStatement accountsQuery(Connection connection, String sql, Object[] accountIds)
+            throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        int filters = sql.split("account_id = ANY\\(\\?\\)", -1).length - 1;
+        for (int i = 1; i <= filters; i++) {
+            statement.setArray(i, connection.createArrayOf("uuid", accountIds));
+        }
+        return statement;
+    }
+
+    private MergeCounts merge(ResultSet accountRows, ResultSet ledgerRows, DiscrepancySink sink)
+            throws SQLException {
+        BalanceRow account = BalanceRow.next(accountRows);
+        BalanceRow ledger = BalanceRow.next(ledgerRows);
+        UUID lastAccountId = null;
+        long accountsChecked = 0;
+        long compared = 0;
+
+        while (account != null || ledger != null) {
+            int cmp = account == null ? 1 : ledger == null ? -1 : account.compareTo(ledger);
+            BalanceRow current = cmp <= 0 ? account : ledger;
+            if (!current.accountId.equals(lastAccountId)) {
+                lastAccountId = current.accountId;
+                accountsChecked++;
+            }
+            compared++;
+
+            Discrepancy discrepancy = null;
+            if (cmp < 0) {
+                if (!account.isZero()) {
+                    discrepancy = new Discrepancy(account.accountId, account.currency,
+                        Discrepancy.Kind.MISSING_IN_LEDGER, account.available, account.reserved, null, null);
+                }
+                account = BalanceRow.next(accountRows);
+            } else if (cmp > 0) {
+                if (!ledger.isZero()) {
+                    discrepancy = new Discrepancy(ledger.accountId, ledger.currency,
+                        Discrepancy.Kind.MISSING_IN_ACCOUNTS, null, null, ledger.available, ledger.reserved);
+                }
+                ledger = BalanceRow.next(ledgerRows);
+            } else {
+                if (account.available != ledger.available || account.reserved != ledger.reserved) {
+                    discrepancy = new Discrepancy(account.accountId, account.currency,
+                        Discrepancy.Kind.AMOUNT_MISMATCH, account.available, account.reserved,
+                        ledger.available, ledger.reserved);
+                }
+                account = BalanceRow.next(accountRows);
+                ledger = BalanceRow.next(ledgerRows);
+            }
+
+            if (discrepancy != null) {
+                sink.accept(discrepancy);
+            }
+        }
+        return new MergeCounts(accountsChecked, compared);
+    }
+
+    // Waits until ledger_entries holds everything the journal had committed when the wait began
+    private void awaitProjection() {
+        long target = committedSequence.getAsLong();
+        long deadline = System.nanoTime() + recheckTimeout.toNanos();
+        while (projectedSequence.getAsLong() < target && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(PROJECTION_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the ledger_entries projection", e);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface DiscrepancySink {
+        void accept(Discrepancy discrepancy) throws SQLException;
+    }
+
+    private record MergeCounts(long accountsChecked, long balancesCompared) {
+    }
+
+    private record BalanceKey(UUID accountId, String currency) {
+    }
+
+    /**
+     * Collects discrepancies from the streaming pass and, a batch at a time, reads both
+     * sides of just those balances again once the projection has caught up. Only the
+     * ones that still differ are written, with the amounts of the second read.
+     */
+    private final class Recheck {
+        private final Connection accounts;
+        private final Connection ledger;
+        private final DiscrepancyWriter writer;
+        private final Map<BalanceKey, Discrepancy> pending = new LinkedHashMap<>();
+
+        private Recheck(Connection accounts, Connection ledger, DiscrepancyWriter writer) {
+            this.accounts = accounts;
+            this.ledger = ledger;
+            this.writer = writer;
+        }
+
+        private void add(Discrepancy discrepancy) throws SQLException {
+            pending.put(new BalanceKey(discrepancy.accountId(), discrepancy.currency()), discrepancy);
+            if (pending.size() >= discrepancyBatchSize) {
+                flush();
+            }
+        }
+
+        private void flush() throws SQLException {
+            if (pending.isEmpty()) {
+                return;
+            }
+            awaitProjection();
+            Object[] accountIds = pending.keySet().stream().map(BalanceKey::accountId).distinct().toArray();
+            try (PreparedStatement accountQuery = accountsQuery(accounts, ACCOUNT_BALANCES_OF, accountIds);
+                 PreparedStatement ledgerQuery = accountsQuery(ledger, LEDGER_SUMS_OF, accountIds);
+                 ResultSet accountRows = accountQuery.executeQuery();
+                 ResultSet ledgerRows = ledgerQuery.executeQuery()) {
+                merge(accountRows, ledgerRows, discrepancy -> {
+                    // Other currencies of the same accounts matched in the first pass
+                    if (pending.containsKey(new BalanceKey(discrepancy.accountId(), discrepancy.currency()))) {
+                        writer.add(discrepancy);
+                    }
+                });
+            }
+            pending.clear();
+        }
+    }
+
+    private static final class BalanceRow implements Comparable<BalanceRow> {
+        private final UUID accountId;
+        private final String currency;
+        private final long available;
+        private final long reserved;
+
+        private BalanceRow(UUID accountId, String currency, long available, long reserved) {
+            this.accountId = accountId;
+            this.currency = currency;
+            this.available = available;
+            this.reserved = reserved;
+        }
+
+        // getLong maps SQL NULL (no entries in that book) to 0
+        private static BalanceRow next(ResultSet rows) throws SQLException {
+            if (!rows.next()) {
+                return null;
+            }
+            return new BalanceRow(rows.getObject(1, UUID.class), rows.getString(2), rows.getLong(3), rows.getLong(4));
+        }
+
+        private boolean isZero() {
+            return available == 0 && reserved == 0;
+        }
+
+        @Override
+        public int compareTo(BalanceRow other) {
+            int result = AccountIdRange.compare(accountId, other.accountId);
+            return result != 0 ? result : currency.compareTo(other.currency);
+        }
+    }
+
+    private final class DiscrepancyWriter implements AutoCloseable {
+        private final PreparedStatement insert;
+        private final long runId;
+        private final long[] kindCounts = new long[Discrepancy.Kind.values().length];
+        private int pending;
+        private long written;
+
+        private DiscrepancyWriter(Connection connection, long runId) throws SQLException {
+            this.insert = connection.prepareStatement(INSERT_DISCREPANCY);
+            this.runId = runId;
+        }
+
+        private void add(Discrepancy discrepancy) throws SQLException {
+            insert.setLong(1, runId);
+            insert.setObject(2, discrepancy.accountId());
+            insert.setString(3, discrepancy.currency());
+            insert.setString(4, discrepancy.kind().name());
+            insert.setObject(5, discrepancy.accountAvailable());
+            insert.setObject(6, discrepancy.accountReserved());
+            insert.setObject(7, discrepancy.ledgerAvailable());
+            insert.setObject(8, discrepancy.ledgerReserved());
+            insert.addBatch();
+            kindCounts[discrepancy.kind().ordinal()]++;
+            written++;
+            if (++pending >= discrepancyBatchSize) {
+                flush();
+            }
+        }
+
+        private void flush() throws SQLException {
+            if (pending > 0) {
+                insert.executeBatch();
+                pending = 0;
+            }
+        }
+
+        private long written() {
+            return written;
+        }
+
+        private long[] kindCounts() {
+            return kindCounts.clone();
+        }
+
+        @Override
+        public void close() throws SQLException {
+            insert.close();
+        }
+    }
+
+    record PartitionResult(long accountsChecked, long balancesCompared, long discrepancies, long[] kindCounts) {
+
+        PartitionResult plus(PartitionResult other) {
+            long[] kinds = kindCounts.clone();
+            for (int i = 0; i < kinds.length; i++) {
+                kinds[i] += other.kindCounts[i];
+            }
+            return new PartitionResult(accountsChecked + other.accountsChecked,
+                balancesCompared + other.balancesCompared, discrepancies + other.discrepancies, kinds);
+        }
+    }
+}
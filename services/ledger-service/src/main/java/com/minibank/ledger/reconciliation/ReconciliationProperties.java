@@ -0,0 +1,38 @@
+package com.minibank.ledger.reconciliation;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "ledger.reconciliation")
+public class ReconciliationProperties {
+
+    // Slices of the account id space; many more than threads so fast slices balance slow ones
+    private int partitions = 256;
+    // Each worker holds one connection to each database
+    private int parallelism = 8;
+    // Rows per server-side cursor round trip
+    private int fetchSize = 5_000;
+    private int discrepancyBatchSize = 500;
+    // Longest wait for ledger_entries to catch up with the journal before discrepancies are re-checked
+    private Duration recheckTimeout = Duration.ofSeconds(30);
+    private String cron = "-";
+
+    public int getPartitions() { return partitions; }
+    public void setPartitions(int partitions) { this.partitions = partitions; }
+
+    public int getParallelism() { return parallelism; }
+    public void setParallelism(int parallelism) { this.parallelism = parallelism; }
+
+    public int getFetchSize() { return fetchSize; }
+    public void setFetchSize(int fetchSize) { this.fetchSize = fetchSize; }
+
+    public int getDiscrepancyBatchSize() { return discrepancyBatchSize; }
+    public void setDiscrepancyBatchSize(int discrepancyBatchSize) { this.discrepancyBatchSize = discrepancyBatchSize; }
+
+    public Duration getRecheckTimeout() { return recheckTimeout; }
+    public void setRecheckTimeout(Duration recheckTimeout) { this.recheckTimeout = recheckTimeout; }
+
+    public String getCron() { return cron; }
+    public void setCron(String cron) { this.cron = cron; }
+}
@@ -0,0 +1,51 @@
+package com.minibank.ledger.reconciliation;
+
+import java.time.Instant;
+
+public class ReconciliationRun {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private long id;
+    private Status status;
+    private int partitions;
+    private long accountsChecked;
+    private long balancesCompared;
+    private long discrepancyCount;
+    private String errorMessage;
+    private Instant startedAt;
+    private Instant finishedAt;
+
+    public ReconciliationRun() {}
+
+    public long getId() { return id; }
+    public void setId(long id) { this.id = id; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public int getPartitions() { return partitions; }
+    public void setPartitions(int partitions) { this.partitions = partitions; }
+
+    public long getAccountsChecked() { return accountsChecked; }
+    public void setAccountsChecked(long accountsChecked) { this.accountsChecked = accountsChecked; }
+
+    public long getBalancesCompared() { return balancesCompared; }
+    public void setBalancesCompared(long balancesCompared) { this.balancesCompared = balancesCompared; }
+
+    public long getDiscrepancyCount() { return discrepancyCount; }
+    public void setDiscrepancyCount(long discrepancyCount) { this.discrepancyCount = discrepancyCount; }
+
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+
+    public Instant getStartedAt() { return startedAt; }
+    public void setStartedAt(Instant startedAt) { this.startedAt = startedAt; }
+
+    public Instant getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(Instant finishedAt) { this.finishedAt = finishedAt; }
+}
@@ -0,0 +1,84 @@
+package com.minibank.ledger.reconciliation;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class ReconciliationRunRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ReconciliationRunRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public long create(int partitions) {
+        Long id = jdbcTemplate.queryForObject(
+            "INSERT INTO reconciliation_runs (status, partitions) VALUES (?, ?) RETURNING id",
+            Long.class, ReconciliationRun.Status.RUNNING.name(), partitions);
+        return id != null ? id : -1;
+    }
+
+    public void finish(long id, ReconciliationRun.Status status, long accountsChecked, long balancesCompared,
+                       long discrepancyCount, String errorMessage) {
+        jdbcTemplate.update("""
+            UPDATE reconciliation_runs
+            SET status = ?, accounts_checked = ?, balances_compared = ?, discrepancy_count = ?,
+                error_message = ?, finished_at = now()
+            WHERE id = ?
+            """, status.name(), accountsChecked, balancesCompared, discrepancyCount, errorMessage, id);
+    }
+
+    // A run left RUNNING by a crash never finishes
+    public int failAbandoned() {
+        return jdbcTemplate.update("""
+            UPDATE reconciliation_runs SET status = 'FAILED', error_message = 'abandoned', finished_at = now()
+            WHERE status = 'RUNNING'
+            """);
+    }
+
+    public Optional<ReconciliationRun> findById(long id) {
+        return jdbcTemplate.query("SELECT * FROM reconciliation_runs WHERE id = ?", this::mapRun, id)
+            .stream().findFirst();
+    }
+
+    public List<Discrepancy> findDiscrepancies(long runId, int limit) {
+        return jdbcTemplate.query("""
+                SELECT * FROM reconciliation_discrepancies
+                WHERE run_id = ?
+                ORDER BY account_id, currency_code
+                LIMIT ?
+                """,
+            (rs, rowNum) -> new Discrepancy(
+                rs.getObject("account_id", UUID.class),
+                rs.getString("currency_code"),
+                Discrepancy.Kind.valueOf(rs.getString("kind")),
+                rs.getObject("account_available_minor", Long.class),
+                rs.getObject("account_reserved_minor", Long.class),
+                rs.getObject("ledger_available_minor", Long.class),
+                rs.getObject("ledger_reserved_minor", Long.class)),
+            runId, limit);
+    }
+
+    private ReconciliationRun mapRun(ResultSet rs, int rowNum) throws SQLException {
+        ReconciliationRun run = new ReconciliationRun();
+        run.setId(rs.getLong("id"));
+        run.setStatus(ReconciliationRun.Status.valueOf(rs.getString("status")));
+        run.setPartitions(rs.getInt("partitions"));
+        run.setAccountsChecked(rs.getLong("accounts_checked"));
+        run.setBalancesCompared(rs.getLong("balances_compared"));
+        run.setDiscrepancyCount(rs.getLong("discrepancy_count"));
+        run.setErrorMessage(rs.getString("error_message"));
+        run.setStartedAt(rs.getTimestamp("started_at").toInstant());
+        Timestamp finishedAt = rs.getTimestamp("finished_at");
+        run.setFinishedAt(finishedAt != null ? finishedAt.toInstant() : null);
+        return run;
+    }
+}
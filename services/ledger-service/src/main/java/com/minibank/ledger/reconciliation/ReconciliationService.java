@@ -0,0 +1,221 @@
+package com.minibank.ledger.reconciliation;
+
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.minibank.ledger.infrastructure.ingest.LedgerEntryProjector;
+import com.minibank.ledger.journal.Journal;
+import com.minibank.ledger.reconciliation.PartitionReconciler.PartitionResult;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Compares every account-service balance with the ledger's sums for the same account
+ * and currency.
+ *
+ * The account id space is cut into many slices which a fork-join pool reconciles in
+ * parallel, each slice streaming both databases in key order. Work and memory per
+ * slice stay small however many accounts there are, and idle workers steal the
+ * remaining slices, so wall time is bounded by the databases' scan rate.
+ *
+ * Discrepancies are confirmed by a second look once {@code ledger_entries} has caught
+ * up with the journal, so payments in flight between the two databases are not reported.
+ *
+ * Only one run happens at a time.
+ */
+@Service
+public class ReconciliationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReconciliationService.class);
+
+    private final PartitionReconciler reconciler;
+    private final ReconciliationRunRepository runRepository;
+    private final ReconciliationProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicInteger partitionsDone = new AtomicInteger();
+    private volatile int partitionsTotal;
+    private final AtomicLong lastDiscrepancies = new AtomicLong();
+
+    // Metrics
+    private final Timer partitionDuration;
+    private final Counter balancesCompared;
+    private final Map<Discrepancy.Kind, Counter> discrepanciesFound = new EnumMap<>(Discrepancy.Kind.class);
+
+    public ReconciliationService(@Qualifier("accountsDataSource") DataSource accountsDataSource,
+                                 DataSource ledgerDataSource,
+                                 Journal journal,
+                                 LedgerEntryProjector projector,
+                                 ReconciliationRunRepository runRepository,
+                                 ReconciliationProperties properties,
+                                 MeterRegistry meterRegistry) {
+        this.reconciler = new PartitionReconciler(accountsDataSource, ledgerDataSource,
+            journal::getCommittedSequence, projector::getProjectedThrough,
+            properties.getFetchSize(), properties.getDiscrepancyBatchSize(), properties.getRecheckTimeout());
+        this.runRepository = runRepository;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+
+        this.partitionDuration = Timer.builder("ledger.reconciliation.partition.duration.seconds")
+            .description("Time to reconcile one account id slice")
+            .register(meterRegistry);
+        this.balancesCompared = Counter.builder("ledger.reconciliation.balances.compared.total")
+            .description("Account/currency balances compared against the ledger")
+            .register(meterRegistry);
+        for (Discrepancy.Kind kind : Discrepancy.Kind.values()) {
+            discrepanciesFound.put(kind, Counter.builder("ledger.reconciliation.discrepancies.total")
+                .description("Balance discrepancies found by reconciliation")
+                .tag("kind", kind.name())
+                .register(meterRegistry));
+        }
+        Gauge.builder("ledger.reconciliation.progress", this, ReconciliationService::progress)
+            .description("Fraction of slices done in the current reconciliation run")
+            .register(meterRegistry);
+        Gauge.builder("ledger.reconciliation.last.discrepancies", lastDiscrepancies, AtomicLong::get)
+            .description("Discrepancies found by the last completed run")
+            .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void failAbandonedRuns() {
+        int abandoned = runRepository.failAbandoned();
+        if (abandoned > 0) {
+            logger.warn("Marked {} interrupted reconciliation runs as failed", abandoned);
+        }
+    }
+
+    @Scheduled(cron = "${ledger.reconciliation.cron:-}")
+    public void scheduledRun() {
+        try {
+            start();
+        } catch (IllegalStateException e) {
+            logger.info("Skipping scheduled reconciliation: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Starts a run in the background.
+     *
+     * @return the run id
+     * @throws IllegalStateException if a run is already in progress
+     */
+    public long start() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A reconciliation run is already in progress");
+        }
+        try {
+            List<AccountIdRange> ranges = AccountIdRange.split(properties.getPartitions());
+            long runId = runRepository.create(ranges.size());
+            partitionsDone.set(0);
+            partitionsTotal = ranges.size();
+            Thread.ofPlatform().name("ledger-reconciliation-" + runId).start(() -> run(runId, ranges));
+            return runId;
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+
+    private void run(long runId, List<AccountIdRange> ranges) {
+        logger.info("Reconciliation run {} started over {} slices with parallelism {}",
+            runId, ranges.size(), properties.getParallelism());
+        Timer.Sample sample = Timer.start(meterRegistry);
+        // Workers block on JDBC; parallelism is kept at or below the connection pools
+        ForkJoinPool pool = new ForkJoinPool(properties.getParallelism());
+        String outcome = "failed";
+        try {
+            PartitionResult result = pool.invoke(new SliceTask(runId, ranges, 0, ranges.size()));
+            runRepository.finish(runId, ReconciliationRun.Status.COMPLETED, result.accountsChecked(),
+                result.balancesCompared(), result.discrepancies(), null);
+            lastDiscrepancies.set(result.discrepancies());
+            outcome = "completed";
+            logger.info("Reconciliation run {} compared {} balances of {} accounts and found {} discrepancies",
+                runId, result.balancesCompared(), result.accountsChecked(), result.discrepancies());
+        } catch (RuntimeException e) {
+            logger.error("Reconciliation run {} failed", runId, e);
+            runRepository.finish(runId, ReconciliationRun.Status.FAILED, 0, 0, 0, e.getMessage());
+        } finally {
+            pool.shutdownNow();
+            sample.stop(Timer.builder("ledger.reconciliation.duration.seconds")
+                .description("Wall time of a full reconciliation run")
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+            running.set(false);
+        }
+    }
+
+    private PartitionResult reconcile(long runId, AccountIdRange range) {
+        long start = System.nanoTime();
+        try {
+            PartitionResult result = reconciler.reconcile(runId, range);
+            balancesCompared.increment(result.balancesCompared());
+            long[] kinds = result.kindCounts();
+            for (Discrepancy.Kind kind : Discrepancy.Kind.values()) {
+                discrepanciesFound.get(kind).increment(kinds[kind.ordinal()]);
+            }
+            partitionsDone.incrementAndGet();
+            return result;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Reconciliation of slice " + range.index() + " failed", e);
+        } finally {
+            partitionDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private double progress() {
+        int total = partitionsTotal;
+        return total == 0 ? 0.0 : (double) partitionsDone.get() / total;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    private final class SliceTask extends RecursiveTask<PartitionResult> {
+        private final long runId;
+        private final List<AccountIdRange> ranges;
+        private final int from;
+        private final int to;
+
+        private SliceTask(long runId, List<AccountIdRange> ranges, int from, int to) {
+            this.runId = runId;
+            this.ranges = ranges;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected PartitionResult compute() {
+            if (to - from == 1) {
+                return reconcile(runId, ranges.get(from));
+            }
+            int mid = (from + to) >>> 1;
+            SliceTask left = new SliceTask(runId, ranges, from, mid);
+            left.fork();
+            PartitionResult right = new SliceTask(runId, ranges, mid, to).compute();
+            return left.join().plus(right);
+        }
+    }
+}
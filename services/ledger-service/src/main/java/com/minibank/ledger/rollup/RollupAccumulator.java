@@ -0,0 +1,88 @@
+package com.minibank.ledger.rollup;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import com.minibank.ledger.infrastructure.ingest.LedgerEntryRow;
+
+/**
+ * Folds ledger entries into per-bucket totals in memory, so a batch of entries becomes
+ * one upsert per touched bucket instead of one per entry.
+ *
+ * Buckets are kept sorted in primary key order: concurrent batches then lock rollup
+ * rows in the same order and cannot deadlock each other.
+ */
+final class RollupAccumulator {
+
+    private static final Comparator<DailyKey> DAILY_ORDER = Comparator
+        .comparing(DailyKey::day)
+        .thenComparing(DailyKey::currency)
+        .thenComparing(DailyKey::book)
+        .thenComparing(DailyKey::eventType);
+
+    private static final Comparator<MonthlyKey> MONTHLY_ORDER = Comparator
+        .comparing(MonthlyKey::accountId, LedgerEntryRow::compareUuids)
+        .thenComparing(MonthlyKey::currency)
+        .thenComparing(MonthlyKey::month)
+        .thenComparing(MonthlyKey::book);
+
+    private final NavigableMap<DailyKey, Totals> daily = new TreeMap<>(DAILY_ORDER);
+    private final NavigableMap<MonthlyKey, Totals> monthly = new TreeMap<>(MONTHLY_ORDER);
+    private final TreeSet<LocalDate> months = new TreeSet<>();
+
+    void add(LedgerEntryRow row) {
+        LocalDate day = LocalDate.ofInstant(Instant.ofEpochMilli(row.getOccurredAtMillis()), ZoneOffset.UTC);
+        LocalDate month = day.withDayOfMonth(1);
+        daily.computeIfAbsent(new DailyKey(day, row.getCurrency(), row.getBook(), row.getEventType()),
+            key -> new Totals()).add(row.getAmountMinor());
+        monthly.computeIfAbsent(new MonthlyKey(row.getAccountId(), row.getCurrency(), month, row.getBook()),
+            key -> new Totals()).add(row.getAmountMinor());
+        months.add(month);
+    }
+
+    NavigableMap<DailyKey, Totals> daily() {
+        return daily;
+    }
+
+    NavigableMap<MonthlyKey, Totals> monthly() {
+        return monthly;
+    }
+
+    /**
+     * First days of the months touched, ascending.
+     */
+    TreeSet<LocalDate> months() {
+        return months;
+    }
+
+    boolean isEmpty() {
+        return months.isEmpty();
+    }
+
+    record DailyKey(LocalDate day, String currency, String book, String eventType) {
+    }
+
+    record MonthlyKey(UUID accountId, String currency, LocalDate month, String book) {
+    }
+
+    static final class Totals {
+        long count;
+        long debits;
+        long credits;
+
+        private void add(long amountMinor) {
+            count++;
+            if (amountMinor < 0) {
+                debits -= amountMinor;
+            } else {
+                credits += amountMinor;
+            }
+        }
+    }
+}
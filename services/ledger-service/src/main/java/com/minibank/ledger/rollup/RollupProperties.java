@@ -0,0 +1,18 @@
+package com.minibank.ledger.rollup;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "ledger.rollups")
+public class RollupProperties {
+
+    // Months rebuilt concurrently; each holds one ledger connection
+    private int rebuildParallelism = 4;
+    // Largest range a single rebuild may cover
+    private int maxRebuildMonths = 120;
+
+    public int getRebuildParallelism() { return rebuildParallelism; }
+    public void setRebuildParallelism(int rebuildParallelism) { this.rebuildParallelism = rebuildParallelism; }
+
+    public int getMaxRebuildMonths() { return maxRebuildMonths; }
+    public void setMaxRebuildMonths(int maxRebuildMonths) { this.maxRebuildMonths = maxRebuildMonths; }
+}
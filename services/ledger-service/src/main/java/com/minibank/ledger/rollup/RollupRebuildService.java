@@ -0,0 +1,124 @@
+package com.minibank.ledger.rollup;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.minibank.ledger.cold.ColdSegmentRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Recomputes rollup buckets from ledger_entries, e.g. after a bug fix or a manual correction.
+ *
+ * The range is rebuilt month by month, since a monthly bucket can only be recomputed
+ * whole. Months are independent, so they run in parallel, each in its own transaction
+ * holding that month's rollup lock; ingestion into other months carries on meanwhile.
+ *
+ * Months already moved to cold storage are refused: their entries are no longer in
+ * ledger_entries and recomputing would drop them.
+ */
+@Service
+public class RollupRebuildService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RollupRebuildService.class);
+
+    private final RollupRepository rollupRepository;
+    private final ColdSegmentRepository coldSegmentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final RollupProperties properties;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    // Metrics
+    private final Counter monthsRebuilt;
+    private final Timer rebuildDuration;
+
+    public RollupRebuildService(RollupRepository rollupRepository, ColdSegmentRepository coldSegmentRepository,
+                                TransactionTemplate transactionTemplate, RollupProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.rollupRepository = rollupRepository;
+        this.coldSegmentRepository = coldSegmentRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+
+        this.monthsRebuilt = Counter.builder("ledger.rollups.rebuild.months.total")
+            .description("Rollup months recomputed from ledger entries")
+            .register(meterRegistry);
+        this.rebuildDuration = Timer.builder("ledger.rollups.rebuild.duration.seconds")
+            .description("Wall time of a rollup rebuild")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Rebuilds every bucket in the months {@code from} to {@code to}, inclusive.
+     *
+     * @throws IllegalArgumentException if the range is empty, too long or reaches into cold storage
+     * @throws IllegalStateException if a rebuild is already running
+     */
+    public RebuildResult rebuild(YearMonth from, YearMonth to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Rebuild range ends before it starts: " + from + ".." + to);
+        }
+        List<LocalDate> months = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            months.add(month.atDay(1));
+        }
+        if (months.size() > properties.getMaxRebuildMonths()) {
+            throw new IllegalArgumentException("Rebuild range covers " + months.size()
+                + " months; the limit is " + properties.getMaxRebuildMonths());
+        }
+        if (!coldSegmentRepository.findOverlapping(from.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant(),
+                to.plusMonths(1).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant()).isEmpty()) {
+            throw new IllegalArgumentException("Rebuild range " + from + ".." + to + " reaches into cold storage");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A rollup rebuild is already running");
+        }
+
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(Math.min(properties.getRebuildParallelism(), months.size()));
+        try {
+            List<int[]> counts = pool.submit(() -> months.parallelStream().map(this::rebuildMonth).toList()).get();
+            long elapsedNanos = System.nanoTime() - start;
+            rebuildDuration.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            long daily = counts.stream().mapToLong(count -> count[0]).sum();
+            long monthly = counts.stream().mapToLong(count -> count[1]).sum();
+            logger.info("Rebuilt rollups for {}..{}: {} daily and {} monthly buckets in {} ms",
+                from, to, daily, monthly, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            return new RebuildResult(from, to, months.size(), daily, monthly, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Rollup rebuild of " + from + ".." + to + " failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while rebuilding rollups");
+        } finally {
+            pool.shutdownNow();
+            running.set(false);
+        }
+    }
+
+    private int[] rebuildMonth(LocalDate month) {
+        int[] counts = transactionTemplate.execute(status -> rollupRepository.rebuildMonth(month));
+        monthsRebuilt.increment();
+        logger.debug("Rebuilt rollups for {}", YearMonth.from(month));
+        return counts;
+    }
+
+    public record RebuildResult(YearMonth from, YearMonth to, int months, long dailyBuckets,
+                                long monthlyBuckets, long durationMillis) {
+    }
+}
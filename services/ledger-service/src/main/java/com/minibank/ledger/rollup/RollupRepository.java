@@ -0,0 +1,172 @@
+package com.minibank.ledger.rollup;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.minibank.ledger.rollup.RollupAccumulator.DailyKey;
+import com.minibank.ledger.rollup.RollupAccumulator.MonthlyKey;
+import com.minibank.ledger.rollup.RollupAccumulator.Totals;
+
+@Repository
+public class RollupRepository {
+
+    // Advisory lock class for rollup months; the object id is the month's epoch month number
+    private static final int MONTH_LOCK = 0x524F4C4C;
+
+    private static final String UPSERT_DAILY = """
+        INSERT INTO ledger_daily_rollups
+            (bucket_date, currency_code, book, event_type, entry_count, debit_minor, credit_minor, updated_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, now())
+        ON CONFLICT (bucket_date, currency_code, book, event_type) DO UPDATE SET
+            entry_count  = ledger_daily_rollups.entry_count + EXCLUDED.entry_count,
+            debit_minor  = ledger_daily_rollups.debit_minor + EXCLUDED.debit_minor,
+            credit_minor = ledger_daily_rollups.credit_minor + EXCLUDED.credit_minor,
+            updated_at   = now()
+        """;
+
+    private static final String UPSERT_MONTHLY = """
+        INSERT INTO ledger_monthly_account_rollups
+            (account_id, currency_code, bucket_month, book, entry_count, debit_minor, credit_minor, updated_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, now())
+        ON CONFLICT (account_id, currency_code, bucket_month, book) DO UPDATE SET
+            entry_count  = ledger_monthly_account_rollups.entry_count + EXCLUDED.entry_count,
+            debit_minor  = ledger_monthly_account_rollups.debit_minor + EXCLUDED.debit_minor,
+            credit_minor = ledger_monthly_account_rollups.credit_minor + EXCLUDED.credit_minor,
+            updated_at   = now()
+        """;
+
+    private static final String REBUILD_DAILY = """
+        INSERT INTO ledger_daily_rollups
+            (bucket_date, currency_code, book, event_type, entry_count, debit_minor, credit_minor, updated_at)
+        SELECT (occurred_at AT TIME ZONE 'UTC')::date, currency_code, book, event_type, count(*),
+               COALESCE(SUM(-amount_minor) FILTER (WHERE amount_minor < 0), 0),
+               COALESCE(SUM(amount_minor) FILTER (WHERE amount_minor >= 0), 0),
+               now()
+        FROM ledger_entries
+        WHERE occurred_at >= ? AND occurred_at < ?
+        GROUP BY 1, 2, 3, 4
+        """;
+
+    private static final String REBUILD_MONTHLY = """
+        INSERT INTO ledger_monthly_account_rollups
+            (account_id, currency_code, bucket_month, book, entry_count, debit_minor, credit_minor, updated_at)
+        SELECT account_id, currency_code, ?, book, count(*),
+               COALESCE(SUM(-amount_minor) FILTER (WHERE amount_minor < 0), 0),
+               COALESCE(SUM(amount_minor) FILTER (WHERE amount_minor >= 0), 0),
+               now()
+        FROM ledger_entries
+        WHERE occurred_at >= ? AND occurred_at < ?
+        GROUP BY account_id, currency_code, book
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RollupRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Adds the accumulated totals to their buckets. Must run in the transaction that
+     * inserted the entries, so rollups and entries commit together.
+     */
+    void applyDeltas(RollupAccumulator accumulator) {
+        // Shared: batches for a month run concurrently, a rebuild of that month waits for them
+        for (LocalDate month : accumulator.months()) {
+            jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock_shared(?, ?)", MONTH_LOCK, monthLockId(month));
+        }
+
+        List<Object[]> daily = new ArrayList<>(accumulator.daily().size());
+        for (Map.Entry<DailyKey, Totals> bucket : accumulator.daily().entrySet()) {
+            DailyKey key = bucket.getKey();
+            Totals totals = bucket.getValue();
+            daily.add(new Object[] {Date.valueOf(key.day()), key.currency(), key.book(), key.eventType(),
+                totals.count, totals.debits, totals.credits});
+        }
+        List<Object[]> monthly = new ArrayList<>(accumulator.monthly().size());
+        for (Map.Entry<MonthlyKey, Totals> bucket : accumulator.monthly().entrySet()) {
+            MonthlyKey key = bucket.getKey();
+            Totals totals = bucket.getValue();
+            monthly.add(new Object[] {key.accountId(), key.currency(), Date.valueOf(key.month()), key.book(),
+                totals.count, totals.debits, totals.credits});
+        }
+        jdbcTemplate.batchUpdate(UPSERT_DAILY, daily);
+        jdbcTemplate.batchUpdate(UPSERT_MONTHLY, monthly);
+    }
+
+    /**
+     * Recomputes every bucket of one month from ledger_entries. Must run in a transaction;
+     * holds the month's lock exclusively, so no entries for the month commit meanwhile.
+     *
+     * @return daily and monthly buckets written
+     */
+    int[] rebuildMonth(LocalDate month) {
+        jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?, ?)", MONTH_LOCK, monthLockId(month));
+        LocalDate next = month.plusMonths(1);
+        Timestamp from = Timestamp.from(month.atStartOfDay(ZoneOffset.UTC).toInstant());
+        Timestamp to = Timestamp.from(next.atStartOfDay(ZoneOffset.UTC).toInstant());
+
+        jdbcTemplate.update("DELETE FROM ledger_daily_rollups WHERE bucket_date >= ? AND bucket_date < ?",
+            Date.valueOf(month), Date.valueOf(next));
+        jdbcTemplate.update("DELETE FROM ledger_monthly_account_rollups WHERE bucket_month = ?", Date.valueOf(month));
+        int daily = jdbcTemplate.update(REBUILD_DAILY, from, to);
+        int monthly = jdbcTemplate.update(REBUILD_MONTHLY, Date.valueOf(month), from, to);
+        return new int[] {daily, monthly};
+    }
+
+    public List<DailyRollup> findDaily(String currency, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query("""
+                SELECT bucket_date, currency_code, book, event_type, entry_count, debit_minor, credit_minor
+                FROM ledger_daily_rollups
+                WHERE bucket_date >= ? AND bucket_date < ? AND currency_code = ?
+                ORDER BY bucket_date, book, event_type
+                """,
+            (rs, rowNum) -> new DailyRollup(
+                rs.getDate("bucket_date").toLocalDate(),
+                rs.getString("currency_code"),
+                rs.getString("book"),
+                rs.getString("event_type"),
+                rs.getLong("entry_count"),
+                rs.getLong("debit_minor"),
+                rs.getLong("credit_minor")),
+            Date.valueOf(from), Date.valueOf(to), currency);
+    }
+
+    public List<MonthlyRollup> findMonthly(UUID accountId, LocalDate fromMonth, LocalDate toMonth) {
+        return jdbcTemplate.query("""
+                SELECT account_id, currency_code, bucket_month, book, entry_count, debit_minor, credit_minor
+                FROM ledger_monthly_account_rollups
+                WHERE account_id = ? AND bucket_month >= ? AND bucket_month < ?
+                ORDER BY currency_code, bucket_month, book
+                """,
+            (rs, rowNum) -> new MonthlyRollup(
+                rs.getObject("account_id", UUID.class),
+                rs.getString("currency_code"),
+                rs.getDate("bucket_month").toLocalDate(),
+                rs.getString("book"),
+                rs.getLong("entry_count"),
+                rs.getLong("debit_minor"),
+                rs.getLong("credit_minor")),
+            accountId, Date.valueOf(fromMonth), Date.valueOf(toMonth));
+    }
+
+    private static int monthLockId(LocalDate month) {
+        return month.getYear() * 12 + month.getMonthValue() - 1;
+    }
+
+    public record DailyRollup(LocalDate day, String currency, String book, String eventType,
+                              long entryCount, long debitMinor, long creditMinor) {
+    }
+
+    public record MonthlyRollup(UUID accountId, String currency, LocalDate month, String book,
+                                long entryCount, long debitMinor, long creditMinor) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.minibank.ledger.rollup;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.minibank.ledger.infrastructure.ingest.LedgerEntryRow;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Maintains the daily and monthly rollups as ledger entries are ingested.
+ *
+ * Only entries the ingest transaction actually inserted are counted, and their deltas
+ * are upserted in that same transaction: a redelivered event is never counted twice and
+ * a rolled-back batch leaves no trace. Each entry lands in the bucket of its own
+ * occurred_at, so a late event simply adds to an older bucket.
+ */
+@Component
+public class RollupWriter {
+
+    private final RollupRepository rollupRepository;
+
+    // Metrics
+    private final Counter dailyBuckets;
+    private final Counter monthlyBuckets;
+    private final Counter lateEntries;
+
+    public RollupWriter(RollupRepository rollupRepository, MeterRegistry meterRegistry) {
+        this.rollupRepository = rollupRepository;
+
+        this.dailyBuckets = Counter.builder("ledger.rollups.buckets.upserted.total")
+            .description("Rollup rows upserted by ingestion")
+            .tag("granularity", "daily")
+            .register(meterRegistry);
+        this.monthlyBuckets = Counter.builder("ledger.rollups.buckets.upserted.total")
+            .description("Rollup rows upserted by ingestion")
+            .tag("granularity", "monthly")
+            .register(meterRegistry);
+        this.lateEntries = Counter.builder("ledger.rollups.late.entries.total")
+            .description("Entries rolled up into a day that had already ended")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Must be called inside the transaction that inserted {@code inserted}.
+     */
+    public void apply(List<LedgerEntryRow> inserted) {
+        if (inserted.isEmpty()) {
+            return;
+        }
+        long today = LocalDate.now(ZoneOffset.UTC).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+        RollupAccumulator accumulator = new RollupAccumulator();
+        int late = 0;
+        for (LedgerEntryRow row : inserted) {
+            accumulator.add(row);
+            if (row.getOccurredAtMillis() < today) {
+                late++;
+            }
+        }
+        rollupRepository.applyDeltas(accumulator);
+        dailyBuckets.increment(accumulator.daily().size());
+        monthlyBuckets.increment(accumulator.monthly().size());
+        lateEntries.increment(late);
+    }
+}
@@ -0,0 +1,9 @@
+-- Seals of full journal segments, kept outside the journal directory so that whoever can
+-- rewrite a segment file cannot also drop or rewrite its seal
+CREATE TABLE journal_seals (
+    segment_index INT         PRIMARY KEY,
+    record_count  INT         NOT NULL,
+    chain_head    BYTEA       NOT NULL,
+    merkle_root   BYTEA       NOT NULL,
+    sealed_at     TIMESTAMPTZ NOT NULL DEFAULT now()
+);
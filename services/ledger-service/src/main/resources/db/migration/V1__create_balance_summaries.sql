@@ -0,0 +1,19 @@
+-- Per-account, per-currency totals derived from the journal; the journal files are the source of truth
+CREATE TABLE account_balance_summaries (
+    account_id          UUID        NOT NULL,
+    currency_code       VARCHAR(3)  NOT NULL,
+    balance_minor       BIGINT      NOT NULL,
+    total_debits_minor  BIGINT      NOT NULL,
+    total_credits_minor BIGINT      NOT NULL,
+    entry_count         BIGINT      NOT NULL,
+    last_sequence       BIGINT      NOT NULL,
+    updated_at          TIMESTAMPTZ NOT NULL DEFAULT now(),
+    PRIMARY KEY (account_id, currency_code)
+);
+
+-- How far into the journal each derived table has been brought up to date
+CREATE TABLE journal_checkpoints (
+    name       VARCHAR(64) PRIMARY KEY,
+    sequence   BIGINT      NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
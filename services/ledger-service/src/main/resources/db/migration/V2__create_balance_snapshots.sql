@@ -0,0 +1,19 @@
+-- One row per snapshot run; each run covers the journal up to through_sequence
+CREATE TABLE snapshot_runs (
+    through_sequence BIGINT      PRIMARY KEY,
+    as_of            TIMESTAMPTZ NOT NULL,
+    account_count    INT         NOT NULL,
+    created_at       TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+-- Runs are incremental: an account/currency only gets a row in runs where it changed
+CREATE TABLE balance_snapshots (
+    account_id       UUID        NOT NULL,
+    currency_code    VARCHAR(3)  NOT NULL,
+    through_sequence BIGINT      NOT NULL REFERENCES snapshot_runs (through_sequence),
+    as_of            TIMESTAMPTZ NOT NULL,
+    balance_minor    BIGINT      NOT NULL,
+    PRIMARY KEY (account_id, currency_code, through_sequence)
+);
+
+CREATE INDEX idx_balance_snapshots_as_of ON balance_snapshots (account_id, currency_code, as_of DESC);
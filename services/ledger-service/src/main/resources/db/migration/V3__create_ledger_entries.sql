@@ -0,0 +1,16 @@
+-- Balanced entries derived from account-service balance events: two legs per event
+CREATE TABLE ledger_entries (
+    event_id          UUID        NOT NULL,
+    leg               SMALLINT    NOT NULL,
+    account_id        UUID        NOT NULL,
+    book              VARCHAR(16) NOT NULL,
+    event_type        VARCHAR(32) NOT NULL,
+    currency_code     VARCHAR(3)  NOT NULL,
+    amount_minor      BIGINT      NOT NULL,
+    occurred_at       TIMESTAMPTZ NOT NULL,
+    aggregate_version BIGINT      NOT NULL,
+    ingested_at       TIMESTAMPTZ NOT NULL DEFAULT now(),
+    PRIMARY KEY (event_id, leg)
+);
+
+CREATE INDEX idx_ledger_entries_account ON ledger_entries (account_id, occurred_at);
@@ -0,0 +1,27 @@
+CREATE TABLE reconciliation_runs (
+    id                BIGSERIAL   PRIMARY KEY,
+    status            VARCHAR(16) NOT NULL,
+    partitions        INT         NOT NULL,
+    accounts_checked  BIGINT      NOT NULL DEFAULT 0,
+    balances_compared BIGINT      NOT NULL DEFAULT 0,
+    discrepancy_count BIGINT      NOT NULL DEFAULT 0,
+    error_message     TEXT,
+    started_at        TIMESTAMPTZ NOT NULL DEFAULT now(),
+    finished_at       TIMESTAMPTZ
+);
+
+CREATE TABLE reconciliation_discrepancies (
+    run_id                  BIGINT      NOT NULL REFERENCES reconciliation_runs (id) ON DELETE CASCADE,
+    account_id              UUID        NOT NULL,
+    currency_code           VARCHAR(3)  NOT NULL,
+    kind                    VARCHAR(24) NOT NULL,
+    account_available_minor BIGINT,
+    account_reserved_minor  BIGINT,
+    ledger_available_minor  BIGINT,
+    ledger_reserved_minor   BIGINT,
+    PRIMARY KEY (run_id, account_id, currency_code)
+);
+
+-- Lets reconciliation stream per-account sums in key order straight off the index
+CREATE INDEX idx_ledger_entries_reconciliation
+    ON ledger_entries (account_id, currency_code) INCLUDE (book, amount_minor);
@@ -0,0 +1,12 @@
+-- Covering index for account history: keyset order plus every column the history
+-- endpoints return, so reads on hot accounts are index-only scans.
+-- Supersedes idx_ledger_entries_account.
+CREATE INDEX idx_ledger_entries_history
+    ON ledger_entries (account_id, currency_code, book, occurred_at DESC, event_id DESC, leg DESC)
+    INCLUDE (event_type, amount_minor, aggregate_version);
+
+DROP INDEX idx_ledger_entries_account;
+
+-- Index-only scans depend on an up-to-date visibility map; ledger_entries is append-only,
+-- so make autovacuum visit it on inserts instead of waiting for dead tuples
+ALTER TABLE ledger_entries SET (autovacuum_vacuum_insert_scale_factor = 0.05);
@@ -0,0 +1,26 @@
+-- Columnar segment files holding ledger entries moved out of ledger_entries
+CREATE TABLE cold_segments (
+    id               BIGSERIAL    PRIMARY KEY,
+    period_start     DATE         NOT NULL,
+    seq              INT          NOT NULL,
+    file_name        VARCHAR(128) NOT NULL UNIQUE,
+    row_count        INT          NOT NULL,
+    account_count    INT          NOT NULL,
+    min_occurred_at  TIMESTAMPTZ  NOT NULL,
+    max_occurred_at  TIMESTAMPTZ  NOT NULL,
+    min_amount_minor BIGINT       NOT NULL,
+    max_amount_minor BIGINT       NOT NULL,
+    size_bytes       BIGINT       NOT NULL,
+    created_at       TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    UNIQUE (period_start, seq)
+);
+
+-- Per-book totals of tiered entries, so sums over ledger_entries plus this table stay complete
+CREATE TABLE ledger_cold_balances (
+    account_id    UUID        NOT NULL,
+    currency_code VARCHAR(3)  NOT NULL,
+    book          VARCHAR(16) NOT NULL,
+    amount_minor  BIGINT      NOT NULL,
+    entry_count   BIGINT      NOT NULL,
+    PRIMARY KEY (account_id, currency_code, book)
+);
@@ -0,0 +1,3 @@
+-- ledger_entries is now a projection of the journal (checkpoint 'ledger_entries'):
+-- event_id is the posting ID and each row records the journal sequence of its leg
+ALTER TABLE ledger_entries RENAME COLUMN aggregate_version TO journal_sequence;
@@ -0,0 +1,4 @@
+-- Highest journal sequence tiered into each segment: rows of the same month up to it are
+-- replays of tiered entries and must not be inserted into ledger_entries again.
+-- V10 fills it for existing segments from their sequence column and makes it NOT NULL.
+ALTER TABLE cold_segments ADD COLUMN max_journal_sequence BIGINT;
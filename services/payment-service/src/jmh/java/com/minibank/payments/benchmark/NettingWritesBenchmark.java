@@ -0,0 +1,92 @@
+package com.minibank.payments.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.minibank.payments.infrastructure.client.dto.NetSettlementRequest;
+import com.minibank.payments.infrastructure.netting.NetPositionCalculator;
+import com.minibank.payments.infrastructure.saga.PaymentSaga.PaymentRequestedEvent;
+
+/**
+ * Compares account-service writes for one netting window against running every
+ * payment in it through the reserve/debit/credit saga.
+ *
+ * The per-invocation counters report, for each window: {@code individualWrites}
+ * (three balance updates per payment), {@code nettedWrites} (one balance update per
+ * non-zero net leg) and {@code nettedCalls} (one settlement call per window).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class NettingWritesBenchmark {
+
+    @Param({"10", "50"})
+    public int accountPairs;
+
+    @Param({"100", "1000"})
+    public int paymentsPerWindow;
+
+    private List<PaymentRequestedEvent> window;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WriteCounters {
+        public long individualWrites;
+        public long nettedWrites;
+        public long nettedCalls;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            individualWrites = 0;
+            nettedWrites = 0;
+            nettedCalls = 0;
+        }
+    }
+
+    @Setup
+    public void generateWindow() {
+        Random random = new Random(42);
+        UUID[][] pairs = new UUID[accountPairs][2];
+        for (int i = 0; i < accountPairs; i++) {
+            pairs[i][0] = UUID.randomUUID();
+            pairs[i][1] = UUID.randomUUID();
+        }
+
+        window = new ArrayList<>(paymentsPerWindow);
+        for (int i = 0; i < paymentsPerWindow; i++) {
+            UUID[] pair = pairs[random.nextInt(accountPairs)];
+            boolean forward = random.nextBoolean();
+            window.add(new PaymentRequestedEvent(
+                UUID.randomUUID(),
+                forward ? pair[0] : pair[1],
+                forward ? pair[1] : pair[0],
+                BigDecimal.valueOf(1 + random.nextInt(50_000), 2),
+                "USD"
+            ));
+        }
+    }
+
+    @Benchmark
+    public List<NetSettlementRequest.Leg> netWindow(WriteCounters counters) {
+        List<NetSettlementRequest.Leg> legs = NetPositionCalculator.net(window);
+        counters.individualWrites += 3L * window.size();
+        counters.nettedWrites += legs.size();
+        counters.nettedCalls += legs.isEmpty() ? 0 : 1;
+        return legs;
+    }
+}
@@ -0,0 +1,82 @@
+package com.minibank.payments.config;
+
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.ContainerCustomizer;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.ExponentialBackOff;
+import org.springframework.util.backoff.FixedBackOff;
+
+import com.minibank.payments.infrastructure.kafka.AccountPartitionState;
+import com.minibank.payments.infrastructure.resilience.AccountServiceUnavailableException;
+
+@Configuration
+public class KafkaConfig {
+
+    public static final String PAYMENT_REQUESTED_CONTAINER_FACTORY = "paymentRequestedContainerFactory";
+    public static final String FUNDS_RESERVED_CONTAINER_FACTORY = "fundsReservedContainerFactory";
+
+    @Bean
+    public DefaultErrorHandler kafkaErrorHandler() {
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(new FixedBackOff(0L, 9L));
+
+        // Shed account-service calls never reached the service, so keep redelivering
+        // with growing pauses until it recovers rather than dropping the payment
+        ExponentialBackOff sheddingBackOff = new ExponentialBackOff(200L, 2.0);
+        sheddingBackOff.setMaxInterval(5_000L);
+        errorHandler.setBackOffFunction((record, exception) ->
+            isAccountServiceUnavailable(exception) ? sheddingBackOff : null);
+        errorHandler.setResetStateOnExceptionChange(true);
+
+        return errorHandler;
+    }
+
+    /**
+     * payment.requested is acknowledged by hand: netted payments only once their window
+     * has settled. Acks may arrive out of order from the netting flush thread; the
+     * container commits up to the oldest unacknowledged record and pauses the consumer
+     * until the previous poll is fully acknowledged.
+     */
+    @Bean(PAYMENT_REQUESTED_CONTAINER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> paymentRequestedContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setAsyncAcks(true);
+        return factory;
+    }
+
+    // payment.funds-reserved is consumed a poll at a time so hot accounts can be debited once per batch
+    @Bean(FUNDS_RESERVED_CONTAINER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> fundsReservedContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.setBatchListener(true);
+        return factory;
+    }
+
+    @Bean
+    public ContainerCustomizer<Object, Object, ConcurrentMessageListenerContainer<Object, Object>> sagaRebalanceCustomizer(
+            AccountPartitionState accountPartitionState) {
+        // Per-account saga state follows partition ownership
+        return container -> container.getContainerProperties().setConsumerRebalanceListener(accountPartitionState);
+    }
+
+    private static boolean isAccountServiceUnavailable(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof AccountServiceUnavailableException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
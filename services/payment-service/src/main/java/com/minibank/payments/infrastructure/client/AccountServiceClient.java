@@ -1,133 +1,169 @@
 package com.minibank.payments.infrastructure.client;
 
 import com.minibank.payments.infrastructure.client.dto.AccountApiResponse;
+import com.minibank.payments.infrastructure.client.dto.NetSettlementRequest;
 import com.minibank.payments.infrastructure.client.dto.ReserveFundsRequest;
+import com.minibank.payments.infrastructure.resilience.AccountServiceGuard;
+import com.minibank.payments.infrastructure.resilience.AccountServiceOperation;
+import com.minibank.payments.infrastructure.resilience.AccountServiceResilienceProperties;
+import com.minibank.payments.infrastructure.resilience.AccountServiceUnavailableException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
-import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
 import java.time.Duration;
+import java.util.List;
 import java.util.UUID;
 
 @Component
 public class AccountServiceClient {
 
+    private static final String APPLIED = "APPLIED";
+
     private final WebClient webClient;
     private final String accountServiceUrl;
+    private final AccountServiceGuard guard;
+    private final Duration timeout;
 
-    public AccountServiceClient(@Value("${services.account.url}") String accountServiceUrl) {
+    public AccountServiceClient(@Value("${services.account.url}") String accountServiceUrl,
+                                AccountServiceGuard guard,
+                                AccountServiceResilienceProperties resilienceProperties) {
         this.accountServiceUrl = accountServiceUrl;
+        this.guard = guard;
+        this.timeout = resilienceProperties.getTimeout();
         this.webClient = WebClient.builder()
                 .baseUrl(accountServiceUrl)
                 .build();
     }
 
-    public AccountOperationResult reserveFunds(UUID accountId, BigDecimal amount, String currencyCode) {
-        ReserveFundsRequest request = new ReserveFundsRequest(
-                accountId, amount, currencyCode, UUID.randomUUID().toString()
-        );
-
-        try {
-            AccountApiResponse response = webClient.post()
-                    .uri("/api/v1/accounts/{accountId}/reserve", accountId)
-                    .bodyValue(request)
-                    .retrieve()
-                    .bodyToMono(AccountApiResponse.class)
-                    .timeout(Duration.ofSeconds(10))
-                    .block();
+    /*
+     * Every balance call carries an idempotency key; account-service applies a key once, so
+     * a call whose answer was lost can be repeated with the same key.
+     */
+    public AccountOperationResult reserveFunds(UUID accountId, BigDecimal amount, String currencyCode,
+                                               String operationKey) {
+        return post(AccountServiceOperation.RESERVE, "/api/v1/accounts/{accountId}/reserve",
+                accountId, amount, currencyCode, operationKey, "Reserve funds failed");
+    }
 
-            return response != null && response.isSuccess()
-                    ? AccountOperationResult.success()
-                    : AccountOperationResult.failure("Reserve funds failed");
+    public AccountOperationResult releaseFunds(UUID accountId, BigDecimal amount, String currencyCode,
+                                               String operationKey) {
+        return post(AccountServiceOperation.RELEASE, "/api/v1/accounts/{accountId}/release",
+                accountId, amount, currencyCode, operationKey, "Release funds failed");
+    }
 
-        } catch (WebClientResponseException e) {
-            if (e.getStatusCode() == HttpStatus.BAD_REQUEST) {
-                return AccountOperationResult.failure("Invalid request: " + e.getResponseBodyAsString());
-            }
-            return AccountOperationResult.failure("Account service error: " + e.getMessage());
-        } catch (Exception e) {
-            return AccountOperationResult.failure("Communication error: " + e.getMessage());
-        }
+    public AccountOperationResult postCredit(UUID accountId, BigDecimal amount, String currencyCode,
+                                             String operationKey) {
+        return post(AccountServiceOperation.CREDIT, "/api/v1/accounts/{accountId}/credit",
+                accountId, amount, currencyCode, operationKey, "Post credit failed");
     }
 
-    public AccountOperationResult postCredit(UUID accountId, BigDecimal amount, String currencyCode) {
-        ReserveFundsRequest request = new ReserveFundsRequest(
-                accountId, amount, currencyCode, UUID.randomUUID().toString()
-        );
+    public AccountOperationResult postDebit(UUID accountId, BigDecimal amount, String currencyCode,
+                                            String operationKey) {
+        return post(AccountServiceOperation.DEBIT, "/api/v1/accounts/{accountId}/debit",
+                accountId, amount, currencyCode, operationKey, "Post debit failed");
+    }
 
+    /**
+     * Settles the outcome of a keyed call that got no answer. Success means it was applied;
+     * a definite failure means it was not and, since the key is now voided, never will be.
+     */
+    public AccountOperationResult resolve(String operationKey) {
         try {
-            AccountApiResponse response = webClient.post()
-                    .uri("/api/v1/accounts/{accountId}/credit", accountId)
-                    .bodyValue(request)
+            AccountApiResponse response = guard.execute(AccountServiceOperation.RESOLVE, () -> webClient.post()
+                    .uri("/api/v1/accounts/operations/{operationKey}/resolve", operationKey)
                     .retrieve()
                     .bodyToMono(AccountApiResponse.class)
-                    .timeout(Duration.ofSeconds(10))
-                    .block();
-
-            return response != null && response.isSuccess()
-                    ? AccountOperationResult.success()
-                    : AccountOperationResult.failure("Post credit failed");
-
-        } catch (WebClientResponseException e) {
-            if (e.getStatusCode() == HttpStatus.BAD_REQUEST) {
-                return AccountOperationResult.failure("Invalid request: " + e.getResponseBodyAsString());
+                    .timeout(timeout)
+                    .block());
+            if (response == null || !response.isSuccess()) {
+                return AccountOperationResult.unknown("Resolve failed");
             }
-            return AccountOperationResult.failure("Account service error: " + e.getMessage());
+            return APPLIED.equals(response.getData())
+                    ? AccountOperationResult.success()
+                    : AccountOperationResult.failure("Operation " + operationKey + " was not applied");
+        } catch (AccountServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
-            return AccountOperationResult.failure("Communication error: " + e.getMessage());
+            return AccountOperationResult.unknown("Communication error: " + e.getMessage());
         }
     }
 
-    public AccountOperationResult postDebit(UUID accountId, BigDecimal amount, String currencyCode) {
-        ReserveFundsRequest request = new ReserveFundsRequest(
-                accountId, amount, currencyCode, UUID.randomUUID().toString()
-        );
+    public AccountOperationResult settleNet(UUID settlementId, String currencyCode,
+                                            List<NetSettlementRequest.Leg> legs) {
+        NetSettlementRequest request = new NetSettlementRequest(settlementId, currencyCode, legs);
+        return post(AccountServiceOperation.SETTLE, "/api/v1/accounts/net-settlements",
+                request, "Net settlement failed");
+    }
+
+    private AccountOperationResult post(AccountServiceOperation operation, String uri, UUID accountId,
+                                        BigDecimal amount, String currencyCode, String operationKey,
+                                        String failureMessage) {
+        ReserveFundsRequest request = new ReserveFundsRequest(accountId, amount, currencyCode, operationKey);
+        return post(operation, uri, request, failureMessage, accountId);
+    }
 
+    // AccountServiceUnavailableException is deliberately not caught: the call never left
+    // this service, so the saga can back off and retry instead of failing the payment.
+    private AccountOperationResult post(AccountServiceOperation operation, String uri, Object request,
+                                        String failureMessage, Object... uriVariables) {
         try {
-            AccountApiResponse response = webClient.post()
-                    .uri("/api/v1/accounts/{accountId}/debit", accountId)
+            AccountApiResponse response = guard.execute(operation, () -> webClient.post()
+                    .uri(uri, uriVariables)
                     .bodyValue(request)
                     .retrieve()
                     .bodyToMono(AccountApiResponse.class)
-                    .timeout(Duration.ofSeconds(10))
-                    .block();
+                    .timeout(timeout)
+                    .block());
 
             return response != null && response.isSuccess()
                     ? AccountOperationResult.success()
-                    : AccountOperationResult.failure("Post debit failed");
+                    : AccountOperationResult.failure(failureMessage);
 
+        } catch (AccountServiceUnavailableException e) {
+            throw e;
         } catch (WebClientResponseException e) {
             if (e.getStatusCode() == HttpStatus.BAD_REQUEST) {
                 return AccountOperationResult.failure("Invalid request: " + e.getResponseBodyAsString());
             }
-            return AccountOperationResult.failure("Account service error: " + e.getMessage());
+            if (e.getStatusCode().is4xxClientError()) {
+                return AccountOperationResult.failure("Account service error: " + e.getMessage());
+            }
+            return AccountOperationResult.unknown("Account service error: " + e.getMessage());
         } catch (Exception e) {
-            return AccountOperationResult.failure("Communication error: " + e.getMessage());
+            return AccountOperationResult.unknown("Communication error: " + e.getMessage());
         }
     }
 
     public static class AccountOperationResult {
         private final boolean success;
+        // False when the call may or may not have been applied, e.g. a timeout or a 5xx
+        private final boolean definite;
         private final String errorMessage;
 
-        private AccountOperationResult(boolean success, String errorMessage) {
+        private AccountOperationResult(boolean success, boolean definite, String errorMessage) {
             this.success = success;
+            this.definite = definite;
             this.errorMessage = errorMessage;
         }
 
         public static AccountOperationResult success() {
-            return new AccountOperationResult(true, null);
+            return new AccountOperationResult(true, true, null);
         }
 
         public static AccountOperationResult failure(String errorMessage) {
-            return new AccountOperationResult(false, errorMessage);
+            return new AccountOperationResult(false, true, errorMessage);
+        }
+
+        public static AccountOperationResult unknown(String errorMessage) {
+            return new AccountOperationResult(false, false, errorMessage);
         }
 
         public boolean isSuccess() { return success; }
+        public boolean isDefinite() { return definite; }
         public String getErrorMessage() { return errorMessage; }
     }
 }
\ No newline at end of file
@@ -6,6 +6,8 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 public class AccountApiResponse {
     private boolean success;
     private String message;
+    // Only read for calls that answer with a single value, e.g. an operation outcome
+    private Object data;
 
     public AccountApiResponse() {}
 
@@ -19,4 +21,7 @@ public class AccountApiResponse {
 
     public String getMessage() { return message; }
     public void setMessage(String message) { this.message = message; }
+
+    public Object getData() { return data; }
+    public void setData(Object data) { this.data = data; }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.minibank.payments.infrastructure.client.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+public class NetSettlementRequest {
+    private UUID settlementId;
+    private String currencyCode;
+    private List<Leg> legs;
+
+    public NetSettlementRequest() {}
+
+    public NetSettlementRequest(UUID settlementId, String currencyCode, List<Leg> legs) {
+        this.settlementId = settlementId;
+        this.currencyCode = currencyCode;
+        this.legs = legs;
+    }
+
+    // Getters and setters
+    public UUID getSettlementId() { return settlementId; }
+    public void setSettlementId(UUID settlementId) { this.settlementId = settlementId; }
+
+    public String getCurrencyCode() { return currencyCode; }
+    public void setCurrencyCode(String currencyCode) { this.currencyCode = currencyCode; }
+
+    public List<Leg> getLegs() { return legs; }
+    public void setLegs(List<Leg> legs) { this.legs = legs; }
+
+    // Signed net movement for one account: positive credits, negative debits
+    public static class Leg {
+        private UUID accountId;
+        private BigDecimal amount;
+
+        public Leg() {}
+
+        public Leg(UUID accountId, BigDecimal amount) {
+            this.accountId = accountId;
+            this.amount = amount;
+        }
+
+        public UUID getAccountId() { return accountId; }
+        public void setAccountId(UUID accountId) { this.accountId = accountId; }
+
+        public BigDecimal getAmount() { return amount; }
+        public void setAmount(BigDecimal amount) { this.amount = amount; }
+    }
+}
@@ -0,0 +1,60 @@
+package com.minibank.payments.infrastructure.kafka;
+
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.kafka.clients.producer.Partitioner;
+import org.apache.kafka.common.Cluster;
+import org.apache.kafka.common.utils.Utils;
+
+/**
+ * Partitions saga events by the UUID in their key rather than by its string bytes, so
+ * an account always maps to the same partition however the key was formatted, and
+ * consumers can compute partition ownership with {@link #partitionFor(UUID, int)}.
+ * Keys that are not UUIDs fall back to Kafka's murmur2 hashing.
+ */
+public class AccountKeyPartitioner implements Partitioner {
+
+    @Override
+    public int partition(String topic, Object key, byte[] keyBytes, Object value, byte[] valueBytes, Cluster cluster) {
+        int partitions = cluster.partitionsForTopic(topic).size();
+        if (key == null) {
+            // Unkeyed records are not expected from the saga; spread them like the default partitioner
+            return Utils.toPositive((int) System.nanoTime()) % partitions;
+        }
+
+        UUID uuid = parseUuid(key.toString());
+        if (uuid != null) {
+            return partitionFor(uuid, partitions);
+        }
+        return Utils.toPositive(Utils.murmur2(keyBytes)) % partitions;
+    }
+
+    public static int partitionFor(UUID key, int partitions) {
+        long bits = key.getMostSignificantBits() ^ key.getLeastSignificantBits();
+        // Fold and mix so random and time-based UUIDs spread evenly
+        bits ^= bits >>> 33;
+        bits *= 0xff51afd7ed558ccdL;
+        bits ^= bits >>> 33;
+        return (int) Math.floorMod(bits, (long) partitions);
+    }
+
+    private static UUID parseUuid(String key) {
+        if (key.length() != 36) {
+            return null;
+        }
+        try {
+            return UUID.fromString(key);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs) {
+    }
+
+    @Override
+    public void close() {
+    }
+}
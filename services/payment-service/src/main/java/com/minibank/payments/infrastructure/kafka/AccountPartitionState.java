@@ -0,0 +1,184 @@
+package com.minibank.payments.infrastructure.kafka;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.stereotype.Component;
+
+import com.minibank.payments.infrastructure.saga.SagaProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * In-memory per-account saga state for the account-keyed {@code payment.funds-reserved}
+ * partitions this instance owns.
+ *
+ * Because that topic is keyed by source account, each account's state lives in exactly
+ * one partition and is only touched by the consumer thread that owns it, including the
+ * idle-account sweep. State is created when a partition is assigned and dropped when it
+ * is revoked or lost, so a new owner always starts from the records rather than from
+ * stale memory; calls for a partition this instance no longer owns are ignored.
+ */
+@Component
+public class AccountPartitionState implements ConsumerAwareRebalanceListener {
+
+    public static final String TOPIC = "payment.funds-reserved";
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountPartitionState.class);
+
+    private final Map<Integer, OwnedPartition> partitions = new ConcurrentHashMap<>();
+    private final int hotAccountThreshold;
+    private final long hotAccountWindowMillis;
+    private final long idleSweepIntervalMillis;
+    private final Counter hotAccountReservations;
+
+    public AccountPartitionState(SagaProperties sagaProperties, MeterRegistry meterRegistry) {
+        this.hotAccountThreshold = sagaProperties.getHotAccountThreshold();
+        this.hotAccountWindowMillis = sagaProperties.getHotAccountWindow().toMillis();
+        this.idleSweepIntervalMillis = sagaProperties.getIdleAccountSweepInterval().toMillis();
+
+        this.hotAccountReservations = Counter.builder("payment.saga.hot.account.reservations.total")
+            .description("Reservations received for accounts above the hot-account threshold")
+            .register(meterRegistry);
+        Gauge.builder("payment.saga.partitions.owned", partitions, Map::size)
+            .description("Account-keyed saga partitions owned by this instance")
+            .register(meterRegistry);
+        Gauge.builder("payment.saga.accounts.tracked", this, AccountPartitionState::trackedAccounts)
+            .description("Accounts with in-memory saga state")
+            .register(meterRegistry);
+        Gauge.builder("payment.saga.reservations.pending", this, AccountPartitionState::pendingReservations)
+            .description("Reservations received but not yet settled")
+            .register(meterRegistry);
+    }
+
+    public void reservationStarted(int partition, UUID accountId, BigDecimal amount) {
+        OwnedPartition owned = partitions.get(partition);
+        if (owned == null) {
+            return;
+        }
+        AccountActivity activity = owned.accounts.computeIfAbsent(accountId, id -> new AccountActivity());
+        activity.start(amount, System.currentTimeMillis(), hotAccountWindowMillis);
+        if (activity.settledInWindow >= hotAccountThreshold) {
+            hotAccountReservations.increment();
+        }
+    }
+
+    public void reservationFinished(int partition, UUID accountId, BigDecimal amount) {
+        OwnedPartition owned = partitions.get(partition);
+        AccountActivity activity = owned != null ? owned.accounts.get(accountId) : null;
+        if (activity != null) {
+            activity.finish(amount);
+        }
+    }
+
+    public boolean isHot(int partition, UUID accountId) {
+        OwnedPartition owned = partitions.get(partition);
+        AccountActivity activity = owned != null ? owned.accounts.get(accountId) : null;
+        return activity != null && activity.settledInWindow >= hotAccountThreshold;
+    }
+
+    /**
+     * Drops accounts with nothing pending and no activity in the current window. Called by
+     * the consumer thread after each batch; sweeps a partition at most once per interval.
+     */
+    public void evictIdleAccounts(int partition) {
+        OwnedPartition owned = partitions.get(partition);
+        long now = System.currentTimeMillis();
+        if (owned == null || now - owned.lastSweepMillis < idleSweepIntervalMillis) {
+            return;
+        }
+        owned.lastSweepMillis = now;
+        owned.accounts.values().removeIf(activity ->
+            activity.pendingReservations == 0 && now - activity.windowStartMillis >= hotAccountWindowMillis);
+    }
+
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> assigned) {
+        for (TopicPartition partition : assigned) {
+            if (TOPIC.equals(partition.topic())) {
+                partitions.put(partition.partition(), new OwnedPartition(System.currentTimeMillis()));
+            }
+        }
+    }
+
+    @Override
+    public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> revoked) {
+        drop(revoked, "revoked");
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> lost) {
+        drop(lost, "lost");
+    }
+
+    private void drop(Collection<TopicPartition> topicPartitions, String reason) {
+        for (TopicPartition partition : topicPartitions) {
+            if (!TOPIC.equals(partition.topic())) {
+                continue;
+            }
+            OwnedPartition owned = partitions.remove(partition.partition());
+            if (owned == null) {
+                continue;
+            }
+            long pending = owned.accounts.values().stream().mapToLong(activity -> activity.pendingReservations).sum();
+            if (pending > 0) {
+                // Records are processed between polls, so this only happens if a listener was interrupted;
+                // the uncommitted records will be redelivered to the new owner
+                logger.warn("Partition {} {} with {} reservations still pending", partition, reason, pending);
+            }
+        }
+    }
+
+    private long trackedAccounts() {
+        return partitions.values().stream().mapToLong(owned -> owned.accounts.size()).sum();
+    }
+
+    private long pendingReservations() {
+        return partitions.values().stream()
+            .flatMap(owned -> owned.accounts.values().stream())
+            .mapToLong(activity -> activity.pendingReservations)
+            .sum();
+    }
+
+    private static final class OwnedPartition {
+        // Concurrent only so the gauges can read it from the metrics thread
+        private final Map<UUID, AccountActivity> accounts = new ConcurrentHashMap<>();
+        private long lastSweepMillis;
+
+        private OwnedPartition(long assignedAtMillis) {
+            this.lastSweepMillis = assignedAtMillis;
+        }
+    }
+
+    private static final class AccountActivity {
+        private volatile long pendingReservations;
+        private volatile BigDecimal pendingAmount = BigDecimal.ZERO;
+        private volatile long settledInWindow;
+        private volatile long windowStartMillis;
+
+        private void start(BigDecimal amount, long nowMillis, long windowMillis) {
+            if (nowMillis - windowStartMillis >= windowMillis) {
+                windowStartMillis = nowMillis;
+                settledInWindow = 0;
+            }
+            pendingReservations++;
+            pendingAmount = pendingAmount.add(amount);
+        }
+
+        private void finish(BigDecimal amount) {
+            pendingReservations--;
+            pendingAmount = pendingAmount.subtract(amount);
+            settledInWindow++;
+        }
+    }
+}
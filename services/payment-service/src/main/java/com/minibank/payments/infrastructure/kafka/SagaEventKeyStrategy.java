@@ -0,0 +1,13 @@
+package com.minibank.payments.infrastructure.kafka;
+
+import java.util.UUID;
+
+public enum SagaEventKeyStrategy {
+    SOURCE_ACCOUNT,
+    PAYMENT_ID;
+
+    public String keyFor(UUID paymentId, UUID sourceAccountId) {
+        UUID key = this == SOURCE_ACCOUNT && sourceAccountId != null ? sourceAccountId : paymentId;
+        return key != null ? key.toString() : null;
+    }
+}
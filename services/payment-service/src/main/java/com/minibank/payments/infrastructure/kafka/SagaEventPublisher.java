@@ -0,0 +1,61 @@
+package com.minibank.payments.infrastructure.kafka;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import com.minibank.payments.infrastructure.saga.SagaProperties;
+
+/**
+ * Publishes saga events keyed by source account or payment ID, per
+ * {@code payments.saga.partition-key}, so every event for the same key lands on the
+ * same partition and keeps its order.
+ */
+@Component
+public class SagaEventPublisher {
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final SagaEventKeyStrategy keyStrategy;
+
+    public SagaEventPublisher(KafkaTemplate<String, Object> kafkaTemplate, SagaProperties sagaProperties) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.keyStrategy = sagaProperties.getPartitionKey();
+    }
+
+    public void publish(String topic, UUID paymentId, UUID sourceAccountId, Object event) {
+        kafkaTemplate.send(topic, keyFor(paymentId, sourceAccountId), event);
+    }
+
+    /**
+     * Publishes with a marker header whose presence, not value, carries the meaning.
+     */
+    public void publish(String topic, UUID paymentId, UUID sourceAccountId, Object event, String markerHeader) {
+        kafkaTemplate.send(markedRecord(topic, paymentId, sourceAccountId, event, markerHeader));
+    }
+
+    /**
+     * Like {@link #publish(String, UUID, UUID, Object, String)}, but returns only once the
+     * broker has acknowledged the record.
+     *
+     * @throws java.util.concurrent.CompletionException if the record could not be written
+     */
+    public void publishConfirmed(String topic, UUID paymentId, UUID sourceAccountId, Object event,
+                                 String markerHeader) {
+        kafkaTemplate.send(markedRecord(topic, paymentId, sourceAccountId, event, markerHeader)).join();
+    }
+
+    public String keyFor(UUID paymentId, UUID sourceAccountId) {
+        return keyStrategy.keyFor(paymentId, sourceAccountId);
+    }
+
+    private ProducerRecord<String, Object> markedRecord(String topic, UUID paymentId, UUID sourceAccountId,
+                                                        Object event, String markerHeader) {
+        ProducerRecord<String, Object> record =
+            new ProducerRecord<>(topic, keyFor(paymentId, sourceAccountId), event);
+        record.headers().add(markerHeader, "true".getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+}
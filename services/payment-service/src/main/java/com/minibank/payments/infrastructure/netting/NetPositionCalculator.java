@@ -0,0 +1,37 @@
+package com.minibank.payments.infrastructure.netting;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import com.minibank.payments.infrastructure.client.dto.NetSettlementRequest;
+import com.minibank.payments.infrastructure.saga.PaymentSaga.PaymentRequestedEvent;
+
+/**
+ * Collapses a batch of same-currency payments into one signed movement per account.
+ * Accounts whose inflows and outflows cancel out produce no leg at all.
+ */
+public final class NetPositionCalculator {
+
+    private NetPositionCalculator() {}
+
+    public static List<NetSettlementRequest.Leg> net(Collection<PaymentRequestedEvent> payments) {
+        Map<UUID, BigDecimal> positions = new TreeMap<>();
+        for (PaymentRequestedEvent payment : payments) {
+            positions.merge(payment.getFromAccountId(), payment.getAmount().negate(), BigDecimal::add);
+            positions.merge(payment.getToAccountId(), payment.getAmount(), BigDecimal::add);
+        }
+
+        List<NetSettlementRequest.Leg> legs = new ArrayList<>(positions.size());
+        positions.forEach((accountId, amount) -> {
+            if (amount.signum() != 0) {
+                legs.add(new NetSettlementRequest.Leg(accountId, amount));
+            }
+        });
+        return legs;
+    }
+}
@@ -0,0 +1,405 @@
+package com.minibank.payments.infrastructure.netting;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.minibank.payments.infrastructure.client.AccountServiceClient;
+import com.minibank.payments.infrastructure.client.dto.NetSettlementRequest;
+import com.minibank.payments.infrastructure.kafka.SagaEventPublisher;
+import com.minibank.payments.infrastructure.persistence.PaymentSagaEntity;
+import com.minibank.payments.infrastructure.saga.PaymentSaga.PaymentCompletedEvent;
+import com.minibank.payments.infrastructure.saga.PaymentSaga.PaymentRequestedEvent;
+import com.minibank.payments.infrastructure.saga.PaymentSagaMetrics;
+import com.minibank.payments.infrastructure.saga.PaymentSagaStore;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Optional netting mode for high-frequency small payments.
+ *
+ * Eligible payment requests are buffered per currency for a short window; each window
+ * is collapsed into one signed movement per account and settled with a single
+ * account-service call. Every payment in a settled window still gets its own
+ * {@code payment.completed} event. If the settlement is refused, the payments are sent
+ * back through {@code payment.requested} with a bypass header and run the regular saga.
+ * They are marked {@code BYPASSED}, keeping their settlement ID, before the copies are
+ * published, and the ID is cleared only once every copy was acknowledged by the broker;
+ * a hand-back that was interrupted is published again.
+ *
+ * Buffered payments are recorded as {@code NETTING} sagas, and the settlement ID is
+ * stored with them before account-service is called. Account-service applies each
+ * settlement ID once, so a settlement whose outcome is unknown (a timeout, a 5xx or a
+ * shed call) is retried under the same ID, and settlements interrupted by a restart
+ * are resumed from the saga store. Kafka offsets are acknowledged only once the
+ * payment's window has settled or fallen back.
+ *
+ * A payment is recorded once; a redelivered request is skipped. Assigning payments to a
+ * settlement is conditional, so a payment swept up after a restart by another instance
+ * is netted by whichever settlement claimed it first and never twice.
+ */
+@Component
+public class NettingEngine {
+
+    public static final String BYPASS_HEADER = "x-netting-bypass";
+
+    private static final Logger logger = LoggerFactory.getLogger(NettingEngine.class);
+
+    private final NettingProperties properties;
+    private final AccountServiceClient accountServiceClient;
+    private final SagaEventPublisher eventPublisher;
+    private final PaymentSagaStore sagaStore;
+    private final PaymentSagaMetrics sagaMetrics;
+    private final ConcurrentHashMap<String, List<NettedPayment>> windows = new ConcurrentHashMap<>();
+    // Settlements whose outcome is unknown, retried on the next flush
+    private final Queue<Settlement> unsettled = new ConcurrentLinkedQueue<>();
+    // Refused settlements whose bypass copies are not all published yet, retried on the next flush
+    private final Queue<Settlement> unpublished = new ConcurrentLinkedQueue<>();
+
+    // Metrics
+    private final Counter paymentsNetted;
+    private final Counter settlements;
+    private final Counter settlementLegs;
+    private final Counter settlementRetries;
+    private final Counter fallbacks;
+    private final DistributionSummary windowSize;
+
+    public NettingEngine(NettingProperties properties,
+                         AccountServiceClient accountServiceClient,
+                         SagaEventPublisher eventPublisher,
+                         PaymentSagaStore sagaStore,
+                         PaymentSagaMetrics sagaMetrics,
+                         MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.accountServiceClient = accountServiceClient;
+        this.eventPublisher = eventPublisher;
+        this.sagaStore = sagaStore;
+        this.sagaMetrics = sagaMetrics;
+
+        this.paymentsNetted = Counter.builder("payment.netting.payments.total")
+            .description("Payments settled through a netting window")
+            .register(meterRegistry);
+        this.settlements = Counter.builder("payment.netting.settlements.total")
+            .description("Account service net settlement calls")
+            .register(meterRegistry);
+        this.settlementLegs = Counter.builder("payment.netting.legs.total")
+            .description("Account balance movements written by net settlements")
+            .register(meterRegistry);
+        this.settlementRetries = Counter.builder("payment.netting.retries.total")
+            .description("Net settlements retried after an unknown outcome")
+            .register(meterRegistry);
+        this.fallbacks = Counter.builder("payment.netting.fallbacks.total")
+            .description("Payments sent back to the individual saga after a refused settlement")
+            .register(meterRegistry);
+        this.windowSize = DistributionSummary.builder("payment.netting.window.size")
+            .description("Payments per netting window")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Buffers the payment for netting if it is eligible. The record is acknowledged once
+     * its window has settled, or straight away if the payment was already netted.
+     *
+     * @return false if the caller should process the payment through the regular saga
+     */
+    public boolean offer(PaymentRequestedEvent event, long requestedAt, Acknowledgment acknowledgment) {
+        if (!isEligible(event)) {
+            return false;
+        }
+        if (!sagaStore.recordNetting(event, Instant.ofEpochMilli(requestedAt))) {
+            logger.debug("Payment {} already netted, skipping redelivered request", event.getPaymentId());
+            acknowledgment.acknowledge();
+            return true;
+        }
+
+        NettedPayment payment = new NettedPayment(event, acknowledgment);
+        List<List<NettedPayment>> full = new ArrayList<>(1);
+        windows.compute(event.getCurrencyCode(), (currency, window) -> {
+            List<NettedPayment> current = window != null ? window : new ArrayList<>();
+            current.add(payment);
+            if (current.size() >= properties.getMaxBatchSize()) {
+                full.add(current);
+                return null;
+            }
+            return current;
+        });
+
+        if (!full.isEmpty()) {
+            close(event.getCurrencyCode(), full.get(0));
+        }
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${payments.netting.window-ms:200}")
+    public void flush() {
+        for (int retries = unpublished.size(); retries > 0; retries--) {
+            Settlement settlement = unpublished.poll();
+            if (settlement == null) {
+                break;
+            }
+            publishBypass(settlement);
+        }
+        for (int retries = unsettled.size(); retries > 0; retries--) {
+            Settlement settlement = unsettled.poll();
+            if (settlement == null) {
+                break;
+            }
+            settlementRetries.increment();
+            settle(settlement);
+        }
+        for (String currency : windows.keySet()) {
+            List<NettedPayment> window = windows.remove(currency);
+            if (window != null && !window.isEmpty()) {
+                close(currency, window);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Resumes settlements that were assigned but not finished before a restart, and puts
+     * payments whose window never closed into new windows. Their Kafka records were never
+     * acknowledged; when redelivered they are skipped by {@link #offer} because the saga
+     * store already holds them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOpenSettlements() {
+        List<PaymentSagaEntity> unassigned = sagaStore.findUnassignedNetting();
+        for (PaymentSagaEntity saga : unassigned) {
+            windows.merge(saga.getCurrencyCode(), new ArrayList<>(List.of(restore(saga))), (current, added) -> {
+                current.addAll(added);
+                return current;
+            });
+        }
+        if (!unassigned.isEmpty()) {
+            logger.info("Returning {} unassigned netted payments to their windows", unassigned.size());
+        }
+
+        List<UUID> open = sagaStore.findOpenSettlements();
+        for (UUID settlementId : open) {
+            List<NettedPayment> payments = sagaStore.findSettlement(settlementId).stream()
+                .map(NettingEngine::restore)
+                .toList();
+            if (!payments.isEmpty()) {
+                unsettled.add(new Settlement(settlementId, payments.get(0).event().getCurrencyCode(), payments));
+            }
+        }
+        if (!open.isEmpty()) {
+            logger.info("Resuming {} net settlements from the saga store", open.size());
+        }
+
+        List<UUID> bypassed = sagaStore.findUnconfirmedBypasses();
+        for (UUID settlementId : bypassed) {
+            List<NettedPayment> payments = sagaStore.findBypassed(settlementId).stream()
+                .map(NettingEngine::restore)
+                .toList();
+            if (!payments.isEmpty()) {
+                unpublished.add(new Settlement(settlementId, payments.get(0).event().getCurrencyCode(), payments));
+            }
+        }
+        if (!bypassed.isEmpty()) {
+            logger.info("Republishing {} refused net settlements to the regular saga", bypassed.size());
+        }
+    }
+
+    private boolean isEligible(PaymentRequestedEvent event) {
+        if (!properties.isEnabled()) {
+            return false;
+        }
+        if (event.getFromAccountId().equals(event.getToAccountId())) {
+            return false;
+        }
+        if (event.getAmount().compareTo(properties.getMaxAmount()) > 0) {
+            return false;
+        }
+        return properties.getCurrencies().isEmpty()
+            || properties.getCurrencies().contains(event.getCurrencyCode());
+    }
+
+    private void close(String currency, List<NettedPayment> window) {
+        UUID settlementId = UUID.randomUUID();
+        windowSize.record(window.size());
+        Set<UUID> assigned;
+        try {
+            assigned = new HashSet<>(sagaStore.assignSettlement(
+                window.stream().map(payment -> payment.event().getPaymentId()).toList(), settlementId));
+        } catch (Exception e) {
+            // Nothing was sent yet; the payments go into the next window for this currency
+            logger.error("Could not record net settlement {} for {}, carrying {} payments to the next window",
+                settlementId, currency, window.size(), e);
+            windows.merge(currency, window, (current, carried) -> {
+                current.addAll(carried);
+                return current;
+            });
+            return;
+        }
+
+        List<NettedPayment> netted = new ArrayList<>(assigned.size());
+        for (NettedPayment payment : window) {
+            if (assigned.contains(payment.event().getPaymentId())) {
+                netted.add(payment);
+            } else if (payment.acknowledgment() != null) {
+                // Already held by another settlement, which settles it
+                payment.acknowledgment().acknowledge();
+            }
+        }
+        if (!netted.isEmpty()) {
+            settle(new Settlement(settlementId, currency, netted));
+        }
+    }
+
+    private void settle(Settlement settlement) {
+        List<NetSettlementRequest.Leg> legs =
+            NetPositionCalculator.net(settlement.payments().stream().map(NettedPayment::event).toList());
+
+        if (legs.isEmpty()) {
+            // Every movement cancelled out; nothing to write
+            logger.debug("Netting window {} for {} fully offset ({} payments)",
+                settlement.id(), settlement.currency(), settlement.payments().size());
+            complete(settlement);
+            return;
+        }
+
+        try {
+            var result = accountServiceClient.settleNet(settlement.id(), settlement.currency(), legs);
+            settlements.increment();
+
+            if (result.isSuccess()) {
+                settlementLegs.increment(legs.size());
+                logger.debug("Settled netting window {} for {}: {} payments in {} legs",
+                    settlement.id(), settlement.currency(), settlement.payments().size(), legs.size());
+                complete(settlement);
+            } else if (result.isDefinite()) {
+                logger.warn("Net settlement {} for {} refused: {}",
+                    settlement.id(), settlement.currency(), result.getErrorMessage());
+                fallBack(settlement);
+            } else {
+                logger.warn("Net settlement {} for {} outcome unknown, retrying: {}",
+                    settlement.id(), settlement.currency(), result.getErrorMessage());
+                unsettled.add(settlement);
+            }
+        } catch (Exception e) {
+            // Shed or failed before an answer came back; safe to repeat under the same settlement ID
+            logger.warn("Net settlement {} for {} failed, retrying: {}",
+                settlement.id(), settlement.currency(), e.getMessage());
+            unsettled.add(settlement);
+        }
+    }
+
+    private void complete(Settlement settlement) {
+        List<PaymentSagaEntity> completed;
+        try {
+            completed = sagaStore.completeSettlement(settlement.id());
+        } catch (Exception e) {
+            logger.warn("Could not complete net settlement {}, retrying: {}", settlement.id(), e.getMessage());
+            unsettled.add(settlement);
+            return;
+        }
+
+        // Another instance resuming the same settlement may have completed some of the payments
+        for (PaymentSagaEntity payment : completed) {
+            eventPublisher.publish("payment.completed", payment.getPaymentId(), payment.getFromAccountId(),
+                new PaymentCompletedEvent(
+                    payment.getPaymentId(),
+                    payment.getFromAccountId(),
+                    payment.getToAccountId(),
+                    payment.getAmount(),
+                    payment.getCurrencyCode()
+                )
+            );
+            sagaMetrics.recordCompleted(payment.getCreatedAt().toEpochMilli());
+        }
+        paymentsNetted.increment(completed.size());
+        acknowledge(settlement);
+    }
+
+    private void fallBack(Settlement settlement) {
+        Set<UUID> bypassed;
+        try {
+            bypassed = new HashSet<>(sagaStore.bypassSettlement(settlement.id()));
+        } catch (Exception e) {
+            logger.warn("Could not release net settlement {}, retrying: {}", settlement.id(), e.getMessage());
+            unsettled.add(settlement);
+            return;
+        }
+
+        List<NettedPayment> handedBack = new ArrayList<>(bypassed.size());
+        for (NettedPayment payment : settlement.payments()) {
+            if (bypassed.contains(payment.event().getPaymentId())) {
+                handedBack.add(payment);
+            } else if (payment.acknowledgment() != null) {
+                // Completed or handed back by another instance resuming the same settlement
+                payment.acknowledgment().acknowledge();
+            }
+        }
+        publishBypass(new Settlement(settlement.id(), settlement.currency(), handedBack));
+    }
+
+    // Records stay unacknowledged until every copy is published; copies published twice are skipped by the saga
+    private void publishBypass(Settlement settlement) {
+        try {
+            for (NettedPayment netted : settlement.payments()) {
+                PaymentRequestedEvent payment = netted.event();
+                eventPublisher.publishConfirmed("payment.requested", payment.getPaymentId(),
+                    payment.getFromAccountId(), payment, BYPASS_HEADER);
+            }
+            sagaStore.confirmBypass(settlement.id());
+        } catch (Exception e) {
+            logger.warn("Could not hand net settlement {} back to the saga, retrying: {}",
+                settlement.id(), e.getMessage());
+            unpublished.add(settlement);
+            return;
+        }
+        fallbacks.increment(settlement.payments().size());
+        acknowledge(settlement);
+    }
+
+    private static void acknowledge(Settlement settlement) {
+        for (NettedPayment payment : settlement.payments()) {
+            if (payment.acknowledgment() != null) {
+                payment.acknowledgment().acknowledge();
+            }
+        }
+    }
+
+    // Resumed settlements have no acknowledgment: their records are redelivered and skipped
+    private static NettedPayment restore(PaymentSagaEntity saga) {
+        return new NettedPayment(
+            new PaymentRequestedEvent(
+                saga.getPaymentId(),
+                saga.getFromAccountId(),
+                saga.getToAccountId(),
+                saga.getAmount(),
+                saga.getCurrencyCode()
+            ),
+            null
+        );
+    }
+
+    private record NettedPayment(PaymentRequestedEvent event, Acknowledgment acknowledgment) {
+    }
+
+    private record Settlement(UUID id, String currency, List<NettedPayment> payments) {
+    }
+}
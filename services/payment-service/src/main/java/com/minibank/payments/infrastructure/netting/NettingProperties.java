@@ -0,0 +1,33 @@
+package com.minibank.payments.infrastructure.netting;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "payments.netting")
+public class NettingProperties {
+
+    private boolean enabled = false;
+    private long windowMs = 200;
+    private int maxBatchSize = 500;
+    private BigDecimal maxAmount = new BigDecimal("1000");
+    // Empty means every currency is eligible
+    private Set<String> currencies = new HashSet<>();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public long getWindowMs() { return windowMs; }
+    public void setWindowMs(long windowMs) { this.windowMs = windowMs; }
+
+    public int getMaxBatchSize() { return maxBatchSize; }
+    public void setMaxBatchSize(int maxBatchSize) { this.maxBatchSize = maxBatchSize; }
+
+    public BigDecimal getMaxAmount() { return maxAmount; }
+    public void setMaxAmount(BigDecimal maxAmount) { this.maxAmount = maxAmount; }
+
+    public Set<String> getCurrencies() { return currencies; }
+    public void setCurrencies(Set<String> currencies) { this.currencies = currencies; }
+}
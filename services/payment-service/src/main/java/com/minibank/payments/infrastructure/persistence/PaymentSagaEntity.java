@@ -0,0 +1,105 @@
+package com.minibank.payments.infrastructure.persistence;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "payment_sagas")
+public class PaymentSagaEntity {
+
+    @Id
+    @Column(name = "payment_id")
+    private UUID paymentId;
+
+    @Column(name = "from_account_id", nullable = false)
+    private UUID fromAccountId;
+
+    @Column(name = "to_account_id", nullable = false)
+    private UUID toAccountId;
+
+    @Column(name = "amount", nullable = false, precision = 19, scale = 4)
+    private BigDecimal amount;
+
+    @Column(name = "currency_code", nullable = false, length = 3)
+    private String currencyCode;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 32)
+    private SagaStatus status;
+
+    @Column(name = "failure_reason", length = 64)
+    private String failureReason;
+
+    // Net settlement a NETTING payment was assigned to, once its window closed
+    @Column(name = "settlement_id")
+    private UUID settlementId;
+
+    // Key of the batch debit that covered a SETTLING payment; null if it is debited on its own
+    @Column(name = "debit_key", length = 128)
+    private String debitKey;
+
+    @Column(name = "deadline_at", nullable = false)
+    private Instant deadlineAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    // Constructors
+    public PaymentSagaEntity() {}
+
+    public PaymentSagaEntity(UUID paymentId, UUID fromAccountId, UUID toAccountId, BigDecimal amount,
+                             String currencyCode, SagaStatus status, Instant deadlineAt, Instant createdAt) {
+        this.paymentId = paymentId;
+        this.fromAccountId = fromAccountId;
+        this.toAccountId = toAccountId;
+        this.amount = amount;
+        this.currencyCode = currencyCode;
+        this.status = status;
+        this.deadlineAt = deadlineAt;
+        this.createdAt = createdAt;
+        this.updatedAt = createdAt;
+    }
+
+    // Getters and Setters
+    public UUID getPaymentId() { return paymentId; }
+    public void setPaymentId(UUID paymentId) { this.paymentId = paymentId; }
+
+    public UUID getFromAccountId() { return fromAccountId; }
+    public void setFromAccountId(UUID fromAccountId) { this.fromAccountId = fromAccountId; }
+
+    public UUID getToAccountId() { return toAccountId; }
+    public void setToAccountId(UUID toAccountId) { this.toAccountId = toAccountId; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public String getCurrencyCode() { return currencyCode; }
+    public void setCurrencyCode(String currencyCode) { this.currencyCode = currencyCode; }
+
+    public SagaStatus getStatus() { return status; }
+    public void setStatus(SagaStatus status) { this.status = status; }
+
+    public String getFailureReason() { return failureReason; }
+    public void setFailureReason(String failureReason) { this.failureReason = failureReason; }
+
+    public UUID getSettlementId() { return settlementId; }
+    public void setSettlementId(UUID settlementId) { this.settlementId = settlementId; }
+
+    public String getDebitKey() { return debitKey; }
+    public void setDebitKey(String debitKey) { this.debitKey = debitKey; }
+
+    public Instant getDeadlineAt() { return deadlineAt; }
+    public void setDeadlineAt(Instant deadlineAt) { this.deadlineAt = deadlineAt; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,183 @@
+package com.minibank.payments.infrastructure.persistence;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface PaymentSagaJpaRepository extends JpaRepository<PaymentSagaEntity, UUID> {
+
+    @Query("SELECT s FROM PaymentSagaEntity s WHERE s.status = :status AND s.paymentId > :after ORDER BY s.paymentId")
+    List<PaymentSagaEntity> findPageByStatus(@Param("status") SagaStatus status,
+                                             @Param("after") UUID after,
+                                             Pageable pageable);
+
+    @Modifying
+    @Query(value = "INSERT INTO payment_sagas (payment_id, from_account_id, to_account_id, amount, currency_code, " +
+                   "status, deadline_at, created_at, updated_at) " +
+                   "VALUES (:paymentId, :fromAccountId, :toAccountId, :amount, :currencyCode, :status, :deadline, " +
+                   ":now, :now) ON CONFLICT (payment_id) DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("paymentId") UUID paymentId,
+                       @Param("fromAccountId") UUID fromAccountId,
+                       @Param("toAccountId") UUID toAccountId,
+                       @Param("amount") BigDecimal amount,
+                       @Param("currencyCode") String currencyCode,
+                       @Param("status") String status,
+                       @Param("deadline") Instant deadline,
+                       @Param("now") Instant now);
+
+    @Modifying
+    @Query("DELETE FROM PaymentSagaEntity s WHERE s.paymentId = :paymentId AND s.status = :status")
+    int deleteInStatus(@Param("paymentId") UUID paymentId, @Param("status") SagaStatus status);
+
+    @Modifying
+    @Query("UPDATE PaymentSagaEntity s SET s.status = :to, s.updatedAt = :now " +
+           "WHERE s.paymentId = :paymentId AND s.status = :from")
+    int transition(@Param("paymentId") UUID paymentId,
+                   @Param("from") SagaStatus from,
+                   @Param("to") SagaStatus to,
+                   @Param("now") Instant now);
+
+    @Modifying
+    @Query("UPDATE PaymentSagaEntity s SET s.status = :to, s.debitKey = NULL, s.updatedAt = :now " +
+           "WHERE s.paymentId = :paymentId AND s.status = :from")
+    int beginSettlement(@Param("paymentId") UUID paymentId,
+                        @Param("from") SagaStatus from,
+                        @Param("to") SagaStatus to,
+                        @Param("now") Instant now);
+
+    @Modifying
+    @Query("UPDATE PaymentSagaEntity s SET s.debitKey = :debitKey " +
+           "WHERE s.paymentId IN :paymentIds AND s.status = :status")
+    int assignDebitKey(@Param("paymentIds") Collection<UUID> paymentIds,
+                       @Param("debitKey") String debitKey,
+                       @Param("status") SagaStatus status);
+
+    @Modifying
+    @Query("UPDATE PaymentSagaEntity s SET s.deadlineAt = :deadline " +
+           "WHERE s.paymentId IN :paymentIds AND s.status = :status")
+    int moveDeadline(@Param("paymentIds") Collection<UUID> paymentIds,
+                     @Param("status") SagaStatus status,
+                     @Param("deadline") Instant deadline);
+
+    @Modifying
+    @Query("UPDATE PaymentSagaEntity s SET s.status = :to, s.failureReason = :reason, s.updatedAt = :now " +
+           "WHERE s.paymentId = :paymentId AND s.status = :from")
+    int finish(@Param("paymentId") UUID paymentId,
+               @Param("from") SagaStatus from,
+               @Param("to") SagaStatus to,
+               @Param("reason") String reason,
+               @Param("now") Instant now);
+
+    @Modifying
+    @Query("UPDATE PaymentSagaEntity s SET s.status = :to, s.deadlineAt = :deadline, s.updatedAt = :now " +
+           "WHERE s.paymentId = :paymentId AND s.status = :from")
+    int reschedule(@Param("paymentId") UUID paymentId,
+                   @Param("from") SagaStatus from,
+                   @Param("to") SagaStatus to,
+                   @Param("deadline") Instant deadline,
+                   @Param("now") Instant now);
+
+    @Modifying
+    @Query("UPDATE PaymentSagaEntity s SET s.status = :to, s.failureReason = :reason, s.deadlineAt = :deadline, " +
+           "s.updatedAt = :now WHERE s.paymentId = :paymentId AND s.status = :from")
+    int park(@Param("paymentId") UUID paymentId,
+             @Param("from") SagaStatus from,
+             @Param("to") SagaStatus to,
+             @Param("reason") String reason,
+             @Param("deadline") Instant deadline,
+             @Param("now") Instant now);
+
+    // Claims expired reservations in one statement; rows another thread has moved on are skipped
+    @Query(value = "UPDATE payment_sagas SET status = 'COMPENSATING', updated_at = now() " +
+                   "WHERE payment_id IN (:paymentIds) AND status = 'RESERVED' AND deadline_at <= :now " +
+                   "RETURNING *",
+           nativeQuery = true)
+    List<PaymentSagaEntity> claimExpired(@Param("paymentIds") Collection<UUID> paymentIds,
+                                         @Param("now") Instant now);
+
+    // Claims debited sagas whose retry is due and puts them back into settlement
+    @Query(value = "UPDATE payment_sagas SET status = 'SETTLING', updated_at = now() " +
+                   "WHERE payment_id IN (:paymentIds) AND status = 'DEBITED' AND deadline_at <= :now " +
+                   "RETURNING *",
+           nativeQuery = true)
+    List<PaymentSagaEntity> claimDebited(@Param("paymentIds") Collection<UUID> paymentIds,
+                                         @Param("now") Instant now);
+
+    /*
+     * Claims due sagas whose reserve or debit outcome was never recorded. The status is kept
+     * and only the deadline moves to :retryAt, so a saga that cannot be reconciled yet comes
+     * round again; updated_at is left alone and still tells when the step started.
+     */
+    @Query(value = "UPDATE payment_sagas SET deadline_at = :retryAt " +
+                   "WHERE payment_id IN (:paymentIds) AND status = :status AND deadline_at <= :now " +
+                   "RETURNING *",
+           nativeQuery = true)
+    List<PaymentSagaEntity> claimUnresolved(@Param("paymentIds") Collection<UUID> paymentIds,
+                                            @Param("status") String status,
+                                            @Param("now") Instant now,
+                                            @Param("retryAt") Instant retryAt);
+
+    // Returns only the payments this call assigned, so each payment is netted by one settlement
+    @Query(value = "UPDATE payment_sagas SET settlement_id = :settlementId, updated_at = now() " +
+                   "WHERE payment_id IN (:paymentIds) AND status = 'NETTING' AND settlement_id IS NULL " +
+                   "RETURNING payment_id",
+           nativeQuery = true)
+    List<UUID> assignSettlement(@Param("paymentIds") Collection<UUID> paymentIds,
+                                @Param("settlementId") UUID settlementId);
+
+    @Query("SELECT s FROM PaymentSagaEntity s WHERE s.status = :status AND s.settlementId IS NULL")
+    List<PaymentSagaEntity> findUnassigned(@Param("status") SagaStatus status);
+
+    @Query("SELECT s FROM PaymentSagaEntity s WHERE s.settlementId = :settlementId AND s.status = :status")
+    List<PaymentSagaEntity> findBySettlement(@Param("settlementId") UUID settlementId,
+                                             @Param("status") SagaStatus status);
+
+    @Query("SELECT DISTINCT s.settlementId FROM PaymentSagaEntity s " +
+           "WHERE s.status = :status AND s.settlementId IS NOT NULL")
+    List<UUID> findOpenSettlements(@Param("status") SagaStatus status);
+
+    // Returns only the rows this call moved, so concurrent completions publish each payment once
+    @Query(value = "UPDATE payment_sagas SET status = 'COMPLETED', updated_at = now() " +
+                   "WHERE settlement_id = :settlementId AND status = 'NETTING' " +
+                   "RETURNING *",
+           nativeQuery = true)
+    List<PaymentSagaEntity> completeSettlement(@Param("settlementId") UUID settlementId);
+
+    /*
+     * Rejected settlements hand their payments back to the regular saga. The settlement ID
+     * stays on the rows until their bypass copies are published, so an interrupted hand-back
+     * is found and published again.
+     */
+    @Query(value = "UPDATE payment_sagas SET status = 'BYPASSED', updated_at = now() " +
+                   "WHERE settlement_id = :settlementId AND status = 'NETTING' " +
+                   "RETURNING payment_id",
+           nativeQuery = true)
+    List<UUID> bypassSettlement(@Param("settlementId") UUID settlementId);
+
+    @Modifying
+    @Query("UPDATE PaymentSagaEntity s SET s.settlementId = NULL, s.updatedAt = :now " +
+           "WHERE s.settlementId = :settlementId AND s.status = :status")
+    int clearSettlement(@Param("settlementId") UUID settlementId,
+                        @Param("status") SagaStatus status,
+                        @Param("now") Instant now);
+
+    @Modifying
+    @Query("UPDATE PaymentSagaEntity s SET s.status = :to, s.settlementId = NULL, s.deadlineAt = :deadline, " +
+           "s.updatedAt = :now WHERE s.paymentId = :paymentId AND s.status = :from")
+    int resumeBypassed(@Param("paymentId") UUID paymentId,
+                       @Param("from") SagaStatus from,
+                       @Param("to") SagaStatus to,
+                       @Param("deadline") Instant deadline,
+                       @Param("now") Instant now);
+}
@@ -0,0 +1,20 @@
+package com.minibank.payments.infrastructure.persistence;
+
+public enum SagaStatus {
+    // Buffered in a netting window; settled by the netting engine rather than the saga steps
+    NETTING,
+    // Reserve call made, outcome not recorded yet; the timeout scheduler reconciles it if it never is
+    RESERVING,
+    // Net settlement refused; waiting for the bypass copy of its request to run the regular saga
+    BYPASSED,
+    // Funds reserved; waiting for the debit/credit step
+    RESERVED,
+    // Debit/credit step in progress
+    SETTLING,
+    // Source debited but a later step was shed; the timeout scheduler finishes it
+    DEBITED,
+    // Reservation deadline passed; release in progress
+    COMPENSATING,
+    COMPLETED,
+    FAILED
+}
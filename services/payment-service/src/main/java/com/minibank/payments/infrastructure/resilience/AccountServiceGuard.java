@@ -0,0 +1,198 @@
+package com.minibank.payments.infrastructure.resilience;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Admission control for payment-service calls to account-service: one shared circuit
+ * breaker plus a bulkhead and an adaptive concurrency limiter per operation type.
+ */
+@Component
+public class AccountServiceGuard {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountServiceGuard.class);
+
+    private final CircuitBreaker circuitBreaker;
+    private final Map<AccountServiceOperation, OperationGuard> operations =
+        new EnumMap<>(AccountServiceOperation.class);
+    private final MeterRegistry meterRegistry;
+
+    public AccountServiceGuard(AccountServiceResilienceProperties properties, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+
+        AccountServiceResilienceProperties.CircuitBreaker breaker = properties.getCircuitBreaker();
+        this.circuitBreaker = new CircuitBreaker(
+            breaker.getWindowSize(),
+            breaker.getMinimumCalls(),
+            breaker.getFailureRateThreshold(),
+            breaker.getOpenDuration(),
+            breaker.getPermittedCallsInHalfOpenState()
+        );
+
+        AccountServiceResilienceProperties.Limiter limiter = properties.getLimiter();
+        AccountServiceResilienceProperties.Bulkhead bulkhead = properties.getBulkhead();
+        for (AccountServiceOperation operation : AccountServiceOperation.values()) {
+            operations.put(operation, new OperationGuard(
+                operation,
+                new AdaptiveConcurrencyLimiter(
+                    limiter.getInitialLimit(),
+                    limiter.getMinLimit(),
+                    limiter.getMaxLimit(),
+                    limiter.getLatencyThreshold().toNanos(),
+                    limiter.getBackoffRatio()
+                ),
+                new Bulkhead(bulkhead.getMaxConcurrentCalls(), bulkhead.getMaxWait())
+            ));
+        }
+
+        Gauge.builder("payment.account.client.circuit.state", circuitBreaker, cb -> cb.getState().ordinal())
+            .description("Account service circuit breaker state (0=closed, 1=half-open, 2=open)")
+            .register(meterRegistry);
+        Gauge.builder("payment.account.client.failure.rate", circuitBreaker, CircuitBreaker::getFailureRatePercentage)
+            .description("Failure rate percentage over the circuit breaker window")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code call} if the circuit, the operation's bulkhead and its concurrency limit all admit it.
+     *
+     * @throws AccountServiceUnavailableException if the call was shed without reaching account-service
+     */
+    public <T> T execute(AccountServiceOperation operation, Supplier<T> call) {
+        OperationGuard guard = operations.get(operation);
+
+        if (!guard.bulkhead.tryAcquire()) {
+            throw guard.reject("bulkhead_full");
+        }
+        if (!guard.limiter.tryAcquire()) {
+            guard.bulkhead.release();
+            throw guard.reject("limit_exceeded");
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            guard.limiter.release();
+            guard.bulkhead.release();
+            throw guard.reject("circuit_open");
+        }
+
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            long latency = System.nanoTime() - start;
+            guard.limiter.onSuccess(latency);
+            circuitBreaker.onSuccess();
+            guard.successTimer.record(latency, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (RuntimeException e) {
+            long latency = System.nanoTime() - start;
+            if (isServiceFailure(e)) {
+                guard.limiter.onDropped(latency);
+                circuitBreaker.onFailure();
+                guard.failureTimer.record(latency, TimeUnit.NANOSECONDS);
+            } else {
+                // account-service answered and refused the request; that is not a health signal
+                guard.limiter.onSuccess(latency);
+                circuitBreaker.onSuccess();
+                guard.successTimer.record(latency, TimeUnit.NANOSECONDS);
+            }
+            throw e;
+        } finally {
+            guard.bulkhead.release();
+        }
+    }
+
+    /**
+     * Whether saga consumers should keep pulling work; false while the circuit is open.
+     */
+    public boolean isAcceptingCalls() {
+        return circuitBreaker.getState() != CircuitBreaker.State.OPEN;
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    public Map<String, Object> describe() {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("circuitState", circuitBreaker.getState());
+        state.put("failureRatePercentage", circuitBreaker.getFailureRatePercentage());
+
+        Map<String, Object> perOperation = new LinkedHashMap<>();
+        operations.forEach((operation, guard) -> {
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("limit", guard.limiter.getLimit());
+            details.put("inFlight", guard.limiter.getInFlight());
+            details.put("smoothedLatencyMillis",
+                TimeUnit.NANOSECONDS.toMillis(guard.limiter.getSmoothedLatencyNanos()));
+            details.put("bulkheadMaxConcurrentCalls", guard.bulkhead.getMaxConcurrentCalls());
+            details.put("bulkheadAvailablePermits", guard.bulkhead.getAvailablePermits());
+            perOperation.put(operation.name(), details);
+        });
+        state.put("operations", perOperation);
+        return state;
+    }
+
+    private static boolean isServiceFailure(RuntimeException e) {
+        if (e instanceof WebClientResponseException responseException) {
+            return !responseException.getStatusCode().is4xxClientError();
+        }
+        return true;
+    }
+
+    private final class OperationGuard {
+        private final AccountServiceOperation operation;
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final Bulkhead bulkhead;
+        private final Timer successTimer;
+        private final Timer failureTimer;
+
+        private OperationGuard(AccountServiceOperation operation, AdaptiveConcurrencyLimiter limiter, Bulkhead bulkhead) {
+            this.operation = operation;
+            this.limiter = limiter;
+            this.bulkhead = bulkhead;
+
+            String tag = operation.name().toLowerCase();
+            Gauge.builder("payment.account.client.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit for account service calls")
+                .tag("operation", tag)
+                .register(meterRegistry);
+            Gauge.builder("payment.account.client.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Account service calls currently in flight")
+                .tag("operation", tag)
+                .register(meterRegistry);
+            this.successTimer = Timer.builder("payment.account.client.duration.seconds")
+                .description("Account service call latency")
+                .tag("operation", tag)
+                .tag("outcome", "success")
+                .register(meterRegistry);
+            this.failureTimer = Timer.builder("payment.account.client.duration.seconds")
+                .description("Account service call latency")
+                .tag("operation", tag)
+                .tag("outcome", "failure")
+                .register(meterRegistry);
+        }
+
+        private AccountServiceUnavailableException reject(String reason) {
+            Counter.builder("payment.account.client.rejected.total")
+                .description("Account service calls shed before being sent")
+                .tag("operation", operation.name().toLowerCase())
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+            logger.debug("Rejected account service {} call: {}", operation, reason);
+            return new AccountServiceUnavailableException(operation, reason);
+        }
+    }
+}
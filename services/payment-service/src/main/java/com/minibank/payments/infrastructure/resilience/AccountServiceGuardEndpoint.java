@@ -0,0 +1,23 @@
+package com.minibank.payments.infrastructure.resilience;
+
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "accountclient")
+public class AccountServiceGuardEndpoint {
+
+    private final AccountServiceGuard guard;
+
+    public AccountServiceGuardEndpoint(AccountServiceGuard guard) {
+        this.guard = guard;
+    }
+
+    @ReadOperation
+    public Map<String, Object> accountClient() {
+        return guard.describe();
+    }
+}
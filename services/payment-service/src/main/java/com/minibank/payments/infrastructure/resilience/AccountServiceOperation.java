@@ -0,0 +1,10 @@
+package com.minibank.payments.infrastructure.resilience;
+
+public enum AccountServiceOperation {
+    RESERVE,
+    DEBIT,
+    CREDIT,
+    SETTLE,
+    RELEASE,
+    RESOLVE
+}
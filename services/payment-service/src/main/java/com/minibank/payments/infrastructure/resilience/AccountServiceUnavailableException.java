@@ -0,0 +1,21 @@
+package com.minibank.payments.infrastructure.resilience;
+
+/**
+ * Thrown when a call to account-service is shed before it is sent, because the
+ * circuit is open, the operation's bulkhead is full or the adaptive limit is reached.
+ * No request has reached account-service, so the caller may safely retry later.
+ */
+public class AccountServiceUnavailableException extends RuntimeException {
+
+    private final AccountServiceOperation operation;
+    private final String reason;
+
+    public AccountServiceUnavailableException(AccountServiceOperation operation, String reason) {
+        super("Account service call " + operation + " rejected: " + reason);
+        this.operation = operation;
+        this.reason = reason;
+    }
+
+    public AccountServiceOperation getOperation() { return operation; }
+    public String getReason() { return reason; }
+}
@@ -0,0 +1,98 @@
+package com.minibank.payments.infrastructure.resilience;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AIMD concurrency limiter driven by observed latency.
+ *
+ * The limit grows by roughly one slot per limit's worth of fast, successful calls and
+ * is cut multiplicatively whenever a call is slower than the latency threshold or fails
+ * at the transport level. Acquisition never blocks: callers that find the limit reached
+ * are expected to shed the request.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private volatile long smoothedLatencyNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      long latencyThresholdNanos, double backoffRatio) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid limiter bounds: min=" + minLimit + ", max=" + maxLimit);
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1: " + backoffRatio);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * The call completed and account-service answered; latency decides whether to grow or back off.
+     */
+    public void onSuccess(long latencyNanos) {
+        int inFlightBeforeRelease = inFlight.getAndDecrement();
+        recordLatency(latencyNanos);
+
+        if (latencyNanos > latencyThresholdNanos) {
+            decrease();
+        } else if (inFlightBeforeRelease * 2 >= (int) limit) {
+            // Only probe upwards while the current limit is actually being used
+            increase();
+        }
+    }
+
+    /**
+     * The call timed out or failed at the transport level.
+     */
+    public void onDropped(long latencyNanos) {
+        inFlight.decrementAndGet();
+        recordLatency(latencyNanos);
+        decrease();
+    }
+
+    /**
+     * The slot was acquired but no call was made.
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    private synchronized void increase() {
+        limit = Math.min(maxLimit, limit + 1.0 / limit);
+    }
+
+    private synchronized void decrease() {
+        limit = Math.max(minLimit, limit * backoffRatio);
+    }
+
+    private void recordLatency(long latencyNanos) {
+        long previous = smoothedLatencyNanos;
+        smoothedLatencyNanos = previous == 0 ? latencyNanos : (previous * 7 + latencyNanos) / 8;
+    }
+
+    public int getLimit() { return (int) limit; }
+    public int getInFlight() { return inFlight.get(); }
+    public long getSmoothedLatencyNanos() { return smoothedLatencyNanos; }
+}
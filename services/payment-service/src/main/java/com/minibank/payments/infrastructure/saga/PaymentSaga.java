@@ -1,142 +1,500 @@
 package com.minibank.payments.infrastructure.saga;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
 
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
+import com.minibank.payments.config.KafkaConfig;
 import com.minibank.payments.infrastructure.client.AccountServiceClient;
+import com.minibank.payments.infrastructure.kafka.AccountPartitionState;
+import com.minibank.payments.infrastructure.kafka.SagaEventPublisher;
+import com.minibank.payments.infrastructure.netting.NettingEngine;
+import com.minibank.payments.infrastructure.resilience.AccountServiceGuard;
+import com.minibank.payments.infrastructure.resilience.AccountServiceUnavailableException;
+import com.minibank.payments.infrastructure.resilience.CircuitBreaker;
+import com.minibank.payments.infrastructure.saga.timeout.SagaTimeoutScheduler;
 
 @Component
 public class PaymentSaga {
 
+    static final String PAYMENT_REQUESTED_LISTENER = "payment-saga-requested";
+    static final String FUNDS_RESERVED_LISTENER = "payment-saga-funds-reserved";
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentSaga.class);
+
     private final AccountServiceClient accountServiceClient;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final SagaEventPublisher eventPublisher;
+    private final NettingEngine nettingEngine;
+    private final AccountPartitionState partitionState;
+    private final PaymentSagaStore sagaStore;
+    private final SagaTimeoutScheduler timeoutScheduler;
+    private final PaymentSagaMetrics metrics;
+    private final AccountServiceGuard accountServiceGuard;
+    private final boolean fastPathEnabled;
 
     public PaymentSaga(AccountServiceClient accountServiceClient,
-                      KafkaTemplate<String, Object> kafkaTemplate) {
+                      SagaEventPublisher eventPublisher,
+                      NettingEngine nettingEngine,
+                      AccountPartitionState partitionState,
+                      PaymentSagaStore sagaStore,
+                      SagaTimeoutScheduler timeoutScheduler,
+                      PaymentSagaMetrics metrics,
+                      AccountServiceGuard accountServiceGuard,
+                      SagaProperties sagaProperties) {
         this.accountServiceClient = accountServiceClient;
-        this.kafkaTemplate = kafkaTemplate;
+        this.eventPublisher = eventPublisher;
+        this.nettingEngine = nettingEngine;
+        this.partitionState = partitionState;
+        this.sagaStore = sagaStore;
+        this.timeoutScheduler = timeoutScheduler;
+        this.metrics = metrics;
+        this.accountServiceGuard = accountServiceGuard;
+        this.fastPathEnabled = sagaProperties.getFastPath().isEnabled();
     }
 
-    @KafkaListener(topics = "payment.requested", groupId = "payment-saga")
-    @Transactional
-    public void handlePaymentRequested(PaymentRequestedEvent event) {
+    /**
+     * Step 1: reserves the funds of a requested payment. Every state change is committed
+     * before the event that announces it is published, so a funds-reserved record always
+     * finds its saga RESERVED. A reserve whose outcome is unknown is left RESERVING for the
+     * timeout scheduler, which releases it if it turns out to have been applied.
+     */
+    @KafkaListener(id = PAYMENT_REQUESTED_LISTENER, idIsGroup = false,
+                   topics = "payment.requested", groupId = "payment-saga",
+                   containerFactory = KafkaConfig.PAYMENT_REQUESTED_CONTAINER_FACTORY)
+    public void handlePaymentRequested(@Payload PaymentRequestedEvent event,
+                                       @Header(KafkaHeaders.RECEIVED_TIMESTAMP) long requestedAt,
+                                       @Header(name = NettingEngine.BYPASS_HEADER, required = false) byte[] nettingBypass,
+                                       Acknowledgment acknowledgment) {
+        metrics.recordHop("payment.requested", requestedAt);
+        if (nettingBypass == null && nettingEngine.offer(event, requestedAt, acknowledgment)) {
+            // Will be settled, and acknowledged, together with the rest of its netting window
+            return;
+        }
+
+        // Funds stay locked until the saga settles or the deadline releases them
+        Instant deadline = Instant.now().plus(timeoutScheduler.getReservationTimeout());
+        if (!sagaStore.beginReserve(event, deadline)) {
+            logger.info("Skipping payment {}: already being processed", event.getPaymentId());
+            acknowledgment.acknowledge();
+            return;
+        }
+
         try {
             // Step 1: Reserve funds from source account
-            var reserveResult = accountServiceClient.reserveFunds(
-                event.getFromAccountId(),
-                event.getAmount(),
-                event.getCurrencyCode()
+            var reserveResult = metrics.timeStep(PaymentSagaMetrics.Step.RESERVE, () ->
+                accountServiceClient.reserveFunds(
+                    event.getFromAccountId(),
+                    event.getAmount(),
+                    event.getCurrencyCode(),
+                    SagaStep.RESERVE.key(event.getPaymentId())
+                )
             );
 
             if (reserveResult.isSuccess()) {
-                // Publish funds reserved event
-                kafkaTemplate.send("payment.funds-reserved",
-                    new FundsReservedEvent(
-                        event.getPaymentId(),
-                        event.getFromAccountId(),
-                        event.getToAccountId(),
-                        event.getAmount(),
-                        event.getCurrencyCode()
-                    )
+                timeoutScheduler.schedule(event.getPaymentId(), deadline);
+                if (!sagaStore.recordReserved(event.getPaymentId())) {
+                    logger.info("Skipping payment {}: reservation already taken over by the timeout",
+                        event.getPaymentId());
+                    acknowledgment.acknowledge();
+                    return;
+                }
+
+                FundsReservedEvent reserved = new FundsReservedEvent(
+                    event.getPaymentId(),
+                    event.getFromAccountId(),
+                    event.getToAccountId(),
+                    event.getAmount(),
+                    event.getCurrencyCode(),
+                    requestedAt
                 );
-            } else {
+                if (!fastPathEnabled || !settleInline(reserved)) {
+                    // Publish funds reserved event
+                    eventPublisher.publish("payment.funds-reserved", event.getPaymentId(), event.getFromAccountId(),
+                        reserved);
+                }
+            } else if (reserveResult.isDefinite()) {
+                sagaStore.recordReserveRefused(event.getPaymentId(), "INSUFFICIENT_FUNDS");
                 // Publish payment failed event
-                kafkaTemplate.send("payment.failed",
+                eventPublisher.publish("payment.failed", event.getPaymentId(), event.getFromAccountId(),
                     new PaymentFailedEvent(
                         event.getPaymentId(),
                         "INSUFFICIENT_FUNDS",
                         reserveResult.getErrorMessage()
                     )
                 );
+                metrics.recordFailed("INSUFFICIENT_FUNDS", requestedAt);
+            } else {
+                // The funds may be locked; the timeout resolves the reserve and releases them if so
+                logger.warn("Reserve for payment {} has no definite outcome, leaving it to the timeout: {}",
+                    event.getPaymentId(), reserveResult.getErrorMessage());
+                timeoutScheduler.schedule(event.getPaymentId(), deadline);
             }
 
+        } catch (AccountServiceUnavailableException e) {
+            // Call was shed before reaching account-service; back off and redeliver
+            sagaStore.abandonReserve(event.getPaymentId());
+            throw e;
         } catch (Exception e) {
-            // Publish payment failed event
-            kafkaTemplate.send("payment.failed",
-                new PaymentFailedEvent(
-                    event.getPaymentId(),
-                    "SYSTEM_ERROR",
-                    "Error reserving funds: " + e.getMessage()
-                )
-            );
+            // Whatever state the saga was left in, its deadline reconciles it
+            logger.error("Reserving funds for payment {} failed, leaving it to the timeout", event.getPaymentId(), e);
+            timeoutScheduler.schedule(event.getPaymentId(), deadline);
+        }
+        acknowledgment.acknowledge();
+    }
+
+    /**
+     * Settles a poll's worth of reservations. Reservations for hot source accounts are
+     * held back and settled per account with one debit for their total, so a busy
+     * account takes one debit per batch instead of one per payment.
+     */
+    @KafkaListener(id = FUNDS_RESERVED_LISTENER, idIsGroup = false,
+                   topics = AccountPartitionState.TOPIC, groupId = "payment-saga",
+                   containerFactory = KafkaConfig.FUNDS_RESERVED_CONTAINER_FACTORY)
+    public void handleFundsReserved(List<ConsumerRecord<String, FundsReservedEvent>> records) {
+        Map<String, List<Integer>> hotGroups = new LinkedHashMap<>();
+        TreeSet<Integer> held = new TreeSet<>();
+        Set<Integer> partitions = new HashSet<>();
+        try {
+            for (int i = 0; i < records.size(); i++) {
+                ConsumerRecord<String, FundsReservedEvent> record = records.get(i);
+                FundsReservedEvent event = record.value();
+                partitions.add(record.partition());
+                metrics.recordHop(AccountPartitionState.TOPIC, record.timestamp());
+                if (event.isFastPath()) {
+                    // Settled inline by handlePaymentRequested
+                    continue;
+                }
+                if (partitionState.isHot(record.partition(), event.getFromAccountId())) {
+                    String account = record.partition() + ":" + event.getFromAccountId() + ":" + event.getCurrencyCode();
+                    hotGroups.computeIfAbsent(account, key -> new ArrayList<>()).add(i);
+                    held.add(i);
+                    continue;
+                }
+                try {
+                    settleReserved(record.partition(), List.of(event));
+                } catch (AccountServiceUnavailableException e) {
+                    // Redeliver from the earliest record not yet settled, held hot records included
+                    throw new BatchListenerFailedException("Account service unavailable", e,
+                        held.isEmpty() ? i : Math.min(i, held.first()));
+                }
+            }
+
+            for (List<Integer> group : hotGroups.values()) {
+                int partition = records.get(group.get(0)).partition();
+                try {
+                    settleReserved(partition, group.stream().map(index -> records.get(index).value()).toList());
+                } catch (AccountServiceUnavailableException e) {
+                    throw new BatchListenerFailedException("Account service unavailable", e, held.first());
+                }
+                held.removeAll(group);
+            }
+        } finally {
+            partitions.forEach(partitionState::evictIdleAccounts);
         }
     }
 
-    @KafkaListener(topics = "payment.funds-reserved", groupId = "payment-saga")
-    @Transactional
-    public void handleFundsReserved(FundsReservedEvent event) {
+    /**
+     * Settles reservations from one partition; several reservations must share a source
+     * account and currency and are debited together.
+     *
+     * @throws AccountServiceUnavailableException if a debit was shed; the reservations that
+     *         had not been debited are handed back for redelivery
+     */
+    private void settleReserved(int partition, List<FundsReservedEvent> reservations) {
+        List<FundsReservedEvent> claimed = new ArrayList<>(reservations.size());
+        for (FundsReservedEvent event : reservations) {
+            if (sagaStore.beginSettlement(event.getPaymentId())) {
+                claimed.add(event);
+            } else {
+                logger.info("Skipping payment {}: reservation already released after timeout", event.getPaymentId());
+            }
+        }
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        claimed.forEach(event -> partitionState.reservationStarted(partition, event.getFromAccountId(), event.getAmount()));
+        try {
+            if (claimed.size() == 1) {
+                settle(claimed.get(0));
+            } else {
+                settleBatch(claimed);
+            }
+        } catch (AccountServiceUnavailableException e) {
+            // Only sagas still SETTLING move back; finished or parked ones are left alone
+            claimed.forEach(event -> sagaStore.revertSettlement(event.getPaymentId()));
+            throw e;
+        } finally {
+            claimed.forEach(event -> partitionState.reservationFinished(partition, event.getFromAccountId(), event.getAmount()));
+        }
+    }
+
+    /**
+     * Settles a reserved payment in the calling thread when account-service is healthy.
+     * The funds-reserved audit record is published, flagged as fast path, before the
+     * settlement so it always precedes the payment's outcome event.
+     *
+     * @return false if the payment was handed back to the asynchronous path untouched
+     */
+    private boolean settleInline(FundsReservedEvent event) {
+        if (accountServiceGuard.getCircuitState() != CircuitBreaker.State.CLOSED) {
+            metrics.recordFastPath(false);
+            return false;
+        }
+        if (!sagaStore.beginSettlement(event.getPaymentId())) {
+            logger.info("Skipping payment {}: reservation already released after timeout", event.getPaymentId());
+            return true;
+        }
+
+        FundsReservedEvent audit = new FundsReservedEvent(
+            event.getPaymentId(),
+            event.getFromAccountId(),
+            event.getToAccountId(),
+            event.getAmount(),
+            event.getCurrencyCode(),
+            event.getRequestedAt()
+        );
+        audit.setFastPath(true);
+        eventPublisher.publish("payment.funds-reserved", event.getPaymentId(), event.getFromAccountId(), audit);
+
+        try {
+            settle(event);
+            metrics.recordFastPath(true);
+            return true;
+        } catch (AccountServiceUnavailableException e) {
+            // Shed before anything was posted; a second, unflagged funds-reserved event lets the consumer retry it
+            sagaStore.revertSettlement(event.getPaymentId());
+            metrics.recordFastPath(false);
+            return false;
+        }
+    }
+
+    /**
+     * Steps 2 and 3: debit the source and credit the destination of a reserved payment.
+     *
+     * @throws AccountServiceUnavailableException if the debit was shed before reaching account-service
+     */
+    private void settle(FundsReservedEvent event) {
         try {
             // Step 2: Debit from source account
-            var debitResult = accountServiceClient.postDebit(
-                event.getFromAccountId(),
-                event.getAmount(),
-                event.getCurrencyCode()
+            var debitResult = metrics.timeStep(PaymentSagaMetrics.Step.DEBIT, () ->
+                accountServiceClient.postDebit(
+                    event.getFromAccountId(),
+                    event.getAmount(),
+                    event.getCurrencyCode(),
+                    SagaStep.DEBIT.key(event.getPaymentId())
+                )
             );
 
             if (debitResult.isSuccess()) {
-                // Step 3: Credit to destination account
-                var creditResult = accountServiceClient.postCredit(
+                settleDebited(event);
+            } else if (debitResult.isDefinite()) {
+                releaseAfterFailedDebit(event, debitResult.getErrorMessage());
+            } else {
+                // The debit may have been applied; the timeout resolves it before anything is released
+                logger.warn("Debit for payment {} has no definite outcome, leaving it to the timeout: {}",
+                    event.getPaymentId(), debitResult.getErrorMessage());
+                timeoutScheduler.holdSettlement(List.of(event.getPaymentId()));
+            }
+
+        } catch (AccountServiceUnavailableException e) {
+            // Nothing has been posted yet; back off and redeliver
+            throw e;
+        } catch (Exception e) {
+            failWithSystemError(event, e);
+        }
+    }
+
+    /**
+     * Step 2 for several reservations of one hot source account: a single debit for their
+     * total, then step 3 for each payment. A refused batch debit falls back to settling the
+     * payments one by one; one without a definite outcome leaves them SETTLING, under the
+     * batch's debit key, for the timeout scheduler to resolve.
+     *
+     * @throws AccountServiceUnavailableException if the batch debit was shed
+     */
+    private void settleBatch(List<FundsReservedEvent> reservations) {
+        FundsReservedEvent first = reservations.get(0);
+        BigDecimal total = reservations.stream()
+            .map(FundsReservedEvent::getAmount)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        List<UUID> paymentIds = reservations.stream().map(FundsReservedEvent::getPaymentId).toList();
+        String debitKey = SagaStep.batchDebitKey(paymentIds);
+        sagaStore.assignDebitKey(paymentIds, debitKey);
+
+        var debitResult = metrics.timeStep(PaymentSagaMetrics.Step.DEBIT, () ->
+            accountServiceClient.postDebit(
+                first.getFromAccountId(),
+                total,
+                first.getCurrencyCode(),
+                debitKey
+            )
+        );
+
+        if (debitResult.isSuccess()) {
+            for (FundsReservedEvent event : reservations) {
+                try {
+                    settleDebited(event);
+                } catch (Exception e) {
+                    failWithSystemError(event, e);
+                }
+            }
+        } else if (debitResult.isDefinite()) {
+            logger.debug("Batch debit of {} payments for account {} refused, settling them one by one: {}",
+                reservations.size(), first.getFromAccountId(), debitResult.getErrorMessage());
+            sagaStore.assignDebitKey(paymentIds, null);
+            reservations.forEach(this::settle);
+        } else {
+            // The batch debit may have been applied: neither debit again one by one nor release
+            logger.warn("Batch debit of {} payments for account {} has no definite outcome, leaving it to the timeout: {}",
+                reservations.size(), first.getFromAccountId(), debitResult.getErrorMessage());
+            timeoutScheduler.holdSettlement(paymentIds);
+        }
+    }
+
+    // Step 3 for a payment whose source is already debited
+    private void settleDebited(FundsReservedEvent event) {
+        String pendingFailure = null;
+        try {
+            // Step 3: Credit to destination account
+            var creditResult = metrics.timeStep(PaymentSagaMetrics.Step.CREDIT, () ->
+                accountServiceClient.postCredit(
                     event.getToAccountId(),
                     event.getAmount(),
-                    event.getCurrencyCode()
-                );
+                    event.getCurrencyCode(),
+                    SagaStep.CREDIT.key(event.getPaymentId())
+                )
+            );
 
-                if (creditResult.isSuccess()) {
-                    // Publish payment completed event
-                    kafkaTemplate.send("payment.completed",
-                        new PaymentCompletedEvent(
-                            event.getPaymentId(),
-                            event.getFromAccountId(),
-                            event.getToAccountId(),
-                            event.getAmount(),
-                            event.getCurrencyCode()
-                        )
-                    );
-                } else {
-                    // Compensate: credit back to source account
-                    accountServiceClient.postCredit(
+            if (creditResult.isSuccess()) {
+                // Publish payment completed event
+                eventPublisher.publish("payment.completed", event.getPaymentId(), event.getFromAccountId(),
+                    new PaymentCompletedEvent(
+                        event.getPaymentId(),
                         event.getFromAccountId(),
+                        event.getToAccountId(),
                         event.getAmount(),
                         event.getCurrencyCode()
-                    );
-
-                    kafkaTemplate.send("payment.failed",
-                        new PaymentFailedEvent(
-                            event.getPaymentId(),
-                            "CREDIT_FAILED",
-                            creditResult.getErrorMessage()
-                        )
-                    );
-                }
-            } else {
-                // Release reserved funds (compensation)
-                // This would need a separate API endpoint
-                kafkaTemplate.send("payment.failed",
-                    new PaymentFailedEvent(
-                        event.getPaymentId(),
-                        "DEBIT_FAILED",
-                        debitResult.getErrorMessage()
                     )
                 );
+                finishSaga(event, null);
+                return;
+            }
+            if (!creditResult.isDefinite()) {
+                // The credit may have landed; the scheduler retries it under the same key instead of refunding
+                logger.warn("Credit for payment {} has no definite outcome, parking it for retry: {}",
+                    event.getPaymentId(), creditResult.getErrorMessage());
+                timeoutScheduler.parkDebited(event.getPaymentId(), null);
+                return;
             }
 
-        } catch (Exception e) {
-            // Compensation logic would go here
-            kafkaTemplate.send("payment.failed",
+            pendingFailure = "CREDIT_FAILED";
+            // Compensate: credit back to source account
+            var refundResult = metrics.timeStep(PaymentSagaMetrics.Step.COMPENSATION, () ->
+                accountServiceClient.postCredit(
+                    event.getFromAccountId(),
+                    event.getAmount(),
+                    event.getCurrencyCode(),
+                    SagaStep.REFUND.key(event.getPaymentId())
+                )
+            );
+            if (!refundResult.isSuccess()) {
+                logger.warn("Refund for payment {} not confirmed, parking it for retry: {}",
+                    event.getPaymentId(), refundResult.getErrorMessage());
+                timeoutScheduler.parkDebited(event.getPaymentId(), pendingFailure);
+                return;
+            }
+
+            eventPublisher.publish("payment.failed", event.getPaymentId(), event.getFromAccountId(),
+                new PaymentFailedEvent(
+                    event.getPaymentId(),
+                    "CREDIT_FAILED",
+                    creditResult.getErrorMessage()
+                )
+            );
+            finishSaga(event, "CREDIT_FAILED");
+        } catch (AccountServiceUnavailableException e) {
+            // The source is already debited: keep the saga open so the credit or refund is retried
+            logger.warn("Payment {} shed after debit, parking it for retry: {}", event.getPaymentId(), e.getMessage());
+            timeoutScheduler.parkDebited(event.getPaymentId(), pendingFailure);
+        }
+    }
+
+    private void releaseAfterFailedDebit(FundsReservedEvent event, String errorMessage) {
+        try {
+            // Release reserved funds (compensation)
+            var releaseResult = metrics.timeStep(PaymentSagaMetrics.Step.COMPENSATION, () ->
+                accountServiceClient.releaseFunds(
+                    event.getFromAccountId(),
+                    event.getAmount(),
+                    event.getCurrencyCode(),
+                    SagaStep.RELEASE.key(event.getPaymentId())
+                )
+            );
+            if (!releaseResult.isSuccess()) {
+                // The armed deadline retries the release under the same key
+                logger.warn("Release for payment {} not confirmed, leaving it to the timeout: {}",
+                    event.getPaymentId(), releaseResult.getErrorMessage());
+                sagaStore.revertSettlement(event.getPaymentId());
+                return;
+            }
+
+            eventPublisher.publish("payment.failed", event.getPaymentId(), event.getFromAccountId(),
                 new PaymentFailedEvent(
                     event.getPaymentId(),
-                    "SYSTEM_ERROR",
-                    "Error processing payment: " + e.getMessage()
+                    "DEBIT_FAILED",
+                    errorMessage
                 )
             );
+            finishSaga(event, "DEBIT_FAILED");
+        } catch (AccountServiceUnavailableException e) {
+            // The armed deadline releases the reservation instead
+            logger.warn("Release for payment {} shed, leaving it to the timeout: {}", event.getPaymentId(), e.getMessage());
+            sagaStore.revertSettlement(event.getPaymentId());
         }
     }
 
+    private void failWithSystemError(FundsReservedEvent event, Exception e) {
+        // Compensation logic would go here
+        eventPublisher.publish("payment.failed", event.getPaymentId(), event.getFromAccountId(),
+            new PaymentFailedEvent(
+                event.getPaymentId(),
+                "SYSTEM_ERROR",
+                "Error processing payment: " + e.getMessage()
+            )
+        );
+        finishSaga(event, "SYSTEM_ERROR");
+    }
+
+    private void finishSaga(FundsReservedEvent event, String failureReason) {
+        if (failureReason == null) {
+            sagaStore.markCompleted(event.getPaymentId());
+            metrics.recordCompleted(event.getRequestedAt());
+        } else {
+            sagaStore.markFailed(event.getPaymentId(), failureReason);
+            metrics.recordFailed(failureReason, event.getRequestedAt());
+        }
+        timeoutScheduler.cancel(event.getPaymentId());
+    }
+
     // Event classes
     public static class PaymentRequestedEvent {
         private UUID paymentId;
@@ -179,16 +537,21 @@ public class PaymentSaga {
         private UUID toAccountId;
         private BigDecimal amount;
         private String currencyCode;
+        // Epoch millis of the original payment.requested record, for end-to-end latency
+        private long requestedAt;
+        // Debit and credit already ran inline; consumers must not settle it again
+        private boolean fastPath;
 
         public FundsReservedEvent() {}
 
         public FundsReservedEvent(UUID paymentId, UUID fromAccountId, UUID toAccountId,
-                                BigDecimal amount, String currencyCode) {
+                                BigDecimal amount, String currencyCode, long requestedAt) {
             this.paymentId = paymentId;
             this.fromAccountId = fromAccountId;
             this.toAccountId = toAccountId;
             this.amount = amount;
             this.currencyCode = currencyCode;
+            this.requestedAt = requestedAt;
         }
 
         public UUID getPaymentId() { return paymentId; }
@@ -205,6 +568,12 @@ public class PaymentSaga {
 
         public String getCurrencyCode() { return currencyCode; }
         public void setCurrencyCode(String currencyCode) { this.currencyCode = currencyCode; }
+
+        public long getRequestedAt() { return requestedAt; }
+        public void setRequestedAt(long requestedAt) { this.requestedAt = requestedAt; }
+
+        public boolean isFastPath() { return fastPath; }
+        public void setFastPath(boolean fastPath) { this.fastPath = fastPath; }
     }
 
     public static class PaymentCompletedEvent {
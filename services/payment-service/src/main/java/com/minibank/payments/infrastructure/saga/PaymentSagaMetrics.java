@@ -0,0 +1,163 @@
+package com.minibank.payments.infrastructure.saga;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import com.minibank.payments.infrastructure.client.AccountServiceClient.AccountOperationResult;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Saga latency and outcome metrics.
+ *
+ * All timers publish percentile histograms plus fixed SLO buckets, so
+ * {@code histogram_quantile} queries and bucket-ratio SLO alerts both work from
+ * Prometheus. End-to-end durations are measured from the timestamp of the original
+ * {@code payment.requested} record, which is carried along in the saga events.
+ */
+@Component
+public class PaymentSagaMetrics {
+
+    public enum Step {
+        RESERVE,
+        DEBIT,
+        CREDIT,
+        COMPENSATION
+    }
+
+    private static final Duration[] SAGA_SLOS = {
+        Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofMillis(500),
+        Duration.ofSeconds(1), Duration.ofSeconds(2), Duration.ofSeconds(5), Duration.ofSeconds(30)
+    };
+    private static final Duration[] STEP_SLOS = {
+        Duration.ofMillis(10), Duration.ofMillis(25), Duration.ofMillis(50),
+        Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofMillis(1000)
+    };
+
+    private final MeterRegistry meterRegistry;
+    private final Timer completedDuration;
+    private final Timer failedDuration;
+    private final Map<Step, Timer> stepSuccess = new EnumMap<>(Step.class);
+    private final Map<Step, Timer> stepFailure = new EnumMap<>(Step.class);
+    private final Map<String, Timer> hops = new ConcurrentHashMap<>();
+    private final Map<String, Counter> outcomes = new ConcurrentHashMap<>();
+    private final Counter fastPathInline;
+    private final Counter fastPathFallback;
+
+    public PaymentSagaMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+
+        this.completedDuration = sagaTimer("completed");
+        this.failedDuration = sagaTimer("failed");
+        for (Step step : Step.values()) {
+            stepSuccess.put(step, stepTimer(step, "success"));
+            stepFailure.put(step, stepTimer(step, "failure"));
+        }
+        this.fastPathInline = fastPathCounter("inline");
+        this.fastPathFallback = fastPathCounter("fallback");
+    }
+
+    /**
+     * Runs one account-service step, timing it under its outcome. Exceptions count as failures.
+     */
+    public AccountOperationResult timeStep(Step step, Supplier<AccountOperationResult> call) {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            AccountOperationResult result = call.get();
+            success = result.isSuccess();
+            return result;
+        } finally {
+            Timer timer = success ? stepSuccess.get(step) : stepFailure.get(step);
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Time between a record being produced and the saga picking it up.
+     */
+    public void recordHop(String topic, long recordTimestampMillis) {
+        long lag = System.currentTimeMillis() - recordTimestampMillis;
+        if (recordTimestampMillis > 0 && lag >= 0) {
+            hops.computeIfAbsent(topic, this::hopTimer).record(lag, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void recordFastPath(boolean settledInline) {
+        (settledInline ? fastPathInline : fastPathFallback).increment();
+    }
+
+    public void recordCompleted(long requestedAtMillis) {
+        outcome("completed", "NONE").increment();
+        recordDuration(completedDuration, requestedAtMillis);
+    }
+
+    public void recordFailed(String failureReason, long requestedAtMillis) {
+        outcome("failed", failureReason).increment();
+        recordDuration(failedDuration, requestedAtMillis);
+    }
+
+    // Events produced before requestedAt was carried have no start time
+    private static void recordDuration(Timer timer, long requestedAtMillis) {
+        if (requestedAtMillis > 0) {
+            timer.record(Math.max(0, System.currentTimeMillis() - requestedAtMillis), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private Counter outcome(String outcome, String reason) {
+        return outcomes.computeIfAbsent(outcome + ":" + reason, key -> Counter.builder("payment.saga.outcomes.total")
+            .description("Finished payment sagas by outcome and failure reason")
+            .tag("outcome", outcome)
+            .tag("reason", reason)
+            .register(meterRegistry));
+    }
+
+    private Counter fastPathCounter(String outcome) {
+        return Counter.builder("payment.saga.fast.path.total")
+            .description("Fast-path attempts settled inline or handed to the asynchronous saga")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    private Timer sagaTimer(String outcome) {
+        return Timer.builder("payment.saga.duration")
+            .description("End-to-end payment saga duration, from payment request to completion or failure")
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .serviceLevelObjectives(SAGA_SLOS)
+            .minimumExpectedValue(Duration.ofMillis(5))
+            .maximumExpectedValue(Duration.ofMinutes(2))
+            .register(meterRegistry);
+    }
+
+    private Timer stepTimer(Step step, String outcome) {
+        return Timer.builder("payment.saga.step.duration")
+            .description("Duration of one saga step against account-service")
+            .tag("step", step.name().toLowerCase())
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .serviceLevelObjectives(STEP_SLOS)
+            .minimumExpectedValue(Duration.ofMillis(1))
+            .maximumExpectedValue(Duration.ofSeconds(10))
+            .register(meterRegistry);
+    }
+
+    private Timer hopTimer(String topic) {
+        return Timer.builder("payment.saga.kafka.hop.duration")
+            .description("Time from a saga event being produced to being consumed")
+            .tag("topic", topic)
+            .publishPercentileHistogram()
+            .serviceLevelObjectives(STEP_SLOS)
+            .minimumExpectedValue(Duration.ofMillis(1))
+            .maximumExpectedValue(Duration.ofMinutes(1))
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,260 @@
+package com.minibank.payments.infrastructure.saga;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.minibank.payments.infrastructure.persistence.PaymentSagaEntity;
+import com.minibank.payments.infrastructure.persistence.PaymentSagaJpaRepository;
+import com.minibank.payments.infrastructure.persistence.SagaStatus;
+import com.minibank.payments.infrastructure.saga.PaymentSaga.PaymentRequestedEvent;
+
+/**
+ * Persistent saga state. Every status change is a conditional update, so the saga
+ * listeners and the timeout sweeper can race on the same payment and only one wins.
+ */
+@Component
+public class PaymentSagaStore {
+
+    private static final UUID FIRST_UUID = new UUID(0L, 0L);
+
+    private final PaymentSagaJpaRepository repository;
+
+    public PaymentSagaStore(PaymentSagaJpaRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Records a payment as RESERVING before account-service is called, so a reserve whose
+     * answer is lost is still found, and reconciled, by the timeout scheduler. Committed in
+     * its own transaction, as are the reserve's outcomes below, so no event about the
+     * payment is published before its state is durable.
+     *
+     * @return false if the payment is already known, e.g. because its record was redelivered,
+     *         unless it was handed back by a refused net settlement
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean beginReserve(PaymentRequestedEvent event, Instant deadline) {
+        Instant now = Instant.now();
+        int inserted = repository.insertIfAbsent(
+            event.getPaymentId(),
+            event.getFromAccountId(),
+            event.getToAccountId(),
+            event.getAmount(),
+            event.getCurrencyCode(),
+            SagaStatus.RESERVING.name(),
+            deadline,
+            now
+        );
+        return inserted == 1
+            || repository.resumeBypassed(event.getPaymentId(), SagaStatus.BYPASSED, SagaStatus.RESERVING,
+                   deadline, now) == 1;
+    }
+
+    /**
+     * @return false if the timeout scheduler already took the payment over
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean recordReserved(UUID paymentId) {
+        return repository.transition(paymentId, SagaStatus.RESERVING, SagaStatus.RESERVED, Instant.now()) == 1;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void recordReserveRefused(UUID paymentId, String failureReason) {
+        repository.finish(paymentId, SagaStatus.RESERVING, SagaStatus.FAILED, failureReason, Instant.now());
+    }
+
+    // A reserve shed before reaching account-service left nothing behind; its redelivery starts afresh
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void abandonReserve(UUID paymentId) {
+        repository.deleteInStatus(paymentId, SagaStatus.RESERVING);
+    }
+
+    /**
+     * @return false if the reservation was already released by the timeout sweeper
+     */
+    @Transactional
+    public boolean beginSettlement(UUID paymentId) {
+        return repository.beginSettlement(paymentId, SagaStatus.RESERVED, SagaStatus.SETTLING, Instant.now()) == 1;
+    }
+
+    /**
+     * Records the key of the debit about to cover several SETTLING payments, so the timeout
+     * scheduler resolves that debit rather than theirs if its answer is lost. A null key
+     * hands the payments back to their own debit keys.
+     */
+    @Transactional
+    public void assignDebitKey(Collection<UUID> paymentIds, String debitKey) {
+        repository.assignDebitKey(paymentIds, debitKey, SagaStatus.SETTLING);
+    }
+
+    // Leaves SETTLING payments whose debit has no definite outcome to the timeout scheduler at retryAt
+    @Transactional
+    public void holdSettlement(Collection<UUID> paymentIds, Instant retryAt) {
+        repository.moveDeadline(paymentIds, SagaStatus.SETTLING, retryAt);
+    }
+
+    // Hands a saga that could not start settling inline back to the asynchronous path
+    @Transactional
+    public void revertSettlement(UUID paymentId) {
+        repository.transition(paymentId, SagaStatus.SETTLING, SagaStatus.RESERVED, Instant.now());
+    }
+
+    @Transactional
+    public void markCompleted(UUID paymentId) {
+        repository.finish(paymentId, SagaStatus.SETTLING, SagaStatus.COMPLETED, null, Instant.now());
+    }
+
+    @Transactional
+    public void markFailed(UUID paymentId, String failureReason) {
+        repository.finish(paymentId, SagaStatus.SETTLING, SagaStatus.FAILED, failureReason, Instant.now());
+    }
+
+    /**
+     * Parks a saga whose source was debited but whose next step was shed. The timeout
+     * scheduler resumes it at {@code retryAt}; {@code pendingFailure} is null while the
+     * credit is still owed and the failure reason once only the refund is left.
+     */
+    @Transactional
+    public void markDebited(UUID paymentId, String pendingFailure, Instant retryAt) {
+        repository.park(paymentId, SagaStatus.SETTLING, SagaStatus.DEBITED, pendingFailure, retryAt, Instant.now());
+    }
+
+    @Transactional
+    public List<PaymentSagaEntity> claimDebited(Collection<UUID> paymentIds, Instant now) {
+        return repository.claimDebited(paymentIds, now);
+    }
+
+    @Transactional
+    public List<PaymentSagaEntity> claimExpired(Collection<UUID> paymentIds, Instant now) {
+        return repository.claimExpired(paymentIds, now);
+    }
+
+    // RESERVING sagas that are due; see claimSettling
+    @Transactional
+    public List<PaymentSagaEntity> claimReserving(Collection<UUID> paymentIds, Instant now, Instant retryAt) {
+        return repository.claimUnresolved(paymentIds, SagaStatus.RESERVING.name(), now, retryAt);
+    }
+
+    /**
+     * Claims SETTLING sagas whose deadline passed, moving the deadline to {@code retryAt}.
+     * The rows keep their status: the caller reconciles the ones that stalled and leaves
+     * the others to the settlement still running.
+     */
+    @Transactional
+    public List<PaymentSagaEntity> claimSettling(Collection<UUID> paymentIds, Instant now, Instant retryAt) {
+        return repository.claimUnresolved(paymentIds, SagaStatus.SETTLING.name(), now, retryAt);
+    }
+
+    // A RESERVING saga whose reserve turned out to be applied is released like an expired reservation
+    @Transactional
+    public boolean compensateReserve(UUID paymentId) {
+        return repository.transition(paymentId, SagaStatus.RESERVING, SagaStatus.COMPENSATING, Instant.now()) == 1;
+    }
+
+    @Transactional
+    public void markCompensated(UUID paymentId, String failureReason) {
+        repository.finish(paymentId, SagaStatus.COMPENSATING, SagaStatus.FAILED, failureReason, Instant.now());
+    }
+
+    @Transactional
+    public void retryCompensation(UUID paymentId, Instant nextDeadline) {
+        repository.reschedule(paymentId, SagaStatus.COMPENSATING, SagaStatus.RESERVED, nextDeadline, Instant.now());
+    }
+
+    /**
+     * Records a payment buffered for netting. Netting rows are written in their own
+     * transaction so they are durable before the settlement that uses them starts.
+     *
+     * @return false if the payment is already known, e.g. because its record was redelivered;
+     *         a payment still waiting in a window is netted from there, or swept up by
+     *         {@link #findUnassignedNetting} after a restart
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean recordNetting(PaymentRequestedEvent event, Instant requestedAt) {
+        return repository.insertIfAbsent(
+            event.getPaymentId(),
+            event.getFromAccountId(),
+            event.getToAccountId(),
+            event.getAmount(),
+            event.getCurrencyCode(),
+            SagaStatus.NETTING.name(),
+            requestedAt,
+            requestedAt
+        ) == 1;
+    }
+
+    /**
+     * @return the payments assigned to the settlement; payments another settlement holds
+     *         already are left out
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<UUID> assignSettlement(Collection<UUID> paymentIds, UUID settlementId) {
+        return repository.assignSettlement(paymentIds, settlementId);
+    }
+
+    // NETTING payments whose window was lost before it closed, e.g. in a crash
+    @Transactional(readOnly = true)
+    public List<PaymentSagaEntity> findUnassignedNetting() {
+        return repository.findUnassigned(SagaStatus.NETTING);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<PaymentSagaEntity> completeSettlement(UUID settlementId) {
+        return repository.completeSettlement(settlementId);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<UUID> bypassSettlement(UUID settlementId) {
+        return repository.bypassSettlement(settlementId);
+    }
+
+    // Called once every bypass copy of the settlement was published
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void confirmBypass(UUID settlementId) {
+        repository.clearSettlement(settlementId, SagaStatus.BYPASSED, Instant.now());
+    }
+
+    @Transactional(readOnly = true)
+    public List<UUID> findUnconfirmedBypasses() {
+        return repository.findOpenSettlements(SagaStatus.BYPASSED);
+    }
+
+    @Transactional(readOnly = true)
+    public List<PaymentSagaEntity> findBypassed(UUID settlementId) {
+        return repository.findBySettlement(settlementId, SagaStatus.BYPASSED);
+    }
+
+    @Transactional(readOnly = true)
+    public List<UUID> findOpenSettlements() {
+        return repository.findOpenSettlements(SagaStatus.NETTING);
+    }
+
+    @Transactional(readOnly = true)
+    public List<PaymentSagaEntity> findSettlement(UUID settlementId) {
+        return repository.findBySettlement(settlementId, SagaStatus.NETTING);
+    }
+
+    // Each page runs in its own read transaction so a large rebuild never holds a growing persistence context
+    public long forEachInStatus(SagaStatus status, int pageSize, Consumer<PaymentSagaEntity> action) {
+        long count = 0;
+        UUID after = FIRST_UUID;
+        while (true) {
+            List<PaymentSagaEntity> page =
+                repository.findPageByStatus(status, after, PageRequest.ofSize(pageSize));
+            page.forEach(action);
+            count += page.size();
+            if (page.size() < pageSize) {
+                return count;
+            }
+            after = page.get(page.size() - 1).getPaymentId();
+        }
+    }
+}
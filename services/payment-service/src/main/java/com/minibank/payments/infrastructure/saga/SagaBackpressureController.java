@@ -0,0 +1,73 @@
+package com.minibank.payments.infrastructure.saga;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.minibank.payments.infrastructure.resilience.AccountServiceGuard;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Pauses the saga listeners while the account-service circuit is open and resumes
+ * them once it lets probe calls through again, so records wait in Kafka instead of
+ * timing out one after another on the listener threads.
+ */
+@Component
+public class SagaBackpressureController {
+
+    private static final Logger logger = LoggerFactory.getLogger(SagaBackpressureController.class);
+
+    private static final List<String> SAGA_LISTENERS = List.of(
+        PaymentSaga.PAYMENT_REQUESTED_LISTENER,
+        PaymentSaga.FUNDS_RESERVED_LISTENER
+    );
+
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final AccountServiceGuard guard;
+    private volatile boolean paused;
+
+    public SagaBackpressureController(KafkaListenerEndpointRegistry listenerRegistry,
+                                      AccountServiceGuard guard,
+                                      MeterRegistry meterRegistry) {
+        this.listenerRegistry = listenerRegistry;
+        this.guard = guard;
+
+        Gauge.builder("payment.saga.consumption.paused", this, controller -> controller.paused ? 1 : 0)
+            .description("Whether saga consumption is paused because account-service is unavailable")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${services.account.resilience.backpressure-check-interval-ms:500}")
+    public void adjustConsumption() {
+        boolean shouldPause = !guard.isAcceptingCalls();
+        if (shouldPause == paused) {
+            return;
+        }
+
+        for (String listenerId : SAGA_LISTENERS) {
+            MessageListenerContainer container = listenerRegistry.getListenerContainer(listenerId);
+            if (container == null || !container.isRunning()) {
+                continue;
+            }
+            if (shouldPause) {
+                container.pause();
+            } else {
+                container.resume();
+            }
+        }
+
+        paused = shouldPause;
+        if (shouldPause) {
+            logger.warn("Account service circuit is {}, pausing saga consumption", guard.getCircuitState());
+        } else {
+            logger.info("Account service circuit is {}, resuming saga consumption", guard.getCircuitState());
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.minibank.payments.infrastructure.saga;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import com.minibank.payments.infrastructure.kafka.SagaEventKeyStrategy;
+
+@ConfigurationProperties(prefix = "payments.saga")
+public class SagaProperties {
+
+    private SagaEventKeyStrategy partitionKey = SagaEventKeyStrategy.SOURCE_ACCOUNT;
+    private int hotAccountThreshold = 100;
+    private Duration hotAccountWindow = Duration.ofSeconds(1);
+    // How often a consumer drops idle per-account state for the partitions it owns
+    private Duration idleAccountSweepInterval = Duration.ofSeconds(60);
+    private Timeout timeout = new Timeout();
+    private FastPath fastPath = new FastPath();
+
+    public SagaEventKeyStrategy getPartitionKey() { return partitionKey; }
+    public void setPartitionKey(SagaEventKeyStrategy partitionKey) { this.partitionKey = partitionKey; }
+
+    public int getHotAccountThreshold() { return hotAccountThreshold; }
+    public void setHotAccountThreshold(int hotAccountThreshold) { this.hotAccountThreshold = hotAccountThreshold; }
+
+    public Duration getHotAccountWindow() { return hotAccountWindow; }
+    public void setHotAccountWindow(Duration hotAccountWindow) { this.hotAccountWindow = hotAccountWindow; }
+
+    public Duration getIdleAccountSweepInterval() { return idleAccountSweepInterval; }
+    public void setIdleAccountSweepInterval(Duration idleAccountSweepInterval) { this.idleAccountSweepInterval = idleAccountSweepInterval; }
+
+    public Timeout getTimeout() { return timeout; }
+    public void setTimeout(Timeout timeout) { this.timeout = timeout; }
+
+    public FastPath getFastPath() { return fastPath; }
+    public void setFastPath(FastPath fastPath) { this.fastPath = fastPath; }
+
+    public static class FastPath {
+        // Debit and credit in the payment.requested consumer instead of after the funds-reserved hop
+        private boolean enabled = false;
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    }
+
+    public static class Timeout {
+        // How long funds may stay reserved before the saga is compensated
+        private Duration reservation = Duration.ofSeconds(30);
+        private long tickMs = 100;
+        private int wheelSize = 512;
+        private int batchSize = 200;
+        private Duration retryDelay = Duration.ofSeconds(10);
+        private int rebuildPageSize = 1000;
+
+        public Duration getReservation() { return reservation; }
+        public void setReservation(Duration reservation) { this.reservation = reservation; }
+
+        public long getTickMs() { return tickMs; }
+        public void setTickMs(long tickMs) { this.tickMs = tickMs; }
+
+        public int getWheelSize() { return wheelSize; }
+        public void setWheelSize(int wheelSize) { this.wheelSize = wheelSize; }
+
+        public int getBatchSize() { return batchSize; }
+        public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+
+        public Duration getRetryDelay() { return retryDelay; }
+        public void setRetryDelay(Duration retryDelay) { this.retryDelay = retryDelay; }
+
+        public int getRebuildPageSize() { return rebuildPageSize; }
+        public void setRebuildPageSize(int rebuildPageSize) { this.rebuildPageSize = rebuildPageSize; }
+    }
+}
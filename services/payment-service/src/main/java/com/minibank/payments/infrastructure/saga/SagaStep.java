@@ -0,0 +1,30 @@
+package com.minibank.payments.infrastructure.saga;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * The account-service calls a saga makes, each at most once per payment. The payment ID plus
+ * the step is the idempotency key of the call, so a retry after a lost answer - from the saga
+ * or from the timeout scheduler - cannot be applied twice.
+ */
+public enum SagaStep {
+    RESERVE,
+    DEBIT,
+    CREDIT,
+    // Credit back to the source after the destination credit was refused
+    REFUND,
+    RELEASE;
+
+    public String key(UUID paymentId) {
+        return paymentId + ":" + name();
+    }
+
+    // One debit for several payments; the same set of payments always gets the same key
+    public static String batchDebitKey(Collection<UUID> paymentIds) {
+        String joined = paymentIds.stream().map(UUID::toString).sorted().collect(Collectors.joining(","));
+        return "batch:" + UUID.nameUUIDFromBytes(joined.getBytes(StandardCharsets.UTF_8)) + ":" + DEBIT.name();
+    }
+}
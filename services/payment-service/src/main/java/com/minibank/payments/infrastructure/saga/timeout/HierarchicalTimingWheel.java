@@ -0,0 +1,201 @@
+package com.minibank.payments.infrastructure.saga.timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical hashed timing wheel.
+ *
+ * Level 0 has {@code wheelSize} buckets of one tick each; every level above covers
+ * {@code wheelSize} times the span of the one below and is only created once a
+ * deadline needs it. Adding and cancelling a timer are O(1); each timer is moved
+ * down at most once per level as its deadline approaches. Time only moves when
+ * {@link #advance} is called, so a single sweeper thread drives expiry.
+ *
+ * All methods are synchronized; expired payloads are handed to the caller's consumer
+ * after the lock is released.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int bitsPerLevel;
+    private final int mask;
+    private final List<Bucket<T>[]> levels = new ArrayList<>();
+    // Timers whose tick has already been reached when they were placed
+    private final Bucket<T> due = new Bucket<>();
+
+    private long currentTick;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive: " + tickMillis);
+        }
+        if (wheelSize < 2 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two: " + wheelSize);
+        }
+        this.tickMillis = tickMillis;
+        this.bitsPerLevel = Integer.numberOfTrailingZeros(wheelSize);
+        this.mask = wheelSize - 1;
+        this.currentTick = startMillis / tickMillis;
+        levels.add(newLevel(wheelSize));
+    }
+
+    public synchronized Timeout<T> schedule(long deadlineMillis, T payload) {
+        Timeout<T> timeout = new Timeout<>(this, Math.floorDiv(deadlineMillis, tickMillis), payload);
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Moves time forward to {@code nowMillis} and returns the number of timers that expired.
+     */
+    public int advance(long nowMillis, Consumer<T> onExpired) {
+        List<T> expired = new ArrayList<>();
+        synchronized (this) {
+            long targetTick = nowMillis / tickMillis;
+            if (size == 0) {
+                currentTick = Math.max(currentTick, targetTick);
+            }
+            while (currentTick < targetTick) {
+                currentTick++;
+                cascade();
+                drain(levels.get(0)[(int) (currentTick & mask)], expired);
+                if (size == expired.size()) {
+                    // Nothing left anywhere; skip the empty ticks
+                    currentTick = targetTick;
+                }
+            }
+            drain(due, expired);
+            size -= expired.size();
+        }
+        expired.forEach(onExpired);
+        return expired.size();
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized int levels() {
+        return levels.size();
+    }
+
+    private synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout.bucket == null) {
+            return false;
+        }
+        timeout.unlink();
+        size--;
+        return true;
+    }
+
+    private void place(Timeout<T> timeout) {
+        long delta = timeout.expiryTick - currentTick;
+        if (delta <= 0) {
+            due.append(timeout);
+            return;
+        }
+        int level = 0;
+        while (level < 63 / bitsPerLevel && (delta >>> (bitsPerLevel * (level + 1))) != 0) {
+            level++;
+        }
+        while (levels.size() <= level) {
+            levels.add(newLevel(mask + 1));
+        }
+        int slot = (int) ((timeout.expiryTick >>> (bitsPerLevel * level)) & mask);
+        levels.get(level)[slot].append(timeout);
+    }
+
+    // When a lower level wraps, the matching bucket of the level above is redistributed downwards
+    private void cascade() {
+        int highest = 0;
+        for (int level = 1; level < levels.size(); level++) {
+            if ((currentTick & ((1L << (bitsPerLevel * level)) - 1)) != 0) {
+                break;
+            }
+            highest = level;
+        }
+        for (int level = highest; level >= 1; level--) {
+            Bucket<T> bucket = levels.get(level)[(int) ((currentTick >>> (bitsPerLevel * level)) & mask)];
+            Timeout<T> timeout = bucket.head.next;
+            while (timeout != bucket.head) {
+                Timeout<T> next = timeout.next;
+                timeout.unlink();
+                place(timeout);
+                timeout = next;
+            }
+        }
+    }
+
+    private static <T> void drain(Bucket<T> bucket, List<T> expired) {
+        Timeout<T> timeout = bucket.head.next;
+        while (timeout != bucket.head) {
+            Timeout<T> next = timeout.next;
+            timeout.unlink();
+            expired.add(timeout.payload);
+            timeout = next;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Bucket<T>[] newLevel(int wheelSize) {
+        Bucket<T>[] buckets = new Bucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new Bucket<>();
+        }
+        return buckets;
+    }
+
+    public static final class Timeout<T> {
+        private final HierarchicalTimingWheel<T> wheel;
+        private final long expiryTick;
+        private final T payload;
+        private Bucket<T> bucket;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(HierarchicalTimingWheel<T> wheel, long expiryTick, T payload) {
+            this.wheel = wheel;
+            this.expiryTick = expiryTick;
+            this.payload = payload;
+        }
+
+        /**
+         * @return false if the timer already expired or was cancelled
+         */
+        public boolean cancel() {
+            return wheel != null && wheel.cancel(this);
+        }
+
+        public T payload() { return payload; }
+
+        private void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = null;
+            next = null;
+            bucket = null;
+        }
+    }
+
+    // Circular doubly-linked list with a sentinel head
+    private static final class Bucket<T> {
+        private final Timeout<T> head = new Timeout<>(null, 0, null);
+
+        private Bucket() {
+            head.prev = head;
+            head.next = head;
+        }
+
+        private void append(Timeout<T> timeout) {
+            timeout.bucket = this;
+            timeout.prev = head.prev;
+            timeout.next = head;
+            head.prev.next = timeout;
+            head.prev = timeout;
+        }
+    }
+}
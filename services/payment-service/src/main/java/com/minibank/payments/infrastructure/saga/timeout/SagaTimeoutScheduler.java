@@ -0,0 +1,404 @@
+package com.minibank.payments.infrastructure.saga.timeout;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.minibank.payments.infrastructure.client.AccountServiceClient;
+import com.minibank.payments.infrastructure.client.AccountServiceClient.AccountOperationResult;
+import com.minibank.payments.infrastructure.kafka.SagaEventPublisher;
+import com.minibank.payments.infrastructure.persistence.PaymentSagaEntity;
+import com.minibank.payments.infrastructure.persistence.SagaStatus;
+import com.minibank.payments.infrastructure.saga.PaymentSaga.PaymentCompletedEvent;
+import com.minibank.payments.infrastructure.saga.PaymentSaga.PaymentFailedEvent;
+import com.minibank.payments.infrastructure.saga.PaymentSagaMetrics;
+import com.minibank.payments.infrastructure.saga.PaymentSagaStore;
+import com.minibank.payments.infrastructure.saga.SagaProperties;
+import com.minibank.payments.infrastructure.saga.SagaStep;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Releases reservations whose saga never reached the debit step.
+ *
+ * Deadlines live in a {@link HierarchicalTimingWheel}, rebuilt from the saga store on
+ * startup. Expired payments are claimed in batches with one conditional update, so a
+ * saga that started settling in the meantime is left alone; each claimed reservation
+ * is released and the payment is failed with reason {@code TIMEOUT}. A release that
+ * cannot be made is put back with a new deadline and retried.
+ *
+ * Sagas parked as {@link SagaStatus#DEBITED} after a shed step ride the same wheel:
+ * when their retry is due the credit (or, once it was refused, the refund to the
+ * source) is posted again until the saga can be finished.
+ *
+ * Sagas still {@link SagaStatus#RESERVING} or {@link SagaStatus#SETTLING} at their
+ * deadline never learned the outcome of their reserve or debit. The outcome is asked
+ * of account-service, which also voids a call that was not applied, before anything is
+ * compensated: an applied reserve is released, an applied debit is carried on to the
+ * credit, and a call that was not applied fails the payment.
+ */
+@Component
+public class SagaTimeoutScheduler {
+
+    public static final String TIMEOUT_REASON = "TIMEOUT";
+
+    private static final Logger logger = LoggerFactory.getLogger(SagaTimeoutScheduler.class);
+
+    private final PaymentSagaStore sagaStore;
+    private final AccountServiceClient accountServiceClient;
+    private final SagaEventPublisher eventPublisher;
+    private final PaymentSagaMetrics sagaMetrics;
+    private final SagaProperties.Timeout properties;
+    private final HierarchicalTimingWheel<UUID> wheel;
+    private final Map<UUID, HierarchicalTimingWheel.Timeout<UUID>> timers = new ConcurrentHashMap<>();
+
+    // Metrics
+    private final Counter timersExpired;
+    private final Counter compensated;
+    private final Counter retried;
+    private final Counter debitedCompleted;
+    private final Counter debitedRefunded;
+    private final Counter debitedRetried;
+    private final Timer batchDuration;
+
+    public SagaTimeoutScheduler(SagaProperties sagaProperties,
+                                PaymentSagaStore sagaStore,
+                                AccountServiceClient accountServiceClient,
+                                SagaEventPublisher eventPublisher,
+                                PaymentSagaMetrics sagaMetrics,
+                                MeterRegistry meterRegistry) {
+        this.sagaStore = sagaStore;
+        this.accountServiceClient = accountServiceClient;
+        this.eventPublisher = eventPublisher;
+        this.sagaMetrics = sagaMetrics;
+        this.properties = sagaProperties.getTimeout();
+        this.wheel = new HierarchicalTimingWheel<>(
+            properties.getTickMs(), properties.getWheelSize(), System.currentTimeMillis());
+
+        Gauge.builder("payment.saga.timers.pending", wheel, HierarchicalTimingWheel::size)
+            .description("Saga deadlines currently held by the timing wheel")
+            .register(meterRegistry);
+        Gauge.builder("payment.saga.timers.levels", wheel, HierarchicalTimingWheel::levels)
+            .description("Timing wheel levels in use")
+            .register(meterRegistry);
+        this.timersExpired = Counter.builder("payment.saga.timers.expired.total")
+            .description("Saga deadlines that fired")
+            .register(meterRegistry);
+        this.compensated = Counter.builder("payment.saga.timeouts.total")
+            .description("Timed-out sagas whose reservation was released")
+            .tag("outcome", "compensated")
+            .register(meterRegistry);
+        this.retried = Counter.builder("payment.saga.timeouts.total")
+            .description("Timed-out sagas whose reservation was released")
+            .tag("outcome", "retried")
+            .register(meterRegistry);
+        this.debitedCompleted = debitedCounter("completed", meterRegistry);
+        this.debitedRefunded = debitedCounter("refunded", meterRegistry);
+        this.debitedRetried = debitedCounter("retried", meterRegistry);
+        this.batchDuration = Timer.builder("payment.saga.timeout.batch.duration.seconds")
+            .description("Time to compensate one batch of timed-out sagas")
+            .register(meterRegistry);
+    }
+
+    public Duration getReservationTimeout() {
+        return properties.getReservation();
+    }
+
+    public void schedule(UUID paymentId, Instant deadline) {
+        HierarchicalTimingWheel.Timeout<UUID> previous =
+            timers.put(paymentId, wheel.schedule(deadline.toEpochMilli(), paymentId));
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    // Called with the saga in SETTLING once its source was debited and the next step was shed
+    public void parkDebited(UUID paymentId, String pendingFailure) {
+        Instant retryAt = Instant.now().plus(properties.getRetryDelay());
+        sagaStore.markDebited(paymentId, pendingFailure, retryAt);
+        schedule(paymentId, retryAt);
+    }
+
+    // Called with the sagas in SETTLING once their debit was sent but got no definite answer
+    public void holdSettlement(List<UUID> paymentIds) {
+        Instant retryAt = Instant.now().plus(properties.getRetryDelay());
+        sagaStore.holdSettlement(paymentIds, retryAt);
+        paymentIds.forEach(paymentId -> schedule(paymentId, retryAt));
+    }
+
+    public void cancel(UUID paymentId) {
+        HierarchicalTimingWheel.Timeout<UUID> timeout = timers.remove(paymentId);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long restored = 0;
+        for (SagaStatus status : new SagaStatus[] {
+                SagaStatus.RESERVING, SagaStatus.RESERVED, SagaStatus.SETTLING, SagaStatus.DEBITED}) {
+            restored += sagaStore.forEachInStatus(status, properties.getRebuildPageSize(),
+                saga -> schedule(saga.getPaymentId(), saga.getDeadlineAt()));
+        }
+        logger.info("Restored {} saga deadlines from the saga store", restored);
+    }
+
+    @Scheduled(fixedDelayString = "${payments.saga.timeout.tick-ms:100}")
+    public void expire() {
+        List<UUID> expired = new ArrayList<>();
+        wheel.advance(System.currentTimeMillis(), paymentId -> {
+            timers.remove(paymentId);
+            expired.add(paymentId);
+        });
+        if (expired.isEmpty()) {
+            return;
+        }
+        timersExpired.increment(expired.size());
+
+        for (int from = 0; from < expired.size(); from += properties.getBatchSize()) {
+            List<UUID> batch = expired.subList(from, Math.min(expired.size(), from + properties.getBatchSize()));
+            batchDuration.record(() -> compensate(batch));
+        }
+    }
+
+    private void compensate(List<UUID> batch) {
+        List<PaymentSagaEntity> claimed;
+        List<PaymentSagaEntity> debited;
+        List<PaymentSagaEntity> reserving;
+        List<PaymentSagaEntity> settling;
+        try {
+            Instant now = Instant.now();
+            Instant retryAt = now.plus(properties.getRetryDelay());
+            claimed = sagaStore.claimExpired(batch, now);
+            reserving = sagaStore.claimReserving(batch, now, retryAt);
+            // Before claimDebited, which moves the sagas it claims to SETTLING
+            settling = sagaStore.claimSettling(batch, now, retryAt);
+            debited = sagaStore.claimDebited(batch, now);
+        } catch (Exception e) {
+            logger.error("Failed to claim {} timed-out sagas, retrying later", batch.size(), e);
+            Instant retryAt = Instant.now().plus(properties.getRetryDelay());
+            batch.forEach(paymentId -> schedule(paymentId, retryAt));
+            return;
+        }
+
+        claimed.forEach(this::releaseExpired);
+        debited.forEach(this::finishDebited);
+        reserving.forEach(this::reconcileReserve);
+        settling.forEach(this::reconcileSettlement);
+    }
+
+    // Called with the saga in COMPENSATING
+    private void releaseExpired(PaymentSagaEntity saga) {
+        if (release(saga)) {
+            sagaStore.markCompensated(saga.getPaymentId(), TIMEOUT_REASON);
+            eventPublisher.publish("payment.failed", saga.getPaymentId(), saga.getFromAccountId(),
+                new PaymentFailedEvent(
+                    saga.getPaymentId(),
+                    TIMEOUT_REASON,
+                    "Reservation expired at " + saga.getDeadlineAt()
+                )
+            );
+            compensated.increment();
+            sagaMetrics.recordFailed(TIMEOUT_REASON, saga.getCreatedAt().toEpochMilli());
+        } else {
+            Instant retryAt = Instant.now().plus(properties.getRetryDelay());
+            sagaStore.retryCompensation(saga.getPaymentId(), retryAt);
+            schedule(saga.getPaymentId(), retryAt);
+            retried.increment();
+        }
+    }
+
+    // A reserve whose answer was lost: release the funds if it was applied, otherwise fail the payment
+    private void reconcileReserve(PaymentSagaEntity saga) {
+        var outcome = resolve(SagaStep.RESERVE.key(saga.getPaymentId()));
+        if (!outcome.isDefinite()) {
+            retryUnresolved(saga, outcome);
+            return;
+        }
+        if (outcome.isSuccess()) {
+            if (sagaStore.compensateReserve(saga.getPaymentId())) {
+                releaseExpired(saga);
+            }
+            return;
+        }
+        sagaStore.recordReserveRefused(saga.getPaymentId(), TIMEOUT_REASON);
+        eventPublisher.publish("payment.failed", saga.getPaymentId(), saga.getFromAccountId(),
+            new PaymentFailedEvent(
+                saga.getPaymentId(),
+                TIMEOUT_REASON,
+                "Reservation was not applied"
+            )
+        );
+        sagaMetrics.recordFailed(TIMEOUT_REASON, saga.getCreatedAt().toEpochMilli());
+    }
+
+    /**
+     * A settlement that stalled before its outcome was recorded. A debit that was applied
+     * is carried on to the credit; one that was not is voided, so the reservation can be
+     * released without the debit landing afterwards.
+     */
+    private void reconcileSettlement(PaymentSagaEntity saga) {
+        if (saga.getUpdatedAt().isAfter(Instant.now().minus(properties.getRetryDelay()))) {
+            // Settlement started recently and may still be running; look again at the new deadline
+            schedule(saga.getPaymentId(), saga.getDeadlineAt());
+            return;
+        }
+        var outcome = resolve(saga.getDebitKey() != null
+            ? saga.getDebitKey()
+            : SagaStep.DEBIT.key(saga.getPaymentId()));
+        if (!outcome.isDefinite()) {
+            retryUnresolved(saga, outcome);
+            return;
+        }
+        if (outcome.isSuccess()) {
+            finishDebited(saga);
+            return;
+        }
+        if (!release(saga)) {
+            retryUnresolved(saga, outcome);
+            return;
+        }
+        sagaStore.markFailed(saga.getPaymentId(), TIMEOUT_REASON);
+        eventPublisher.publish("payment.failed", saga.getPaymentId(), saga.getFromAccountId(),
+            new PaymentFailedEvent(
+                saga.getPaymentId(),
+                TIMEOUT_REASON,
+                "Settlement did not complete before " + saga.getDeadlineAt()
+            )
+        );
+        compensated.increment();
+        sagaMetrics.recordFailed(TIMEOUT_REASON, saga.getCreatedAt().toEpochMilli());
+    }
+
+    // The claim already moved the saga's deadline to its next attempt
+    private void retryUnresolved(PaymentSagaEntity saga, AccountOperationResult outcome) {
+        logger.warn("Payment {} still {}, retrying: {}", saga.getPaymentId(), saga.getStatus(), outcome.getErrorMessage());
+        schedule(saga.getPaymentId(), saga.getDeadlineAt());
+        retried.increment();
+    }
+
+    private AccountOperationResult resolve(String operationKey) {
+        try {
+            return accountServiceClient.resolve(operationKey);
+        } catch (Exception e) {
+            return AccountOperationResult.unknown(e.getMessage());
+        }
+    }
+
+    private void finishDebited(PaymentSagaEntity saga) {
+        String failureReason = saga.getFailureReason();
+        try {
+            if (failureReason == null) {
+                var creditResult = sagaMetrics.timeStep(PaymentSagaMetrics.Step.CREDIT, () ->
+                    accountServiceClient.postCredit(
+                        saga.getToAccountId(),
+                        saga.getAmount(),
+                        saga.getCurrencyCode(),
+                        SagaStep.CREDIT.key(saga.getPaymentId())
+                    )
+                );
+                if (creditResult.isSuccess()) {
+                    sagaStore.markCompleted(saga.getPaymentId());
+                    eventPublisher.publish("payment.completed", saga.getPaymentId(), saga.getFromAccountId(),
+                        new PaymentCompletedEvent(
+                            saga.getPaymentId(),
+                            saga.getFromAccountId(),
+                            saga.getToAccountId(),
+                            saga.getAmount(),
+                            saga.getCurrencyCode()
+                        )
+                    );
+                    debitedCompleted.increment();
+                    sagaMetrics.recordCompleted(saga.getCreatedAt().toEpochMilli());
+                    return;
+                }
+                if (!creditResult.isDefinite()) {
+                    // The credit may have landed; retry it under the same key rather than refund
+                    logger.warn("Credit for debited payment {} has no definite outcome, retrying: {}",
+                        saga.getPaymentId(), creditResult.getErrorMessage());
+                    retryDebited(saga, null);
+                    return;
+                }
+                logger.warn("Credit for debited payment {} refused, refunding: {}",
+                    saga.getPaymentId(), creditResult.getErrorMessage());
+                failureReason = "CREDIT_FAILED";
+            }
+
+            var refundResult = sagaMetrics.timeStep(PaymentSagaMetrics.Step.COMPENSATION, () ->
+                accountServiceClient.postCredit(
+                    saga.getFromAccountId(),
+                    saga.getAmount(),
+                    saga.getCurrencyCode(),
+                    SagaStep.REFUND.key(saga.getPaymentId())
+                )
+            );
+            if (!refundResult.isSuccess()) {
+                logger.warn("Refund for debited payment {} not confirmed: {}", saga.getPaymentId(), refundResult.getErrorMessage());
+                retryDebited(saga, failureReason);
+                return;
+            }
+            sagaStore.markFailed(saga.getPaymentId(), failureReason);
+            eventPublisher.publish("payment.failed", saga.getPaymentId(), saga.getFromAccountId(),
+                new PaymentFailedEvent(
+                    saga.getPaymentId(),
+                    failureReason,
+                    "Refunded to the source account after the credit was refused"
+                )
+            );
+            debitedRefunded.increment();
+            sagaMetrics.recordFailed(failureReason, saga.getCreatedAt().toEpochMilli());
+        } catch (Exception e) {
+            logger.warn("Resuming debited payment {} failed: {}", saga.getPaymentId(), e.getMessage());
+            retryDebited(saga, failureReason);
+        }
+    }
+
+    private void retryDebited(PaymentSagaEntity saga, String failureReason) {
+        Instant retryAt = Instant.now().plus(properties.getRetryDelay());
+        sagaStore.markDebited(saga.getPaymentId(), failureReason, retryAt);
+        schedule(saga.getPaymentId(), retryAt);
+        debitedRetried.increment();
+    }
+
+    private boolean release(PaymentSagaEntity saga) {
+        try {
+            var result = sagaMetrics.timeStep(PaymentSagaMetrics.Step.COMPENSATION, () ->
+                accountServiceClient.releaseFunds(
+                    saga.getFromAccountId(),
+                    saga.getAmount(),
+                    saga.getCurrencyCode(),
+                    SagaStep.RELEASE.key(saga.getPaymentId())
+                )
+            );
+            if (!result.isSuccess()) {
+                logger.warn("Release for timed-out payment {} refused: {}", saga.getPaymentId(), result.getErrorMessage());
+            }
+            return result.isSuccess();
+        } catch (Exception e) {
+            logger.warn("Release for timed-out payment {} failed: {}", saga.getPaymentId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private static Counter debitedCounter(String outcome, MeterRegistry meterRegistry) {
+        return Counter.builder("payment.saga.debited.resumed.total")
+            .description("Sagas parked after their debit that were resumed by the timeout scheduler")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,16 @@
+-- One row per payment whose funds were reserved by the saga
+CREATE TABLE payment_sagas (
+    payment_id      UUID PRIMARY KEY,
+    from_account_id UUID           NOT NULL,
+    to_account_id   UUID           NOT NULL,
+    amount          NUMERIC(19, 4) NOT NULL,
+    currency_code   VARCHAR(3)     NOT NULL,
+    status          VARCHAR(32)    NOT NULL,
+    failure_reason  VARCHAR(64),
+    deadline_at     TIMESTAMPTZ    NOT NULL,
+    created_at      TIMESTAMPTZ    NOT NULL DEFAULT now(),
+    updated_at      TIMESTAMPTZ    NOT NULL DEFAULT now()
+);
+
+-- The timeout scheduler only ever reloads sagas that still hold a reservation
+CREATE INDEX idx_payment_sagas_reserved ON payment_sagas (payment_id) WHERE status = 'RESERVED';
@@ -0,0 +1,2 @@
+-- Debited sagas parked after a shed step are reloaded by the timeout scheduler as well
+CREATE INDEX idx_payment_sagas_debited ON payment_sagas (payment_id) WHERE status = 'DEBITED';
@@ -0,0 +1,5 @@
+-- Netted payments are recorded as NETTING sagas; the net settlement they belong to is
+-- stored before account-service is called so an interrupted settlement can be retried
+ALTER TABLE payment_sagas ADD COLUMN settlement_id UUID;
+
+CREATE INDEX idx_payment_sagas_settlement ON payment_sagas (settlement_id) WHERE status = 'NETTING';
@@ -0,0 +1,4 @@
+-- Sagas whose reserve or debit outcome was never recorded are reloaded and reconciled by the
+-- timeout scheduler as well
+CREATE INDEX idx_payment_sagas_reserving ON payment_sagas (payment_id) WHERE status = 'RESERVING';
+CREATE INDEX idx_payment_sagas_settling ON payment_sagas (payment_id) WHERE status = 'SETTLING';
@@ -0,0 +1,4 @@
+-- Idempotency key of the debit that covered a payment settled in a batch, stored before the
+-- debit is sent so an unanswered batch debit can be resolved per payment. Null while the
+-- payment is debited on its own key.
+ALTER TABLE payment_sagas ADD COLUMN debit_key VARCHAR(128);
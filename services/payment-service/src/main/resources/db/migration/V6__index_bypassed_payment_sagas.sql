@@ -0,0 +1,3 @@
+-- Refused net settlements whose payments were not yet handed back to the regular saga are
+-- looked up by settlement on startup
+CREATE INDEX idx_payment_sagas_bypassed ON payment_sagas (settlement_id) WHERE status = 'BYPASSED';